@@ -0,0 +1,26 @@
+package com.bookstore.applicaton.benchmark;
+
+import com.bookstore.applicaton.domain.Product;
+import com.bookstore.applicaton.repository.ProductRepository;
+
+import java.math.BigDecimal;
+
+/**
+ * Test data shared by the benchmarks.
+ */
+final class BenchmarkProducts {
+
+    private BenchmarkProducts() {
+    }
+
+    static Product product(int productId) {
+        return new Product(productId, "Book title " + productId, "Description of book " + productId,
+                BigDecimal.valueOf(1000 + productId % 5000, 2), productId % 50);
+    }
+
+    static void fill(ProductRepository productRepository, int count) {
+        for (int productId = 1; productId <= count; productId++) {
+            productRepository.addProduct(product(productId));
+        }
+    }
+}
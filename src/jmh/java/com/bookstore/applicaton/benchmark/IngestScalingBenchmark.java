@@ -0,0 +1,101 @@
+package com.bookstore.applicaton.benchmark;
+
+import com.bookstore.applicaton.domain.Product;
+import com.bookstore.applicaton.repository.InMemoryProductRepository;
+import com.bookstore.applicaton.repository.ProductIdAllocator;
+import com.bookstore.applicaton.repository.ProductRepository;
+import com.bookstore.applicaton.repository.ShardedProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Create throughput of the single-map store with the service's shared ID counter against the sharded
+ * store with per-shard allocation, at 1 to 64 threads. Compare how the score grows with the thread count:
+ * on a machine with enough cores the sharded store should keep scaling where the shared counter and map
+ * flatten out. Each thread deletes the product it created {@link Ingester#WINDOW} operations earlier,
+ * so the catalog stays at a fixed size however long an iteration runs.
+ * <p>
+ * {@code firstPage} shows what the sharded store pays on reads: a listing gathers from every shard.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IngestScalingBenchmark {
+
+    private static final int CATALOG_SIZE = 100_000;
+
+    @Param({"in-memory", "sharded"})
+    public String store;
+
+    private ProductRepository productRepository;
+    private ProductIdAllocator productIdAllocator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        productRepository = "sharded".equals(store) ? new ShardedProductRepository(0) : new InMemoryProductRepository();
+        productIdAllocator = ProductIdAllocator.forRepository(productRepository);
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            productRepository.addProduct(BenchmarkProducts.product(productIdAllocator.allocateProductId()));
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Product ingest1(Ingester ingester) {
+        return ingester.ingest(this);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Product ingest4(Ingester ingester) {
+        return ingester.ingest(this);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Product ingest16(Ingester ingester) {
+        return ingester.ingest(this);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public Product ingest64(Ingester ingester) {
+        return ingester.ingest(this);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public List<Product> firstPage() {
+        return productRepository.getProducts(null, 100);
+    }
+
+    @State(Scope.Thread)
+    public static class Ingester {
+
+        static final int WINDOW = 1024;
+
+        private final int[] created = new int[WINDOW];
+        private int next;
+
+        Product ingest(IngestScalingBenchmark benchmark) {
+            int slot = next++ & (WINDOW - 1);
+            if (created[slot] != 0) {
+                benchmark.productRepository.deleteProduct(created[slot]);
+            }
+            int productId = benchmark.productIdAllocator.allocateProductId();
+            created[slot] = productId;
+            return benchmark.productRepository.addProduct(BenchmarkProducts.product(productId));
+        }
+    }
+}
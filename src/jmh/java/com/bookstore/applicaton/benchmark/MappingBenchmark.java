@@ -0,0 +1,58 @@
+package com.bookstore.applicaton.benchmark;
+
+import com.bookstore.applicaton.common.ApiResponse;
+import com.bookstore.applicaton.constants.ProductResponseMessages;
+import com.bookstore.applicaton.domain.Money;
+import com.bookstore.applicaton.domain.Product;
+import com.bookstore.applicaton.dto.ProductDto;
+import com.bookstore.applicaton.mapper.ProductMapper;
+import com.bookstore.applicaton.mapper.ProductMapperImpl;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-product work on the read and pricing paths: DTO mapping, discount/tax arithmetic and
+ * Jackson serialization of the single-product response.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MappingBenchmark {
+
+    private static final BigDecimal RATE = BigDecimal.valueOf(15);
+
+    private final ProductMapper productMapper = new ProductMapperImpl();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Product product = BenchmarkProducts.product(42);
+    private final ApiResponse<ProductDto> response = new ApiResponse<>(200, true,
+            ProductResponseMessages.PRODUCT_RETRIEVED_SUCCESSFULLY, productMapper.toDto(product));
+
+    @Benchmark
+    public ProductDto toDto() {
+        return productMapper.toDto(product);
+    }
+
+    @Benchmark
+    public Money applyDiscount() {
+        return product.applyDiscount(RATE);
+    }
+
+    @Benchmark
+    public Money applyTax() {
+        return product.applyTax(RATE);
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
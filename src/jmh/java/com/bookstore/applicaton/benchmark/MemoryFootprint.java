@@ -0,0 +1,66 @@
+package com.bookstore.applicaton.benchmark;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+/**
+ * How much heap and direct memory a data structure retains, read from the platform MXBeans after full
+ * collections, for benchmarks that compare footprints as well as speed. Figures are only meaningful for
+ * structures of many megabytes, and in a fork that does nothing else while measuring.
+ */
+public final class MemoryFootprint {
+
+    private static final int COLLECTIONS = 5;
+
+    private MemoryFootprint() {
+    }
+
+    /**
+     * Builds a structure and measures what it retains.
+     *
+     * @param build Builds the structure; what it returns is kept reachable while measuring.
+     * @return The structure and the memory it retains.
+     */
+    public static <T> Measured<T> measure(Supplier<T> build) {
+        long heapBefore = usedHeap();
+        long directBefore = usedDirectMemory();
+        T built = build.get();
+        long heapBytes = usedHeap() - heapBefore;
+        long directBytes = usedDirectMemory() - directBefore;
+        return new Measured<>(built, heapBytes, directBytes);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < COLLECTIONS; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long usedDirectMemory() {
+        return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> "direct".equals(pool.getName()))
+                .mapToLong(BufferPoolMXBean::getMemoryUsed)
+                .sum();
+    }
+
+    /**
+     * A structure with the heap and direct memory it retains.
+     */
+    public record Measured<T>(T value, long heapBytes, long directBytes) {
+
+        /**
+         * Prints the footprint per element, so it shows in the benchmark log next to the scores.
+         */
+        public void print(String label, int elements) {
+            System.out.printf("%n%s: %.1f heap bytes and %.1f direct bytes per element (%d elements)%n", label,
+                    (double) heapBytes / elements, (double) directBytes / elements, elements);
+        }
+    }
+}
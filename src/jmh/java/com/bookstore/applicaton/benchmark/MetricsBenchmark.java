@@ -0,0 +1,52 @@
+package com.bookstore.applicaton.benchmark;
+
+import com.bookstore.applicaton.common.ApiResponse;
+import com.bookstore.applicaton.constants.ProductResponseMessages;
+import com.bookstore.applicaton.dto.ProductDto;
+import com.bookstore.applicaton.metrics.ProductOperation;
+import com.bookstore.applicaton.metrics.ProductServiceMetrics;
+import com.bookstore.applicaton.repository.InMemoryProductRepository;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of recording one ProductService operation against the Prometheus registry.
+ * gc.alloc.rate.norm should stay at ~0 B/op for both the success and the failure path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MetricsBenchmark {
+
+    private final ProductServiceMetrics productServiceMetrics = new ProductServiceMetrics(
+            new PrometheusMeterRegistry(PrometheusConfig.DEFAULT), new InMemoryProductRepository());
+    private final ApiResponse<ProductDto> found = new ApiResponse<>(200, true,
+            ProductResponseMessages.PRODUCT_RETRIEVED_SUCCESSFULLY, null);
+    private final ApiResponse<ProductDto> notFound = new ApiResponse<>(404, false,
+            ProductResponseMessages.PRODUCT_NOT_FOUND, null);
+
+    @Benchmark
+    public void recordSuccess() {
+        productServiceMetrics.record(ProductOperation.GET, found, System.nanoTime());
+    }
+
+    @Benchmark
+    public void recordFailure() {
+        productServiceMetrics.record(ProductOperation.GET, notFound, System.nanoTime());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordContended() {
+        productServiceMetrics.record(ProductOperation.GET, found, System.nanoTime());
+    }
+}
@@ -0,0 +1,87 @@
+package com.bookstore.applicaton.benchmark;
+
+import com.bookstore.applicaton.domain.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repricing a catalog of 10,000 prices by a percentage, with the BigDecimal arithmetic prices used
+ * before {@link Money} ({@code bigDecimal*}) and with Money. Compare both the score and
+ * gc.alloc.rate.norm: with an integral rate the Money variants should allocate only the resulting
+ * Money per price; a fractional rate additionally unpacks its unscaled value on every call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PricingBenchmark {
+
+    private static final int PRICES = 10_000;
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    @Param({"15", "7.5"})
+    public String rate;
+
+    private BigDecimal percent;
+    private BigDecimal[] decimalPrices;
+    private Money[] moneyPrices;
+
+    @Setup
+    public void setUp() {
+        percent = new BigDecimal(rate);
+        decimalPrices = new BigDecimal[PRICES];
+        moneyPrices = new Money[PRICES];
+        for (int i = 0; i < PRICES; i++) {
+            decimalPrices[i] = BigDecimal.valueOf(1000 + i % 5000, 2);
+            moneyPrices[i] = Money.of(decimalPrices[i]);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal[] bigDecimalDiscount() {
+        BigDecimal[] repriced = new BigDecimal[PRICES];
+        for (int i = 0; i < PRICES; i++) {
+            // Rounded to cents as a stored price has to be; the unrounded product grows a digit per change
+            repriced[i] = decimalPrices[i].multiply(BigDecimal.ONE.subtract(percent.divide(HUNDRED)))
+                    .setScale(2, RoundingMode.HALF_EVEN);
+        }
+        return repriced;
+    }
+
+    @Benchmark
+    public Money[] moneyDiscount() {
+        Money[] repriced = new Money[PRICES];
+        for (int i = 0; i < PRICES; i++) {
+            repriced[i] = moneyPrices[i].minusPercent(percent, Money.DEFAULT_ROUNDING);
+        }
+        return repriced;
+    }
+
+    @Benchmark
+    public BigDecimal[] bigDecimalTax() {
+        BigDecimal[] repriced = new BigDecimal[PRICES];
+        for (int i = 0; i < PRICES; i++) {
+            repriced[i] = decimalPrices[i].multiply(BigDecimal.ONE.add(percent.divide(HUNDRED)))
+                    .setScale(2, RoundingMode.HALF_EVEN);
+        }
+        return repriced;
+    }
+
+    @Benchmark
+    public Money[] moneyTax() {
+        Money[] repriced = new Money[PRICES];
+        for (int i = 0; i < PRICES; i++) {
+            repriced[i] = moneyPrices[i].plusPercent(percent, Money.DEFAULT_ROUNDING);
+        }
+        return repriced;
+    }
+}
@@ -0,0 +1,55 @@
+package com.bookstore.applicaton.benchmark;
+
+import com.bookstore.applicaton.changes.ProductChangeLog;
+import com.bookstore.applicaton.common.ApiResponse;
+import com.bookstore.applicaton.dto.ProductDto;
+import com.bookstore.applicaton.mapper.ProductMapperImpl;
+import com.bookstore.applicaton.metrics.ProductServiceMetrics;
+import com.bookstore.applicaton.pricing.PriceRuleService;
+import com.bookstore.applicaton.repository.InMemoryProductRepository;
+import com.bookstore.applicaton.search.ProductSearchIndex;
+import com.bookstore.applicaton.service.ProductService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProductService.getAllProducts cost as the catalog grows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductServiceBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int catalogSize;
+
+    private ProductService productService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryProductRepository productRepository = new InMemoryProductRepository();
+        BenchmarkProducts.fill(productRepository, catalogSize);
+        ProductMapperImpl productMapper = new ProductMapperImpl();
+        productService = new ProductService(productRepository, productMapper,
+                new ProductSearchIndex(productRepository), event -> { },
+                new ProductServiceMetrics(new SimpleMeterRegistry(), productRepository),
+                new ProductChangeLog(productMapper, 1024), new PriceRuleService(Duration.ofSeconds(1)));
+    }
+
+    @Benchmark
+    public ApiResponse<List<ProductDto>> getAllProducts() {
+        return productService.getAllProducts();
+    }
+}
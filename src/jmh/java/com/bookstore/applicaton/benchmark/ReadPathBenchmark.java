@@ -0,0 +1,73 @@
+package com.bookstore.applicaton.benchmark;
+
+import com.bookstore.applicaton.changes.ProductChangeLog;
+import com.bookstore.applicaton.domain.Product;
+import com.bookstore.applicaton.mapper.ProductMapperImpl;
+import com.bookstore.applicaton.mapper.ProductSnapshotModule;
+import com.bookstore.applicaton.metrics.ProductServiceMetrics;
+import com.bookstore.applicaton.pricing.PriceRuleService;
+import com.bookstore.applicaton.repository.InMemoryProductRepository;
+import com.bookstore.applicaton.search.ProductSearchIndex;
+import com.bookstore.applicaton.service.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocation on the read path of a 10,000-product catalog. {@code getProduct} reads a shared snapshot from
+ * the repository; the listing benchmarks serialize GET /api/products through DTO mapping ({@code viaDto},
+ * the path before snapshots could be serialized directly) and straight from the snapshots. Output goes to
+ * a null stream so gc.alloc.rate.norm counts only reading, mapping and encoding.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReadPathBenchmark {
+
+    private static final int CATALOG_SIZE = 10_000;
+
+    private InMemoryProductRepository productRepository;
+    private ProductService productService;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        productRepository = new InMemoryProductRepository();
+        BenchmarkProducts.fill(productRepository, CATALOG_SIZE);
+        ProductMapperImpl productMapper = new ProductMapperImpl();
+        PriceRuleService priceRuleService = new PriceRuleService(Duration.ofSeconds(1));
+        productService = new ProductService(productRepository, productMapper,
+                new ProductSearchIndex(productRepository), event -> { },
+                new ProductServiceMetrics(new SimpleMeterRegistry(), productRepository),
+                new ProductChangeLog(productMapper, 1024), priceRuleService);
+        objectMapper = new ObjectMapper().registerModule(new ProductSnapshotModule(priceRuleService));
+    }
+
+    @Benchmark
+    public Product getProduct() {
+        return productRepository.getProduct(ThreadLocalRandom.current().nextInt(1, CATALOG_SIZE + 1));
+    }
+
+    @Benchmark
+    public void listingViaDto() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), productService.getAllProducts());
+    }
+
+    @Benchmark
+    public void listingViaSnapshots() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), productService.getAllProductSnapshots());
+    }
+}
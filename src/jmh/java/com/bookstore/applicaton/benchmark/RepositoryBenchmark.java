@@ -0,0 +1,89 @@
+package com.bookstore.applicaton.benchmark;
+
+import com.bookstore.applicaton.domain.Product;
+import com.bookstore.applicaton.repository.InMemoryProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * InMemoryProductRepository point reads and writes, alone and with readers and writers contending.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RepositoryBenchmark {
+
+    private static final int CATALOG_SIZE = 100_000;
+
+    private InMemoryProductRepository productRepository;
+    private AtomicInteger nextProductId;
+    private Product[] updates;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        productRepository = new InMemoryProductRepository();
+        BenchmarkProducts.fill(productRepository, CATALOG_SIZE);
+        nextProductId = new AtomicInteger(CATALOG_SIZE + 1);
+        updates = new Product[CATALOG_SIZE + 1];
+        for (int productId = 1; productId <= CATALOG_SIZE; productId++) {
+            updates[productId] = BenchmarkProducts.product(productId);
+        }
+    }
+
+    @Benchmark
+    public Product get() {
+        return productRepository.getProduct(randomId());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Product add() {
+        return productRepository.addProduct(BenchmarkProducts.product(nextProductId.getAndIncrement()));
+    }
+
+    @Benchmark
+    public Product update() {
+        return updateRandom();
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(6)
+    public Product contendedGet() {
+        return productRepository.getProduct(randomId());
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(2)
+    public Product contendedUpdate() {
+        return updateRandom();
+    }
+
+    private Product updateRandom() {
+        int productId = randomId();
+        Product stored = productRepository.updateProduct(productId, updates[productId]);
+        if (stored != null) {
+            // The next update of this product is a compare-and-set against the version just stored
+            updates[productId] = stored;
+        }
+        return stored;
+    }
+
+    private static int randomId() {
+        return ThreadLocalRandom.current().nextInt(1, CATALOG_SIZE + 1);
+    }
+}
@@ -0,0 +1,54 @@
+package com.bookstore.applicaton.benchmark;
+
+import com.bookstore.applicaton.domain.Product;
+import com.bookstore.applicaton.repository.InMemoryProductRepository;
+import com.bookstore.applicaton.repository.OffHeapProductRepository;
+import com.bookstore.applicaton.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-memory store against the off-heap store with a million products: the setup prints the heap and
+ * direct memory each retains per product, and {@code get} measures a random point read, which for the
+ * off-heap store includes decoding the product.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StoreFootprintBenchmark {
+
+    private static final int CATALOG_SIZE = 1_000_000;
+
+    @Param({"in-memory", "off-heap"})
+    public String store;
+
+    private ProductRepository productRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MemoryFootprint.Measured<ProductRepository> measured = MemoryFootprint.measure(() -> {
+            ProductRepository repository = "off-heap".equals(store)
+                    ? new OffHeapProductRepository(new SimpleMeterRegistry()) : new InMemoryProductRepository();
+            BenchmarkProducts.fill(repository, CATALOG_SIZE);
+            return repository;
+        });
+        measured.print(store, CATALOG_SIZE);
+        productRepository = measured.value();
+    }
+
+    @Benchmark
+    public Product get() {
+        return productRepository.getProduct(ThreadLocalRandom.current().nextInt(1, CATALOG_SIZE + 1));
+    }
+}
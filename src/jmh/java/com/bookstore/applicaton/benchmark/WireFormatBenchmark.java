@@ -0,0 +1,72 @@
+package com.bookstore.applicaton.benchmark;
+
+import com.bookstore.applicaton.common.ApiResponse;
+import com.bookstore.applicaton.common.WireFormat;
+import com.bookstore.applicaton.common.WireFormatMappers;
+import com.bookstore.applicaton.constants.ProductResponseMessages;
+import com.bookstore.applicaton.dto.ProductDto;
+import com.bookstore.applicaton.mapper.ProductMapperImpl;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding a 100,000-product GET /api/products response in each wire format. The payload
+ * size of each format is printed once per trial, before the first warmup iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class WireFormatBenchmark {
+
+    private static final int CATALOG_SIZE = 100_000;
+    private static final TypeReference<ApiResponse<List<ProductDto>>> LISTING_TYPE = new TypeReference<>() {
+    };
+
+    @Param({"json", "cbor"})
+    public String format;
+
+    private ObjectMapper mapper;
+    private ApiResponse<List<ProductDto>> listing;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ProductMapperImpl productMapper = new ProductMapperImpl();
+        List<ProductDto> productDtos = new ArrayList<>(CATALOG_SIZE);
+        for (int productId = 1; productId <= CATALOG_SIZE; productId++) {
+            productDtos.add(productMapper.toDto(BenchmarkProducts.product(productId)));
+        }
+        listing = new ApiResponse<>(200, true, ProductResponseMessages.ALL_PRODUCTS_RETRIEVED_SUCCESSFULLY, productDtos);
+        mapper = new WireFormatMappers(new ObjectMapper(), new CBORMapper())
+                .mapperFor(WireFormat.valueOf(format.toUpperCase(Locale.ROOT)));
+        encoded = mapper.writeValueAsBytes(listing);
+        System.out.printf("%n%s payload: %,d bytes (%.1f per product)%n",
+                format, encoded.length, encoded.length / (double) CATALOG_SIZE);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return mapper.writeValueAsBytes(listing);
+    }
+
+    @Benchmark
+    public ApiResponse<List<ProductDto>> decode() throws IOException {
+        return mapper.readValue(encoded, LISTING_TYPE);
+    }
+}
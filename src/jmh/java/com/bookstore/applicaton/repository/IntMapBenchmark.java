@@ -0,0 +1,76 @@
+package com.bookstore.applicaton.repository;
+
+import com.bookstore.applicaton.benchmark.MemoryFootprint;
+import com.bookstore.applicaton.domain.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * The in-memory store's ID map against the layout it replaced, a {@code ConcurrentHashMap<Integer, Product>}
+ * with a {@code ConcurrentSkipListSet} of IDs for ordered iteration, holding IDs 1 to a million. Every entry
+ * refers to the same product, so the footprint the setup prints is the map's own; {@code get} is a random
+ * lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IntMapBenchmark {
+
+    private static final int SIZE = 1_000_000;
+    private static final Product PRODUCT = new Product(1, "Book", "Description", BigDecimal.TEN, 1);
+
+    @Param({"int-map", "hash-map"})
+    public String map;
+
+    private IntFunction<Product> lookup;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("hash-map".equals(map)) {
+            MemoryFootprint.Measured<HashMapLayout> measured = MemoryFootprint.measure(() -> {
+                HashMapLayout layout = new HashMapLayout(new ConcurrentHashMap<>(), new ConcurrentSkipListSet<>());
+                for (int id = 1; id <= SIZE; id++) {
+                    layout.products().put(id, PRODUCT);
+                    layout.ids().add(id);
+                }
+                return layout;
+            });
+            measured.print(map, SIZE);
+            ConcurrentHashMap<Integer, Product> products = measured.value().products();
+            lookup = products::get;
+        } else {
+            MemoryFootprint.Measured<ConcurrentIntMap<Product>> measured = MemoryFootprint.measure(() -> {
+                ConcurrentIntMap<Product> products = new ConcurrentIntMap<>();
+                for (int id = 1; id <= SIZE; id++) {
+                    products.put(id, PRODUCT);
+                }
+                return products;
+            });
+            measured.print(map, SIZE);
+            ConcurrentIntMap<Product> products = measured.value();
+            lookup = products::get;
+        }
+    }
+
+    @Benchmark
+    public Product get() {
+        return lookup.apply(ThreadLocalRandom.current().nextInt(1, SIZE + 1));
+    }
+
+    private record HashMapLayout(ConcurrentHashMap<Integer, Product> products, ConcurrentSkipListSet<Integer> ids) {
+    }
+}
@@ -0,0 +1,304 @@
+package com.bookstore.applicaton.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load generator for the product API.
+ * <p>
+ * Seeds the catalog, then drives each {@code ProductController} scenario with a fixed number of
+ * concurrent clients and reports throughput and latency percentiles. Run it once against a server
+ * started with {@code spring.threads.virtual.enabled=false} and once with {@code true}, or once against
+ * the MVC API and once against the reactive API; every run is appended to a CSV file so they can be
+ * compared side by side.
+ * <p>
+ * Clients are asynchronous, so tens of thousands of them need no thread each. Optionally a number of
+ * change streams are held open for the whole run, as catalog sync consumers would, and receive every
+ * change the stock scenario makes.
+ * <p>
+ * Settings are read from system properties ({@code ./gradlew loadTest -Ploadtest.concurrency=1000}):
+ * <ul>
+ *     <li>{@code loadtest.baseUrl} - server to test, default {@code http://localhost:8080/bookstore}</li>
+ *     <li>{@code loadtest.label} - name of the run in the report, e.g. {@code virtual} or {@code platform}</li>
+ *     <li>{@code loadtest.concurrency} - concurrent clients, default 400</li>
+ *     <li>{@code loadtest.streams} - change streams held open during the run, default 0</li>
+ *     <li>{@code loadtest.timeoutSeconds} - time a request may wait for its response headers, default 30</li>
+ *     <li>{@code loadtest.warmupSeconds} / {@code loadtest.durationSeconds} - per scenario, default 5 / 20</li>
+ *     <li>{@code loadtest.products} - products to seed, default 10000</li>
+ *     <li>{@code loadtest.output} - CSV report, default {@code build/results/loadtest/results.csv}</li>
+ * </ul>
+ */
+public final class ProductLoadTest {
+
+    private static final Pattern PRODUCT_ID = Pattern.compile("\"productId\":(\\d+)");
+    private static final int SEED_BATCH_SIZE = 1000;
+    private static final String[] SEARCH_TERMS = {"dragon", "garden", "history", "winter", "voyage"};
+
+    private final String baseUrl;
+    private final String label;
+    private final int concurrency;
+    private final int streams;
+    private final Duration timeout;
+    private final Duration warmup;
+    private final Duration duration;
+    private final int productCount;
+    private final Path output;
+    private final HttpClient client;
+
+    private int[] productIds;
+
+    private ProductLoadTest() {
+        this.baseUrl = System.getProperty("loadtest.baseUrl", "http://localhost:8080/bookstore");
+        this.label = System.getProperty("loadtest.label", "run");
+        this.concurrency = Integer.getInteger("loadtest.concurrency", 400);
+        this.streams = Integer.getInteger("loadtest.streams", 0);
+        this.timeout = Duration.ofSeconds(Integer.getInteger("loadtest.timeoutSeconds", 30));
+        this.warmup = Duration.ofSeconds(Integer.getInteger("loadtest.warmupSeconds", 5));
+        this.duration = Duration.ofSeconds(Integer.getInteger("loadtest.durationSeconds", 20));
+        this.productCount = Integer.getInteger("loadtest.products", 10_000);
+        this.output = Path.of(System.getProperty("loadtest.output", "build/results/loadtest/results.csv"));
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new ProductLoadTest().run();
+    }
+
+    private void run() throws Exception {
+        seed();
+        AtomicInteger openStreams = new AtomicInteger();
+        List<CompletableFuture<Void>> changeStreams = openChangeStreams(openStreams);
+        List<Scenario> scenarios = List.of(
+                new Scenario("GET /api/products/{id}", random -> get("/api/products/" + randomProductId(random))),
+                new Scenario("GET /api/products?limit=50", random ->
+                        get("/api/products?limit=50&after=" + randomProductId(random))),
+                new Scenario("GET /api/products/search", random ->
+                        get("/api/products/search?q=" + SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)])),
+                new Scenario("GET /api/products/in-stock", random -> get("/api/products/in-stock?limit=50")),
+                new Scenario("POST /api/products/{id}/stock/reserve", random ->
+                        post("/api/products/" + randomProductId(random) + "/stock/reserve?quantity=1", "")));
+
+        System.out.printf("%-10s %-40s %10s %8s %10s %9s %9s %9s%n",
+                "label", "scenario", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        List<String> rows = new ArrayList<>();
+        for (Scenario scenario : scenarios) {
+            Result result = drive(scenario);
+            System.out.printf("%-10s %-40s %10d %8d %10.0f %9.2f %9.2f %9.2f%n", label, scenario.name(),
+                    result.requests(), result.errors(), result.throughput(), result.percentileMillis(0.50),
+                    result.percentileMillis(0.99), result.percentileMillis(1.0));
+            rows.add(String.join(",", Instant.now().toString(), label, scenario.name(), String.valueOf(concurrency),
+                    String.valueOf(result.requests()), String.valueOf(result.errors()),
+                    String.format("%.0f", result.throughput()), String.format("%.3f", result.percentileMillis(0.50)),
+                    String.format("%.3f", result.percentileMillis(0.99)), String.format("%.3f", result.percentileMillis(1.0))));
+        }
+        if (streams > 0) {
+            System.out.printf("%-10s %d of %d change streams still open at the end%n", label, openStreams.get(),
+                    streams);
+            changeStreams.forEach(stream -> stream.cancel(true));
+        }
+        writeReport(rows);
+    }
+
+    private List<CompletableFuture<Void>> openChangeStreams(AtomicInteger openStreams) throws InterruptedException {
+        List<CompletableFuture<Void>> changeStreams = new ArrayList<>(streams);
+        List<CompletableFuture<Boolean>> established = new ArrayList<>(streams);
+        for (int i = 0; i < streams; i++) {
+            CompletableFuture<Boolean> opened = new CompletableFuture<>();
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/products/changes/stream"))
+                    .timeout(timeout)
+                    .header("Accept", "text/event-stream")
+                    .GET()
+                    .build();
+            // Events are drained and dropped by the client as they arrive, without a thread per stream
+            changeStreams.add(client.sendAsync(request, responseInfo -> {
+                        boolean ok = responseInfo.statusCode() == 200;
+                        if (ok) {
+                            openStreams.incrementAndGet();
+                        }
+                        opened.complete(ok);
+                        return HttpResponse.BodySubscribers.discarding();
+                    })
+                    .handle((response, error) -> {
+                        if (response != null && response.statusCode() == 200) {
+                            openStreams.decrementAndGet();
+                        }
+                        opened.complete(false);
+                        return null;
+                    }));
+            established.add(opened);
+        }
+        try {
+            CompletableFuture.allOf(established.toArray(CompletableFuture[]::new))
+                    .get(timeout.toSeconds(), TimeUnit.SECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // Streams still waiting for a connection are reported as not open
+        }
+        if (streams > 0) {
+            System.out.printf("Opened %d of %d change streams%n", openStreams.get(), streams);
+        }
+        return changeStreams;
+    }
+
+    private void seed() throws IOException, InterruptedException {
+        List<Integer> ids = new ArrayList<>(productCount);
+        for (int start = 0; start < productCount; start += SEED_BATCH_SIZE) {
+            StringBuilder body = new StringBuilder("[");
+            for (int i = start; i < Math.min(productCount, start + SEED_BATCH_SIZE); i++) {
+                if (i > start) {
+                    body.append(',');
+                }
+                body.append("{\"name\":\"Load test ").append(SEARCH_TERMS[i % SEARCH_TERMS.length])
+                        .append(' ').append(i).append("\",\"description\":\"Seeded by the load test\",")
+                        .append("\"price\":").append(5 + i % 50).append(".99,\"quantityAvailable\":1000000}");
+            }
+            HttpResponse<String> response = client.send(post("/api/products/batch", body.append(']').toString()),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 300) {
+                throw new IllegalStateException("Seeding failed with status " + response.statusCode()
+                        + ": " + response.body());
+            }
+            Matcher matcher = PRODUCT_ID.matcher(response.body());
+            while (matcher.find()) {
+                ids.add(Integer.parseInt(matcher.group(1)));
+            }
+        }
+        productIds = ids.stream().mapToInt(Integer::intValue).toArray();
+        System.out.printf("Seeded %d products at %s with %d concurrent clients%n", productIds.length, baseUrl,
+                concurrency);
+    }
+
+    private Result drive(Scenario scenario) throws Exception {
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long deadline = measureFrom + duration.toNanos();
+        List<CompletableFuture<Recorder>> clients = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            CompletableFuture<Recorder> done = new CompletableFuture<>();
+            sendNext(scenario, new Recorder(), measureFrom, deadline, done);
+            clients.add(done);
+        }
+        Recorder total = new Recorder();
+        for (CompletableFuture<Recorder> done : clients) {
+            total.merge(done.get());
+        }
+        return total.result(duration);
+    }
+
+    // One closed-loop client: each request is sent when the previous response has completed
+    private void sendNext(Scenario scenario, Recorder recorder, long measureFrom, long deadline,
+                          CompletableFuture<Recorder> done) {
+        long start = System.nanoTime();
+        if (start >= deadline) {
+            done.complete(recorder);
+            return;
+        }
+        client.sendAsync(scenario.request().apply(ThreadLocalRandom.current()), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    if (start >= measureFrom) {
+                        recorder.record(System.nanoTime() - start, error != null || response.statusCode() >= 400);
+                    }
+                    sendNext(scenario, recorder, measureFrom, deadline, done);
+                });
+    }
+
+    private void writeReport(List<String> rows) throws IOException {
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        if (Files.notExists(output)) {
+            Files.writeString(output, "timestamp,label,scenario,concurrency,requests,errors,throughput,p50_ms,p99_ms,max_ms\n");
+        }
+        Files.write(output, rows, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        System.out.println("Appended results to " + output.toAbsolutePath());
+    }
+
+    private int randomProductId(ThreadLocalRandom random) {
+        return productIds[random.nextInt(productIds.length)];
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private record Scenario(String name, Function<ThreadLocalRandom, HttpRequest> request) {
+    }
+
+    /**
+     * Per-client latency samples, kept in a growable primitive array so recording does not box.
+     */
+    private static final class Recorder {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        void record(long latencyNanos, boolean failed) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (failed) {
+                errors++;
+            }
+        }
+
+        void merge(Recorder other) {
+            if (count + other.count > latencies.length) {
+                latencies = Arrays.copyOf(latencies, count + other.count);
+            }
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            errors += other.errors;
+        }
+
+        Result result(Duration duration) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new Result(sorted, errors, count / (duration.toNanos() / 1e9));
+        }
+    }
+
+    private record Result(long[] sortedLatencies, long errors, double throughput) {
+
+        long requests() {
+            return sortedLatencies.length;
+        }
+
+        double percentileMillis(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / 1e6;
+        }
+    }
+}
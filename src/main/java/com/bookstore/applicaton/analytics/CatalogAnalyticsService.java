@@ -0,0 +1,189 @@
+package com.bookstore.applicaton.analytics;
+
+import com.bookstore.applicaton.common.ApiResponse;
+import com.bookstore.applicaton.constants.ProductResponseMessages;
+import com.bookstore.applicaton.domain.Money;
+import com.bookstore.applicaton.domain.Product;
+import com.bookstore.applicaton.dto.CatalogStatisticsDto;
+import com.bookstore.applicaton.dto.PriceBucketDto;
+import com.bookstore.applicaton.event.ProductChangedEvent;
+import com.bookstore.applicaton.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Catalog statistics kept up to date from the change events of every mutation, so reading them costs
+ * the same whatever the size of the catalog.
+ * <p>
+ * Each event is applied as the difference between the product before and after it. Sums and counts are
+ * {@link LongAdder}s, which concurrent writers update on separate cells instead of contending on one;
+ * because differences commute, events of one product applied out of order still add up correctly. Min
+ * and max price come from a count of products per distinct price, whose first and last entries are
+ * read in O(log n). Figures read while writes are in progress may each reflect a slightly different
+ * moment; once writes stop they are exact. Prices are the stored ones, without active price rules.
+ */
+@Service
+public class CatalogAnalyticsService {
+
+    private final ProductRepository productRepository;
+
+    // Upper bounds of the histogram buckets but the last, in minor units, ascending
+    private final long[] bucketBounds;
+
+    private final LongAdder productCount = new LongAdder();
+    private final LongAdder stockUnits = new LongAdder();
+    private final LongAdder inventoryValue = new LongAdder(); // In minor units
+    private final LongAdder pricedCount = new LongAdder();
+    private final LongAdder priceSum = new LongAdder(); // In minor units
+    private final LongAdder outOfStockCount = new LongAdder();
+    private final LongAdder[] bucketCounts;
+
+    // price in minor units -> number of products at that price; may briefly be negative when events race
+    private final ConcurrentSkipListMap<Long, Long> priceCounts = new ConcurrentSkipListMap<>();
+
+    /**
+     * @param priceBuckets Boundaries between the price histogram buckets, ascending.
+     */
+    public CatalogAnalyticsService(ProductRepository productRepository,
+                                   @Value("${bookstore.analytics.price-buckets:5,10,20,50,100}")
+                                   BigDecimal[] priceBuckets) {
+        this.productRepository = productRepository;
+        this.bucketBounds = new long[priceBuckets.length];
+        for (int i = 0; i < priceBuckets.length; i++) {
+            if (!Money.isExact(priceBuckets[i])) {
+                throw new IllegalArgumentException("bookstore.analytics.price-buckets must be prices");
+            }
+            bucketBounds[i] = Money.of(priceBuckets[i]).minorUnits();
+            if (bucketBounds[i] <= 0 || i > 0 && bucketBounds[i] <= bucketBounds[i - 1]) {
+                throw new IllegalArgumentException("bookstore.analytics.price-buckets must be positive and ascending");
+            }
+        }
+        this.bucketCounts = new LongAdder[priceBuckets.length + 1];
+        Arrays.setAll(bucketCounts, i -> new LongAdder());
+    }
+
+    @PostConstruct
+    void rebuild() {
+        try (var products = productRepository.streamProducts(null)) {
+            products.forEach(product -> apply(null, product));
+        }
+    }
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        apply(event.before(), event.after());
+    }
+
+    /**
+     * Retrieves the statistics of the whole catalog.
+     *
+     * @return An ApiResponse with the statistics.
+     */
+    public ApiResponse<CatalogStatisticsDto> getStatistics() {
+        long priced = pricedCount.sum();
+        BigDecimal averagePrice = priced <= 0 ? null : BigDecimal.valueOf(priceSum.sum())
+                .divide(BigDecimal.valueOf(priced), 0, RoundingMode.HALF_EVEN)
+                .movePointLeft(Money.DEFAULT_CURRENCY.getDefaultFractionDigits());
+        List<PriceBucketDto> histogram = new ArrayList<>(bucketCounts.length);
+        for (int i = 0; i < bucketCounts.length; i++) {
+            histogram.add(new PriceBucketDto(i == 0 ? toPrice(0) : toPrice(bucketBounds[i - 1]),
+                    i == bucketBounds.length ? null : toPrice(bucketBounds[i]), bucketCounts[i].sum()));
+        }
+        CatalogStatisticsDto statistics = new CatalogStatisticsDto(productCount.sum(), stockUnits.sum(),
+                toPrice(inventoryValue.sum()), lowestPrice(), highestPrice(), averagePrice, outOfStockCount.sum(),
+                histogram);
+        return new ApiResponse<>(HttpStatus.OK.value(), true,
+                ProductResponseMessages.CATALOG_STATISTICS_RETRIEVED_SUCCESSFULLY, statistics);
+    }
+
+    // Applies the difference between two states of a product; either may be null
+    private void apply(Product before, Product after) {
+        add(productCount, (after == null ? 0 : 1) - (before == null ? 0 : 1));
+        add(stockUnits, quantity(after) - quantity(before));
+        add(inventoryValue, value(after) - value(before));
+        add(outOfStockCount, outOfStock(after) - outOfStock(before));
+        long priceBefore = price(before);
+        long priceAfter = price(after);
+        if (priceBefore == priceAfter) {
+            return;
+        }
+        add(pricedCount, (priceAfter < 0 ? 0 : 1) - (priceBefore < 0 ? 0 : 1));
+        add(priceSum, Math.max(priceAfter, 0) - Math.max(priceBefore, 0));
+        // The new price is counted before the old one is dropped, so a concurrent read always finds one of them
+        if (priceAfter >= 0) {
+            bucketCounts[bucket(priceAfter)].increment();
+            priceCounts.merge(priceAfter, 1L, CatalogAnalyticsService::sumOrRemove);
+        }
+        if (priceBefore >= 0) {
+            bucketCounts[bucket(priceBefore)].decrement();
+            priceCounts.merge(priceBefore, -1L, CatalogAnalyticsService::sumOrRemove);
+        }
+    }
+
+    private int bucket(long price) {
+        int index = Arrays.binarySearch(bucketBounds, price);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    private BigDecimal lowestPrice() {
+        for (Map.Entry<Long, Long> entry : priceCounts.entrySet()) {
+            if (entry.getValue() > 0) {
+                return toPrice(entry.getKey());
+            }
+        }
+        return null;
+    }
+
+    private BigDecimal highestPrice() {
+        for (Map.Entry<Long, Long> entry : priceCounts.descendingMap().entrySet()) {
+            if (entry.getValue() > 0) {
+                return toPrice(entry.getKey());
+            }
+        }
+        return null;
+    }
+
+    private static void add(LongAdder adder, long delta) {
+        if (delta != 0) {
+            adder.add(delta);
+        }
+    }
+
+    private static Long sumOrRemove(Long count, Long delta) {
+        long sum = count + delta;
+        return sum == 0 ? null : sum;
+    }
+
+    private static long quantity(Product product) {
+        return product == null || product.getQuantityAvailable() == null ? 0 : product.getQuantityAvailable();
+    }
+
+    private static long outOfStock(Product product) {
+        return product != null && quantity(product) <= 0 ? 1 : 0;
+    }
+
+    // The price in minor units, or -1 for no product or no price
+    private static long price(Product product) {
+        return product == null || product.getPrice() == null ? -1 : product.getPrice().minorUnits();
+    }
+
+    private static long value(Product product) {
+        return Math.max(price(product), 0) * quantity(product);
+    }
+
+    private static BigDecimal toPrice(long minorUnits) {
+        return Money.ofMinor(minorUnits, Money.DEFAULT_CURRENCY).toBigDecimal();
+    }
+}
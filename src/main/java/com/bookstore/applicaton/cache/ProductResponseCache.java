@@ -0,0 +1,235 @@
+package com.bookstore.applicaton.cache;
+
+import com.bookstore.applicaton.changes.ProductChangeLog;
+import com.bookstore.applicaton.common.ApiResponse;
+import com.bookstore.applicaton.common.ProductETags;
+import com.bookstore.applicaton.common.WireFormat;
+import com.bookstore.applicaton.common.WireFormatMappers;
+import com.bookstore.applicaton.domain.Product;
+import com.bookstore.applicaton.dto.ProductDto;
+import com.bookstore.applicaton.event.ProductChangedEvent;
+import com.bookstore.applicaton.metrics.ProductOperation;
+import com.bookstore.applicaton.metrics.ProductServiceMetrics;
+import com.bookstore.applicaton.pricing.PriceRuleService;
+import com.bookstore.applicaton.repository.ProductRepository;
+import com.bookstore.applicaton.service.ProductService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Serialized responses for single-product reads and the full listing, so hot reads skip
+ * mapping and Jackson entirely. Each {@link WireFormat} is cached separately.
+ * <p>
+ * Product responses are keyed by product ID and version: a product that changed simply misses, so an
+ * entry can never be served stale, and change events only evict the superseded entry early. The cache
+ * is bounded by total serialized size and evicts with Caffeine's W-TinyLFU policy, which keeps the
+ * small set of frequently read titles resident. The listing is keyed by the change log's latest
+ * sequence, which advances on every catalog mutation.
+ * <p>
+ * Responses carry effective prices, which change when a price rule starts or ends without any product
+ * changing, so both are also keyed by the pricing epoch, and the whole cache is dropped when it advances.
+ * <p>
+ * Concurrent identical reads are coalesced: a request that arrives while the same product (or, on a miss,
+ * the listing) is being read in the same format waits for that read and shares its serialized result. A
+ * read is only shared while the change log's latest sequence is the one it started at; every write is
+ * logged before it is acknowledged, so a request never gets a result older than a write acknowledged
+ * before it arrived.
+ */
+@Component
+public class ProductResponseCache {
+
+    static final String CACHE_NAME = "product-responses";
+    static final String LISTING_COUNTER = "bookstore.product.listing.cache";
+    static final String COALESCED_COUNTER = "bookstore.product.read.coalesced";
+
+    // Rough per-entry cost of the key, the entry and the array header, on top of the serialized bytes
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    private final ProductRepository productRepository;
+    private final ProductService productService;
+    private final ProductChangeLog productChangeLog;
+    private final WireFormatMappers wireFormatMappers;
+    private final ProductServiceMetrics productServiceMetrics;
+    private final PriceRuleService priceRuleService;
+    private final Cache<ProductKey, CachedResponse> products;
+    private final long maxListingBytes;
+    private final Counter listingHits;
+    private final Counter listingMisses;
+    private final SingleFlight<ProductRead, CachedResponse> productReads;
+    private final SingleFlight<ListingRead, CachedResponse> listingReads;
+
+    // The latest listing per wire format, by ordinal
+    private final AtomicReferenceArray<CachedListing> listings = new AtomicReferenceArray<>(WireFormat.values().length);
+
+    public ProductResponseCache(ProductRepository productRepository, ProductService productService,
+                                ProductChangeLog productChangeLog, WireFormatMappers wireFormatMappers,
+                                ProductServiceMetrics productServiceMetrics, PriceRuleService priceRuleService,
+                                MeterRegistry meterRegistry, @Value("${bookstore.cache.max-size:64MB}") DataSize maxSize) {
+        this.productRepository = productRepository;
+        this.productService = productService;
+        this.productChangeLog = productChangeLog;
+        this.wireFormatMappers = wireFormatMappers;
+        this.productServiceMetrics = productServiceMetrics;
+        this.priceRuleService = priceRuleService;
+        this.products = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((ProductKey key, CachedResponse response) -> response.body().length + ENTRY_OVERHEAD_BYTES)
+                .recordStats()
+                .build();
+        // Listings are held outside the product cache; a catalog too large for half the budget is not cached
+        this.maxListingBytes = maxSize.toBytes() / 2;
+        CaffeineCacheMetrics.monitor(meterRegistry, products, CACHE_NAME);
+        this.listingHits = Counter.builder(LISTING_COUNTER).tag("result", "hit")
+                .description("Full product listings served from the serialized cache").register(meterRegistry);
+        this.listingMisses = Counter.builder(LISTING_COUNTER).tag("result", "miss")
+                .description("Full product listings that had to be serialized").register(meterRegistry);
+        this.productReads = new SingleFlight<>(Counter.builder(COALESCED_COUNTER).tag("read", "product")
+                .description("Product reads that shared the result of an identical read in flight")
+                .register(meterRegistry));
+        this.listingReads = new SingleFlight<>(Counter.builder(COALESCED_COUNTER).tag("read", "listing")
+                .description("Listing rebuilds that shared the result of an identical rebuild in flight")
+                .register(meterRegistry));
+        // Entries of an older epoch can no longer be hit; free them now instead of waiting for eviction
+        priceRuleService.addInvalidationListener(this::invalidateAll);
+    }
+
+    /**
+     * Returns the serialized 200 response of GET /api/products/{productId}.
+     *
+     * @param productId The ID of the product.
+     * @param format The encoding of the response.
+     * @return The response, or null if the product does not exist (not-found responses are not cached).
+     */
+    public CachedResponse getProduct(Integer productId, WireFormat format) {
+        // Read the epoch before the product: a rule change racing with the lookup advances it afterwards
+        long pricingEpoch = priceRuleService.epoch();
+        ProductRead read = new ProductRead(productId, format, pricingEpoch, productChangeLog.latestSequence());
+        return productReads.execute(read, () -> readProduct(productId, format, pricingEpoch));
+    }
+
+    private CachedResponse readProduct(Integer productId, WireFormat format, long pricingEpoch) {
+        long startNanos = System.nanoTime();
+        Product product = productRepository.getProduct(productId);
+        if (product == null) {
+            return null;
+        }
+        ProductKey key = new ProductKey(productId, product.getVersion(), pricingEpoch, format);
+        CachedResponse cached = products.getIfPresent(key);
+        if (cached != null) {
+            productServiceMetrics.record(ProductOperation.GET, HttpStatus.OK.value(), true, startNanos);
+            return cached;
+        }
+        ApiResponse<ProductDto> response = productService.getProduct(productId);
+        if (response.getData() == null) {
+            return null; // Deleted in the meantime
+        }
+        cached = new CachedResponse(response.getStatusCode(), serialize(response, format), response.getData().getVersion(),
+                ProductETags.of(response.getData()));
+        // Only cache what was read at the expected version and epoch, either may have changed since the lookup
+        if (Objects.equals(cached.version(), key.version()) && priceRuleService.epoch() == pricingEpoch) {
+            products.put(key, cached);
+        }
+        return cached;
+    }
+
+    /**
+     * Returns the serialized response of GET /api/products, rebuilt only when the catalog has changed.
+     *
+     * @param format The encoding of the response.
+     * @return The response.
+     */
+    public CachedResponse getAllProducts(WireFormat format) {
+        // Read the catalog version before the catalog: a change racing with the rebuild advances it afterwards
+        long catalogVersion = productChangeLog.latestSequence();
+        long pricingEpoch = priceRuleService.epoch();
+        CachedListing cachedListing = listings.get(format.ordinal());
+        if (cachedListing != null && cachedListing.response().version() == catalogVersion
+                && cachedListing.pricingEpoch() == pricingEpoch) {
+            listingHits.increment();
+            return cachedListing.response();
+        }
+        listingMisses.increment();
+        return listingReads.execute(new ListingRead(format, pricingEpoch, catalogVersion),
+                () -> readListing(format, pricingEpoch, catalogVersion));
+    }
+
+    private CachedResponse readListing(WireFormat format, long pricingEpoch, long catalogVersion) {
+        // The snapshots are serialized as they are stored, without mapping the catalog to DTOs first
+        ApiResponse<List<Product>> response = productService.getAllProductSnapshots();
+        CachedResponse cached = new CachedResponse(response.getStatusCode(), serialize(response, format), catalogVersion, null);
+        if (response.isSuccess() && cached.body().length <= maxListingBytes) {
+            listings.set(format.ordinal(), new CachedListing(pricingEpoch, cached));
+        }
+        return cached;
+    }
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        // Entries of older versions can no longer be hit; drop the superseded one now instead of waiting for eviction
+        long pricingEpoch = priceRuleService.epoch();
+        Long superseded = null;
+        if (event.before() != null && event.before().getVersion() != null) {
+            superseded = event.before().getVersion();
+        } else if (event.after() != null && event.after().getVersion() != null) {
+            superseded = event.after().getVersion() - 1;
+        }
+        if (superseded != null) {
+            for (WireFormat format : WireFormat.values()) {
+                products.invalidate(new ProductKey(event.productId(), superseded, pricingEpoch, format));
+            }
+        }
+    }
+
+    private void invalidateAll() {
+        products.invalidateAll();
+        for (int i = 0; i < listings.length(); i++) {
+            listings.set(i, null);
+        }
+    }
+
+    private byte[] serialize(ApiResponse<?> response, WireFormat format) {
+        try {
+            return wireFormatMappers.mapperFor(format).writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A serialized response body.
+     *
+     * @param statusCode The HTTP status code of the response.
+     * @param body The serialized bytes.
+     * @param version The product version (single products) or catalog version (listing) it was built from.
+     * @param eTag The entity tag of a single product, null for the listing.
+     */
+    public record CachedResponse(int statusCode, byte[] body, Long version, String eTag) {
+    }
+
+    private record CachedListing(long pricingEpoch, CachedResponse response) {
+    }
+
+    private record ProductKey(Integer productId, Long version, long pricingEpoch, WireFormat format) {
+    }
+
+    // An in-flight read, shareable by requests for the same thing that see the same epoch and latest change
+    private record ProductRead(Integer productId, WireFormat format, long pricingEpoch, long catalogVersion) {
+    }
+
+    private record ListingRead(WireFormat format, long pricingEpoch, long catalogVersion) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.bookstore.applicaton.cache;
+
+import io.micrometer.core.instrument.Counter;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Runs at most one computation per key at a time: a caller that finds an identical computation in flight
+ * waits for it and shares its result (or its exception) instead of starting another. Nothing is kept once
+ * a computation finishes, so a result is only shared by callers that arrived while it was being computed;
+ * keys have to capture whatever would make a result computed for an earlier caller wrong for a later one.
+ */
+final class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalesced;
+
+    /**
+     * @param coalesced Counts the callers that shared a computation started by another.
+     */
+    SingleFlight(Counter coalesced) {
+        this.coalesced = coalesced;
+    }
+
+    V execute(K key, Supplier<V> computation) {
+        // Joining an existing flight is a plain lookup; only the caller that starts one writes to the map
+        CompletableFuture<V> flight = inFlight.get(key);
+        if (flight == null) {
+            CompletableFuture<V> started = new CompletableFuture<>();
+            flight = inFlight.putIfAbsent(key, started);
+            if (flight == null) {
+                return compute(key, started, computation);
+            }
+        }
+        coalesced.increment();
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private V compute(K key, CompletableFuture<V> flight, Supplier<V> computation) {
+        try {
+            V result = computation.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.bookstore.applicaton.changes;
+
+import com.bookstore.applicaton.dto.ProductChangeDto;
+import com.bookstore.applicaton.dto.ProductChangesDto;
+import com.bookstore.applicaton.event.ProductChangedEvent;
+import com.bookstore.applicaton.mapper.ProductMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, in-process log of catalog mutations, numbered by a sequence that starts at 1.
+ * <p>
+ * Changes are kept in a ring buffer: appending claims a sequence number and stores the change in
+ * its slot without taking a lock, overwriting the change {@code capacity} positions earlier. Readers
+ * that fall further behind than the buffer holds are told to resync instead.
+ * <p>
+ * Changes to different products may be logged in a different order than they were applied; two
+ * changes to the same product can also swap if they race, so consumers should keep the change with
+ * the highest product version.
+ */
+@Component
+public class ProductChangeLog {
+
+    private final ProductMapper productMapper;
+    private final AtomicReferenceArray<ProductChangeDto> entries;
+    private final int mask;
+    private final AtomicLong lastSequence = new AtomicLong();
+    private final List<Runnable> appendListeners = new CopyOnWriteArrayList<>();
+
+    public ProductChangeLog(ProductMapper productMapper,
+                            @Value("${bookstore.changes.capacity:65536}") int capacity) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("bookstore.changes.capacity must be a power of two");
+        }
+        this.productMapper = productMapper;
+        this.entries = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        // Mapped once on append, so every consumer reading this entry shares the same DTO
+        ProductChangeDto change = new ProductChangeDto(0, event.type(), event.productId(),
+                event.after() == null ? null : productMapper.toDto(event.after()), Instant.now());
+        long sequence = lastSequence.incrementAndGet();
+        change.setSequence(sequence);
+        entries.set(slot(sequence), change);
+        for (Runnable listener : appendListeners) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Returns the changes logged after {@code since}, oldest first.
+     *
+     * @param since The last sequence the caller has seen, 0 to read from the oldest retained change.
+     * @param limit The maximum number of changes to return.
+     * @return The changes, with resyncRequired set if some changes after {@code since} were evicted.
+     */
+    public ProductChangesDto read(long since, int limit) {
+        long latest = lastSequence.get();
+        if (since > 0 && since < latest - entries.length()) {
+            return new ProductChangesDto(List.of(), latest, latest, true);
+        }
+        List<ProductChangeDto> changes = new ArrayList<>(Math.min(limit, entries.length()));
+        long sequence = Math.max(since, latest - entries.length()) + 1;
+        while (changes.size() < limit) {
+            ProductChangeDto change = entries.get(slot(sequence));
+            if (change == null || change.getSequence() < sequence) {
+                break; // Claimed but not stored yet, or nothing newer; later changes wait for the next read
+            }
+            if (change.getSequence() > sequence) {
+                // Overwritten while reading: the reader has fallen behind by more than the capacity
+                return since == 0
+                        ? new ProductChangesDto(changes, lastSequenceOf(changes, since), lastSequence.get(), false)
+                        : new ProductChangesDto(List.of(), lastSequence.get(), lastSequence.get(), true);
+            }
+            changes.add(change);
+            sequence++;
+        }
+        return new ProductChangesDto(changes, lastSequenceOf(changes, since), latest, false);
+    }
+
+    /**
+     * Returns the sequence of the most recently logged change, or 0 if nothing was logged yet.
+     *
+     * @return The latest sequence.
+     */
+    public long latestSequence() {
+        return lastSequence.get();
+    }
+
+    /**
+     * Registers a callback run on the appending thread after every change. It must not block.
+     *
+     * @param listener The callback.
+     */
+    public void addAppendListener(Runnable listener) {
+        appendListeners.add(listener);
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence & mask);
+    }
+
+    private static long lastSequenceOf(List<ProductChangeDto> changes, long since) {
+        return changes.isEmpty() ? since : changes.get(changes.size() - 1).getSequence();
+    }
+}
@@ -0,0 +1,170 @@
+package com.bookstore.applicaton.changes;
+
+import com.bookstore.applicaton.dto.ProductChangeDto;
+import com.bookstore.applicaton.dto.ProductChangesDto;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes the change log to Server-Sent Events subscribers.
+ * <p>
+ * Subscribers do not get their own queue: each one keeps a cursor into the {@link ProductChangeLog}
+ * and is drained on a sender thread. Writers only flag subscribers as having work, so a slow
+ * subscriber ties up a sender thread but never the thread that changed the catalog. A subscriber
+ * that falls behind by more than the log holds receives a {@code resync} event and is closed.
+ * <p>
+ * Sender threads are a fixed pool. A drain sends one batch and then queues the subscriber again behind
+ * the others, so busy subscribers share the pool; at most one drain per subscriber is queued, and
+ * subscriptions beyond {@code maxSubscribers} are refused, so the queue is bounded too.
+ */
+@Component
+public class ProductChangeStream {
+
+    static final String CHANGE_EVENT = "change";
+    static final String RESYNC_EVENT = "resync";
+
+    // Changes read from the log per round trip, so one busy subscriber does not hold a large list
+    private static final int DRAIN_BATCH_SIZE = 256;
+
+    private final ProductChangeLog changeLog;
+    private final long timeoutMillis;
+    private final int maxSubscribers;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Subscribers connected or being connected, so concurrent subscriptions cannot overshoot the maximum
+    private final AtomicInteger subscriberSlots = new AtomicInteger();
+    private final AtomicInteger senderThreads = new AtomicInteger();
+    private final ExecutorService senders;
+
+    public ProductChangeStream(ProductChangeLog changeLog,
+                               @Value("${bookstore.changes.stream-timeout:PT30M}") Duration timeout,
+                               @Value("${bookstore.changes.max-subscribers:1000}") int maxSubscribers,
+                               @Value("${bookstore.changes.sender-threads:16}") int senderThreadCount) {
+        this.changeLog = changeLog;
+        this.timeoutMillis = timeout.toMillis();
+        this.maxSubscribers = maxSubscribers;
+        this.senders = Executors.newFixedThreadPool(Math.max(senderThreadCount, 1), runnable -> {
+            Thread thread = new Thread(runnable, "product-change-stream-" + senderThreads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        changeLog.addAppendListener(this::signalAll);
+    }
+
+    /**
+     * Opens a stream of the changes logged after {@code since}, followed by every new change.
+     *
+     * @param since The last sequence the client has seen, or null to receive only new changes.
+     * @return The emitter to return from the controller, or null if the maximum number of subscribers is
+     *         connected.
+     */
+    public SseEmitter subscribe(Long since) {
+        if (subscriberSlots.incrementAndGet() > maxSubscribers) {
+            subscriberSlots.decrementAndGet();
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, since == null ? changeLog.latestSequence() : since);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscribers.add(subscriber);
+        subscriber.signal(); // Send any backlog right away
+        return emitter;
+    }
+
+    /**
+     * Returns the number of connected subscribers.
+     *
+     * @return The subscriber count.
+     */
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    void stop() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    private void signalAll() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.signal();
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        // Only touched by the thread currently draining
+        private long cursor;
+
+        Subscriber(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+
+        void signal() {
+            // At most one drain per subscriber is queued or running; it picks up everything appended so far
+            if (!closed && draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        // Sends one batch; a subscriber with more to send is queued again below
+        private void drain() {
+            try {
+                if (closed) {
+                    return;
+                }
+                ProductChangesDto batch = changeLog.read(cursor, DRAIN_BATCH_SIZE);
+                if (batch.isResyncRequired()) {
+                    emitter.send(SseEmitter.event().name(RESYNC_EVENT).data(batch, MediaType.APPLICATION_JSON));
+                    emitter.complete();
+                    close();
+                    return;
+                }
+                for (ProductChangeDto change : batch.getChanges()) {
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(change.getSequence()))
+                            .name(CHANGE_EVENT)
+                            .data(change, MediaType.APPLICATION_JSON));
+                }
+                if (!batch.getChanges().isEmpty()) {
+                    cursor = batch.getLastSequence();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away or the emitter already completed
+                close();
+            } finally {
+                draining.set(false);
+            }
+            // Covers the rest of a full batch, and a change appended after the read but before draining was reset
+            if (!closed && changeLog.latestSequence() > cursor) {
+                signal();
+            }
+        }
+
+        void close() {
+            closed = true;
+            if (subscribers.remove(this)) {
+                subscriberSlots.decrementAndGet();
+            }
+        }
+    }
+}
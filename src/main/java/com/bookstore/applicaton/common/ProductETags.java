@@ -0,0 +1,80 @@
+package com.bookstore.applicaton.common;
+
+import com.bookstore.applicaton.dto.ProductDto;
+
+import java.util.OptionalLong;
+
+/**
+ * Entity tags for single products. The tag is the product version, so it changes exactly when the
+ * product does and can be checked without serializing the product. While a price rule changes the
+ * product's price, the effective price is appended, since it changes without a new version.
+ */
+public final class ProductETags {
+
+    public static final String ANY = "*";
+
+    private static final String WEAK_PREFIX = "W/";
+    private static final char EFFECTIVE_PRICE_SEPARATOR = '-';
+
+    private ProductETags() {
+    }
+
+    /**
+     * Creates the tag of a product as read.
+     *
+     * @param productDto The product, with its version and effective price.
+     * @return The quoted tag, or null if the product has no version.
+     */
+    public static String of(ProductDto productDto) {
+        if (productDto.getVersion() == null) {
+            return null;
+        }
+        if (productDto.getEffectivePrice() == null || productDto.getPrice() == null
+                || productDto.getEffectivePrice().compareTo(productDto.getPrice()) == 0) {
+            return "\"" + productDto.getVersion() + "\"";
+        }
+        return "\"" + productDto.getVersion() + EFFECTIVE_PRICE_SEPARATOR
+                + productDto.getEffectivePrice().toPlainString() + "\"";
+    }
+
+    /**
+     * Checks an If-None-Match header against the current tag, using weak comparison (RFC 9110 13.1.2).
+     *
+     * @param ifNoneMatch The header value, possibly a comma-separated list or "*".
+     * @param current The current tag of the product.
+     * @return True if the client's copy is current.
+     */
+    public static boolean matchesAny(String ifNoneMatch, String current) {
+        for (String tag : ifNoneMatch.split(",")) {
+            String trimmed = tag.trim();
+            if (trimmed.startsWith(WEAK_PREFIX)) {
+                trimmed = trimmed.substring(WEAK_PREFIX.length());
+            }
+            if (trimmed.equals(ANY) || trimmed.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Extracts the expected version from an If-Match header. If-Match uses strong comparison, so weak
+     * tags never match; a list of several tags cannot be checked atomically and is not supported. An
+     * effective price in the tag is ignored: an update replaces the stored price, not the price rules.
+     *
+     * @param ifMatch The header value, other than "*".
+     * @return The version named by a single strong tag, or empty if the header cannot match any version.
+     */
+    public static OptionalLong expectedVersion(String ifMatch) {
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            return OptionalLong.empty();
+        }
+        int separator = tag.indexOf(EFFECTIVE_PRICE_SEPARATOR, 1);
+        try {
+            return OptionalLong.of(Long.parseLong(tag.substring(1, separator > 1 ? separator : tag.length() - 1)));
+        } catch (NumberFormatException e) {
+            return OptionalLong.empty();
+        }
+    }
+}
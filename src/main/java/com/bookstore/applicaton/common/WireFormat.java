@@ -0,0 +1,84 @@
+package com.bookstore.applicaton.common;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+/**
+ * Encodings the product API can answer in. JSON is the default; CBOR (RFC 8949) carries the same
+ * documents in a binary form that is smaller and cheaper to encode and parse, for service-to-service
+ * clients that ask for it with {@code Accept: application/cbor}.
+ */
+public enum WireFormat {
+
+    JSON(MediaType.APPLICATION_JSON, MediaType.APPLICATION_NDJSON),
+    // A stream of concatenated CBOR items (RFC 8742), the counterpart of newline-delimited JSON
+    CBOR(MediaType.APPLICATION_CBOR, new MediaType("application", "cbor-seq"));
+
+    public static final String CBOR_SEQ_VALUE = "application/cbor-seq";
+
+    private final MediaType mediaType;
+    private final MediaType streamMediaType;
+
+    WireFormat(MediaType mediaType, MediaType streamMediaType) {
+        this.mediaType = mediaType;
+        this.streamMediaType = streamMediaType;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public MediaType streamMediaType() {
+        return streamMediaType;
+    }
+
+    /**
+     * Chooses the format of a single response from an Accept header.
+     *
+     * @param accept The header value, or null.
+     * @return CBOR if the client names it and prefers it to JSON, otherwise JSON.
+     */
+    public static WireFormat forResponse(String accept) {
+        return negotiate(accept, false);
+    }
+
+    /**
+     * Chooses the format of a streamed listing from an Accept header.
+     *
+     * @param accept The header value, or null.
+     * @return CBOR if the client names a CBOR sequence and prefers it to NDJSON, otherwise JSON.
+     */
+    public static WireFormat forStream(String accept) {
+        return negotiate(accept, true);
+    }
+
+    private static WireFormat negotiate(String accept, boolean stream) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        List<MediaType> acceptedTypes;
+        try {
+            acceptedTypes = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+        MediaType json = stream ? JSON.streamMediaType : JSON.mediaType;
+        MediaType cbor = stream ? CBOR.streamMediaType : CBOR.mediaType;
+        // Only explicitly named types count: wildcards keep selecting JSON, so clients sending */* see no change
+        double jsonQuality = 0;
+        double cborQuality = 0;
+        for (MediaType acceptedType : acceptedTypes) {
+            if (acceptedType.isWildcardType() || acceptedType.isWildcardSubtype()) {
+                continue;
+            }
+            if (acceptedType.includes(json)) {
+                jsonQuality = Math.max(jsonQuality, acceptedType.getQualityValue());
+            } else if (acceptedType.includes(cbor)) {
+                cborQuality = Math.max(cborQuality, acceptedType.getQualityValue());
+            }
+        }
+        return cborQuality > jsonQuality ? CBOR : JSON;
+    }
+}
@@ -0,0 +1,22 @@
+package com.bookstore.applicaton.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The Jackson mapper of each {@link WireFormat}. Both are configured alike, so a response has the
+ * same fields and values in either format.
+ */
+public class WireFormatMappers {
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper cborMapper;
+
+    public WireFormatMappers(ObjectMapper jsonMapper, ObjectMapper cborMapper) {
+        this.jsonMapper = jsonMapper;
+        this.cborMapper = cborMapper;
+    }
+
+    public ObjectMapper mapperFor(WireFormat format) {
+        return format == WireFormat.CBOR ? cborMapper : jsonMapper;
+    }
+}
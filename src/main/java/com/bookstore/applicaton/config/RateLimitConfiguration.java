@@ -0,0 +1,62 @@
+package com.bookstore.applicaton.config;
+
+import com.bookstore.applicaton.ratelimit.EndpointClass;
+import com.bookstore.applicaton.ratelimit.RateLimitInterceptor;
+import com.bookstore.applicaton.ratelimit.RateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Rate and concurrency limits for every endpoint under {@code /api/products}, enabled with
+ * {@code bookstore.ratelimit.enabled=true}. Budgets are per endpoint class; see
+ * {@link EndpointClass} for the defaults and how to override them.
+ * <p>
+ * On platform threads, a concurrency limit at or above the request thread pool size can never be reached,
+ * since excess requests wait for a thread instead; such limits are logged as a warning at startup.
+ */
+@Configuration
+@ConditionalOnProperty(name = "bookstore.ratelimit.enabled", havingValue = "true")
+public class RateLimitConfiguration implements WebMvcConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitConfiguration.class);
+
+    private static final int VIRTUAL_THREADS_JAVA_VERSION = 21;
+
+    private final RateLimitInterceptor rateLimitInterceptor;
+
+    public RateLimitConfiguration(Environment environment, MeterRegistry meterRegistry, ObjectMapper objectMapper,
+                                  @Value("${bookstore.ratelimit.max-clients:100000}") int maxClients,
+                                  @Value("${bookstore.ratelimit.client-header:}") String clientHeader,
+                                  @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsRequested,
+                                  @Value("${server.tomcat.threads.max:200}") int maxPlatformThreads) {
+        RateLimiter rateLimiter = new RateLimiter(environment, meterRegistry, maxClients);
+        if (!virtualThreadsRequested || Runtime.version().feature() < VIRTUAL_THREADS_JAVA_VERSION) {
+            warnUnreachableLimits(rateLimiter, maxPlatformThreads);
+        }
+        this.rateLimitInterceptor = new RateLimitInterceptor(rateLimiter, objectMapper, clientHeader);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/api/products", "/api/products/**");
+    }
+
+    private static void warnUnreachableLimits(RateLimiter rateLimiter, int maxPlatformThreads) {
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            int limit = rateLimiter.concurrencyLimit(endpointClass);
+            if (limit >= maxPlatformThreads) {
+                log.warn("bookstore.ratelimit.{}.concurrency={} is not below server.tomcat.threads.max={}, "
+                        + "so it never sheds load on platform threads", endpointClass.key(), limit, maxPlatformThreads);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.bookstore.applicaton.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports at startup whether requests are handled on virtual or platform threads.
+ * <p>
+ * {@code spring.threads.virtual.enabled=true} only takes effect on a Java 21+ runtime; on older
+ * runtimes Spring silently keeps the platform thread pool, so that case is logged as a warning.
+ */
+@Component
+public class ThreadingModeLogger {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadingModeLogger.class);
+
+    private static final int VIRTUAL_THREADS_JAVA_VERSION = 21;
+
+    private final boolean virtualThreadsRequested;
+    private final int maxPlatformThreads;
+
+    public ThreadingModeLogger(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsRequested,
+                               @Value("${server.tomcat.threads.max:200}") int maxPlatformThreads) {
+        this.virtualThreadsRequested = virtualThreadsRequested;
+        this.maxPlatformThreads = maxPlatformThreads;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void logThreadingMode() {
+        int javaVersion = Runtime.version().feature();
+        if (!virtualThreadsRequested) {
+            log.info("Handling requests on a pool of up to {} platform threads", maxPlatformThreads);
+        } else if (javaVersion >= VIRTUAL_THREADS_JAVA_VERSION) {
+            log.info("Handling requests and async tasks on virtual threads");
+        } else {
+            log.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads; "
+                    + "handling requests on a pool of up to {} platform threads", javaVersion, maxPlatformThreads);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.bookstore.applicaton.config;
+
+import com.bookstore.applicaton.common.WireFormatMappers;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * CBOR support for the API. The CBOR mapper is built from Spring Boot's Jackson builder, so it picks up
+ * the same {@code spring.jackson.*} settings and modules as the JSON mapper. Registering the converter
+ * lets every endpoint read and write {@code application/cbor}; it is deliberately not an ObjectMapper
+ * bean, which would replace Boot's JSON mapper.
+ */
+@Configuration
+public class WireFormatConfiguration {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public WireFormatMappers wireFormatMappers(ObjectMapper objectMapper,
+                                               MappingJackson2CborHttpMessageConverter cborHttpMessageConverter) {
+        return new WireFormatMappers(objectMapper, cborHttpMessageConverter.getObjectMapper());
+    }
+}
@@ -15,6 +15,60 @@ public final class ProductResponseMessages {
 
     public static final String NO_PRODUCTS_FOUND = "No products found.";
 
+    public static final String PRODUCT_PAGE_RETRIEVED_SUCCESSFULLY = "Product page retrieved successfully.";
+    public static final String INVALID_PAGE_LIMIT = "Page limit must be between 1 and 1000.";
+    public static final String FILTERED_PRODUCTS_RETRIEVED_SUCCESSFULLY = "Filtered products retrieved successfully.";
+    public static final String BATCH_PROCESSED_SUCCESSFULLY = "Batch processed successfully.";
+    public static final String BATCH_PARTIALLY_PROCESSED = "Batch processed with errors; see per-item results.";
+    public static final String INVALID_BATCH_SIZE = "Batch must contain between 1 and 10000 items.";
+    public static final String INVALID_PRODUCT_DATA = "Product name is required; price and quantity must be present and not negative.";
+    public static final String PRODUCT_ID_REQUIRED = "Product ID is required.";
+    public static final String CHANGES_RETRIEVED_SUCCESSFULLY = "Changes retrieved successfully.";
+    public static final String CHANGE_STREAM_FULL = "Too many change stream subscribers; retry later or poll for changes.";
+    public static final String CHANGES_EXPIRED = "Requested changes are no longer retained; reload the catalog and poll from lastSequence.";
+    public static final String INVALID_CHANGE_SEQUENCE = "Sequence must not be negative.";
+    public static final String PRODUCT_NOT_MODIFIED = "Product not modified.";
+    public static final String PRODUCT_VERSION_MISMATCH = "Product version does not match the current version.";
+    public static final String PRODUCT_MODIFIED_CONCURRENTLY = "Product was modified concurrently; reload it and retry.";
+    public static final String STOCK_RESERVED_SUCCESSFULLY = "Stock reserved successfully.";
+    public static final String STOCK_RELEASED_SUCCESSFULLY = "Stock released successfully.";
+    public static final String STOCK_COMMITTED_SUCCESSFULLY = "Stock committed successfully.";
+    public static final String INSUFFICIENT_STOCK = "Insufficient stock for this operation.";
+    public static final String INVALID_STOCK_QUANTITY = "Quantity must be greater than zero.";
+    public static final String SEARCH_RESULTS_RETRIEVED_SUCCESSFULLY = "Search results retrieved successfully.";
+    public static final String INVALID_SEARCH_QUERY = "Search query must not be empty.";
+    public static final String INVALID_PRICE_RANGE = "Minimum price must not be greater than maximum price.";
+    public static final String REPRICING_JOB_STARTED = "Repricing job started.";
+    public static final String REPRICING_JOB_RETRIEVED_SUCCESSFULLY = "Repricing job retrieved successfully.";
+    public static final String REPRICING_JOBS_RETRIEVED_SUCCESSFULLY = "Repricing jobs retrieved successfully.";
+    public static final String REPRICING_JOB_NOT_FOUND = "Repricing job not found.";
+    public static final String REPRICING_JOB_CANCEL_REQUESTED = "Repricing job cancellation requested.";
+    public static final String REPRICING_JOB_ROLLBACK_STARTED = "Repricing job rollback started.";
+    public static final String REPRICING_JOB_NOT_RUNNING = "Only a running repricing job can be cancelled.";
+    public static final String REPRICING_JOB_NOT_FINISHED = "Only a completed, cancelled or failed repricing job can be rolled back, once.";
+    public static final String REPRICING_JOB_ROLLBACK_EXPIRED = "Repricing job changes are no longer retained, so it cannot be rolled back.";
+    public static final String INVALID_REPRICING_REQUEST = "Type must be discount or tax, percentage must not be negative (at most 100 for a discount) and filter bounds must not be reversed.";
+    public static final String PRICE_RULE_CREATED_SUCCESSFULLY = "Price rule created successfully.";
+    public static final String PRICE_RULES_RETRIEVED_SUCCESSFULLY = "Price rules retrieved successfully.";
+    public static final String PRICE_RULE_DELETED_SUCCESSFULLY = "Price rule deleted successfully.";
+    public static final String PRICE_RULE_NOT_FOUND = "Price rule not found.";
+    public static final String INVALID_PRICE_RULE = "Type must be discount or tax, percentage must not be negative (at most 100 for a discount), product ID bounds must not be reversed and the rule must end after it starts and in the future.";
+    public static final String IMPORT_JOB_STARTED = "Import job started.";
+    public static final String IMPORT_JOB_RETRIEVED_SUCCESSFULLY = "Import job retrieved successfully.";
+    public static final String IMPORT_JOBS_RETRIEVED_SUCCESSFULLY = "Import jobs retrieved successfully.";
+    public static final String IMPORT_JOB_NOT_FOUND = "Import job not found.";
+    public static final String IMPORT_JOB_CANCEL_REQUESTED = "Import job cancellation requested.";
+    public static final String IMPORT_JOB_NOT_RUNNING = "Only a running import job can be cancelled.";
+    public static final String IMPORT_FILE_NOT_FOUND = "Import file not found.";
+    public static final String IMPORT_ALREADY_RUNNING = "An import of this file is already running.";
+    public static final String IMPORT_CHECKPOINT_UNUSABLE = "The import checkpoint of this file is unreadable or was written for a different version of the file; start a new import instead of resuming.";
+    public static final String INVALID_IMPORT_REQUEST = "File must name a file in the transfer directory, and format must be csv or ndjson, given or implied by the file extension.";
+    public static final String INVALID_CSV_HEADER = "The CSV header must name the name, price and quantityAvailable columns.";
+    public static final String INVALID_EXPORT_FORMAT = "Format must be csv or ndjson.";
+    public static final String RATE_LIMIT_EXCEEDED = "Too many requests from this client for this kind of endpoint; retry after the time given in the Retry-After header.";
+    public static final String CATALOG_STATISTICS_RETRIEVED_SUCCESSFULLY = "Catalog statistics retrieved successfully.";
+    public static final String CONCURRENCY_LIMIT_EXCEEDED = "The server is at capacity for this kind of endpoint; retry after the time given in the Retry-After header.";
+
     public ProductResponseMessages() {
     }
 
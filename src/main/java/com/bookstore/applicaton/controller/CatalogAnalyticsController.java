@@ -0,0 +1,37 @@
+package com.bookstore.applicaton.controller;
+
+import com.bookstore.applicaton.analytics.CatalogAnalyticsService;
+import com.bookstore.applicaton.common.ApiResponse;
+import com.bookstore.applicaton.constants.ProductResponseMessages;
+import com.bookstore.applicaton.dto.CatalogStatisticsDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/products/analytics")
+public class CatalogAnalyticsController {
+
+    private final CatalogAnalyticsService catalogAnalyticsService;
+
+    @Autowired
+    public CatalogAnalyticsController(CatalogAnalyticsService catalogAnalyticsService) {
+        this.catalogAnalyticsService = catalogAnalyticsService;
+    }
+
+    @GetMapping
+    @Operation(summary = "Retrieve catalog statistics: counts, stock, inventory value and price distribution")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200",
+                    description = ProductResponseMessages.CATALOG_STATISTICS_RETRIEVED_SUCCESSFULLY)
+    })
+    public ResponseEntity<ApiResponse<CatalogStatisticsDto>> getStatistics() {
+        ApiResponse<CatalogStatisticsDto> response = catalogAnalyticsService.getStatistics();
+        return new ResponseEntity<>(response, HttpStatus.valueOf(response.getStatusCode()));
+    }
+}
@@ -0,0 +1,108 @@
+package com.bookstore.applicaton.controller;
+
+import com.bookstore.applicaton.common.ApiResponse;
+import com.bookstore.applicaton.constants.ProductResponseMessages;
+import com.bookstore.applicaton.dto.ImportJobDto;
+import com.bookstore.applicaton.dto.ImportRequestDto;
+import com.bookstore.applicaton.transfer.CatalogFormat;
+import com.bookstore.applicaton.transfer.CatalogTransferService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/products")
+public class CatalogTransferController {
+
+    private final CatalogTransferService catalogTransferService;
+
+    @Autowired
+    public CatalogTransferController(CatalogTransferService catalogTransferService) {
+        this.catalogTransferService = catalogTransferService;
+    }
+
+    @PostMapping("/imports")
+    @Operation(summary = "Start importing a CSV or NDJSON file from the transfer directory, or resume an import")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "202",
+                    description = ProductResponseMessages.IMPORT_JOB_STARTED),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400",
+                    description = ProductResponseMessages.INVALID_IMPORT_REQUEST),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404",
+                    description = ProductResponseMessages.IMPORT_FILE_NOT_FOUND),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409",
+                    description = ProductResponseMessages.IMPORT_ALREADY_RUNNING)
+    })
+    public ResponseEntity<ApiResponse<ImportJobDto>> startImport(@RequestBody ImportRequestDto request) {
+        ApiResponse<ImportJobDto> response = catalogTransferService.startImport(request);
+        return new ResponseEntity<>(response, HttpStatus.valueOf(response.getStatusCode()));
+    }
+
+    @GetMapping("/imports")
+    @Operation(summary = "Retrieve all retained import jobs, newest first")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200",
+                    description = ProductResponseMessages.IMPORT_JOBS_RETRIEVED_SUCCESSFULLY)
+    })
+    public ResponseEntity<ApiResponse<List<ImportJobDto>>> getImports() {
+        ApiResponse<List<ImportJobDto>> response = catalogTransferService.getImports();
+        return new ResponseEntity<>(response, HttpStatus.valueOf(response.getStatusCode()));
+    }
+
+    @GetMapping("/imports/{jobId}")
+    @Operation(summary = "Retrieve the status, progress and first failed rows of an import job")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200",
+                    description = ProductResponseMessages.IMPORT_JOB_RETRIEVED_SUCCESSFULLY),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404",
+                    description = ProductResponseMessages.IMPORT_JOB_NOT_FOUND)
+    })
+    public ResponseEntity<ApiResponse<ImportJobDto>> getImport(@PathVariable(value = "jobId") long jobId) {
+        ApiResponse<ImportJobDto> response = catalogTransferService.getImport(jobId);
+        return new ResponseEntity<>(response, HttpStatus.valueOf(response.getStatusCode()));
+    }
+
+    @PostMapping("/imports/{jobId}/cancel")
+    @Operation(summary = "Cancel a running import job, keeping its checkpoint for a later resume")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "202",
+                    description = ProductResponseMessages.IMPORT_JOB_CANCEL_REQUESTED),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404",
+                    description = ProductResponseMessages.IMPORT_JOB_NOT_FOUND),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409",
+                    description = ProductResponseMessages.IMPORT_JOB_NOT_RUNNING)
+    })
+    public ResponseEntity<ApiResponse<ImportJobDto>> cancelImport(@PathVariable(value = "jobId") long jobId) {
+        ApiResponse<ImportJobDto> response = catalogTransferService.cancelImport(jobId);
+        return new ResponseEntity<>(response, HttpStatus.valueOf(response.getStatusCode()));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Download the whole catalog as a CSV or NDJSON file, streamed")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400",
+                    description = ProductResponseMessages.INVALID_EXPORT_FORMAT)
+    })
+    public ResponseEntity<?> exportCatalog(
+            @RequestParam(required = false, value = "format", defaultValue = "ndjson") String formatName) {
+        CatalogFormat format = CatalogFormat.of(formatName);
+        if (format == null) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(HttpStatus.BAD_REQUEST.value(), false,
+                    ProductResponseMessages.INVALID_EXPORT_FORMAT, null));
+        }
+        StreamingResponseBody body = outputStream -> catalogTransferService.exportCatalog(format, outputStream);
+        return ResponseEntity.ok()
+                .contentType(format.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("catalog." + format.extension()).build().toString())
+                .body(body);
+    }
+}
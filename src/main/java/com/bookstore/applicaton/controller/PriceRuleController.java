@@ -0,0 +1,63 @@
+package com.bookstore.applicaton.controller;
+
+import com.bookstore.applicaton.common.ApiResponse;
+import com.bookstore.applicaton.constants.ProductResponseMessages;
+import com.bookstore.applicaton.dto.PriceRuleDto;
+import com.bookstore.applicaton.pricing.PriceRuleService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/products/price-rules")
+public class PriceRuleController {
+
+    private final PriceRuleService priceRuleService;
+
+    @Autowired
+    public PriceRuleController(PriceRuleService priceRuleService) {
+        this.priceRuleService = priceRuleService;
+    }
+
+    @PostMapping
+    @Operation(summary = "Create a scheduled discount or tax applied to product prices while it is active")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201",
+                    description = ProductResponseMessages.PRICE_RULE_CREATED_SUCCESSFULLY),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400",
+                    description = ProductResponseMessages.INVALID_PRICE_RULE)
+    })
+    public ResponseEntity<ApiResponse<PriceRuleDto>> createRule(@RequestBody PriceRuleDto priceRuleDto) {
+        ApiResponse<PriceRuleDto> response = priceRuleService.createRule(priceRuleDto);
+        return new ResponseEntity<>(response, HttpStatus.valueOf(response.getStatusCode()));
+    }
+
+    @GetMapping
+    @Operation(summary = "Retrieve all price rules that have not ended yet")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200",
+                    description = ProductResponseMessages.PRICE_RULES_RETRIEVED_SUCCESSFULLY)
+    })
+    public ResponseEntity<ApiResponse<List<PriceRuleDto>>> getRules() {
+        ApiResponse<List<PriceRuleDto>> response = priceRuleService.getRules();
+        return new ResponseEntity<>(response, HttpStatus.valueOf(response.getStatusCode()));
+    }
+
+    @DeleteMapping("/{ruleId}")
+    @Operation(summary = "Delete a price rule")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200",
+                    description = ProductResponseMessages.PRICE_RULE_DELETED_SUCCESSFULLY),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404",
+                    description = ProductResponseMessages.PRICE_RULE_NOT_FOUND)
+    })
+    public ResponseEntity<ApiResponse<PriceRuleDto>> deleteRule(@PathVariable(value = "ruleId") long ruleId) {
+        ApiResponse<PriceRuleDto> response = priceRuleService.deleteRule(ruleId);
+        return new ResponseEntity<>(response, HttpStatus.valueOf(response.getStatusCode()));
+    }
+}
@@ -1,19 +1,41 @@
 package com.bookstore.applicaton.controller;
 
+import com.bookstore.applicaton.cache.ProductResponseCache;
+import com.bookstore.applicaton.cache.ProductResponseCache.CachedResponse;
+import com.bookstore.applicaton.changes.ProductChangeStream;
 import com.bookstore.applicaton.common.ApiResponse;
+import com.bookstore.applicaton.common.ProductETags;
+import com.bookstore.applicaton.common.WireFormat;
+import com.bookstore.applicaton.common.WireFormatMappers;
 import com.bookstore.applicaton.constants.ProductResponseMessages;
+import com.bookstore.applicaton.domain.Product;
+import com.bookstore.applicaton.dto.ProductChangesDto;
 import com.bookstore.applicaton.dto.ProductDto;
+import com.bookstore.applicaton.dto.ProductPageDto;
 import com.bookstore.applicaton.service.ProductService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.util.Iterator;
 import java.util.List;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/products")
@@ -21,9 +43,21 @@ public class ProductController {
 
     private final ProductService productService;
 
+    // JSON and CBOR mappers for the bodies this controller serializes itself
+    private final WireFormatMappers wireFormatMappers;
+
+    private final ProductChangeStream productChangeStream;
+
+    // Pre-serialized responses for the hot read endpoints
+    private final ProductResponseCache productResponseCache;
+
     @Autowired
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, WireFormatMappers wireFormatMappers,
+                             ProductChangeStream productChangeStream, ProductResponseCache productResponseCache) {
         this.productService = productService;
+        this.wireFormatMappers = wireFormatMappers;
+        this.productChangeStream = productChangeStream;
+        this.productResponseCache = productResponseCache;
     }
 
     @PostMapping
@@ -44,12 +78,33 @@ public class ProductController {
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200",
                     description = ProductResponseMessages.PRODUCT_RETRIEVED_SUCCESSFULLY),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304",
+                    description = ProductResponseMessages.PRODUCT_NOT_MODIFIED),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404",
                     description = ProductResponseMessages.PRODUCT_NOT_FOUND)
     })
-    public ResponseEntity<ApiResponse<ProductDto>> getProduct(@PathVariable (required = true, value = "productId") Integer productId) {
+    public ResponseEntity<?> getProduct(
+            @PathVariable (required = true, value = "productId") Integer productId,
+            @RequestHeader(required = false, value = HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+            @RequestHeader(required = false, value = HttpHeaders.ACCEPT) String accept) {
+        WireFormat format = WireFormat.forResponse(accept);
+        CachedResponse cached = productResponseCache.getProduct(productId, format);
+        if (cached != null) {
+            if (ifNoneMatch != null && ProductETags.matchesAny(ifNoneMatch, cached.eTag())) {
+                // The client's copy is current: send no body at all
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(cached.eTag())
+                        .varyBy(HttpHeaders.ACCEPT).build();
+            }
+            // The tag names the product version, not the encoding, so shared caches must also key by Accept
+            return ResponseEntity.status(cached.statusCode())
+                    .eTag(cached.eTag())
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .contentType(format.mediaType())
+                    .body(cached.body());
+        }
+        // Not found (or removed meanwhile): let the service build the error response
         ApiResponse<ProductDto> response = productService.getProduct(productId);
-        return new ResponseEntity<>(response, HttpStatus.valueOf(response.getStatusCode()));
+        return withETag(response);
     }
 
     @PutMapping("/{productId}")
@@ -57,15 +112,31 @@ public class ProductController {
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200",
                     description = ProductResponseMessages.PRODUCT_UPDATED_SUCCESSFULLY),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400",
+                    description = ProductResponseMessages.INVALID_PRODUCT_DATA),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404",
-                    description = ProductResponseMessages.PRODUCT_NOT_FOUND)
+                    description = ProductResponseMessages.PRODUCT_NOT_FOUND),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409",
+                    description = ProductResponseMessages.PRODUCT_MODIFIED_CONCURRENTLY),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "412",
+                    description = ProductResponseMessages.PRODUCT_VERSION_MISMATCH)
     })
     public ResponseEntity<ApiResponse<ProductDto>> updateProduct(
             @PathVariable (required = true, value = "productId") Integer productId,
+            @RequestHeader(required = false, value = HttpHeaders.IF_MATCH) String ifMatch,
             @Valid @RequestBody ProductDto productDto) {
         productDto.setProductId(productId); // Ensure ID consistency
-        ApiResponse<ProductDto> response = productService.updateProduct(productId, productDto);
-        return new ResponseEntity<>(response, HttpStatus.valueOf(response.getStatusCode()));
+        ApiResponse<ProductDto> response;
+        if (ifMatch == null || ifMatch.trim().equals(ProductETags.ANY)) {
+            response = productService.updateProduct(productId, productDto);
+        } else {
+            OptionalLong expectedVersion = ProductETags.expectedVersion(ifMatch);
+            response = expectedVersion.isPresent()
+                    ? productService.updateProduct(productId, productDto, expectedVersion.getAsLong())
+                    : new ApiResponse<>(HttpStatus.PRECONDITION_FAILED.value(), false,
+                            ProductResponseMessages.PRODUCT_VERSION_MISMATCH, null);
+        }
+        return withETag(response);
     }
 
     @DeleteMapping("/{productId}")
@@ -100,6 +171,63 @@ public class ProductController {
         return new ResponseEntity<>(response, HttpStatus.valueOf(response.getStatusCode()));
     }
 
+    @PostMapping("/{productId}/stock/reserve")
+    @Operation(summary = "Reserve stock of a product")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200",
+                    description = ProductResponseMessages.STOCK_RESERVED_SUCCESSFULLY),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404",
+                    description = ProductResponseMessages.PRODUCT_NOT_FOUND),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409",
+                    description = ProductResponseMessages.INSUFFICIENT_STOCK),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400",
+                    description = ProductResponseMessages.INVALID_STOCK_QUANTITY)
+    })
+    public ResponseEntity<ApiResponse<ProductDto>> reserveStock(
+            @PathVariable(required = true, value = "productId") Integer productId,
+            @RequestParam(required = true, value = "quantity") int quantity) {
+        ApiResponse<ProductDto> response = productService.reserveStock(productId, quantity);
+        return new ResponseEntity<>(response, HttpStatus.valueOf(response.getStatusCode()));
+    }
+
+    @PostMapping("/{productId}/stock/release")
+    @Operation(summary = "Release reserved stock of a product")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200",
+                    description = ProductResponseMessages.STOCK_RELEASED_SUCCESSFULLY),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404",
+                    description = ProductResponseMessages.PRODUCT_NOT_FOUND),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409",
+                    description = ProductResponseMessages.INSUFFICIENT_STOCK),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400",
+                    description = ProductResponseMessages.INVALID_STOCK_QUANTITY)
+    })
+    public ResponseEntity<ApiResponse<ProductDto>> releaseStock(
+            @PathVariable(required = true, value = "productId") Integer productId,
+            @RequestParam(required = true, value = "quantity") int quantity) {
+        ApiResponse<ProductDto> response = productService.releaseStock(productId, quantity);
+        return new ResponseEntity<>(response, HttpStatus.valueOf(response.getStatusCode()));
+    }
+
+    @PostMapping("/{productId}/stock/commit")
+    @Operation(summary = "Commit reserved stock of a product")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200",
+                    description = ProductResponseMessages.STOCK_COMMITTED_SUCCESSFULLY),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404",
+                    description = ProductResponseMessages.PRODUCT_NOT_FOUND),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409",
+                    description = ProductResponseMessages.INSUFFICIENT_STOCK),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400",
+                    description = ProductResponseMessages.INVALID_STOCK_QUANTITY)
+    })
+    public ResponseEntity<ApiResponse<ProductDto>> commitStock(
+            @PathVariable(required = true, value = "productId") Integer productId,
+            @RequestParam(required = true, value = "quantity") int quantity) {
+        ApiResponse<ProductDto> response = productService.commitStock(productId, quantity);
+        return new ResponseEntity<>(response, HttpStatus.valueOf(response.getStatusCode()));
+    }
+
     @GetMapping
     @Operation(summary = "Retrieve all products")
     @ApiResponses(value = {
@@ -108,8 +236,213 @@ public class ProductController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404",
                     description = ProductResponseMessages.NO_PRODUCTS_FOUND)
     })
-    public ResponseEntity<ApiResponse<List<ProductDto>>> getAllProducts() {
+    public ResponseEntity<?> getAllProducts(
+            @RequestHeader(required = false, value = HttpHeaders.ACCEPT) String accept) {
+        WireFormat format = WireFormat.forResponse(accept);
+        CachedResponse cached = productResponseCache.getAllProducts(format);
+        if (cached != null) {
+            return ResponseEntity.status(cached.statusCode()).contentType(format.mediaType())
+                    .varyBy(HttpHeaders.ACCEPT).body(cached.body());
+        }
         ApiResponse<List<ProductDto>> response = productService.getAllProducts();
         return new ResponseEntity<>(response, HttpStatus.valueOf(response.getStatusCode()));
     }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Create a batch of products")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200",
+                    description = ProductResponseMessages.BATCH_PROCESSED_SUCCESSFULLY),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "207",
+                    description = ProductResponseMessages.BATCH_PARTIALLY_PROCESSED),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400",
+                    description = ProductResponseMessages.INVALID_BATCH_SIZE)
+    })
+    public ResponseEntity<ApiResponse<List<ApiResponse<ProductDto>>>> createProducts(
+            @RequestBody List<ProductDto> productDtos) {
+        ApiResponse<List<ApiResponse<ProductDto>>> response = productService.createProducts(productDtos);
+        return new ResponseEntity<>(response, HttpStatus.valueOf(response.getStatusCode()));
+    }
+
+    @PutMapping("/batch")
+    @Operation(summary = "Update a batch of existing products")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200",
+                    description = ProductResponseMessages.BATCH_PROCESSED_SUCCESSFULLY),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "207",
+                    description = ProductResponseMessages.BATCH_PARTIALLY_PROCESSED),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400",
+                    description = ProductResponseMessages.INVALID_BATCH_SIZE)
+    })
+    public ResponseEntity<ApiResponse<List<ApiResponse<ProductDto>>>> updateProducts(
+            @RequestBody List<ProductDto> productDtos) {
+        ApiResponse<List<ApiResponse<ProductDto>>> response = productService.updateProducts(productDtos);
+        return new ResponseEntity<>(response, HttpStatus.valueOf(response.getStatusCode()));
+    }
+
+    @DeleteMapping("/batch")
+    @Operation(summary = "Delete a batch of products")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200",
+                    description = ProductResponseMessages.BATCH_PROCESSED_SUCCESSFULLY),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "207",
+                    description = ProductResponseMessages.BATCH_PARTIALLY_PROCESSED),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400",
+                    description = ProductResponseMessages.INVALID_BATCH_SIZE)
+    })
+    public ResponseEntity<ApiResponse<List<ApiResponse<ProductDto>>>> deleteProducts(
+            @RequestBody List<Integer> productIds) {
+        ApiResponse<List<ApiResponse<ProductDto>>> response = productService.deleteProducts(productIds);
+        return new ResponseEntity<>(response, HttpStatus.valueOf(response.getStatusCode()));
+    }
+
+    @GetMapping(params = "limit")
+    @Operation(summary = "Retrieve a page of products ordered by ID")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200",
+                    description = ProductResponseMessages.PRODUCT_PAGE_RETRIEVED_SUCCESSFULLY),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400",
+                    description = ProductResponseMessages.INVALID_PAGE_LIMIT)
+    })
+    public ResponseEntity<ApiResponse<ProductPageDto>> getProductsPage(
+            @RequestParam(required = true, value = "limit") int limit,
+            @RequestParam(required = false, value = "after") Integer after) {
+        ApiResponse<ProductPageDto> response = productService.getProductsPage(after, limit);
+        return new ResponseEntity<>(response, HttpStatus.valueOf(response.getStatusCode()));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search products by name and description")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200",
+                    description = ProductResponseMessages.SEARCH_RESULTS_RETRIEVED_SUCCESSFULLY),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400",
+                    description = ProductResponseMessages.INVALID_SEARCH_QUERY)
+    })
+    public ResponseEntity<ApiResponse<List<ProductDto>>> searchProducts(
+            @RequestParam(required = true, value = "q") String query,
+            @RequestParam(required = false, value = "limit", defaultValue = "20") int limit) {
+        ApiResponse<List<ProductDto>> response = productService.searchProducts(query, limit);
+        return new ResponseEntity<>(response, HttpStatus.valueOf(response.getStatusCode()));
+    }
+
+    @GetMapping("/price-range")
+    @Operation(summary = "Retrieve products within a price band, cheapest first")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200",
+                    description = ProductResponseMessages.FILTERED_PRODUCTS_RETRIEVED_SUCCESSFULLY),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400",
+                    description = ProductResponseMessages.INVALID_PRICE_RANGE)
+    })
+    public ResponseEntity<ApiResponse<List<ProductDto>>> getProductsByPriceRange(
+            @RequestParam(required = false, value = "minPrice") BigDecimal minPrice,
+            @RequestParam(required = false, value = "maxPrice") BigDecimal maxPrice,
+            @RequestParam(required = false, value = "limit", defaultValue = "100") int limit) {
+        ApiResponse<List<ProductDto>> response = productService.getProductsByPriceRange(minPrice, maxPrice, limit);
+        return new ResponseEntity<>(response, HttpStatus.valueOf(response.getStatusCode()));
+    }
+
+    @GetMapping("/in-stock")
+    @Operation(summary = "Retrieve products that are in stock")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200",
+                    description = ProductResponseMessages.FILTERED_PRODUCTS_RETRIEVED_SUCCESSFULLY),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400",
+                    description = ProductResponseMessages.INVALID_PAGE_LIMIT)
+    })
+    public ResponseEntity<ApiResponse<List<ProductDto>>> getProductsInStock(
+            @RequestParam(required = false, value = "minQuantity", defaultValue = "1") int minQuantity,
+            @RequestParam(required = false, value = "limit", defaultValue = "100") int limit) {
+        ApiResponse<List<ProductDto>> response = productService.getProductsInStock(minQuantity, limit);
+        return new ResponseEntity<>(response, HttpStatus.valueOf(response.getStatusCode()));
+    }
+
+    @GetMapping("/cheapest")
+    @Operation(summary = "Retrieve the cheapest products")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200",
+                    description = ProductResponseMessages.FILTERED_PRODUCTS_RETRIEVED_SUCCESSFULLY),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400",
+                    description = ProductResponseMessages.INVALID_PAGE_LIMIT)
+    })
+    public ResponseEntity<ApiResponse<List<ProductDto>>> getCheapestProducts(
+            @RequestParam(required = false, value = "limit", defaultValue = "10") int limit) {
+        ApiResponse<List<ProductDto>> response = productService.getCheapestProducts(limit);
+        return new ResponseEntity<>(response, HttpStatus.valueOf(response.getStatusCode()));
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "Retrieve catalog changes after a sequence number")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200",
+                    description = ProductResponseMessages.CHANGES_RETRIEVED_SUCCESSFULLY),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "410",
+                    description = ProductResponseMessages.CHANGES_EXPIRED),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400",
+                    description = ProductResponseMessages.INVALID_PAGE_LIMIT)
+    })
+    public ResponseEntity<ApiResponse<ProductChangesDto>> getChanges(
+            @RequestParam(required = false, value = "since", defaultValue = "0") long since,
+            @RequestParam(required = false, value = "limit", defaultValue = "1000") int limit) {
+        ApiResponse<ProductChangesDto> response = productService.getChanges(since, limit);
+        return new ResponseEntity<>(response, HttpStatus.valueOf(response.getStatusCode()));
+    }
+
+    @GetMapping(value = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream catalog changes as Server-Sent Events")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503",
+                    description = ProductResponseMessages.CHANGE_STREAM_FULL)
+    })
+    public ResponseEntity<SseEmitter> streamChanges(
+            @RequestParam(required = false, value = "since") Long since,
+            @RequestHeader(required = false, value = "Last-Event-ID") Long lastEventId) {
+        // Reconnecting EventSource clients resume from the last event they received
+        SseEmitter emitter = productChangeStream.subscribe(since != null ? since : lastEventId);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    @GetMapping(value = "/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, WireFormat.CBOR_SEQ_VALUE})
+    @Operation(summary = "Stream all products as newline-delimited JSON or a CBOR sequence")
+    public ResponseEntity<StreamingResponseBody> streamProducts(
+            @RequestParam(required = false, value = "after") Integer after,
+            @RequestHeader(required = false, value = HttpHeaders.ACCEPT) String accept) {
+        WireFormat format = WireFormat.forStream(accept);
+        StreamingResponseBody body = outputStream -> {
+            try (Stream<Product> products = productService.streamProductSnapshots(after)) {
+                writeSequence(products.iterator(), outputStream, format);
+            }
+        };
+        return ResponseEntity.ok().contentType(format.streamMediaType()).body(body);
+    }
+
+    private ResponseEntity<ApiResponse<ProductDto>> withETag(ApiResponse<ProductDto> response) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(response.getStatusCode());
+        if (response.getData() != null && response.getData().getVersion() != null) {
+            builder.eTag(ProductETags.of(response.getData()));
+        }
+        return builder.body(response);
+    }
+
+    private void writeSequence(Iterator<Product> products, OutputStream outputStream, WireFormat format)
+            throws IOException {
+        // Products are written one at a time through the generator's buffer, so memory stays flat
+        // regardless of catalog size. CBOR items are self-delimiting and need no separator.
+        ObjectMapper mapper = wireFormatMappers.mapperFor(format);
+        ObjectWriter writer = mapper.writerFor(Product.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            while (products.hasNext()) {
+                writer.writeValue(generator, products.next());
+                if (format == WireFormat.JSON) {
+                    generator.writeRaw('\n');
+                }
+            }
+        }
+    }
 }
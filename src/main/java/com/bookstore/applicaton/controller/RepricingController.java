@@ -0,0 +1,94 @@
+package com.bookstore.applicaton.controller;
+
+import com.bookstore.applicaton.common.ApiResponse;
+import com.bookstore.applicaton.constants.ProductResponseMessages;
+import com.bookstore.applicaton.dto.RepricingJobDto;
+import com.bookstore.applicaton.dto.RepricingRequestDto;
+import com.bookstore.applicaton.repricing.RepricingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/products/repricing-jobs")
+public class RepricingController {
+
+    private final RepricingService repricingService;
+
+    @Autowired
+    public RepricingController(RepricingService repricingService) {
+        this.repricingService = repricingService;
+    }
+
+    @PostMapping
+    @Operation(summary = "Start a bulk discount or tax job over the products matching a filter")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "202",
+                    description = ProductResponseMessages.REPRICING_JOB_STARTED),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400",
+                    description = ProductResponseMessages.INVALID_REPRICING_REQUEST)
+    })
+    public ResponseEntity<ApiResponse<RepricingJobDto>> startJob(@RequestBody RepricingRequestDto request) {
+        ApiResponse<RepricingJobDto> response = repricingService.startJob(request);
+        return new ResponseEntity<>(response, HttpStatus.valueOf(response.getStatusCode()));
+    }
+
+    @GetMapping
+    @Operation(summary = "Retrieve all retained repricing jobs, newest first")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200",
+                    description = ProductResponseMessages.REPRICING_JOBS_RETRIEVED_SUCCESSFULLY)
+    })
+    public ResponseEntity<ApiResponse<List<RepricingJobDto>>> getJobs() {
+        ApiResponse<List<RepricingJobDto>> response = repricingService.getJobs();
+        return new ResponseEntity<>(response, HttpStatus.valueOf(response.getStatusCode()));
+    }
+
+    @GetMapping("/{jobId}")
+    @Operation(summary = "Retrieve the status and progress of a repricing job")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200",
+                    description = ProductResponseMessages.REPRICING_JOB_RETRIEVED_SUCCESSFULLY),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404",
+                    description = ProductResponseMessages.REPRICING_JOB_NOT_FOUND)
+    })
+    public ResponseEntity<ApiResponse<RepricingJobDto>> getJob(@PathVariable(value = "jobId") long jobId) {
+        ApiResponse<RepricingJobDto> response = repricingService.getJob(jobId);
+        return new ResponseEntity<>(response, HttpStatus.valueOf(response.getStatusCode()));
+    }
+
+    @PostMapping("/{jobId}/cancel")
+    @Operation(summary = "Cancel a running repricing job")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "202",
+                    description = ProductResponseMessages.REPRICING_JOB_CANCEL_REQUESTED),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404",
+                    description = ProductResponseMessages.REPRICING_JOB_NOT_FOUND),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409",
+                    description = ProductResponseMessages.REPRICING_JOB_NOT_RUNNING)
+    })
+    public ResponseEntity<ApiResponse<RepricingJobDto>> cancelJob(@PathVariable(value = "jobId") long jobId) {
+        ApiResponse<RepricingJobDto> response = repricingService.cancelJob(jobId);
+        return new ResponseEntity<>(response, HttpStatus.valueOf(response.getStatusCode()));
+    }
+
+    @PostMapping("/{jobId}/rollback")
+    @Operation(summary = "Restore the prices a repricing job changed")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "202",
+                    description = ProductResponseMessages.REPRICING_JOB_ROLLBACK_STARTED),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404",
+                    description = ProductResponseMessages.REPRICING_JOB_NOT_FOUND),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409",
+                    description = ProductResponseMessages.REPRICING_JOB_NOT_FINISHED)
+    })
+    public ResponseEntity<ApiResponse<RepricingJobDto>> rollbackJob(@PathVariable(value = "jobId") long jobId) {
+        ApiResponse<RepricingJobDto> response = repricingService.rollbackJob(jobId);
+        return new ResponseEntity<>(response, HttpStatus.valueOf(response.getStatusCode()));
+    }
+}
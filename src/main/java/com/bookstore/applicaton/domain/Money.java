@@ -0,0 +1,271 @@
+package com.bookstore.applicaton.domain;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Objects;
+
+/**
+ * Immutable amount of money held as a long count of minor units (cents for USD) in an explicit
+ * currency, so comparing and repricing works on primitives instead of allocating BigDecimals.
+ * <p>
+ * Every operation that can lose precision takes an explicit {@link RoundingMode}; operations that
+ * would overflow a long throw {@link ArithmeticException}.
+ */
+public final class Money implements Comparable<Money> {
+
+    /**
+     * The currency of catalog prices. Clients send and receive prices as plain decimal numbers in this currency.
+     */
+    public static final Currency DEFAULT_CURRENCY = Currency.getInstance("USD");
+
+    /**
+     * Rounding applied when a price change produces fractions of a minor unit.
+     */
+    public static final RoundingMode DEFAULT_ROUNDING = RoundingMode.HALF_EVEN;
+
+    private static final int MAX_PERCENT_SCALE = 16; // 100 * 10^16 still fits a long
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final long minorUnits;
+    private final Currency currency;
+
+    private Money(long minorUnits, Currency currency) {
+        this.minorUnits = minorUnits;
+        this.currency = currency;
+    }
+
+    /**
+     * Creates an amount in minor units.
+     *
+     * @param minorUnits The amount in the currency's smallest unit.
+     * @param currency The currency, which must have minor units (not a pseudo-currency such as XXX).
+     * @return The amount.
+     */
+    public static Money ofMinor(long minorUnits, Currency currency) {
+        Objects.requireNonNull(currency, "currency");
+        if (currency.getDefaultFractionDigits() < 0) {
+            throw new IllegalArgumentException("Currency " + currency + " has no minor units");
+        }
+        return new Money(minorUnits, currency);
+    }
+
+    /**
+     * Creates an amount in the default currency from a decimal that must not have more decimals than the currency.
+     *
+     * @param amount The decimal amount, e.g. 12.50.
+     * @return The amount.
+     * @throws ArithmeticException If the amount needs rounding or does not fit.
+     */
+    public static Money of(BigDecimal amount) {
+        return of(amount, DEFAULT_CURRENCY, RoundingMode.UNNECESSARY);
+    }
+
+    /**
+     * Creates an amount from a decimal, rounding to the currency's minor unit.
+     *
+     * @param amount The decimal amount.
+     * @param currency The currency.
+     * @param rounding The rounding applied to decimals beyond the minor unit.
+     * @return The amount.
+     * @throws ArithmeticException If the rounding mode is UNNECESSARY and rounding is needed, or the amount does not fit.
+     */
+    public static Money of(BigDecimal amount, Currency currency, RoundingMode rounding) {
+        Objects.requireNonNull(amount, "amount");
+        int fractionDigits = currency.getDefaultFractionDigits();
+        if (fractionDigits < 0) {
+            throw new IllegalArgumentException("Currency " + currency + " has no minor units");
+        }
+        return new Money(amount.setScale(fractionDigits, rounding).unscaledValue().longValueExact(), currency);
+    }
+
+    /**
+     * Checks whether a decimal can be converted with {@link #of(BigDecimal)} without rounding or overflow.
+     *
+     * @param amount The decimal amount.
+     * @return True if it is an exact amount of the default currency.
+     */
+    public static boolean isExact(BigDecimal amount) {
+        try {
+            of(amount);
+            return true;
+        } catch (ArithmeticException e) {
+            return false;
+        }
+    }
+
+    public long minorUnits() {
+        return minorUnits;
+    }
+
+    public Currency currency() {
+        return currency;
+    }
+
+    /**
+     * Returns the amount in minor units, checking that it is in the expected currency.
+     *
+     * @param expected The currency the caller stores amounts in.
+     * @return The amount in minor units.
+     * @throws IllegalArgumentException If this amount is in another currency.
+     */
+    public long minorUnitsIn(Currency expected) {
+        if (!currency.equals(expected)) {
+            throw new IllegalArgumentException("Expected an amount in " + expected + " but got " + currency);
+        }
+        return minorUnits;
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    /**
+     * Returns the amount as a decimal with the currency's number of decimals, e.g. 12.50.
+     *
+     * @return The decimal amount.
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, currency.getDefaultFractionDigits());
+    }
+
+    /**
+     * Returns this amount increased by a percentage, e.g. 7.5 to add 7.5% tax.
+     *
+     * @param percent The percentage.
+     * @param rounding The rounding applied to fractions of a minor unit.
+     * @return The changed amount.
+     * @throws ArithmeticException If the result does not fit.
+     */
+    public Money plusPercent(BigDecimal percent, RoundingMode rounding) {
+        return changeByPercent(percent, false, rounding);
+    }
+
+    /**
+     * Returns this amount decreased by a percentage, e.g. 15 for a 15% discount.
+     *
+     * @param percent The percentage.
+     * @param rounding The rounding applied to fractions of a minor unit.
+     * @return The changed amount.
+     * @throws ArithmeticException If the result does not fit.
+     */
+    public Money minusPercent(BigDecimal percent, RoundingMode rounding) {
+        return changeByPercent(percent, true, rounding);
+    }
+
+    /**
+     * Returns this amount increased by {@code unscaledPercent * 10^-percentScale} percent, without allocating
+     * anything but the result.
+     *
+     * @param unscaledPercent The percentage without its decimal point, e.g. 75 for 7.5%.
+     * @param percentScale The number of decimals of the percentage, between 0 and 16.
+     * @param rounding The rounding applied to fractions of a minor unit.
+     * @return The changed amount.
+     * @throws ArithmeticException If the result does not fit.
+     */
+    public Money plusPercent(long unscaledPercent, int percentScale, RoundingMode rounding) {
+        if (percentScale < 0 || percentScale > MAX_PERCENT_SCALE) {
+            throw new IllegalArgumentException("Percentage scale must be between 0 and " + MAX_PERCENT_SCALE);
+        }
+        // amount * (1 + p / 100) = amount * (100 * 10^s + unscaled) / (100 * 10^s)
+        long denominator = 100 * POWERS_OF_TEN[percentScale];
+        long factor = denominator + unscaledPercent;
+        if (((denominator ^ factor) & (unscaledPercent ^ factor)) < 0) {
+            return plusPercentExact(BigDecimal.valueOf(unscaledPercent, percentScale), rounding);
+        }
+        long high = Math.multiplyHigh(minorUnits, factor);
+        long low = minorUnits * factor;
+        if ((high != 0 || low < 0) && (high != -1 || low >= 0)) {
+            // The product needs more than 64 bits; only the quotient may still fit
+            return plusPercentExact(BigDecimal.valueOf(unscaledPercent, percentScale), rounding);
+        }
+        return new Money(divide(low, denominator, rounding), currency);
+    }
+
+    private Money changeByPercent(BigDecimal percent, boolean decrease, RoundingMode rounding) {
+        int scale = percent.scale();
+        if (scale >= 0 && scale <= MAX_PERCENT_SCALE) {
+            // longValueExact does not allocate for the common case of an integral percentage
+            long unscaled = scale == 0 ? longValueOrMin(percent) : longValueOrMin(percent.unscaledValue());
+            if (unscaled != Long.MIN_VALUE) {
+                return plusPercent(decrease ? -unscaled : unscaled, scale, rounding);
+            }
+        }
+        return plusPercentExact(decrease ? percent.negate() : percent, rounding);
+    }
+
+    private Money plusPercentExact(BigDecimal percent, RoundingMode rounding) {
+        BigDecimal changed = toBigDecimal().multiply(BigDecimal.ONE.add(percent.movePointLeft(2)));
+        return of(changed, currency, rounding);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Cannot compare " + currency + " with " + other.currency);
+        }
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Money money && minorUnits == money.minorUnits && currency.equals(money.currency);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits) * 31 + currency.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + " " + currency.getCurrencyCode();
+    }
+
+    private static long longValueOrMin(BigDecimal value) {
+        try {
+            return value.longValueExact();
+        } catch (ArithmeticException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    private static long longValueOrMin(BigInteger value) {
+        return value.bitLength() < Long.SIZE ? value.longValue() : Long.MIN_VALUE;
+    }
+
+    // Division of a long by a positive long, rounded like BigDecimal.divide with the same mode
+    static long divide(long dividend, long divisor, RoundingMode rounding) {
+        long quotient = dividend / divisor;
+        long remainder = dividend - divisor * quotient;
+        if (remainder == 0) {
+            return quotient;
+        }
+        int sign = dividend < 0 ? -1 : 1;
+        boolean increment = switch (rounding) {
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+            case DOWN -> false;
+            case UP -> true;
+            case CEILING -> sign > 0;
+            case FLOOR -> sign < 0;
+            case HALF_UP, HALF_DOWN, HALF_EVEN -> {
+                long absRemainder = Math.abs(remainder);
+                long versusHalf = absRemainder - (divisor - absRemainder);
+                if (versusHalf == 0) {
+                    yield rounding == RoundingMode.HALF_UP
+                            || (rounding == RoundingMode.HALF_EVEN && (quotient & 1) != 0);
+                }
+                yield versusHalf > 0;
+            }
+        };
+        return increment ? quotient + sign : quotient;
+    }
+}
@@ -1,32 +1,44 @@
 package com.bookstore.applicaton.domain;
 
-import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import lombok.With;
 
 import java.math.BigDecimal;
 
-@Data
+/**
+ * An immutable product snapshot. Repositories hand out the stored instances themselves, so a change is
+ * made by deriving a new snapshot with the {@code with*} methods and writing it back.
+ */
+@Value
+@With
+@AllArgsConstructor(staticName = "of")
 public class Product {
 
-    private Integer productId;
-    private String name;
-    private String description;
-    private BigDecimal price;
-    private Integer quantityAvailable;
+    Integer productId;
+    String name;
+    String description;
+    Money price; // In Money.DEFAULT_CURRENCY
+    Integer quantityAvailable;
+    Integer quantityReserved; // Units held by open reservations, not included in quantityAvailable
+    Long version; // Incremented by the repository on every change, exposed to clients as the ETag
 
     public Product(Integer productId, String name, String description, BigDecimal price, Integer quantityAvailable) {
-        this.productId = productId;
-        this.name = name;
-        this.description = description;
-        this.price = price;
-        this.quantityAvailable = quantityAvailable;
+        this(productId, name, description, price == null ? null : Money.of(price), quantityAvailable, 0, 1L);
     }
 
-    public BigDecimal applyDiscount(BigDecimal discountPercentage) { // Changed to BigDecimal
-        return this.price.multiply(BigDecimal.ONE.subtract(discountPercentage.divide(BigDecimal.valueOf(100))));
+    /**
+     * Returns the price reduced by a percentage, rounded to the minor unit with {@link Money#DEFAULT_ROUNDING}.
+     */
+    public Money applyDiscount(BigDecimal discountPercentage) {
+        return this.price.minusPercent(discountPercentage, Money.DEFAULT_ROUNDING);
     }
 
-    public BigDecimal applyTax(BigDecimal taxRate) { // Changed to BigDecimal
-        return this.price.multiply(BigDecimal.ONE.add(taxRate.divide(BigDecimal.valueOf(100))));
+    /**
+     * Returns the price increased by a percentage, rounded to the minor unit with {@link Money#DEFAULT_ROUNDING}.
+     */
+    public Money applyTax(BigDecimal taxRate) {
+        return this.price.plusPercent(taxRate, Money.DEFAULT_ROUNDING);
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,24 @@
+package com.bookstore.applicaton.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CatalogStatisticsDto {
+
+    private long productCount;
+    private long totalStockUnits; // Sum of quantityAvailable; reserved units are not included
+    private BigDecimal inventoryValue; // Sum of price x quantityAvailable
+    private BigDecimal minPrice; // Null when no product has a price
+    private BigDecimal maxPrice;
+    private BigDecimal averagePrice;
+    private long outOfStockCount; // Products with no units available
+    private List<PriceBucketDto> priceHistogram;
+
+}
@@ -0,0 +1,15 @@
+package com.bookstore.applicaton.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportErrorDto {
+
+    private long row; // 1-based, counting the records of the file but not a CSV header or blank lines
+    private String message;
+
+}
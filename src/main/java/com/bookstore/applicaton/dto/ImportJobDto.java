@@ -0,0 +1,31 @@
+package com.bookstore.applicaton.dto;
+
+import com.bookstore.applicaton.transfer.CatalogFormat;
+import com.bookstore.applicaton.transfer.ImportJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportJobDto {
+
+    private long jobId;
+    private ImportJobStatus status;
+    private String file;
+    private CatalogFormat format;
+    private long totalBytes;
+    private long processedBytes; // Through the last committed chunk, including those of a resumed import
+    private long processedRows;
+    private long importedRows;
+    private long failedRows;
+    private List<ImportErrorDto> errors; // The first failed rows; all of them are in the file's .errors.csv
+    private String failure; // Why a FAILED job stopped
+    private Instant startedAt;
+    private Instant finishedAt;
+
+}
@@ -0,0 +1,16 @@
+package com.bookstore.applicaton.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportRequestDto {
+
+    private String file; // Relative to the transfer directory
+    private String format; // csv or ndjson; inferred from the file extension when absent
+    private boolean resume; // Continue from the checkpoint of an earlier import of the same file, if there is one
+
+}
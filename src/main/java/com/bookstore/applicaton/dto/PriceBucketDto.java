@@ -0,0 +1,18 @@
+package com.bookstore.applicaton.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PriceBucketDto {
+
+    private BigDecimal minPrice; // Inclusive
+    private BigDecimal maxPrice; // Exclusive; null for the last bucket
+    private long productCount;
+
+}
@@ -0,0 +1,31 @@
+package com.bookstore.applicaton.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PriceRuleDto {
+
+    private Long ruleId; // Assigned on creation
+    private String type; // "discount" or "tax"
+    private BigDecimal percentage;
+
+    // Target: the listed products, otherwise the ID range; neither given targets the whole catalog
+    private List<Integer> productIds;
+    private Integer minProductId;
+    private Integer maxProductId;
+
+    // Time box, both optional: the rule applies from startsAt (inclusive) until endsAt (exclusive)
+    private Instant startsAt;
+    private Instant endsAt;
+
+    private Boolean active; // Whether the rule applies now; ignored on creation
+
+}
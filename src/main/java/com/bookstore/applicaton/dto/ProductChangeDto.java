@@ -0,0 +1,21 @@
+package com.bookstore.applicaton.dto;
+
+import com.bookstore.applicaton.event.ProductChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductChangeDto {
+
+    private long sequence; // Position in the change log, increasing by one per change
+    private ProductChangeType type;
+    private Integer productId;
+    private ProductDto product; // State after the change, null for deletions
+    private Instant changedAt;
+
+}
@@ -0,0 +1,19 @@
+package com.bookstore.applicaton.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductChangesDto {
+
+    private List<ProductChangeDto> changes;
+    private long lastSequence; // Sequence to pass as "since" for the next poll
+    private long latestSequence; // Sequence of the most recent change in the log
+    private boolean resyncRequired; // Changes after "since" were already evicted; reload the catalog, then poll from lastSequence
+
+}
@@ -15,6 +15,13 @@ public class ProductDto {
     private String name;
     private String description;
     private BigDecimal price;
+    private BigDecimal effectivePrice; // Price with active price rules applied; set on reads, ignored on writes
     private Integer quantityAvailable;
+    private Integer quantityReserved;
+    private Long version;
+
+    public ProductDto(Integer productId, String name, String description, BigDecimal price, Integer quantityAvailable) {
+        this(productId, name, description, price, null, quantityAvailable, null, null);
+    }
 
 }
\ No newline at end of file
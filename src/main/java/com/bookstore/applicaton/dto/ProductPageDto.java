@@ -0,0 +1,17 @@
+package com.bookstore.applicaton.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductPageDto {
+
+    private List<ProductDto> products;
+    private Integer nextCursor; // productId to pass as "after" for the next page, null on the last page
+
+}
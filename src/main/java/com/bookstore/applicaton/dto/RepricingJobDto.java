@@ -0,0 +1,31 @@
+package com.bookstore.applicaton.dto;
+
+import com.bookstore.applicaton.repricing.RepricingJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RepricingJobDto {
+
+    private long jobId;
+    private RepricingJobStatus status;
+    private String type;
+    private BigDecimal percentage;
+    private int totalProducts; // Products that matched the filter when the job started
+    private int processedProducts;
+    private int repricedProducts;
+    private int skippedProducts; // Deleted or no longer matching by the time they were reached
+    private int failedProducts;
+    private int rolledBackProducts;
+    private int rollbackConflicts; // Changed again after repricing, so left as they are
+    private boolean rollbackAvailable; // Previous prices still retained and not rolled back yet
+    private Instant startedAt;
+    private Instant finishedAt;
+
+}
@@ -0,0 +1,24 @@
+package com.bookstore.applicaton.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RepricingRequestDto {
+
+    private String type; // "discount" or "tax"
+    private BigDecimal percentage;
+
+    // Optional filters, all of which must match; none given reprices the whole catalog
+    private Integer minProductId;
+    private Integer maxProductId;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private String nameContains; // Case-insensitive
+
+}
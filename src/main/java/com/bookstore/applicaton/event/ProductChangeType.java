@@ -0,0 +1,10 @@
+package com.bookstore.applicaton.event;
+
+public enum ProductChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    DISCOUNT_APPLIED,
+    TAX_APPLIED,
+    STOCK_CHANGED
+}
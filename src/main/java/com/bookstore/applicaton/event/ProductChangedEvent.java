@@ -0,0 +1,14 @@
+package com.bookstore.applicaton.event;
+
+import com.bookstore.applicaton.domain.Product;
+
+/**
+ * Published synchronously by ProductService after every successful catalog mutation.
+ *
+ * @param type The kind of mutation.
+ * @param productId The ID of the affected product.
+ * @param before The product state before the mutation, or null for creations.
+ * @param after The product state after the mutation, or null for deletions.
+ */
+public record ProductChangedEvent(ProductChangeType type, Integer productId, Product before, Product after) {
+}
@@ -1,16 +1,26 @@
 package com.bookstore.applicaton.mapper;
 
+import com.bookstore.applicaton.domain.Money;
 import com.bookstore.applicaton.domain.Product;
 import com.bookstore.applicaton.dto.ProductDto;
 
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
+import java.math.BigDecimal;
+
 @Mapper(componentModel = "spring")  // For integration with Spring
 public interface ProductMapper {
 
+    // Maps through Product's public constructor, so quantityReserved and version start at their initial values
     @Mapping(target = "productId", ignore = true)  // Ignore ID during mapping
     Product toEntity(ProductDto productDto);
 
+    @Mapping(target = "effectivePrice", ignore = true)  // Depends on the price rules, set by the service
     ProductDto toDto(Product product);
+
+    // Prices are exposed as plain decimals in the catalog currency, so the JSON format is unchanged
+    default BigDecimal toAmount(Money price) {
+        return price == null ? null : price.toBigDecimal();
+    }
 }
\ No newline at end of file
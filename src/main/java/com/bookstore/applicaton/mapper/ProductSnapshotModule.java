@@ -0,0 +1,75 @@
+package com.bookstore.applicaton.mapper;
+
+import com.bookstore.applicaton.domain.Money;
+import com.bookstore.applicaton.domain.Product;
+import com.bookstore.applicaton.dto.ProductDto;
+import com.bookstore.applicaton.pricing.PriceRuleService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Writes {@link Product} snapshots in exactly the shape of {@link ProductDto}, effective price included,
+ * so read-only responses can be serialized straight from the stored instances instead of mapping each
+ * one to a DTO first. As a Module bean it is registered by Spring Boot with every mapper built from
+ * its Jackson builder, JSON and CBOR alike.
+ */
+@Component
+public class ProductSnapshotModule extends SimpleModule {
+
+    public ProductSnapshotModule(PriceRuleService priceRuleService) {
+        super(ProductSnapshotModule.class.getSimpleName());
+        addSerializer(Product.class, new ProductSnapshotSerializer(priceRuleService));
+    }
+
+    private static final class ProductSnapshotSerializer extends StdSerializer<Product> {
+
+        private final transient PriceRuleService priceRuleService;
+
+        ProductSnapshotSerializer(PriceRuleService priceRuleService) {
+            super(Product.class);
+            this.priceRuleService = priceRuleService;
+        }
+
+        // Field names and order follow ProductDto
+        @Override
+        public void serialize(Product product, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            BigDecimal price = toAmount(product.getPrice());
+            Money effectivePrice = priceRuleService.effectivePrice(product);
+            generator.writeStartObject(product);
+            writeNumberField(generator, "productId", product.getProductId());
+            generator.writeStringField("name", product.getName());
+            generator.writeStringField("description", product.getDescription());
+            generator.writeNumberField("price", price);
+            // Without an active rule the effective price is the stored one, so reuse its decimal
+            generator.writeNumberField("effectivePrice",
+                    effectivePrice == product.getPrice() ? price : toAmount(effectivePrice));
+            writeNumberField(generator, "quantityAvailable", product.getQuantityAvailable());
+            writeNumberField(generator, "quantityReserved", product.getQuantityReserved());
+            if (product.getVersion() == null) {
+                generator.writeNullField("version");
+            } else {
+                generator.writeNumberField("version", product.getVersion());
+            }
+            generator.writeEndObject();
+        }
+
+        private static void writeNumberField(JsonGenerator generator, String name, Integer value) throws IOException {
+            if (value == null) {
+                generator.writeNullField(name);
+            } else {
+                generator.writeNumberField(name, value);
+            }
+        }
+
+        private static BigDecimal toAmount(Money money) {
+            return money == null ? null : money.toBigDecimal();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.bookstore.applicaton.metrics;
+
+import java.util.Locale;
+
+/**
+ * ProductService operations, used as the "operation" metric tag.
+ */
+public enum ProductOperation {
+    CREATE,
+    GET,
+    UPDATE,
+    DELETE,
+    APPLY_DISCOUNT_OR_TAX,
+    GET_ALL,
+    GET_PAGE,
+    STREAM,
+    STREAM_SNAPSHOTS,
+    GET_CHANGES,
+    SEARCH,
+    FILTER,
+    CREATE_BATCH,
+    UPDATE_BATCH,
+    DELETE_BATCH,
+    IMPORT_BATCH,
+    RESERVE_STOCK,
+    RELEASE_STOCK,
+    COMMIT_STOCK;
+
+    private final String tag = name().toLowerCase(Locale.ROOT);
+
+    public String tag() {
+        return tag;
+    }
+}
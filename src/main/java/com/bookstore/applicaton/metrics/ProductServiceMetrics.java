@@ -0,0 +1,108 @@
+package com.bookstore.applicaton.metrics;
+
+import com.bookstore.applicaton.common.ApiResponse;
+import com.bookstore.applicaton.repository.ProductIdAllocator;
+import com.bookstore.applicaton.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency timers and failure counters for every ProductService operation, tagged by operation
+ * and resulting status code, plus catalog gauges.
+ * All meters are registered up front and looked up by array index, so recording does not
+ * allocate tags or hit the registry on the request path.
+ */
+@Component
+public class ProductServiceMetrics {
+
+    static final String OPERATION_TIMER = "bookstore.product.operation";
+    static final String FAILURE_COUNTER = "bookstore.product.operation.failures";
+    static final String CATALOG_SIZE_GAUGE = "bookstore.product.catalog.size";
+    static final String NEXT_ID_GAUGE = "bookstore.product.id.next";
+
+    // Status codes ProductService can return; anything else is tagged "other"
+    private static final int[] STATUS_CODES = {200, 201, 207, 400, 404, 409, 410, 412, 500};
+    private static final int OTHER_STATUS = STATUS_CODES.length;
+
+    private final MeterRegistry meterRegistry;
+    private final Timer[][] timers;
+    private final Counter[][] failures;
+
+    public ProductServiceMetrics(MeterRegistry meterRegistry, ProductRepository productRepository) {
+        this.meterRegistry = meterRegistry;
+        ProductOperation[] operations = ProductOperation.values();
+        this.timers = new Timer[operations.length][STATUS_CODES.length + 1];
+        this.failures = new Counter[operations.length][STATUS_CODES.length + 1];
+        for (ProductOperation operation : operations) {
+            for (int i = 0; i <= STATUS_CODES.length; i++) {
+                String status = i == OTHER_STATUS ? "other" : String.valueOf(STATUS_CODES[i]);
+                timers[operation.ordinal()][i] = Timer.builder(OPERATION_TIMER)
+                        .description("Latency of ProductService operations")
+                        .tag("operation", operation.tag())
+                        .tag("status", status)
+                        .register(meterRegistry);
+                failures[operation.ordinal()][i] = Counter.builder(FAILURE_COUNTER)
+                        .description("ProductService operations that returned an unsuccessful response")
+                        .tag("operation", operation.tag())
+                        .tag("status", status)
+                        .register(meterRegistry);
+            }
+        }
+        Gauge.builder(CATALOG_SIZE_GAUGE, productRepository, ProductRepository::countProducts)
+                .description("Number of products in the repository")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registers the gauge for the next product ID to be assigned.
+     *
+     * @param productIdAllocator The service's ID allocator.
+     */
+    public void bindIdAllocator(ProductIdAllocator productIdAllocator) {
+        Gauge.builder(NEXT_ID_GAUGE, productIdAllocator, allocator -> allocator.highestAllocatedProductId() + 1)
+                .description("Next product ID to be assigned (an upper bound when IDs are allocated per shard)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records one completed operation.
+     *
+     * @param operation The operation.
+     * @param response The response it produced.
+     * @param startNanos The {@link System#nanoTime()} value taken when the operation started.
+     */
+    public void record(ProductOperation operation, ApiResponse<?> response, long startNanos) {
+        record(operation, response.getStatusCode(), response.isSuccess(), startNanos);
+    }
+
+    /**
+     * Records one completed operation that was answered without building an ApiResponse, e.g. from a cache.
+     *
+     * @param operation The operation.
+     * @param statusCode The HTTP status code of the response.
+     * @param success Whether the response reports success.
+     * @param startNanos The {@link System#nanoTime()} value taken when the operation started.
+     */
+    public void record(ProductOperation operation, int statusCode, boolean success, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        int statusIndex = statusIndex(statusCode);
+        timers[operation.ordinal()][statusIndex].record(elapsed, TimeUnit.NANOSECONDS);
+        if (!success) {
+            failures[operation.ordinal()][statusIndex].increment();
+        }
+    }
+
+    private static int statusIndex(int statusCode) {
+        for (int i = 0; i < STATUS_CODES.length; i++) {
+            if (STATUS_CODES[i] == statusCode) {
+                return i;
+            }
+        }
+        return OTHER_STATUS;
+    }
+}
@@ -0,0 +1,386 @@
+package com.bookstore.applicaton.persistence;
+
+import com.bookstore.applicaton.domain.Money;
+import com.bookstore.applicaton.domain.Product;
+import com.bookstore.applicaton.repository.InMemoryProductRepository;
+import com.bookstore.applicaton.repository.ProductRepository;
+import com.bookstore.applicaton.repository.StockUpdate;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Persistence mode for {@link InMemoryProductRepository}. Every mutation is appended to a
+ * write-ahead log (with group commit) before it is applied in memory, and the catalog is
+ * periodically written to a snapshot so the log can be truncated. Reads go straight to memory.
+ * Enabled with {@code bookstore.persistence.enabled=true}, which requires
+ * {@code bookstore.repository.type=in-memory}.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(name = "bookstore.persistence.enabled", havingValue = "true")
+public class DurableProductRepository implements ProductRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(DurableProductRepository.class);
+
+    // Mutations of the same product are serialized so log order matches memory order
+    private static final int LOCK_STRIPES = 256;
+
+    private final InMemoryProductRepository delegate;
+    private final Path directory;
+    private final boolean fsync;
+    private final Duration snapshotInterval;
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+    private final AtomicInteger highestProductId = new AtomicInteger();
+    private final SnapshotStore snapshotStore;
+
+    private WriteAheadLog writeAheadLog;
+    private ScheduledExecutorService snapshotScheduler;
+
+    @Autowired
+    public DurableProductRepository(ObjectProvider<InMemoryProductRepository> delegate,
+                                    @Value("${bookstore.repository.type:in-memory}") String repositoryType,
+                                    @Value("${bookstore.persistence.directory:data}") String directory,
+                                    @Value("${bookstore.persistence.fsync:true}") boolean fsync,
+                                    @Value("${bookstore.persistence.snapshot-interval:PT5M}") Duration snapshotInterval) {
+        this(inMemoryDelegate(delegate, repositoryType), directory, fsync, snapshotInterval);
+    }
+
+    DurableProductRepository(InMemoryProductRepository delegate, String directory, boolean fsync,
+                             Duration snapshotInterval) {
+        this.delegate = delegate;
+        this.directory = Path.of(directory);
+        this.fsync = fsync;
+        this.snapshotInterval = snapshotInterval;
+        this.snapshotStore = new SnapshotStore(this.directory);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    // Only the in-memory store is logged; fail startup with the fix rather than with a missing bean
+    private static InMemoryProductRepository inMemoryDelegate(ObjectProvider<InMemoryProductRepository> delegate,
+                                                              String repositoryType) {
+        InMemoryProductRepository inMemory = delegate.getIfAvailable();
+        if (inMemory == null) {
+            throw new IllegalStateException("bookstore.persistence.enabled=true requires "
+                    + "bookstore.repository.type=in-memory, but it is " + repositoryType);
+        }
+        return inMemory;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        Files.createDirectories(directory);
+        long lastSegment = recover();
+        writeAheadLog = new WriteAheadLog(directory, lastSegment + 1, fsync);
+        snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "product-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = snapshotInterval.toMillis();
+        snapshotScheduler.scheduleWithFixedDelay(this::snapshotQuietly, intervalMillis, intervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        snapshotScheduler.shutdownNow();
+        writeAheadLog.close();
+    }
+
+    /**
+     * Restores the catalog from the latest snapshot (decoded in parallel) and replays the log
+     * segments written after it.
+     *
+     * @return The highest log segment index found, or the snapshot's covered segment if none remain.
+     */
+    private long recover() throws IOException {
+        long started = System.nanoTime();
+        SnapshotStore.Header header = snapshotStore.read(delegate::addProducts);
+        long lastSegment = -1;
+        if (header != null) {
+            lastSegment = header.lastCoveredSegment();
+            highestProductId.accumulateAndGet(header.highestProductId(), Math::max);
+        }
+        for (long segment : WriteAheadLog.listSegments(directory)) {
+            if (header == null || segment > header.lastCoveredSegment()) {
+                WriteAheadLog.replay(directory, segment, this::applyLogRecord);
+            }
+            lastSegment = Math.max(lastSegment, segment);
+        }
+        highestProductId.accumulateAndGet(delegate.getHighestProductId(), Math::max);
+        log.info("Recovered product catalog from {} (highest product ID {}) in {} ms", directory,
+                highestProductId.get(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return lastSegment;
+    }
+
+    private void applyLogRecord(ByteBuffer record) {
+        byte type = record.get();
+        if (type == WriteAheadLog.PUT) {
+            delegate.addProduct(ProductRecordCodec.decode(record));
+        } else if (type == WriteAheadLog.DELETE) {
+            int productId = record.getInt();
+            highestProductId.accumulateAndGet(productId, Math::max);
+            delegate.deleteProduct(productId);
+        } else {
+            throw new IllegalStateException("Unknown write-ahead log record type " + type);
+        }
+    }
+
+    /**
+     * Writes a snapshot and deletes the log segments it covers.
+     */
+    public void snapshot() throws IOException {
+        long coveredSegment;
+        // With every stripe held, every logged mutation has also been applied in memory
+        lockAll();
+        try {
+            coveredSegment = writeAheadLog.rotate().join();
+        } finally {
+            unlockAll();
+        }
+        try (Stream<Product> products = delegate.streamProducts(null)) {
+            snapshotStore.write(products.iterator(), coveredSegment, getHighestProductId());
+        }
+        writeAheadLog.deleteSegmentsUpTo(coveredSegment);
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to write product snapshot", e);
+        }
+    }
+
+    @Override
+    public Product addProduct(Product product) {
+        ReentrantLock lock = lockFor(product.getProductId());
+        lock.lock();
+        try {
+            awaitDurable(WriteAheadLog.putRecords(List.of(product)));
+            highestProductId.accumulateAndGet(product.getProductId(), Math::max);
+            return delegate.addProduct(product);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Product getProduct(Integer productId) {
+        return delegate.getProduct(productId);
+    }
+
+    @Override
+    public Product updateProduct(Integer productId, Product updatedProduct) {
+        ReentrantLock lock = lockFor(productId);
+        lock.lock();
+        try {
+            if (!isCurrentVersion(updatedProduct)) {
+                return null;
+            }
+            awaitDurable(WriteAheadLog.putRecords(List.of(nextVersionOf(updatedProduct))));
+            return delegate.updateProduct(productId, updatedProduct);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Product deleteProduct(Integer productId) {
+        ReentrantLock lock = lockFor(productId);
+        lock.lock();
+        try {
+            if (delegate.getProduct(productId) == null) {
+                return null;
+            }
+            awaitDurable(WriteAheadLog.deleteRecords(List.of(productId)));
+            return delegate.deleteProduct(productId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Product> getAllProducts() {
+        return delegate.getAllProducts();
+    }
+
+    @Override
+    public List<Product> addProducts(List<Product> products) {
+        List<ReentrantLock> held = lockAllFor(products.stream().map(Product::getProductId).toList());
+        try {
+            // The whole batch becomes durable with one append and one fsync
+            awaitDurable(WriteAheadLog.putRecords(products));
+            for (Product product : products) {
+                highestProductId.accumulateAndGet(product.getProductId(), Math::max);
+            }
+            return delegate.addProducts(products);
+        } finally {
+            held.forEach(ReentrantLock::unlock);
+        }
+    }
+
+    @Override
+    public List<Product> updateProducts(List<Product> updatedProducts) {
+        List<ReentrantLock> held = lockAllFor(updatedProducts.stream().map(Product::getProductId).toList());
+        try {
+            List<Product> existing = updatedProducts.stream()
+                    .filter(this::isCurrentVersion)
+                    .map(DurableProductRepository::nextVersionOf)
+                    .toList();
+            if (!existing.isEmpty()) {
+                awaitDurable(WriteAheadLog.putRecords(existing));
+            }
+            return delegate.updateProducts(updatedProducts);
+        } finally {
+            held.forEach(ReentrantLock::unlock);
+        }
+    }
+
+    @Override
+    public List<Product> deleteProducts(List<Integer> productIds) {
+        List<ReentrantLock> held = lockAllFor(productIds);
+        try {
+            List<Integer> existing = productIds.stream()
+                    .filter(productId -> delegate.getProduct(productId) != null)
+                    .toList();
+            if (!existing.isEmpty()) {
+                awaitDurable(WriteAheadLog.deleteRecords(existing));
+            }
+            return delegate.deleteProducts(productIds);
+        } finally {
+            held.forEach(ReentrantLock::unlock);
+        }
+    }
+
+    @Override
+    public StockUpdate adjustStock(Integer productId, int availableDelta, int reservedDelta) {
+        ReentrantLock lock = lockFor(productId);
+        lock.lock();
+        try {
+            Product current = delegate.getProduct(productId);
+            if (current == null) {
+                return StockUpdate.notFound();
+            }
+            int available = (current.getQuantityAvailable() == null ? 0 : current.getQuantityAvailable()) + availableDelta;
+            int reserved = (current.getQuantityReserved() == null ? 0 : current.getQuantityReserved()) + reservedDelta;
+            if (available >= 0 && reserved >= 0) {
+                Product adjusted = current.withQuantityAvailable(available)
+                        .withQuantityReserved(reserved)
+                        .withVersion(current.getVersion() == null ? 1 : current.getVersion() + 1);
+                awaitDurable(WriteAheadLog.putRecords(List.of(adjusted)));
+            }
+            // Holding the stripe lock guarantees the delegate reaches the same decision
+            return delegate.adjustStock(productId, availableDelta, reservedDelta);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int countProducts() {
+        return delegate.countProducts();
+    }
+
+    @Override
+    public int getHighestProductId() {
+        return Math.max(highestProductId.get(), delegate.getHighestProductId());
+    }
+
+    @Override
+    public List<Product> getProducts(Integer afterProductId, int limit) {
+        return delegate.getProducts(afterProductId, limit);
+    }
+
+    @Override
+    public Stream<Product> streamProducts(Integer afterProductId) {
+        return delegate.streamProducts(afterProductId);
+    }
+
+    @Override
+    public List<Product> findByPriceRange(Money minPrice, Money maxPrice, int limit) {
+        return delegate.findByPriceRange(minPrice, maxPrice, limit);
+    }
+
+    @Override
+    public List<Product> findInStock(int minQuantity, int limit) {
+        return delegate.findInStock(minQuantity, limit);
+    }
+
+    @Override
+    public List<Product> findCheapest(int limit) {
+        return delegate.findCheapest(limit);
+    }
+
+    private void awaitDurable(ByteBuffer records) {
+        writeAheadLog.append(records).join();
+    }
+
+    // Called under the product's stripe lock, so the delegate's compare-and-set reaches the same decision
+    private boolean isCurrentVersion(Product product) {
+        Product current = delegate.getProduct(product.getProductId());
+        return current != null && Objects.equals(current.getVersion(), product.getVersion());
+    }
+
+    // The log records the state as it will be stored, i.e. with the incremented version
+    private static Product nextVersionOf(Product product) {
+        return product.withVersion(product.getVersion() == null ? 1 : product.getVersion() + 1);
+    }
+
+    private ReentrantLock lockFor(Integer productId) {
+        return locks[Math.floorMod(productId, LOCK_STRIPES)];
+    }
+
+    // Stripes are always taken in index order so concurrent batches cannot deadlock
+    private List<ReentrantLock> lockAllFor(Collection<Integer> productIds) {
+        TreeSet<Integer> stripes = new TreeSet<>();
+        for (Integer productId : productIds) {
+            stripes.add(Math.floorMod(productId, LOCK_STRIPES));
+        }
+        List<ReentrantLock> held = new ArrayList<>(stripes.size());
+        for (int stripe : stripes) {
+            locks[stripe].lock();
+            held.add(locks[stripe]);
+        }
+        return held;
+    }
+
+    private void lockAll() {
+        for (ReentrantLock lock : locks) {
+            lock.lock();
+        }
+    }
+
+    private void unlockAll() {
+        for (int i = locks.length - 1; i >= 0; i--) {
+            locks[i].unlock();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.bookstore.applicaton.persistence;
+
+import com.bookstore.applicaton.domain.Money;
+import com.bookstore.applicaton.domain.Product;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compact binary encoding of products shared by the write-ahead log and snapshots.
+ * Layout: productId, version, quantity (with null flag), quantity reserved, price in minor units of
+ * {@link Money#DEFAULT_CURRENCY} (with null flag), then name and description as length-prefixed UTF-8.
+ * A length of -1 encodes null.
+ */
+final class ProductRecordCodec {
+
+    private static final int NULL_LENGTH = -1;
+
+    private ProductRecordCodec() {
+    }
+
+    static int maxEncodedSize(Product product) {
+        return Integer.BYTES                      // productId
+                + Long.BYTES                      // version
+                + 1 + Integer.BYTES               // quantity null flag + value
+                + Integer.BYTES                   // quantity reserved
+                + 1 + Long.BYTES                  // price null flag + minor units
+                + stringSize(product.getName())
+                + stringSize(product.getDescription());
+    }
+
+    static void encode(Product product, ByteBuffer buffer) {
+        buffer.putInt(product.getProductId());
+        buffer.putLong(product.getVersion() == null ? 1 : product.getVersion());
+        Integer quantity = product.getQuantityAvailable();
+        buffer.put((byte) (quantity == null ? 0 : 1));
+        buffer.putInt(quantity == null ? 0 : quantity);
+        buffer.putInt(product.getQuantityReserved() == null ? 0 : product.getQuantityReserved());
+        Money price = product.getPrice();
+        buffer.put((byte) (price == null ? 0 : 1));
+        buffer.putLong(price == null ? 0 : price.minorUnitsIn(Money.DEFAULT_CURRENCY));
+        putString(product.getName(), buffer);
+        putString(product.getDescription(), buffer);
+    }
+
+    static Product decode(ByteBuffer buffer) {
+        int productId = buffer.getInt();
+        long version = buffer.getLong();
+        boolean hasQuantity = buffer.get() != 0;
+        int quantity = buffer.getInt();
+        int quantityReserved = buffer.getInt();
+        boolean hasPrice = buffer.get() != 0;
+        long price = buffer.getLong();
+        String name = getString(buffer);
+        String description = getString(buffer);
+        return Product.of(productId, name, description, hasPrice ? Money.ofMinor(price, Money.DEFAULT_CURRENCY) : null,
+                hasQuantity ? quantity : null, quantityReserved, version);
+    }
+
+    private static int stringSize(String value) {
+        // Upper bound: UTF-8 needs at most 3 bytes per UTF-16 char
+        return Integer.BYTES + (value == null ? 0 : value.length() * 3);
+    }
+
+    private static void putString(String value, ByteBuffer buffer) {
+        if (value == null) {
+            buffer.putInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
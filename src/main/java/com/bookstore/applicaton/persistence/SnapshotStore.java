@@ -0,0 +1,159 @@
+package com.bookstore.applicaton.persistence;
+
+import com.bookstore.applicaton.domain.Product;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Writes and reads compact binary snapshots of the whole catalog.
+ * Products are stored in independently checksummed blocks so recovery can decode them in parallel.
+ * File layout: [magic][version][last covered log segment][highest product ID], then blocks of
+ * [block length][CRC32C][product count][products...], terminated by a block length of 0.
+ */
+final class SnapshotStore {
+
+    private static final int MAGIC = 0x424b5350; // "BKSP"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = Integer.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES;
+    private static final int BLOCK_HEADER_SIZE = 3 * Integer.BYTES;
+    private static final int PRODUCTS_PER_BLOCK = 4096;
+    private static final String SNAPSHOT_FILE = "snapshot.bin";
+    private static final String TEMP_FILE = "snapshot.bin.tmp";
+
+    private final Path directory;
+
+    SnapshotStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Writes a snapshot to a temporary file and atomically replaces the previous one.
+     *
+     * @param products The products to store.
+     * @param lastCoveredSegment The highest log segment whose records are all reflected in the products.
+     * @param highestProductId The highest product ID ever assigned.
+     */
+    void write(Iterator<Product> products, long lastCoveredSegment, int highestProductId) throws IOException {
+        Path temp = directory.resolve(TEMP_FILE);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                    .putInt(MAGIC)
+                    .putInt(VERSION)
+                    .putLong(lastCoveredSegment)
+                    .putInt(highestProductId)
+                    .flip();
+            writeFully(channel, header);
+
+            List<Product> block = new ArrayList<>(PRODUCTS_PER_BLOCK);
+            while (products.hasNext()) {
+                block.add(products.next());
+                if (block.size() == PRODUCTS_PER_BLOCK) {
+                    writeBlock(channel, block);
+                    block.clear();
+                }
+            }
+            if (!block.isEmpty()) {
+                writeBlock(channel, block);
+            }
+            writeFully(channel, ByteBuffer.allocate(Integer.BYTES).putInt(0).flip());
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Loads the latest snapshot, decoding its blocks in parallel.
+     *
+     * @param sink Receives decoded products one block at a time; called concurrently.
+     * @return The snapshot header, or null if no snapshot exists.
+     */
+    Header read(Consumer<List<Product>> sink) throws IOException {
+        Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        if (!Files.exists(snapshot)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Unrecognized snapshot format: " + snapshot);
+            }
+            Header header = new Header(buffer.getLong(), buffer.getInt());
+
+            // Find block boundaries sequentially; this only reads the length prefixes
+            List<ByteBuffer> blocks = new ArrayList<>();
+            int blockLength;
+            while ((blockLength = buffer.getInt()) != 0) {
+                // Checksum followed by the block body
+                int sliceLength = Integer.BYTES + blockLength;
+                blocks.add(buffer.slice(buffer.position(), sliceLength));
+                buffer.position(buffer.position() + sliceLength);
+            }
+
+            blocks.parallelStream().forEach(block -> sink.accept(decodeBlock(block, snapshot)));
+            return header;
+        }
+    }
+
+    private static List<Product> decodeBlock(ByteBuffer block, Path snapshot) {
+        int checksum = block.getInt();
+        ByteBuffer body = block.slice();
+        CRC32C crc = new CRC32C();
+        crc.update(body.duplicate());
+        if ((int) crc.getValue() != checksum) {
+            // The snapshot is written to a temporary file and moved into place, so this is real corruption
+            throw new IllegalStateException("Corrupt block in snapshot " + snapshot);
+        }
+        int count = body.getInt();
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(ProductRecordCodec.decode(body));
+        }
+        return products;
+    }
+
+    private static void writeBlock(FileChannel channel, List<Product> block) throws IOException {
+        int capacity = BLOCK_HEADER_SIZE;
+        for (Product product : block) {
+            capacity += ProductRecordCodec.maxEncodedSize(product);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(capacity);
+        buffer.position(2 * Integer.BYTES);
+        buffer.putInt(block.size());
+        for (Product product : block) {
+            ProductRecordCodec.encode(product, buffer);
+        }
+        int bodyLength = buffer.position() - 2 * Integer.BYTES;
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(2 * Integer.BYTES, bodyLength));
+        buffer.putInt(0, bodyLength);
+        buffer.putInt(Integer.BYTES, (int) crc.getValue());
+        writeFully(channel, buffer.flip());
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * @param lastCoveredSegment The highest log segment reflected in the snapshot.
+     * @param highestProductId The highest product ID assigned when the snapshot was taken.
+     */
+    record Header(long lastCoveredSegment, int highestProductId) {
+    }
+}
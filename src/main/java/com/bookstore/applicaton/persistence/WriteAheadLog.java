@@ -0,0 +1,338 @@
+package com.bookstore.applicaton.persistence;
+
+import com.bookstore.applicaton.domain.Product;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of repository mutations, split into numbered segment files.
+ * A single writer thread drains all pending appends, writes them with one gathering write and
+ * forces them to disk with one fsync (group commit), then completes every waiting caller. If the
+ * write or fsync fails, the whole group fails and the segment is cut back to the last acknowledged
+ * record before anything else is appended.
+ * Each record is framed as [payload length][CRC32C of payload][payload].
+ */
+final class WriteAheadLog implements AutoCloseable {
+
+    static final byte PUT = 1;
+    static final byte DELETE = 2;
+
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int FRAME_HEADER_SIZE = 2 * Integer.BYTES;
+    private static final int MAX_GROUP_SIZE = 1024;
+
+    private final Path directory;
+    private final boolean fsync;
+    private final SegmentOpener segmentOpener;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+
+    // Only touched by the writer thread
+    private FileChannel channel;
+    private long segment;
+    private long durableSize; // Length of the current segment up to the end of its last acknowledged record
+
+    WriteAheadLog(Path directory, long firstSegment, boolean fsync) throws IOException {
+        this(directory, firstSegment, fsync, path -> FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+    }
+
+    WriteAheadLog(Path directory, long firstSegment, boolean fsync, SegmentOpener segmentOpener) throws IOException {
+        this.directory = directory;
+        this.fsync = fsync;
+        this.segmentOpener = segmentOpener;
+        this.segment = firstSegment;
+        this.channel = openSegment(firstSegment);
+        this.durableSize = channel.size();
+        this.writer = new Thread(this::run, "product-wal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Appends pre-framed records and returns a future that completes once they are durable.
+     *
+     * @param records Records built with {@link #putRecords} or {@link #deleteRecords}.
+     * @return A future completing with the segment the records were written to.
+     */
+    CompletableFuture<Long> append(ByteBuffer records) {
+        return enqueue(new Pending(Kind.APPEND, records));
+    }
+
+    /**
+     * Closes the current segment and starts a new one. Every record appended before this call is
+     * in a segment with an index not greater than the returned one.
+     *
+     * @return A future completing with the index of the segment that was closed.
+     */
+    CompletableFuture<Long> rotate() {
+        return enqueue(new Pending(Kind.ROTATE, null));
+    }
+
+    @Override
+    public void close() {
+        enqueue(new Pending(Kind.STOP, null)).join();
+    }
+
+    private CompletableFuture<Long> enqueue(Pending pending) {
+        if (!writer.isAlive()) {
+            pending.done().completeExceptionally(new IllegalStateException("Write-ahead log is closed"));
+        } else {
+            queue.add(pending);
+        }
+        return pending.done();
+    }
+
+    private void run() {
+        List<Pending> group = new ArrayList<>();
+        List<Pending> appends = new ArrayList<>();
+        boolean stopped = false;
+        while (!stopped) {
+            try {
+                group.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(group, MAX_GROUP_SIZE - 1);
+            try {
+                for (Pending pending : group) {
+                    switch (pending.kind()) {
+                        case APPEND -> appends.add(pending);
+                        case ROTATE -> {
+                            writeAndForce(appends);
+                            long closedSegment = segment;
+                            channel.close();
+                            channel = openSegment(segment + 1);
+                            segment++;
+                            durableSize = 0;
+                            pending.done().complete(closedSegment);
+                        }
+                        case STOP -> {
+                            writeAndForce(appends);
+                            channel.close();
+                            pending.done().complete(segment);
+                            stopped = true;
+                        }
+                    }
+                }
+                writeAndForce(appends);
+            } catch (IOException | RuntimeException e) {
+                for (Pending pending : group) {
+                    pending.done().completeExceptionally(e);
+                    stopped |= pending.kind() == Kind.STOP;
+                }
+                appends.clear();
+                if (stopped) {
+                    closeQuietly();
+                } else {
+                    discardUnacknowledged();
+                }
+            }
+            group.clear();
+        }
+        // Fail anything that raced with the stop request
+        List<Pending> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.forEach(p -> p.done().completeExceptionally(new IllegalStateException("Write-ahead log is closed")));
+    }
+
+    // Writes the records of every pending append with one gathering write, forces them and completes the appends
+    private void writeAndForce(List<Pending> appends) throws IOException {
+        if (appends.isEmpty()) {
+            return;
+        }
+        ByteBuffer[] records = new ByteBuffer[appends.size()];
+        long size = 0;
+        for (int i = 0; i < records.length; i++) {
+            records[i] = appends.get(i).records();
+            size += records[i].remaining();
+        }
+        for (long written = 0; written < size; ) {
+            written += channel.write(records);
+        }
+        if (fsync) {
+            channel.force(false);
+        }
+        durableSize += size;
+        appends.forEach(pending -> pending.done().complete(segment));
+        appends.clear();
+    }
+
+    /**
+     * After a failed write or fsync, removes whatever the failed group left behind the last acknowledged
+     * record: replay stops at the first torn or corrupt record, so anything appended after one would be
+     * lost on recovery, and records whose append failed must not be replayed. If the segment cannot be
+     * truncated, later records go to a new segment instead, which replay reaches after stopping at the
+     * torn tail of this one; records of the failed group that reached this segment whole are then still
+     * replayed.
+     */
+    private void discardUnacknowledged() {
+        try {
+            if (channel.size() > durableSize) {
+                channel.truncate(durableSize);
+                if (fsync) {
+                    channel.force(false);
+                }
+            }
+            return;
+        } catch (IOException | RuntimeException e) {
+            // Fall through to a new segment
+        }
+        closeQuietly();
+        try {
+            channel = openSegment(segment + 1);
+            segment++;
+            durableSize = 0;
+        } catch (IOException e) {
+            // The closed channel fails every later group, which retries from here
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Already failed; nothing more can be written to it
+        }
+    }
+
+    private FileChannel openSegment(long index) throws IOException {
+        return segmentOpener.open(segmentPath(directory, index));
+    }
+
+    /**
+     * Deletes all segments up to and including the given index, once a snapshot covers them.
+     *
+     * @param lastCoveredSegment The highest segment index contained in the snapshot.
+     */
+    void deleteSegmentsUpTo(long lastCoveredSegment) throws IOException {
+        for (long index : listSegments(directory)) {
+            if (index <= lastCoveredSegment) {
+                Files.deleteIfExists(segmentPath(directory, index));
+            }
+        }
+    }
+
+    static ByteBuffer putRecords(List<Product> products) {
+        int capacity = 0;
+        for (Product product : products) {
+            capacity += FRAME_HEADER_SIZE + 1 + ProductRecordCodec.maxEncodedSize(product);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(capacity);
+        for (Product product : products) {
+            int start = beginFrame(buffer, PUT);
+            ProductRecordCodec.encode(product, buffer);
+            endFrame(buffer, start);
+        }
+        return buffer.flip();
+    }
+
+    static ByteBuffer deleteRecords(List<Integer> productIds) {
+        ByteBuffer buffer = ByteBuffer.allocate(productIds.size() * (FRAME_HEADER_SIZE + 1 + Integer.BYTES));
+        for (Integer productId : productIds) {
+            int start = beginFrame(buffer, DELETE);
+            buffer.putInt(productId);
+            endFrame(buffer, start);
+        }
+        return buffer.flip();
+    }
+
+    private static int beginFrame(ByteBuffer buffer, byte type) {
+        int start = buffer.position();
+        buffer.position(start + FRAME_HEADER_SIZE);
+        buffer.put(type);
+        return start;
+    }
+
+    private static void endFrame(ByteBuffer buffer, int start) {
+        int payloadStart = start + FRAME_HEADER_SIZE;
+        int payloadLength = buffer.position() - payloadStart;
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(payloadStart, payloadLength));
+        buffer.putInt(start, payloadLength);
+        buffer.putInt(start + Integer.BYTES, (int) crc.getValue());
+    }
+
+    /**
+     * Replays the records of one segment in order. Replay stops at the first truncated or corrupt
+     * record, which can only be the tail of a write interrupted by a crash.
+     *
+     * @param directory The log directory.
+     * @param index The segment index.
+     * @param consumer Receives each record payload, positioned at the record type byte.
+     */
+    static void replay(Path directory, long index, Consumer<ByteBuffer> consumer) throws IOException {
+        try (FileChannel segmentChannel = FileChannel.open(segmentPath(directory, index), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = segmentChannel.map(FileChannel.MapMode.READ_ONLY, 0, segmentChannel.size());
+            while (buffer.remaining() >= FRAME_HEADER_SIZE) {
+                int payloadLength = buffer.getInt();
+                int checksum = buffer.getInt();
+                if (payloadLength <= 0 || payloadLength > buffer.remaining()) {
+                    return;
+                }
+                ByteBuffer payload = buffer.slice(buffer.position(), payloadLength);
+                CRC32C crc = new CRC32C();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != checksum) {
+                    return;
+                }
+                consumer.accept(payload);
+                buffer.position(buffer.position() + payloadLength);
+            }
+        }
+    }
+
+    static List<Long> listSegments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                            name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Path segmentPath(Path directory, long index) {
+        return directory.resolve(String.format("%s%019d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * Opens a segment file for appending.
+     */
+    @FunctionalInterface
+    interface SegmentOpener {
+        FileChannel open(Path path) throws IOException;
+    }
+
+    private enum Kind {
+        APPEND,
+        ROTATE,
+        STOP
+    }
+
+    private record Pending(Kind kind, ByteBuffer records, CompletableFuture<Long> done) {
+        Pending(Kind kind, ByteBuffer records) {
+            this(kind, records, new CompletableFuture<>());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.bookstore.applicaton.pricing;
+
+import com.bookstore.applicaton.domain.Money;
+import com.bookstore.applicaton.dto.PriceRuleDto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * A percentage discount or tax applied to the prices of its target products while it is active.
+ * Null bounds are open.
+ */
+record PriceRule(long ruleId, boolean discount, BigDecimal percentage, Set<Integer> productIds,
+                 Integer minProductId, Integer maxProductId, Instant startsAt, Instant endsAt) {
+
+    boolean isActiveAt(Instant now) {
+        return (startsAt == null || !startsAt.isAfter(now)) && !isExpiredAt(now);
+    }
+
+    boolean isExpiredAt(Instant now) {
+        return endsAt != null && !endsAt.isAfter(now);
+    }
+
+    boolean targetsListedProducts() {
+        return !productIds.isEmpty();
+    }
+
+    boolean covers(int productId) {
+        return (minProductId == null || productId >= minProductId)
+                && (maxProductId == null || productId <= maxProductId);
+    }
+
+    Money apply(Money price) {
+        return discount
+                ? price.minusPercent(percentage, Money.DEFAULT_ROUNDING)
+                : price.plusPercent(percentage, Money.DEFAULT_ROUNDING);
+    }
+
+    PriceRuleDto toDto(Instant now) {
+        return new PriceRuleDto(ruleId, discount ? "discount" : "tax", percentage,
+                productIds.stream().sorted().toList(), minProductId, maxProductId, startsAt, endsAt, isActiveAt(now));
+    }
+}
@@ -0,0 +1,301 @@
+package com.bookstore.applicaton.pricing;
+
+import com.bookstore.applicaton.common.ApiResponse;
+import com.bookstore.applicaton.constants.ProductResponseMessages;
+import com.bookstore.applicaton.domain.Money;
+import com.bookstore.applicaton.domain.Product;
+import com.bookstore.applicaton.dto.PriceRuleDto;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Scheduled, time-boxed discounts and taxes, applied to prices when products are read rather than
+ * written to the store, so a rule starting or ending never touches the catalog.
+ * <p>
+ * The rules active at a point in time are compiled into an index: a table of the rules per explicitly
+ * targeted product, and the ID axis cut into segments at every range bound, each holding the rules that
+ * cover it. A read is then one hash or floor lookup whatever the number of rules. The index stays valid
+ * until the next rule starts or ends; the first read after that recompiles it, and a timing wheel does
+ * the same on time, so listeners holding effective prices (the response cache) are invalidated even if
+ * no one reads.
+ */
+@Service
+public class PriceRuleService {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private static final int WHEEL_SIZE = 512;
+    private static final PriceRule[] NO_RULES = new PriceRule[0];
+
+    // Discounts before taxes, so a tax is charged on the discounted price; otherwise in creation order
+    private static final Comparator<PriceRule> APPLICATION_ORDER = Comparator
+            .comparing((PriceRule rule) -> !rule.discount())
+            .thenComparingLong(PriceRule::ruleId);
+
+    private final Clock clock;
+    private final TimingWheel timingWheel;
+    private final AtomicLong nextRuleId = new AtomicLong(1);
+    private final Map<Long, PriceRule> rules = new ConcurrentHashMap<>();
+    private final List<Runnable> invalidationListeners = new CopyOnWriteArrayList<>();
+
+    private volatile CompiledRules compiled;
+
+    @Autowired
+    public PriceRuleService(@Value("${bookstore.pricing.tick:1s}") Duration tick) {
+        this(Clock.systemUTC(), tick);
+    }
+
+    PriceRuleService(Clock clock, Duration tick) {
+        this.clock = clock;
+        this.timingWheel = new TimingWheel(tick, WHEEL_SIZE, "price-rule-wheel");
+        this.compiled = compile(0, clock.instant());
+    }
+
+    /**
+     * Creates a price rule.
+     *
+     * @param priceRuleDto The rule to create.
+     * @return An ApiResponse (201) containing the created rule, or 400 if it is invalid.
+     */
+    public ApiResponse<PriceRuleDto> createRule(PriceRuleDto priceRuleDto) {
+        Instant now = clock.instant();
+        if (!isValid(priceRuleDto, now)) {
+            return new ApiResponse<>(HttpStatus.BAD_REQUEST.value(), false,
+                    ProductResponseMessages.INVALID_PRICE_RULE, null);
+        }
+        boolean listed = priceRuleDto.getProductIds() != null && !priceRuleDto.getProductIds().isEmpty();
+        PriceRule rule = new PriceRule(nextRuleId.getAndIncrement(),
+                "discount".equalsIgnoreCase(priceRuleDto.getType()), priceRuleDto.getPercentage(),
+                listed ? Set.copyOf(priceRuleDto.getProductIds()) : Set.of(),
+                listed ? null : priceRuleDto.getMinProductId(), listed ? null : priceRuleDto.getMaxProductId(),
+                priceRuleDto.getStartsAt(), priceRuleDto.getEndsAt());
+        rules.put(rule.ruleId(), rule);
+        refresh();
+        scheduleRefresh(rule.startsAt(), now);
+        scheduleRefresh(rule.endsAt(), now);
+        return new ApiResponse<>(HttpStatus.CREATED.value(), true,
+                ProductResponseMessages.PRICE_RULE_CREATED_SUCCESSFULLY, rule.toDto(now));
+    }
+
+    /**
+     * Retrieves all rules that have not ended yet, in creation order.
+     *
+     * @return An ApiResponse containing the rules.
+     */
+    public ApiResponse<List<PriceRuleDto>> getRules() {
+        Instant now = clock.instant();
+        List<PriceRuleDto> ruleDtos = rules.values().stream()
+                .filter(rule -> !rule.isExpiredAt(now))
+                .sorted(Comparator.comparingLong(PriceRule::ruleId))
+                .map(rule -> rule.toDto(now))
+                .toList();
+        return new ApiResponse<>(HttpStatus.OK.value(), true,
+                ProductResponseMessages.PRICE_RULES_RETRIEVED_SUCCESSFULLY, ruleDtos);
+    }
+
+    /**
+     * Deletes a price rule; prices read afterwards no longer include it.
+     *
+     * @param ruleId The ID of the rule to delete.
+     * @return An ApiResponse containing the deleted rule, or 404.
+     */
+    public ApiResponse<PriceRuleDto> deleteRule(long ruleId) {
+        PriceRule rule = rules.remove(ruleId);
+        if (rule == null) {
+            return new ApiResponse<>(HttpStatus.NOT_FOUND.value(), false,
+                    ProductResponseMessages.PRICE_RULE_NOT_FOUND, null);
+        }
+        refresh();
+        return new ApiResponse<>(HttpStatus.OK.value(), true,
+                ProductResponseMessages.PRICE_RULE_DELETED_SUCCESSFULLY, rule.toDto(clock.instant()));
+    }
+
+    /**
+     * Returns the price a product sells at now: its stored price with the active rules applied.
+     *
+     * @param product The product.
+     * @return The effective price, the stored price if no rule applies, or null if the product has no price.
+     */
+    public Money effectivePrice(Product product) {
+        Money price = product.getPrice();
+        if (price == null) {
+            return null;
+        }
+        for (PriceRule rule : current().rulesFor(product.getProductId())) {
+            price = rule.apply(price);
+        }
+        return price;
+    }
+
+    /**
+     * Returns the pricing epoch, which advances whenever the set of active rules may have changed. Effective
+     * prices computed in one epoch stay valid for as long as it lasts.
+     *
+     * @return The current epoch.
+     */
+    public long epoch() {
+        return current().epoch();
+    }
+
+    /**
+     * Registers a callback run after every epoch change, e.g. to drop cached effective prices. Callbacks
+     * may run on the timing wheel thread and must not block.
+     *
+     * @param listener The callback.
+     */
+    public void addInvalidationListener(Runnable listener) {
+        invalidationListeners.add(listener);
+    }
+
+    @PreDestroy
+    void stop() {
+        timingWheel.close();
+    }
+
+    private CompiledRules current() {
+        CompiledRules current = compiled;
+        if (clock.millis() >= current.validUntilMillis()) {
+            return refreshIfStale(current);
+        }
+        return current;
+    }
+
+    private synchronized CompiledRules refreshIfStale(CompiledRules seen) {
+        // Another reader or the wheel may have recompiled while this one waited
+        if (compiled != seen) {
+            return compiled;
+        }
+        return refresh();
+    }
+
+    private synchronized CompiledRules refresh() {
+        Instant now = clock.instant();
+        rules.values().removeIf(rule -> rule.isExpiredAt(now));
+        CompiledRules refreshed = compile(compiled.epoch() + 1, now);
+        compiled = refreshed;
+        for (Runnable listener : invalidationListeners) {
+            listener.run();
+        }
+        return refreshed;
+    }
+
+    private void scheduleRefresh(Instant at, Instant now) {
+        if (at != null && at.isAfter(now)) {
+            // Recompiles only if no read has done so since the rule started or ended
+            timingWheel.schedule(Duration.between(now, at), this::current);
+        }
+    }
+
+    private CompiledRules compile(long epoch, Instant now) {
+        List<PriceRule> active = new ArrayList<>();
+        long validUntilMillis = Long.MAX_VALUE;
+        for (PriceRule rule : rules.values()) {
+            if (rule.isActiveAt(now)) {
+                active.add(rule);
+            }
+            if (rule.startsAt() != null && rule.startsAt().isAfter(now)) {
+                validUntilMillis = Math.min(validUntilMillis, rule.startsAt().toEpochMilli());
+            } else if (rule.endsAt() != null) {
+                validUntilMillis = Math.min(validUntilMillis, rule.endsAt().toEpochMilli());
+            }
+        }
+
+        // Every range rule starts covering at its minimum and stops after its maximum
+        TreeSet<Integer> bounds = new TreeSet<>();
+        bounds.add(Integer.MIN_VALUE);
+        for (PriceRule rule : active) {
+            if (!rule.targetsListedProducts()) {
+                bounds.add(rule.minProductId() == null ? Integer.MIN_VALUE : rule.minProductId());
+                if (rule.maxProductId() != null && rule.maxProductId() < Integer.MAX_VALUE) {
+                    bounds.add(rule.maxProductId() + 1);
+                }
+            }
+        }
+        NavigableMap<Integer, PriceRule[]> segments = new TreeMap<>();
+        for (int bound : bounds) {
+            segments.put(bound, sorted(active.stream()
+                    .filter(rule -> !rule.targetsListedProducts() && rule.covers(bound))));
+        }
+
+        Map<Integer, PriceRule[]> byProduct = new HashMap<>();
+        for (PriceRule rule : active) {
+            for (int productId : rule.productIds()) {
+                byProduct.computeIfAbsent(productId, id -> sorted(active.stream()
+                        .filter(candidate -> candidate.targetsListedProducts()
+                                ? candidate.productIds().contains(id)
+                                : candidate.covers(id))));
+            }
+        }
+        return new CompiledRules(epoch, validUntilMillis, Map.copyOf(byProduct), segments);
+    }
+
+    private static PriceRule[] sorted(Stream<PriceRule> rules) {
+        PriceRule[] array = rules.sorted(APPLICATION_ORDER).toArray(PriceRule[]::new);
+        return array.length == 0 ? NO_RULES : array;
+    }
+
+    private static boolean isValid(PriceRuleDto priceRuleDto, Instant now) {
+        if (priceRuleDto == null || priceRuleDto.getPercentage() == null || priceRuleDto.getPercentage().signum() < 0) {
+            return false;
+        }
+        boolean discount = "discount".equalsIgnoreCase(priceRuleDto.getType());
+        if (!discount && !"tax".equalsIgnoreCase(priceRuleDto.getType())) {
+            return false;
+        }
+        if (discount && priceRuleDto.getPercentage().compareTo(HUNDRED) > 0) {
+            return false;
+        }
+        if (priceRuleDto.getProductIds() != null && priceRuleDto.getProductIds().stream().anyMatch(Objects::isNull)) {
+            return false;
+        }
+        if (priceRuleDto.getMinProductId() != null && priceRuleDto.getMaxProductId() != null
+                && priceRuleDto.getMinProductId() > priceRuleDto.getMaxProductId()) {
+            return false;
+        }
+        Instant startsAt = priceRuleDto.getStartsAt();
+        Instant endsAt = priceRuleDto.getEndsAt();
+        // A rule that has already ended would never apply
+        return endsAt == null || (endsAt.isAfter(now) && (startsAt == null || startsAt.isBefore(endsAt)));
+    }
+
+    /**
+     * The rules active during one epoch.
+     *
+     * @param epoch The epoch.
+     * @param validUntilMillis When the next rule starts or ends, after which the index must be recompiled.
+     * @param byProduct All rules for each product a rule lists explicitly.
+     * @param segments All rules for the products from each key up to the next key.
+     */
+    private record CompiledRules(long epoch, long validUntilMillis, Map<Integer, PriceRule[]> byProduct,
+                                 NavigableMap<Integer, PriceRule[]> segments) {
+
+        PriceRule[] rulesFor(Integer productId) {
+            if (productId == null) {
+                return NO_RULES;
+            }
+            PriceRule[] listed = byProduct.get(productId);
+            return listed != null ? listed : segments.floorEntry(productId).getValue();
+        }
+    }
+}
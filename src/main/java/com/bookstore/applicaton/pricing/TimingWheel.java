@@ -0,0 +1,109 @@
+package com.bookstore.applicaton.pricing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashed timing wheel: timers are hashed into a ring of slots by their deadline tick, and a single
+ * thread visits one slot per tick, so scheduling is O(1) and the cost of a tick depends only on the
+ * timers in that slot, not on all pending timers. Timers further away than one revolution wait for
+ * the remaining number of rounds in their slot.
+ * <p>
+ * Timers fire on the wheel thread up to one tick late and must not block. New timers are handed
+ * over through a queue, so only the wheel thread touches the slots.
+ */
+final class TimingWheel implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(TimingWheel.class);
+
+    private final long tickNanos;
+    private final int mask;
+    private final Queue<Timer>[] slots;
+    private final Queue<Timer> pending = new ConcurrentLinkedQueue<>();
+    private final long startNanos = System.nanoTime();
+    private final ScheduledExecutorService ticker;
+
+    // Only touched by the wheel thread
+    private long tick;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(Duration tickDuration, int wheelSize, String threadName) {
+        if (tickDuration.isNegative() || tickDuration.isZero() || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Tick must be positive and the wheel size a power of two");
+        }
+        this.tickNanos = tickDuration.toNanos();
+        this.mask = wheelSize - 1;
+        this.slots = new Queue[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            slots[i] = new ArrayDeque<>();
+        }
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::advance, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Runs a task once the delay has passed.
+     *
+     * @param delay The delay; zero or negative runs the task on the next tick.
+     * @param task The task, run on the wheel thread.
+     */
+    void schedule(Duration delay, Runnable task) {
+        long deadline = System.nanoTime() - startNanos + Math.max(delay.toNanos(), 0);
+        pending.add(new Timer(deadline, task));
+    }
+
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+    }
+
+    private void advance() {
+        Timer timer;
+        while ((timer = pending.poll()) != null) {
+            // Round up so a timer never fires early; one already due goes into the current slot
+            long deadlineTick = Math.max((timer.deadline + tickNanos - 1) / tickNanos, tick);
+            timer.rounds = (deadlineTick - tick) / slots.length;
+            slots[(int) (deadlineTick & mask)].add(timer);
+        }
+        Iterator<Timer> timers = slots[(int) (tick & mask)].iterator();
+        while (timers.hasNext()) {
+            timer = timers.next();
+            if (timer.rounds > 0) {
+                timer.rounds--;
+                continue;
+            }
+            timers.remove();
+            try {
+                timer.task.run();
+            } catch (RuntimeException e) {
+                log.error("Timer task failed", e);
+            }
+        }
+        tick++;
+    }
+
+    private static final class Timer {
+
+        private final long deadline; // Nanos since the wheel started
+        private final Runnable task;
+        private long rounds;
+
+        Timer(long deadline, Runnable task) {
+            this.deadline = deadline;
+            this.task = task;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.bookstore.applicaton.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounds the requests of one endpoint class in progress at once. Past the bound, requests are turned
+ * away immediately instead of queueing for threads, so latency of the admitted ones stays flat.
+ */
+final class ConcurrencyLimit {
+
+    private final int limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * @param limit Requests allowed in progress at once; 0 or less for no limit.
+     */
+    ConcurrencyLimit(int limit) {
+        this.limit = limit;
+    }
+
+    boolean tryEnter() {
+        if (limit <= 0) {
+            inFlight.incrementAndGet();
+            return true;
+        }
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    int limit() {
+        return limit;
+    }
+
+    void exit() {
+        inFlight.decrementAndGet();
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+}
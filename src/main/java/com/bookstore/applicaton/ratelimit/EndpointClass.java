@@ -0,0 +1,87 @@
+package com.bookstore.applicaton.ratelimit;
+
+import org.springframework.http.HttpMethod;
+
+import java.util.Locale;
+
+/**
+ * Groups of product API endpoints that share a budget, by how much each request costs. The defaults are
+ * per client (rate and burst) and per server (concurrency); each can be overridden with
+ * {@code bookstore.ratelimit.<class>.rate}, {@code .burst} and {@code .concurrency}.
+ * <p>
+ * On platform threads a concurrency limit only sheds load if it is below {@code server.tomcat.threads.max}
+ * (200 by default); above it, requests queue for a thread before the limit is ever reached. The defaults
+ * add up to 184, so they all take effect on the default pool and leave threads for the other classes.
+ */
+public enum EndpointClass {
+
+    // Whole-catalog reads: the full listing, the NDJSON stream and the export
+    LISTING(2, 5, 8),
+    // Single products, pages, searches and other bounded reads
+    READ(1000, 2000, 128),
+    // Creates, updates, deletes, stock changes and jobs
+    WRITE(200, 400, 48),
+    // Server-Sent Event subscriptions, which stay open by design, so only their rate is limited
+    SUBSCRIPTION(1, 10, 0);
+
+    private final double defaultRate;
+    private final int defaultBurst;
+    private final int defaultConcurrency;
+
+    EndpointClass(double defaultRate, int defaultBurst, int defaultConcurrency) {
+        this.defaultRate = defaultRate;
+        this.defaultBurst = defaultBurst;
+        this.defaultConcurrency = defaultConcurrency;
+    }
+
+    /**
+     * @return Requests per second a client may sustain; 0 or less for no rate limit.
+     */
+    public double defaultRate() {
+        return defaultRate;
+    }
+
+    /**
+     * @return Requests a client may send at once after being idle.
+     */
+    public int defaultBurst() {
+        return defaultBurst;
+    }
+
+    /**
+     * @return Requests of this class in progress at once, across all clients; 0 for no limit.
+     */
+    public int defaultConcurrency() {
+        return defaultConcurrency;
+    }
+
+    /**
+     * @return The name used in configuration keys and metric tags.
+     */
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Classifies a request by its method and the pattern of the handler it was mapped to.
+     *
+     * @param method  The HTTP method.
+     * @param pattern The matched pattern, without the context path, or null if none is known.
+     * @param paged   Whether the request asks for a page ({@code limit} given), which the full listing
+     *                shares its pattern with.
+     */
+    public static EndpointClass of(String method, String pattern, boolean paged) {
+        if (!HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method)) {
+            return WRITE;
+        }
+        if (pattern == null) {
+            return READ;
+        }
+        return switch (pattern) {
+            case "/api/products" -> paged ? READ : LISTING;
+            case "/api/products/stream", "/api/products/export" -> LISTING;
+            case "/api/products/changes/stream" -> SUBSCRIPTION;
+            default -> READ;
+        };
+    }
+}
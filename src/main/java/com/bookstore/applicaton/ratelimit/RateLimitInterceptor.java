@@ -0,0 +1,87 @@
+package com.bookstore.applicaton.ratelimit;
+
+import com.bookstore.applicaton.common.ApiResponse;
+import com.bookstore.applicaton.constants.ProductResponseMessages;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Puts the {@link RateLimiter} in front of the product API. A rejected request gets a 429 with a
+ * {@code Retry-After} header and never reaches its handler; an admitted one holds its concurrency permit
+ * until it has completed, including the asynchronous part of streamed responses.
+ */
+public class RateLimitInterceptor implements AsyncHandlerInterceptor {
+
+    // Set on admitted requests, so the permit is returned once however the request completes
+    static final String ADMITTED_CLASS_ATTRIBUTE = RateLimitInterceptor.class.getName() + ".admittedClass";
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final String clientHeader;
+
+    /**
+     * @param clientHeader Header identifying the client, such as one set by a trusted proxy; blank to
+     *                     identify clients by their address.
+     */
+    public RateLimitInterceptor(RateLimiter rateLimiter, ObjectMapper objectMapper, String clientHeader) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+        this.clientHeader = clientHeader == null || clientHeader.isBlank() ? null : clientHeader;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        // The dispatch that finishes an asynchronous request was admitted when it started
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        EndpointClass endpointClass = EndpointClass.of(request.getMethod(),
+                (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE),
+                request.getParameter("limit") != null);
+        RateLimiter.Decision decision = rateLimiter.admit(client(request), endpointClass, System.nanoTime());
+        if (decision.admitted()) {
+            request.setAttribute(ADMITTED_CLASS_ATTRIBUTE, endpointClass);
+            return true;
+        }
+        reject(response, decision);
+        return false;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(ADMITTED_CLASS_ATTRIBUTE) instanceof EndpointClass endpointClass) {
+            request.removeAttribute(ADMITTED_CLASS_ATTRIBUTE);
+            rateLimiter.release(endpointClass);
+        }
+    }
+
+    private String client(HttpServletRequest request) {
+        String client = clientHeader == null ? null : request.getHeader(clientHeader);
+        return client == null || client.isBlank() ? request.getRemoteAddr() : client;
+    }
+
+    private void reject(HttpServletResponse response, RateLimiter.Decision decision) throws IOException {
+        long retryAfterSeconds = Math.max(1, (decision.retryAfterNanos() + TimeUnit.SECONDS.toNanos(1) - 1)
+                / TimeUnit.SECONDS.toNanos(1));
+        String message = decision.outcome() == RateLimiter.Decision.Outcome.RATE_LIMITED
+                ? ProductResponseMessages.RATE_LIMIT_EXCEEDED
+                : ProductResponseMessages.CONCURRENCY_LIMIT_EXCEEDED;
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ApiResponse<>(HttpStatus.TOO_MANY_REQUESTS.value(), false, message, null));
+    }
+}
@@ -0,0 +1,172 @@
+package com.bookstore.applicaton.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.env.Environment;
+
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control for the product API: a token bucket per client and endpoint class, then a
+ * concurrency limit per endpoint class. Both are lock-free, and every decision is counted in
+ * {@code bookstore.ratelimit.decisions}, tagged with the class and the decision.
+ * <p>
+ * Buckets are created on a client's first request and forgotten once full again, so memory follows
+ * the number of recently active clients. Past {@code maxClients} of those, new clients share one
+ * bucket per class until idle buckets can be swept.
+ */
+public class RateLimiter {
+
+    static final String DECISION_COUNTER = "bookstore.ratelimit.decisions";
+    static final String IN_FLIGHT_GAUGE = "bookstore.ratelimit.in.flight";
+
+    // Client of the shared buckets used when too many clients are tracked
+    static final String OVERFLOW_CLIENT = "";
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final double[] rates;
+    private final int[] bursts;
+    private final ConcurrencyLimit[] concurrencyLimits;
+    private final Counter[][] decisions;
+    private final int maxClients;
+    private final Map<BucketKey, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweepNanos = new AtomicLong(System.nanoTime());
+
+    /**
+     * @param environment Overrides of the class defaults, as {@code bookstore.ratelimit.<class>.rate},
+     *                    {@code .burst} and {@code .concurrency}.
+     */
+    public RateLimiter(Environment environment, MeterRegistry meterRegistry, int maxClients) {
+        EndpointClass[] classes = EndpointClass.values();
+        this.rates = new double[classes.length];
+        this.bursts = new int[classes.length];
+        this.concurrencyLimits = new ConcurrencyLimit[classes.length];
+        this.decisions = new Counter[classes.length][Decision.Outcome.values().length];
+        this.maxClients = maxClients;
+        for (EndpointClass endpointClass : classes) {
+            int i = endpointClass.ordinal();
+            String prefix = "bookstore.ratelimit." + endpointClass.key() + ".";
+            rates[i] = environment.getProperty(prefix + "rate", Double.class, endpointClass.defaultRate());
+            bursts[i] = environment.getProperty(prefix + "burst", Integer.class, endpointClass.defaultBurst());
+            ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit(environment.getProperty(prefix + "concurrency",
+                    Integer.class, endpointClass.defaultConcurrency()));
+            concurrencyLimits[i] = concurrencyLimit;
+            for (Decision.Outcome outcome : Decision.Outcome.values()) {
+                decisions[i][outcome.ordinal()] = Counter.builder(DECISION_COUNTER)
+                        .description("Admission decisions of the product API rate limiter")
+                        .tag("class", endpointClass.key())
+                        .tag("decision", outcome.name().toLowerCase(Locale.ROOT))
+                        .register(meterRegistry);
+            }
+            Gauge.builder(IN_FLIGHT_GAUGE, concurrencyLimit, ConcurrencyLimit::inFlight)
+                    .description("Admitted product API requests in progress")
+                    .tag("class", endpointClass.key())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Decides whether to admit a request. An admitted request holds a concurrency permit of its class
+     * until {@link #release} is called for it.
+     *
+     * @param client        Who sent the request.
+     * @param endpointClass What it asks for.
+     * @param nowNanos      The current {@link System#nanoTime()}.
+     * @return The decision; if rejected, with the time after which the client may retry.
+     */
+    public Decision admit(String client, EndpointClass endpointClass, long nowNanos) {
+        int i = endpointClass.ordinal();
+        Decision decision = Decision.ADMITTED;
+        if (rates[i] > 0) {
+            long waitNanos = bucket(client, endpointClass, nowNanos).tryAcquire(nowNanos);
+            if (waitNanos > 0) {
+                decision = new Decision(Decision.Outcome.RATE_LIMITED, waitNanos);
+            }
+        }
+        if (decision == Decision.ADMITTED && !concurrencyLimits[i].tryEnter()) {
+            decision = Decision.CONCURRENCY_LIMITED;
+        }
+        decisions[i][decision.outcome().ordinal()].increment();
+        return decision;
+    }
+
+    /**
+     * Returns the concurrency permit of an admitted request once it has completed.
+     */
+    public void release(EndpointClass endpointClass) {
+        concurrencyLimits[endpointClass.ordinal()].exit();
+    }
+
+    /**
+     * @return Requests of the class allowed in progress at once; 0 or less for no limit.
+     */
+    public int concurrencyLimit(EndpointClass endpointClass) {
+        return concurrencyLimits[endpointClass.ordinal()].limit();
+    }
+
+    int trackedBuckets() {
+        return buckets.size();
+    }
+
+    private TokenBucket bucket(String client, EndpointClass endpointClass, long nowNanos) {
+        BucketKey key = new BucketKey(client, endpointClass);
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxClients) {
+            sweep(nowNanos);
+            if (buckets.size() >= maxClients) {
+                key = new BucketKey(OVERFLOW_CLIENT, endpointClass);
+            }
+        }
+        int i = endpointClass.ordinal();
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(rates[i], bursts[i], nowNanos));
+    }
+
+    // Forgets full buckets, at most once per interval so a flood of new clients does not sweep on every request
+    private void sweep(long nowNanos) {
+        long lastSweep = lastSweepNanos.get();
+        if (nowNanos - lastSweep < SWEEP_INTERVAL_NANOS || !lastSweepNanos.compareAndSet(lastSweep, nowNanos)) {
+            return;
+        }
+        for (Iterator<TokenBucket> iterator = buckets.values().iterator(); iterator.hasNext(); ) {
+            if (iterator.next().isFull(nowNanos)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private record BucketKey(String client, EndpointClass endpointClass) {
+    }
+
+    /**
+     * The outcome of {@link #admit}.
+     *
+     * @param retryAfterNanos For a rejection, how long the client should wait before retrying.
+     */
+    public record Decision(Outcome outcome, long retryAfterNanos) {
+
+        // Turned away for capacity rather than for the client's rate; retrying after a second spreads retries out
+        static final Decision CONCURRENCY_LIMITED = new Decision(Outcome.CONCURRENCY_LIMITED,
+                TimeUnit.SECONDS.toNanos(1));
+        static final Decision ADMITTED = new Decision(Outcome.ADMITTED, 0);
+
+        public enum Outcome {
+            ADMITTED,
+            RATE_LIMITED,
+            CONCURRENCY_LIMITED
+        }
+
+        public boolean admitted() {
+            return outcome == Outcome.ADMITTED;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.bookstore.applicaton.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket held in a single atomic long, as in the generic cell rate algorithm: instead of a token
+ * count it stores the time at which the bucket will be full again. A request takes one emission interval
+ * of that time, and is admitted while the result is no more than a full bucket ahead of now. Admitting
+ * is one compare-and-set, so the bucket needs no lock and no refill timer.
+ */
+final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long capacityNanos;
+    private final AtomicLong fullAtNanos;
+
+    /**
+     * @param rate  Tokens added per second.
+     * @param burst Tokens the bucket holds when full, at least 1.
+     */
+    TokenBucket(double rate, int burst, long nowNanos) {
+        this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000L / rate));
+        this.capacityNanos = emissionIntervalNanos * Math.max(1, burst);
+        this.fullAtNanos = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes a token if there is one.
+     *
+     * @return 0 if a token was taken, otherwise how long until one is available, in nanoseconds.
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long fullAt = fullAtNanos.get();
+            // A bucket that has been full since before now is simply full
+            long next = (fullAt - nowNanos > 0 ? fullAt : nowNanos) + emissionIntervalNanos;
+            long wait = next - nowNanos - capacityNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAtNanos.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * @return Whether the bucket is full, so forgetting it and starting a new one later changes nothing.
+     */
+    boolean isFull(long nowNanos) {
+        return fullAtNanos.get() - nowNanos <= 0;
+    }
+}
@@ -0,0 +1,110 @@
+package com.bookstore.applicaton.reactive;
+
+import com.bookstore.applicaton.changes.ProductChangeLog;
+import com.bookstore.applicaton.dto.ProductChangesDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The change log as a Server-Sent Events Flux, the reactive counterpart of
+ * {@link com.bookstore.applicaton.changes.ProductChangeStream}.
+ * <p>
+ * Subscribers hold no thread and no queue: each keeps a cursor into the {@link ProductChangeLog}, and
+ * every append only ticks a shared sink. A subscriber reads the log when ticked and only as fast as its
+ * connection accepts events, and ticks that arrive while it is busy collapse into one. Reading and
+ * encoding happen on a scheduler rather than the appending thread, so a write costs the same however many
+ * subscribers there are and however slow they are. A subscriber that falls behind by more than the log
+ * holds receives a {@code resync} event and the stream completes.
+ */
+@Component
+@ConditionalOnProperty(name = "bookstore.reactive.enabled", havingValue = "true")
+public class ReactiveProductChangeStream {
+
+    static final String CHANGE_EVENT = "change";
+    static final String RESYNC_EVENT = "resync";
+
+    // Changes read from the log per round trip, so one busy subscriber does not hold a large list
+    private static final int DRAIN_BATCH_SIZE = 256;
+
+    private final ProductChangeLog changeLog;
+    private final Duration timeout;
+    private final Scheduler drainScheduler;
+    private final Sinks.Many<Long> appends = Sinks.many().multicast().directBestEffort();
+
+    @Autowired
+    public ReactiveProductChangeStream(ProductChangeLog changeLog,
+                                       @Value("${bookstore.changes.stream-timeout:PT30M}") Duration timeout) {
+        this(changeLog, timeout, Schedulers.parallel());
+    }
+
+    ReactiveProductChangeStream(ProductChangeLog changeLog, Duration timeout, Scheduler drainScheduler) {
+        this.changeLog = changeLog;
+        this.timeout = timeout;
+        this.drainScheduler = drainScheduler;
+        changeLog.addAppendListener(this::signalAll);
+    }
+
+    /**
+     * Opens a stream of the changes logged after {@code since}, followed by every new change, until the
+     * stream timeout ends it and the client reconnects.
+     *
+     * @param since The last sequence the client has seen, or null to receive only new changes.
+     * @return The events.
+     */
+    public Flux<ServerSentEvent<Object>> subscribe(Long since) {
+        return Flux.defer(() -> {
+            AtomicLong cursor = new AtomicLong(since == null ? changeLog.latestSequence() : since);
+            // Listen for appends before the first tick reads the backlog, so no append falls in between.
+            // Ticks that arrive while a drain runs collapse into one; the appending thread only hands the
+            // tick over, and the drain runs on the scheduler.
+            return Flux.merge(appends.asFlux(), Mono.just(0L))
+                    .onBackpressureLatest()
+                    .publishOn(drainScheduler, 1)
+                    .concatMap(tick -> drain(cursor), 1)
+                    .takeUntil(event -> RESYNC_EVENT.equals(event.event()))
+                    .take(timeout);
+        });
+    }
+
+    private Flux<ServerSentEvent<Object>> drain(AtomicLong cursor) {
+        // Reads at most one batch ahead of what has been sent, until the log is caught up
+        return Mono.fromSupplier(() -> changeLog.read(cursor.get(), DRAIN_BATCH_SIZE))
+                .expand(batch -> batch.isResyncRequired() || batch.getChanges().isEmpty()
+                        ? Mono.empty()
+                        : Mono.fromSupplier(() -> changeLog.read(batch.getLastSequence(), DRAIN_BATCH_SIZE)))
+                .concatMap(batch -> events(batch, cursor), 1);
+    }
+
+    private static Flux<ServerSentEvent<Object>> events(ProductChangesDto batch, AtomicLong cursor) {
+        if (batch.isResyncRequired()) {
+            return Flux.just(ServerSentEvent.builder((Object) batch).event(RESYNC_EVENT).build());
+        }
+        cursor.set(batch.getLastSequence());
+        return Flux.fromIterable(batch.getChanges())
+                .map(change -> ServerSentEvent.builder((Object) change)
+                        .id(String.valueOf(change.getSequence()))
+                        .event(CHANGE_EVENT)
+                        .build());
+    }
+
+    private void signalAll() {
+        // Appending threads race and the sink needs serialized emissions. A collision only lasts while another
+        // thread hands over its tick, and is retried because a lost tick would delay a change; any other
+        // failure (no subscribers) just drops the tick, and must not terminate the sink as emitNext would
+        long sequence = changeLog.latestSequence();
+        while (appends.tryEmitNext(sequence) == Sinks.EmitResult.FAIL_NON_SERIALIZED) {
+            Thread.onSpinWait();
+        }
+    }
+}
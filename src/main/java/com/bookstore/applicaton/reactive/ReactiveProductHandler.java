@@ -0,0 +1,272 @@
+package com.bookstore.applicaton.reactive;
+
+import com.bookstore.applicaton.cache.ProductResponseCache;
+import com.bookstore.applicaton.cache.ProductResponseCache.CachedResponse;
+import com.bookstore.applicaton.common.ApiResponse;
+import com.bookstore.applicaton.common.ProductETags;
+import com.bookstore.applicaton.common.WireFormat;
+import com.bookstore.applicaton.constants.ProductResponseMessages;
+import com.bookstore.applicaton.dto.ProductDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.OptionalLong;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.queryParam;
+
+/**
+ * The product API of {@link com.bookstore.applicaton.controller.ProductController} as non-blocking
+ * functional routes, served by {@link ReactiveProductServer}. Paths, parameters, status codes and
+ * bodies are the same, except that {@code GET /api/products} streams the catalog as a {@code Flux} of
+ * products (a JSON array, or NDJSON when asked for) instead of building the whole response first.
+ */
+@Component
+@ConditionalOnProperty(name = "bookstore.reactive.enabled", havingValue = "true")
+public class ReactiveProductHandler {
+
+    private static final ParameterizedTypeReference<List<ProductDto>> PRODUCT_LIST =
+            new ParameterizedTypeReference<>() {
+            };
+    private static final ParameterizedTypeReference<List<Integer>> ID_LIST = new ParameterizedTypeReference<>() {
+    };
+
+    private final ReactiveProductService reactiveProductService;
+    private final ReactiveProductChangeStream reactiveProductChangeStream;
+    private final ProductResponseCache productResponseCache;
+
+    public ReactiveProductHandler(ReactiveProductService reactiveProductService,
+                                  ReactiveProductChangeStream reactiveProductChangeStream,
+                                  ProductResponseCache productResponseCache) {
+        this.reactiveProductService = reactiveProductService;
+        this.reactiveProductChangeStream = reactiveProductChangeStream;
+        this.productResponseCache = productResponseCache;
+    }
+
+    /**
+     * Builds the routes. Fixed paths come before /{productId}, which would match them too.
+     *
+     * @return The router function.
+     */
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .path("/api/products", builder -> builder
+                        .GET("/stream", this::streamProducts)
+                        .GET("/changes/stream", this::streamChanges)
+                        .GET("/changes", this::getChanges)
+                        .GET("/search", this::searchProducts)
+                        .GET("/price-range", this::getProductsByPriceRange)
+                        .GET("/in-stock", this::getProductsInStock)
+                        .GET("/cheapest", this::getCheapestProducts)
+                        .POST("/batch", this::createProducts)
+                        .PUT("/batch", this::updateProducts)
+                        .DELETE("/batch", this::deleteProducts)
+                        .POST("/{productId}/stock/reserve", this::reserveStock)
+                        .POST("/{productId}/stock/release", this::releaseStock)
+                        .POST("/{productId}/stock/commit", this::commitStock)
+                        .PUT("/{productId}/{type}", this::applyDiscountOrTax)
+                        .GET("/{productId}", this::getProduct)
+                        .PUT("/{productId}", this::updateProduct)
+                        .DELETE("/{productId}", this::deleteProduct)
+                        .GET("", queryParam("limit", limit -> true), this::getProductsPage)
+                        .GET("", this::getAllProducts)
+                        .POST("", this::createProduct))
+                // Malformed IDs and numbers are the client's fault, as with MVC's type conversion
+                .filter((request, next) -> Mono.defer(() -> next.handle(request))
+                        .onErrorResume(NumberFormatException.class, error -> ServerResponse.badRequest().build()))
+                .build();
+    }
+
+    Mono<ServerResponse> createProduct(ServerRequest request) {
+        return request.bodyToMono(ProductDto.class)
+                .flatMap(reactiveProductService::createProduct)
+                .flatMap(ReactiveProductHandler::respond);
+    }
+
+    Mono<ServerResponse> getProduct(ServerRequest request) {
+        Integer productId = productId(request);
+        String ifNoneMatch = request.headers().firstHeader(HttpHeaders.IF_NONE_MATCH);
+        // A cache hit is an in-memory lookup, so it is served on the event loop like any other read
+        return Mono.fromSupplier(() -> productResponseCache.getProduct(productId, WireFormat.JSON))
+                .flatMap(cached -> respondCached(cached, ifNoneMatch))
+                .switchIfEmpty(Mono.defer(() -> reactiveProductService.getProduct(productId)
+                        .flatMap(ReactiveProductHandler::respondWithETag)));
+    }
+
+    Mono<ServerResponse> updateProduct(ServerRequest request) {
+        Integer productId = productId(request);
+        String ifMatch = request.headers().firstHeader(HttpHeaders.IF_MATCH);
+        Long expectedVersion = null;
+        if (ifMatch != null && !ifMatch.trim().equals(ProductETags.ANY)) {
+            OptionalLong version = ProductETags.expectedVersion(ifMatch);
+            if (version.isEmpty()) {
+                return respond(new ApiResponse<>(HttpStatus.PRECONDITION_FAILED.value(), false,
+                        ProductResponseMessages.PRODUCT_VERSION_MISMATCH, null));
+            }
+            expectedVersion = version.getAsLong();
+        }
+        Long version = expectedVersion;
+        return request.bodyToMono(ProductDto.class)
+                .doOnNext(productDto -> productDto.setProductId(productId)) // Ensure ID consistency
+                .flatMap(productDto -> reactiveProductService.updateProduct(productId, productDto, version))
+                .flatMap(ReactiveProductHandler::respondWithETag);
+    }
+
+    Mono<ServerResponse> deleteProduct(ServerRequest request) {
+        return reactiveProductService.deleteProduct(productId(request)).flatMap(ReactiveProductHandler::respond);
+    }
+
+    Mono<ServerResponse> applyDiscountOrTax(ServerRequest request) {
+        BigDecimal value = new BigDecimal(requiredParam(request, "percentageValue"));
+        return reactiveProductService.applyDiscountOrTax(productId(request), request.pathVariable("type"), value)
+                .flatMap(ReactiveProductHandler::respond);
+    }
+
+    Mono<ServerResponse> reserveStock(ServerRequest request) {
+        return reactiveProductService.reserveStock(productId(request), quantity(request))
+                .flatMap(ReactiveProductHandler::respond);
+    }
+
+    Mono<ServerResponse> releaseStock(ServerRequest request) {
+        return reactiveProductService.releaseStock(productId(request), quantity(request))
+                .flatMap(ReactiveProductHandler::respond);
+    }
+
+    Mono<ServerResponse> commitStock(ServerRequest request) {
+        return reactiveProductService.commitStock(productId(request), quantity(request))
+                .flatMap(ReactiveProductHandler::respond);
+    }
+
+    Mono<ServerResponse> getAllProducts(ServerRequest request) {
+        // Products are encoded as the connection asks for them: backpressure reaches the store's iterator
+        boolean ndjson = request.headers().accept().stream()
+                .anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype);
+        MediaType mediaType = ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON;
+        return ServerResponse.ok().contentType(mediaType)
+                .body(reactiveProductService.streamProducts(null), ProductDto.class);
+    }
+
+    Mono<ServerResponse> streamProducts(ServerRequest request) {
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_NDJSON)
+                .body(reactiveProductService.streamProducts(optionalInt(request, "after")), ProductDto.class);
+    }
+
+    Mono<ServerResponse> createProducts(ServerRequest request) {
+        return request.bodyToMono(PRODUCT_LIST)
+                .flatMap(reactiveProductService::createProducts)
+                .flatMap(ReactiveProductHandler::respond);
+    }
+
+    Mono<ServerResponse> updateProducts(ServerRequest request) {
+        return request.bodyToMono(PRODUCT_LIST)
+                .flatMap(reactiveProductService::updateProducts)
+                .flatMap(ReactiveProductHandler::respond);
+    }
+
+    Mono<ServerResponse> deleteProducts(ServerRequest request) {
+        return request.bodyToMono(ID_LIST)
+                .flatMap(reactiveProductService::deleteProducts)
+                .flatMap(ReactiveProductHandler::respond);
+    }
+
+    Mono<ServerResponse> getProductsPage(ServerRequest request) {
+        int limit = Integer.parseInt(requiredParam(request, "limit"));
+        return reactiveProductService.getProductsPage(optionalInt(request, "after"), limit)
+                .flatMap(ReactiveProductHandler::respond);
+    }
+
+    Mono<ServerResponse> searchProducts(ServerRequest request) {
+        return reactiveProductService.searchProducts(requiredParam(request, "q"), intParam(request, "limit", 20))
+                .flatMap(ReactiveProductHandler::respond);
+    }
+
+    Mono<ServerResponse> getProductsByPriceRange(ServerRequest request) {
+        BigDecimal minPrice = request.queryParam("minPrice").map(BigDecimal::new).orElse(null);
+        BigDecimal maxPrice = request.queryParam("maxPrice").map(BigDecimal::new).orElse(null);
+        return reactiveProductService.getProductsByPriceRange(minPrice, maxPrice, intParam(request, "limit", 100))
+                .flatMap(ReactiveProductHandler::respond);
+    }
+
+    Mono<ServerResponse> getProductsInStock(ServerRequest request) {
+        return reactiveProductService.getProductsInStock(intParam(request, "minQuantity", 1),
+                        intParam(request, "limit", 100))
+                .flatMap(ReactiveProductHandler::respond);
+    }
+
+    Mono<ServerResponse> getCheapestProducts(ServerRequest request) {
+        return reactiveProductService.getCheapestProducts(intParam(request, "limit", 10))
+                .flatMap(ReactiveProductHandler::respond);
+    }
+
+    Mono<ServerResponse> getChanges(ServerRequest request) {
+        long since = request.queryParam("since").map(Long::parseLong).orElse(0L);
+        return reactiveProductService.getChanges(since, intParam(request, "limit", 1000))
+                .flatMap(ReactiveProductHandler::respond);
+    }
+
+    Mono<ServerResponse> streamChanges(ServerRequest request) {
+        // Reconnecting EventSource clients resume from the last event they received
+        Long since = request.queryParam("since")
+                .or(() -> request.headers().header("Last-Event-ID").stream().findFirst())
+                .map(Long::valueOf)
+                .orElse(null);
+        return ServerResponse.ok().contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(BodyInserters.fromServerSentEvents(reactiveProductChangeStream.subscribe(since)));
+    }
+
+    private static Mono<ServerResponse> respond(ApiResponse<?> response) {
+        return ServerResponse.status(response.getStatusCode()).bodyValue(response);
+    }
+
+    private static Mono<ServerResponse> respondWithETag(ApiResponse<ProductDto> response) {
+        ServerResponse.BodyBuilder builder = ServerResponse.status(response.getStatusCode());
+        if (response.getData() != null && response.getData().getVersion() != null) {
+            builder.eTag(ProductETags.of(response.getData()));
+        }
+        return builder.bodyValue(response);
+    }
+
+    private static Mono<ServerResponse> respondCached(CachedResponse cached, String ifNoneMatch) {
+        if (ifNoneMatch != null && ProductETags.matchesAny(ifNoneMatch, cached.eTag())) {
+            // The client's copy is current: send no body at all
+            return ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(cached.eTag()).build();
+        }
+        return ServerResponse.status(cached.statusCode())
+                .eTag(cached.eTag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(cached.body());
+    }
+
+    private static Integer productId(ServerRequest request) {
+        return Integer.valueOf(request.pathVariable("productId"));
+    }
+
+    private static int quantity(ServerRequest request) {
+        return Integer.parseInt(requiredParam(request, "quantity"));
+    }
+
+    private static String requiredParam(ServerRequest request, String name) {
+        return request.queryParam(name)
+                .orElseThrow(() -> new ServerWebInputException("Required parameter '" + name + "' is missing"));
+    }
+
+    private static Integer optionalInt(ServerRequest request, String name) {
+        return request.queryParam(name).map(Integer::valueOf).orElse(null);
+    }
+
+    private static int intParam(ServerRequest request, String name, int defaultValue) {
+        return request.queryParam(name).map(Integer::parseInt).orElse(defaultValue);
+    }
+}
@@ -0,0 +1,89 @@
+package com.bookstore.applicaton.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.ContextPathCompositeHandler;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.util.Map;
+
+/**
+ * Serves {@link ReactiveProductHandler} on its own Reactor Netty server next to the servlet container,
+ * under the same context path. An open connection costs a channel and its buffers but no thread, so
+ * the number of long-lived connections (change streams, catalog sync) is bounded by memory and file
+ * descriptors rather than by a thread pool. Enabled with {@code bookstore.reactive.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "bookstore.reactive.enabled", havingValue = "true")
+public class ReactiveProductServer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveProductServer.class);
+
+    private final ReactiveProductHandler reactiveProductHandler;
+    private final ObjectMapper objectMapper;
+    private final int port;
+    private final String contextPath;
+    private final DataSize maxRequestSize;
+
+    private volatile DisposableServer server;
+
+    public ReactiveProductServer(ReactiveProductHandler reactiveProductHandler, ObjectMapper objectMapper,
+                                 @Value("${bookstore.reactive.port:8081}") int port,
+                                 @Value("${server.servlet.context-path:}") String contextPath,
+                                 @Value("${bookstore.reactive.max-request-size:16MB}") DataSize maxRequestSize) {
+        this.reactiveProductHandler = reactiveProductHandler;
+        this.objectMapper = objectMapper;
+        this.port = port;
+        this.contextPath = contextPath;
+        this.maxRequestSize = maxRequestSize;
+    }
+
+    @Override
+    public void start() {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(configurer -> {
+                    // Same JSON as the MVC API
+                    configurer.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    configurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                    // Request bodies are decoded whole; batches of up to 10000 products exceed the 256KB default
+                    configurer.defaultCodecs().maxInMemorySize((int) maxRequestSize.toBytes());
+                })
+                .build();
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(reactiveProductHandler.routes(), strategies);
+        if (!contextPath.isEmpty()) {
+            httpHandler = new ContextPathCompositeHandler(Map.of(contextPath, httpHandler));
+        }
+        server = HttpServer.create()
+                .port(port)
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        log.info("Reactive product API listening on port {}{}", server.port(), contextPath);
+    }
+
+    @Override
+    public void stop() {
+        DisposableServer running = server;
+        if (running != null) {
+            running.disposeNow();
+            server = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+}
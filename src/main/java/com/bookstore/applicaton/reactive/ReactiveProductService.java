@@ -0,0 +1,144 @@
+package com.bookstore.applicaton.reactive;
+
+import com.bookstore.applicaton.common.ApiResponse;
+import com.bookstore.applicaton.dto.ProductChangesDto;
+import com.bookstore.applicaton.dto.ProductDto;
+import com.bookstore.applicaton.dto.ProductPageDto;
+import com.bookstore.applicaton.service.ProductService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking view of {@link ProductService} for the reactive API.
+ * <p>
+ * Reads only touch the in-memory store and run on the subscribing thread, normally a Netty event loop.
+ * Writes may wait for the write-ahead log to be synced when persistence is enabled, so they are moved to
+ * a scheduler for blocking work and never stall an event loop. Everything still goes through
+ * ProductService, so validation, pricing, change events and metrics are the same as for the MVC API.
+ */
+@Service
+@ConditionalOnProperty(name = "bookstore.reactive.enabled", havingValue = "true")
+public class ReactiveProductService {
+
+    private final ProductService productService;
+    private final Scheduler writeScheduler;
+
+    @Autowired
+    public ReactiveProductService(ProductService productService) {
+        this(productService, Schedulers.boundedElastic());
+    }
+
+    ReactiveProductService(ProductService productService, Scheduler writeScheduler) {
+        this.productService = productService;
+        this.writeScheduler = writeScheduler;
+    }
+
+    public Mono<ApiResponse<ProductDto>> createProduct(ProductDto productDto) {
+        return write(() -> productService.createProduct(productDto));
+    }
+
+    public Mono<ApiResponse<ProductDto>> getProduct(Integer productId) {
+        return read(() -> productService.getProduct(productId));
+    }
+
+    /**
+     * Updates a product.
+     *
+     * @param productId The ID of the product.
+     * @param productDto The new state of the product.
+     * @param expectedVersion The version the client last read, or null for an unconditional update.
+     * @return A Mono of the service response.
+     */
+    public Mono<ApiResponse<ProductDto>> updateProduct(Integer productId, ProductDto productDto, Long expectedVersion) {
+        return write(() -> expectedVersion == null
+                ? productService.updateProduct(productId, productDto)
+                : productService.updateProduct(productId, productDto, expectedVersion));
+    }
+
+    public Mono<ApiResponse<ProductDto>> deleteProduct(Integer productId) {
+        return write(() -> productService.deleteProduct(productId));
+    }
+
+    public Mono<ApiResponse<ProductDto>> applyDiscountOrTax(Integer productId, String type, BigDecimal value) {
+        return write(() -> productService.applyDiscountOrTax(productId, type, value));
+    }
+
+    public Mono<ApiResponse<ProductDto>> reserveStock(Integer productId, int quantity) {
+        return write(() -> productService.reserveStock(productId, quantity));
+    }
+
+    public Mono<ApiResponse<ProductDto>> releaseStock(Integer productId, int quantity) {
+        return write(() -> productService.releaseStock(productId, quantity));
+    }
+
+    public Mono<ApiResponse<ProductDto>> commitStock(Integer productId, int quantity) {
+        return write(() -> productService.commitStock(productId, quantity));
+    }
+
+    public Mono<ApiResponse<List<ApiResponse<ProductDto>>>> createProducts(List<ProductDto> productDtos) {
+        return write(() -> productService.createProducts(productDtos));
+    }
+
+    public Mono<ApiResponse<List<ApiResponse<ProductDto>>>> updateProducts(List<ProductDto> productDtos) {
+        return write(() -> productService.updateProducts(productDtos));
+    }
+
+    public Mono<ApiResponse<List<ApiResponse<ProductDto>>>> deleteProducts(List<Integer> productIds) {
+        return write(() -> productService.deleteProducts(productIds));
+    }
+
+    public Mono<ApiResponse<ProductPageDto>> getProductsPage(Integer afterProductId, int limit) {
+        return read(() -> productService.getProductsPage(afterProductId, limit));
+    }
+
+    public Mono<ApiResponse<List<ProductDto>>> searchProducts(String query, int limit) {
+        return read(() -> productService.searchProducts(query, limit));
+    }
+
+    public Mono<ApiResponse<List<ProductDto>>> getProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice,
+                                                                       int limit) {
+        return read(() -> productService.getProductsByPriceRange(minPrice, maxPrice, limit));
+    }
+
+    public Mono<ApiResponse<List<ProductDto>>> getProductsInStock(int minQuantity, int limit) {
+        return read(() -> productService.getProductsInStock(minQuantity, limit));
+    }
+
+    public Mono<ApiResponse<List<ProductDto>>> getCheapestProducts(int limit) {
+        return read(() -> productService.getCheapestProducts(limit));
+    }
+
+    public Mono<ApiResponse<ProductChangesDto>> getChanges(long since, int limit) {
+        return read(() -> productService.getChanges(since, limit));
+    }
+
+    /**
+     * Streams products in ID order as the subscriber requests them: each request for n more products
+     * advances the store's iterator by n, so a slow client holds back the read instead of buffering the
+     * catalog. The store's stream is closed when the Flux completes, fails or is cancelled.
+     *
+     * @param afterProductId The product ID to continue after, or null to stream the whole catalog.
+     * @return A Flux of product DTOs.
+     */
+    public Flux<ProductDto> streamProducts(Integer afterProductId) {
+        return Flux.fromStream(() -> productService.streamProducts(afterProductId));
+    }
+
+    private static <T> Mono<T> read(Supplier<T> read) {
+        return Mono.fromSupplier(read);
+    }
+
+    private <T> Mono<T> write(Callable<T> write) {
+        return Mono.fromCallable(write).subscribeOn(writeScheduler);
+    }
+}
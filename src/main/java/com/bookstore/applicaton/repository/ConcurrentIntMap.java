@@ -0,0 +1,216 @@
+package com.bookstore.applicaton.repository;
+
+import java.util.Iterator;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Concurrent map from int keys to values for keys that are mostly dense and non-negative, such as product
+ * IDs. Keys are never boxed and entries need no node objects.
+ * <p>
+ * Keys from 0 to {@link #MAX_DENSE_KEY} are addressed directly in a table of fixed-size segments: the
+ * value sits in its slot, so an entry costs one reference. Segments are created on first write and the
+ * directory of segments grows by doubling; both happen under one lock, once per {@link #SEGMENT_SIZE}
+ * keys. Negative and larger keys go to a sorted map instead, so a stray key cannot inflate the directory.
+ * <p>
+ * Reads are lock-free (two volatile loads). Writes to a key are serialized by one of {@link #LOCK_STRIPES}
+ * locks chosen by the key, so {@link #compute} is atomic per key like {@code ConcurrentHashMap.compute},
+ * while writers of consecutive keys take different locks. Iteration is in ascending key order and
+ * weakly consistent.
+ */
+final class ConcurrentIntMap<V> {
+
+    static final int SEGMENT_SHIFT = 6;
+    static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    // Caps the directory at 2^20 segment references
+    static final int MAX_DENSE_KEY = (1 << 26) - 1;
+    private static final int MAX_SEGMENTS = (MAX_DENSE_KEY >>> SEGMENT_SHIFT) + 1;
+    private static final int INITIAL_SEGMENTS = 16;
+
+    static final int LOCK_STRIPES = 256;
+
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private final Object segmentLock = new Object();
+    private final NavigableMap<Integer, V> sparse = new ConcurrentSkipListMap<>();
+    private final LongAdder size = new LongAdder();
+
+    // Replaced (never modified in place) when it grows; segments are shared between old and new directory
+    private volatile AtomicReferenceArray<AtomicReferenceArray<V>> directory =
+            new AtomicReferenceArray<>(INITIAL_SEGMENTS);
+
+    ConcurrentIntMap() {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    V get(int key) {
+        if (!isDense(key)) {
+            return sparse.get(key);
+        }
+        AtomicReferenceArray<V> segment = existingSegment(key);
+        return segment == null ? null : segment.get(key & SEGMENT_MASK);
+    }
+
+    /**
+     * Replaces the value of a key with the result of a function of the current value, atomically for the key.
+     * The function must not access this map.
+     *
+     * @param key The key.
+     * @param remapping Receives the current value (null if absent) and returns the new value, or null to remove
+     *                  the key. Returning the current value leaves the map unchanged.
+     * @return The new value.
+     */
+    V compute(int key, UnaryOperator<V> remapping) {
+        if (!isDense(key)) {
+            return sparse.compute(key, (k, existing) -> {
+                V result = remapping.apply(existing);
+                countChange(existing, result);
+                return result;
+            });
+        }
+        synchronized (locks[key & (LOCK_STRIPES - 1)]) {
+            AtomicReferenceArray<V> segment = existingSegment(key);
+            V existing = segment == null ? null : segment.get(key & SEGMENT_MASK);
+            V result = remapping.apply(existing);
+            if (result != existing) {
+                if (segment == null) {
+                    segment = createSegment(key);
+                }
+                segment.set(key & SEGMENT_MASK, result);
+                countChange(existing, result);
+            }
+            return result;
+        }
+    }
+
+    void put(int key, V value) {
+        compute(key, existing -> value);
+    }
+
+    V remove(int key) {
+        Object[] removed = new Object[1];
+        compute(key, existing -> {
+            removed[0] = existing;
+            return null;
+        });
+        @SuppressWarnings("unchecked")
+        V value = (V) removed[0];
+        return value;
+    }
+
+    int size() {
+        return size.intValue();
+    }
+
+    /**
+     * Streams the values in ascending key order.
+     *
+     * @param afterKey Only values of keys greater than this are returned, or null for all values.
+     * @return A weakly consistent stream.
+     */
+    Stream<V> values(Integer afterKey) {
+        int from = afterKey == null ? Integer.MIN_VALUE : afterKey;
+        Stream<V> negative = from < 0
+                ? sparse.subMap(from, afterKey == null, 0, false).values().stream() : Stream.empty();
+        Stream<V> dense = from < MAX_DENSE_KEY
+                ? StreamSupport.stream(Spliterators.spliteratorUnknownSize(new DenseIterator(
+                        afterKey == null ? 0 : Math.max(from + 1, 0)), Spliterator.ORDERED | Spliterator.NONNULL), false)
+                : Stream.empty();
+        Stream<V> large = sparse.tailMap(Math.max(from, MAX_DENSE_KEY), false).values().stream();
+        return Stream.concat(Stream.concat(negative, dense), large);
+    }
+
+    private static boolean isDense(int key) {
+        return key >= 0 && key <= MAX_DENSE_KEY;
+    }
+
+    private void countChange(V existing, V result) {
+        if (existing == null && result != null) {
+            size.increment();
+        } else if (existing != null && result == null) {
+            size.decrement();
+        }
+    }
+
+    private AtomicReferenceArray<V> existingSegment(int key) {
+        AtomicReferenceArray<AtomicReferenceArray<V>> current = directory;
+        int index = key >>> SEGMENT_SHIFT;
+        return index < current.length() ? current.get(index) : null;
+    }
+
+    private AtomicReferenceArray<V> createSegment(int key) {
+        int index = key >>> SEGMENT_SHIFT;
+        // Growing and installing segments share a lock, so no segment is installed into a directory being copied
+        synchronized (segmentLock) {
+            AtomicReferenceArray<AtomicReferenceArray<V>> current = directory;
+            if (index >= current.length()) {
+                int length = current.length();
+                while (length <= index) {
+                    length = Math.min(length << 1, MAX_SEGMENTS);
+                }
+                AtomicReferenceArray<AtomicReferenceArray<V>> grown = new AtomicReferenceArray<>(length);
+                for (int i = 0; i < current.length(); i++) {
+                    grown.set(i, current.get(i));
+                }
+                directory = grown;
+                current = grown;
+            }
+            AtomicReferenceArray<V> segment = current.get(index);
+            if (segment == null) {
+                segment = new AtomicReferenceArray<>(SEGMENT_SIZE);
+                current.set(index, segment);
+            }
+            return segment;
+        }
+    }
+
+    private final class DenseIterator implements Iterator<V> {
+
+        private int key;
+        private V next;
+
+        DenseIterator(int fromKey) {
+            this.key = fromKey;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && key >= 0 && key <= MAX_DENSE_KEY) {
+                AtomicReferenceArray<AtomicReferenceArray<V>> current = directory;
+                int index = key >>> SEGMENT_SHIFT;
+                if (index >= current.length()) {
+                    return false;
+                }
+                AtomicReferenceArray<V> segment = current.get(index);
+                if (segment == null) {
+                    key = (index + 1) << SEGMENT_SHIFT; // Skip the whole missing segment
+                    continue;
+                }
+                next = segment.get(key & SEGMENT_MASK);
+                key++;
+            }
+            return next != null;
+        }
+
+        @Override
+        public V next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            V value = next;
+            next = null;
+            return value;
+        }
+    }
+}
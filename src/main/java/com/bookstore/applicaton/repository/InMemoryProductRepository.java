@@ -1,21 +1,42 @@
 package com.bookstore.applicaton.repository;
 
+import com.bookstore.applicaton.domain.Money;
 import com.bookstore.applicaton.domain.Product;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Repository
+@ConditionalOnProperty(name = "bookstore.repository.type", havingValue = "in-memory", matchIfMissing = true)
 public class InMemoryProductRepository implements ProductRepository {
 
-    private final Map<Integer, Product> productMap = new ConcurrentHashMap<>();
+    // Immutable snapshots by ID, without boxed keys or per-entry nodes. Iterates in ID order for keyset pagination
+    // and streaming. The indexes are kept in sync from inside productMap.compute so they change under the same
+    // per-key lock; since a stored snapshot never changes, the keys it is indexed under follow from it.
+    private final ConcurrentIntMap<Product> productMap = new ConcurrentIntMap<>();
+
+    // Secondary indexes ordered by (price, productId) and (quantityAvailable, productId).
+    private final NavigableSet<PriceKey> priceIndex = new ConcurrentSkipListSet<>();
+    private final NavigableSet<QuantityKey> quantityIndex = new ConcurrentSkipListSet<>();
+
+    private final AtomicInteger highestProductId = new AtomicInteger();
 
     @Override
     public Product addProduct(Product product) {
-        productMap.put(product.getProductId(), product);
+        int productId = product.getProductId();
+        highestProductId.accumulateAndGet(productId, Math::max);
+        productMap.compute(productId, existing -> {
+            reindex(productId, existing, product);
+            return product;
+        });
         return product;
     }
 
@@ -25,21 +46,194 @@ public class InMemoryProductRepository implements ProductRepository {
     }
 
     @Override
-    public boolean updateProduct(Integer productId, Product updatedProduct) {
-        if (productMap.containsKey(productId)) {
-            productMap.put(productId, updatedProduct);
-            return true;
-        }
-        return false;
+    public Product updateProduct(Integer productId, Product updatedProduct) {
+        Product[] stored = new Product[1];
+        productMap.compute(productId, existing -> {
+            // Compare-and-set: reject the write if another one got in since updatedProduct was read
+            if (existing == null || !Objects.equals(existing.getVersion(), updatedProduct.getVersion())) {
+                return existing;
+            }
+            stored[0] = updatedProduct.withVersion(nextVersion(existing.getVersion()));
+            reindex(productId, existing, stored[0]);
+            return stored[0];
+        });
+        return stored[0];
     }
 
     @Override
-    public boolean deleteProduct(Integer productId) {
-        return productMap.remove(productId) != null;
+    public Product deleteProduct(Integer productId) {
+        return removeProduct(productId);
     }
 
     @Override
     public List<Product> getAllProducts() {
-        return new ArrayList<>(productMap.values());
+        return productMap.values(null).collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    @Override
+    public List<Product> addProducts(List<Product> products) {
+        for (Product product : products) {
+            addProduct(product);
+        }
+        return products;
+    }
+
+    @Override
+    public List<Product> updateProducts(List<Product> updatedProducts) {
+        List<Product> results = new ArrayList<>(updatedProducts.size());
+        for (Product product : updatedProducts) {
+            results.add(updateProduct(product.getProductId(), product));
+        }
+        return results;
+    }
+
+    @Override
+    public List<Product> deleteProducts(List<Integer> productIdsToDelete) {
+        List<Product> removed = new ArrayList<>(productIdsToDelete.size());
+        for (Integer productId : productIdsToDelete) {
+            removed.add(removeProduct(productId));
+        }
+        return removed;
+    }
+
+    @Override
+    public StockUpdate adjustStock(Integer productId, int availableDelta, int reservedDelta) {
+        StockUpdate[] result = {StockUpdate.notFound()};
+        // compute runs under the per-key lock, so concurrent adjustments cannot both pass the check
+        productMap.compute(productId, existing -> {
+            if (existing == null) {
+                return null;
+            }
+            int available = valueOrZero(existing.getQuantityAvailable()) + availableDelta;
+            int reserved = valueOrZero(existing.getQuantityReserved()) + reservedDelta;
+            if (available < 0 || reserved < 0) {
+                result[0] = new StockUpdate(StockUpdate.Status.INSUFFICIENT_STOCK, existing);
+                return existing;
+            }
+            Product adjusted = existing.withQuantityAvailable(available)
+                    .withQuantityReserved(reserved)
+                    .withVersion(nextVersion(existing.getVersion()));
+            reindex(productId, existing, adjusted);
+            result[0] = new StockUpdate(StockUpdate.Status.APPLIED, adjusted);
+            return adjusted;
+        });
+        return result[0];
+    }
+
+    @Override
+    public int countProducts() {
+        return productMap.size();
+    }
+
+    @Override
+    public int getHighestProductId() {
+        return highestProductId.get();
+    }
+
+    @Override
+    public List<Product> getProducts(Integer afterProductId, int limit) {
+        return streamProducts(afterProductId).limit(limit).toList();
+    }
+
+    @Override
+    public Stream<Product> streamProducts(Integer afterProductId) {
+        return productMap.values(afterProductId);
+    }
+
+    @Override
+    public List<Product> findByPriceRange(Money minPrice, Money maxPrice, int limit) {
+        NavigableSet<PriceKey> range = priceIndex;
+        if (minPrice != null) {
+            range = range.tailSet(new PriceKey(minPrice.minorUnitsIn(Money.DEFAULT_CURRENCY), Integer.MIN_VALUE), true);
+        }
+        if (maxPrice != null) {
+            range = range.headSet(new PriceKey(maxPrice.minorUnitsIn(Money.DEFAULT_CURRENCY), Integer.MAX_VALUE), true);
+        }
+        return range.stream()
+                .map(key -> productMap.get(key.productId()))
+                .filter(product -> product != null && isPriceBetween(product.getPrice(), minPrice, maxPrice))
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public List<Product> findInStock(int minQuantity, int limit) {
+        return quantityIndex.tailSet(new QuantityKey(Math.max(minQuantity, 1), Integer.MIN_VALUE), true).stream()
+                .map(key -> productMap.get(key.productId()))
+                .filter(product -> product != null && product.getQuantityAvailable() != null
+                        && product.getQuantityAvailable() >= Math.max(minQuantity, 1))
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public List<Product> findCheapest(int limit) {
+        return findByPriceRange(null, null, limit);
+    }
+
+    private Product removeProduct(Integer productId) {
+        Product[] removed = new Product[1];
+        productMap.compute(productId, existing -> {
+            if (existing != null) {
+                reindex(productId, existing, null);
+                removed[0] = existing;
+            }
+            return null;
+        });
+        return removed[0];
+    }
+
+    private void reindex(int productId, Product previous, Product product) {
+        if (previous != null) {
+            if (previous.getPrice() != null) {
+                priceIndex.remove(priceKey(productId, previous));
+            }
+            if (previous.getQuantityAvailable() != null) {
+                quantityIndex.remove(new QuantityKey(previous.getQuantityAvailable(), productId));
+            }
+        }
+        if (product != null) {
+            if (product.getPrice() != null) {
+                priceIndex.add(priceKey(productId, product));
+            }
+            if (product.getQuantityAvailable() != null) {
+                quantityIndex.add(new QuantityKey(product.getQuantityAvailable(), productId));
+            }
+        }
+    }
+
+    private static PriceKey priceKey(int productId, Product product) {
+        return new PriceKey(product.getPrice().minorUnitsIn(Money.DEFAULT_CURRENCY), productId);
+    }
+
+    private static int valueOrZero(Integer value) {
+        return value == null ? 0 : value;
+    }
+
+    static long nextVersion(Long version) {
+        return version == null ? 1 : version + 1;
+    }
+
+    // Index entries are matched lazily, so re-check the live product in case it changed after the lookup.
+    private static boolean isPriceBetween(Money price, Money minPrice, Money maxPrice) {
+        return price != null
+                && (minPrice == null || price.compareTo(minPrice) >= 0)
+                && (maxPrice == null || price.compareTo(maxPrice) <= 0);
+    }
+
+    private record PriceKey(long priceMinorUnits, int productId) implements Comparable<PriceKey> {
+        @Override
+        public int compareTo(PriceKey other) {
+            int byPrice = Long.compare(priceMinorUnits, other.priceMinorUnits);
+            return byPrice != 0 ? byPrice : Integer.compare(productId, other.productId);
+        }
+    }
+
+    private record QuantityKey(int quantity, int productId) implements Comparable<QuantityKey> {
+        @Override
+        public int compareTo(QuantityKey other) {
+            int byQuantity = Integer.compare(quantity, other.quantity);
+            return byQuantity != 0 ? byQuantity : Integer.compare(productId, other.productId);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,467 @@
+package com.bookstore.applicaton.repository;
+
+import com.bookstore.applicaton.domain.Money;
+import com.bookstore.applicaton.domain.Product;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.StampedLock;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Product store that keeps every product outside the Java heap, so a large catalog adds almost
+ * nothing to GC work. Each product occupies a fixed-width slot addressed directly by its ID
+ * (IDs are dense and sequential), holding the price in minor units of {@link Money#DEFAULT_CURRENCY},
+ * the quantity, the version and the offsets of its name and description in an append-only string region.
+ * Products are decoded into {@link Product} objects only when they are read.
+ * <p>
+ * Price and stock queries scan the slots instead of using sorted indexes, which would have to live on the heap.
+ * An update keeps the stored copy of text it does not change. Text replaced by updates or left by deletes is
+ * not reclaimed; the {@code bookstore.product.offheap.strings} gauge reports it as {@code dead} next to the
+ * {@code allocated} total.
+ * Selected with {@code bookstore.repository.type=off-heap}.
+ */
+@Repository
+@ConditionalOnProperty(name = "bookstore.repository.type", havingValue = "off-heap")
+public class OffHeapProductRepository implements ProductRepository {
+
+    // Slot layout
+    private static final int ID = 0;                  // int, 0 marks an empty slot
+    private static final int FLAGS = 4;               // int, fields present
+    private static final int PRICE = 8;               // long, minor units
+    private static final int QUANTITY = 16;           // int
+    private static final int NAME_OFFSET = 20;        // long
+    private static final int NAME_LENGTH = 28;        // int
+    private static final int DESCRIPTION_OFFSET = 32; // long
+    private static final int DESCRIPTION_LENGTH = 40; // int
+    private static final int RESERVED = 44;           // int
+    private static final int VERSION = 48;            // long
+    private static final int SLOT_SIZE = 56;
+
+    private static final int HAS_PRICE = 1;
+    private static final int HAS_QUANTITY = 2;
+    private static final int HAS_NAME = 4;
+    private static final int HAS_DESCRIPTION = 8;
+
+    private static final int SLOTS_PER_SEGMENT_SHIFT = 16;
+    private static final int SLOTS_PER_SEGMENT = 1 << SLOTS_PER_SEGMENT_SHIFT;
+    private static final int MAX_SEGMENTS = (Integer.MAX_VALUE >>> SLOTS_PER_SEGMENT_SHIFT) + 1;
+
+    private static final int STRING_CHUNK_SIZE = 16 * 1024 * 1024;
+    private static final int MAX_STRING_CHUNKS = 1 << 16;
+
+    static final String STRINGS_GAUGE = "bookstore.product.offheap.strings";
+
+    private final AtomicReferenceArray<Segment> segments = new AtomicReferenceArray<>(MAX_SEGMENTS);
+    private final AtomicReferenceArray<ByteBuffer> stringChunks = new AtomicReferenceArray<>(MAX_STRING_CHUNKS);
+    private final Object stringAllocationLock = new Object();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicInteger highestProductId = new AtomicInteger();
+    private final AtomicLong deadStringBytes = new AtomicLong();
+
+    // Guarded by stringAllocationLock
+    private long stringEnd;
+
+    OffHeapProductRepository() {
+    }
+
+    @Autowired
+    public OffHeapProductRepository(MeterRegistry meterRegistry) {
+        Gauge.builder(STRINGS_GAUGE, this, OffHeapProductRepository::allocatedStringBytes)
+                .description("Bytes of the off-heap string region")
+                .tag("state", "allocated")
+                .register(meterRegistry);
+        Gauge.builder(STRINGS_GAUGE, this, OffHeapProductRepository::deadStringBytes)
+                .description("Bytes of the off-heap string region no product refers to any more")
+                .tag("state", "dead")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Product addProduct(Product product) {
+        int productId = checkedId(product.getProductId());
+        Segment segment = segmentFor(productId, true);
+        long stamp = segment.lock.writeLock();
+        try {
+            if (readInt(segment, productId, ID) == 0) {
+                size.incrementAndGet();
+            }
+            write(segment, productId, product, product.getVersion() == null ? 1 : product.getVersion());
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+        highestProductId.accumulateAndGet(productId, Math::max);
+        return product;
+    }
+
+    @Override
+    public Product getProduct(Integer productId) {
+        if (productId == null || productId < 1) {
+            return null;
+        }
+        Segment segment = segmentFor(productId, false);
+        return segment == null ? null : read(segment, productId);
+    }
+
+    @Override
+    public Product updateProduct(Integer productId, Product updatedProduct) {
+        if (productId == null || productId < 1) {
+            return null;
+        }
+        Segment segment = segmentFor(productId, false);
+        if (segment == null) {
+            return null;
+        }
+        long stamp = segment.lock.writeLock();
+        try {
+            if (readInt(segment, productId, ID) == 0
+                    || !Objects.equals(segment.slots.getLong(slotOffset(productId) + VERSION), updatedProduct.getVersion())) {
+                return null;
+            }
+            long version = InMemoryProductRepository.nextVersion(updatedProduct.getVersion());
+            write(segment, productId, updatedProduct, version);
+            return updatedProduct.withVersion(version);
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Product deleteProduct(Integer productId) {
+        return removeProduct(productId);
+    }
+
+    @Override
+    public List<Product> getAllProducts() {
+        return streamProducts(null).toList();
+    }
+
+    @Override
+    public List<Product> addProducts(List<Product> products) {
+        products.forEach(this::addProduct);
+        return products;
+    }
+
+    @Override
+    public List<Product> updateProducts(List<Product> updatedProducts) {
+        List<Product> results = new ArrayList<>(updatedProducts.size());
+        for (Product product : updatedProducts) {
+            results.add(updateProduct(product.getProductId(), product));
+        }
+        return results;
+    }
+
+    @Override
+    public List<Product> deleteProducts(List<Integer> productIds) {
+        List<Product> removed = new ArrayList<>(productIds.size());
+        for (Integer productId : productIds) {
+            removed.add(removeProduct(productId));
+        }
+        return removed;
+    }
+
+    @Override
+    public StockUpdate adjustStock(Integer productId, int availableDelta, int reservedDelta) {
+        if (productId == null || productId < 1) {
+            return StockUpdate.notFound();
+        }
+        Segment segment = segmentFor(productId, false);
+        if (segment == null) {
+            return StockUpdate.notFound();
+        }
+        int base = slotOffset(productId);
+        long stamp = segment.lock.writeLock();
+        try {
+            if (segment.slots.getInt(base + ID) == 0) {
+                return StockUpdate.notFound();
+            }
+            // Fixed-width fields are updated in place; no strings are rewritten
+            int available = segment.slots.getInt(base + QUANTITY) + availableDelta;
+            int reserved = segment.slots.getInt(base + RESERVED) + reservedDelta;
+            if (available < 0 || reserved < 0) {
+                return new StockUpdate(StockUpdate.Status.INSUFFICIENT_STOCK, decode(segment, productId));
+            }
+            segment.slots.putInt(base + FLAGS, segment.slots.getInt(base + FLAGS) | HAS_QUANTITY);
+            segment.slots.putInt(base + QUANTITY, available);
+            segment.slots.putInt(base + RESERVED, reserved);
+            segment.slots.putLong(base + VERSION, segment.slots.getLong(base + VERSION) + 1);
+            return new StockUpdate(StockUpdate.Status.APPLIED, decode(segment, productId));
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public int countProducts() {
+        return size.get();
+    }
+
+    @Override
+    public int getHighestProductId() {
+        return highestProductId.get();
+    }
+
+    @Override
+    public List<Product> getProducts(Integer afterProductId, int limit) {
+        return streamProducts(afterProductId).limit(limit).toList();
+    }
+
+    @Override
+    public Stream<Product> streamProducts(Integer afterProductId) {
+        int first = afterProductId == null ? 1 : Math.max(afterProductId + 1, 1);
+        // IDs are dense, so walking the slot range in order is cheap and needs no separate index
+        return IntStream.rangeClosed(first, highestProductId.get())
+                .mapToObj(this::getProduct)
+                .filter(Objects::nonNull);
+    }
+
+    @Override
+    public List<Product> findByPriceRange(Money minPrice, Money maxPrice, int limit) {
+        return streamProducts(null)
+                .filter(product -> product.getPrice() != null
+                        && (minPrice == null || product.getPrice().compareTo(minPrice) >= 0)
+                        && (maxPrice == null || product.getPrice().compareTo(maxPrice) <= 0))
+                .sorted(Comparator.comparing(Product::getPrice).thenComparing(Product::getProductId))
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public List<Product> findInStock(int minQuantity, int limit) {
+        int threshold = Math.max(minQuantity, 1);
+        return streamProducts(null)
+                .filter(product -> product.getQuantityAvailable() != null && product.getQuantityAvailable() >= threshold)
+                .sorted(Comparator.comparing(Product::getQuantityAvailable).thenComparing(Product::getProductId))
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public List<Product> findCheapest(int limit) {
+        return findByPriceRange(null, null, limit);
+    }
+
+    private Product removeProduct(Integer productId) {
+        if (productId == null || productId < 1) {
+            return null;
+        }
+        Segment segment = segmentFor(productId, false);
+        if (segment == null) {
+            return null;
+        }
+        long stamp = segment.lock.writeLock();
+        try {
+            if (readInt(segment, productId, ID) == 0) {
+                return null;
+            }
+            Product removed = decode(segment, productId);
+            int base = slotOffset(productId);
+            deadStringBytes.addAndGet(segment.slots.getInt(base + NAME_LENGTH)
+                    + segment.slots.getInt(base + DESCRIPTION_LENGTH));
+            segment.slots.putInt(base + ID, 0);
+            size.decrementAndGet();
+            return removed;
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns the number of stored products.
+     *
+     * @return The product count.
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Returns the size of the string region, including text no product refers to any more.
+     *
+     * @return The allocated bytes.
+     */
+    public long allocatedStringBytes() {
+        synchronized (stringAllocationLock) {
+            return stringEnd;
+        }
+    }
+
+    /**
+     * Returns the bytes of the string region held by text that was replaced or deleted.
+     *
+     * @return The unreclaimed bytes.
+     */
+    public long deadStringBytes() {
+        return deadStringBytes.get();
+    }
+
+    private Product read(Segment segment, int productId) {
+        long stamp = segment.lock.tryOptimisticRead();
+        Product product = null;
+        try {
+            product = decode(segment, productId);
+        } catch (RuntimeException e) {
+            // A concurrent write may have left a half-updated slot; the read is retried under the lock below
+        }
+        if (!segment.lock.validate(stamp)) {
+            stamp = segment.lock.readLock();
+            try {
+                product = decode(segment, productId);
+            } finally {
+                segment.lock.unlockRead(stamp);
+            }
+        }
+        return product;
+    }
+
+    private Product decode(Segment segment, int productId) {
+        int base = slotOffset(productId);
+        ByteBuffer slots = segment.slots;
+        if (slots.getInt(base + ID) == 0) {
+            return null;
+        }
+        int flags = slots.getInt(base + FLAGS);
+        Integer quantity = (flags & HAS_QUANTITY) != 0 ? slots.getInt(base + QUANTITY) : null;
+        String name = (flags & HAS_NAME) != 0
+                ? readString(slots.getLong(base + NAME_OFFSET), slots.getInt(base + NAME_LENGTH)) : null;
+        String description = (flags & HAS_DESCRIPTION) != 0
+                ? readString(slots.getLong(base + DESCRIPTION_OFFSET), slots.getInt(base + DESCRIPTION_LENGTH)) : null;
+        Money price = (flags & HAS_PRICE) != 0
+                ? Money.ofMinor(slots.getLong(base + PRICE), Money.DEFAULT_CURRENCY) : null;
+        return Product.of(productId, name, description, price, quantity, slots.getInt(base + RESERVED),
+                slots.getLong(base + VERSION));
+    }
+
+    private void write(Segment segment, int productId, Product product, long version) {
+        // Validate and copy strings first so a failure leaves the slot untouched
+        long price = product.getPrice() == null ? 0 : product.getPrice().minorUnitsIn(Money.DEFAULT_CURRENCY);
+        byte[] name = product.getName() == null ? null : product.getName().getBytes(StandardCharsets.UTF_8);
+        byte[] description = product.getDescription() == null
+                ? null : product.getDescription().getBytes(StandardCharsets.UTF_8);
+        int base = slotOffset(productId);
+        ByteBuffer slots = segment.slots;
+        int previousFlags = slots.getInt(base + ID) == 0 ? 0 : slots.getInt(base + FLAGS);
+        long nameOffset = storeString(slots, base, previousFlags, HAS_NAME, NAME_OFFSET, NAME_LENGTH, name);
+        long descriptionOffset = storeString(slots, base, previousFlags, HAS_DESCRIPTION, DESCRIPTION_OFFSET,
+                DESCRIPTION_LENGTH, description);
+        deadStringBytes.addAndGet(replacedLength(slots, base, previousFlags, HAS_NAME, NAME_OFFSET, NAME_LENGTH,
+                nameOffset, name) + replacedLength(slots, base, previousFlags, HAS_DESCRIPTION, DESCRIPTION_OFFSET,
+                DESCRIPTION_LENGTH, descriptionOffset, description));
+
+        int flags = (product.getPrice() != null ? HAS_PRICE : 0)
+                | (product.getQuantityAvailable() != null ? HAS_QUANTITY : 0)
+                | (name != null ? HAS_NAME : 0)
+                | (description != null ? HAS_DESCRIPTION : 0);
+        slots.putInt(base + FLAGS, flags);
+        slots.putLong(base + PRICE, price);
+        slots.putInt(base + QUANTITY, product.getQuantityAvailable() == null ? 0 : product.getQuantityAvailable());
+        slots.putLong(base + NAME_OFFSET, nameOffset);
+        slots.putInt(base + NAME_LENGTH, name == null ? 0 : name.length);
+        slots.putLong(base + DESCRIPTION_OFFSET, descriptionOffset);
+        slots.putInt(base + DESCRIPTION_LENGTH, description == null ? 0 : description.length);
+        slots.putInt(base + RESERVED, product.getQuantityReserved() == null ? 0 : product.getQuantityReserved());
+        slots.putLong(base + VERSION, version);
+        slots.putInt(base + ID, productId);
+    }
+
+    // Returns the offset of the slot's current copy of the text if unchanged, otherwise appends it
+    private long storeString(ByteBuffer slots, int base, int previousFlags, int flag, int offsetField,
+                             int lengthField, byte[] bytes) {
+        if (bytes == null) {
+            return 0;
+        }
+        if ((previousFlags & flag) != 0 && slots.getInt(base + lengthField) == bytes.length) {
+            long offset = slots.getLong(base + offsetField);
+            int position = (int) (offset % STRING_CHUNK_SIZE);
+            ByteBuffer stored = stringChunks.get((int) (offset / STRING_CHUNK_SIZE)).slice(position, bytes.length);
+            if (stored.equals(ByteBuffer.wrap(bytes))) {
+                return offset;
+            }
+        }
+        return appendString(bytes);
+    }
+
+    // The length of the slot's current text if the write no longer refers to it
+    private static int replacedLength(ByteBuffer slots, int base, int previousFlags, int flag, int offsetField,
+                                      int lengthField, long newOffset, byte[] bytes) {
+        if ((previousFlags & flag) == 0 || bytes != null && slots.getLong(base + offsetField) == newOffset) {
+            return 0;
+        }
+        return slots.getInt(base + lengthField);
+    }
+
+    private long appendString(byte[] bytes) {
+        if (bytes.length > STRING_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Text fields are limited to " + STRING_CHUNK_SIZE + " bytes");
+        }
+        synchronized (stringAllocationLock) {
+            int chunkIndex = (int) (stringEnd / STRING_CHUNK_SIZE);
+            int position = (int) (stringEnd % STRING_CHUNK_SIZE);
+            if (position + bytes.length > STRING_CHUNK_SIZE) {
+                // Strings never span chunks
+                chunkIndex++;
+                position = 0;
+            }
+            ByteBuffer chunk = stringChunks.get(chunkIndex);
+            if (chunk == null) {
+                chunk = ByteBuffer.allocateDirect(STRING_CHUNK_SIZE);
+                stringChunks.set(chunkIndex, chunk);
+            }
+            chunk.put(position, bytes);
+            long offset = (long) chunkIndex * STRING_CHUNK_SIZE + position;
+            stringEnd = offset + bytes.length;
+            return offset;
+        }
+    }
+
+    private String readString(long offset, int length) {
+        ByteBuffer chunk = stringChunks.get((int) (offset / STRING_CHUNK_SIZE));
+        byte[] bytes = new byte[length];
+        chunk.get((int) (offset % STRING_CHUNK_SIZE), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int readInt(Segment segment, int productId, int field) {
+        return segment.slots.getInt(slotOffset(productId) + field);
+    }
+
+    private Segment segmentFor(int productId, boolean create) {
+        int index = productId >>> SLOTS_PER_SEGMENT_SHIFT;
+        Segment segment = segments.get(index);
+        if (segment == null && create) {
+            segments.compareAndSet(index, null, new Segment());
+            segment = segments.get(index);
+        }
+        return segment;
+    }
+
+    private static int slotOffset(int productId) {
+        return (productId & (SLOTS_PER_SEGMENT - 1)) * SLOT_SIZE;
+    }
+
+    private static int checkedId(Integer productId) {
+        if (productId == null || productId < 1) {
+            throw new IllegalArgumentException("Product ID must be positive");
+        }
+        return productId;
+    }
+
+    private static final class Segment {
+        // Direct memory is zeroed on allocation, so every slot starts empty
+        private final ByteBuffer slots = ByteBuffer.allocateDirect(SLOTS_PER_SEGMENT * SLOT_SIZE);
+        private final StampedLock lock = new StampedLock();
+    }
+}
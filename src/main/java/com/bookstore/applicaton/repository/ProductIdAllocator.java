@@ -0,0 +1,43 @@
+package com.bookstore.applicaton.repository;
+
+/**
+ * Source of new product IDs. A repository that partitions products by ID implements this itself so IDs
+ * are allocated where the products will be stored; any other repository gets a
+ * {@link SequentialProductIdAllocator}.
+ */
+public interface ProductIdAllocator {
+
+    /**
+     * Allocates one product ID that has never been allocated or stored before.
+     *
+     * @return The new ID, greater than zero.
+     */
+    int allocateProductId();
+
+    /**
+     * Allocates a batch of product IDs with as little synchronization as a single ID.
+     *
+     * @param count The number of IDs to allocate.
+     * @return The new IDs in ascending order, not necessarily contiguous.
+     */
+    int[] allocateProductIds(int count);
+
+    /**
+     * Returns the highest ID allocated so far, for monitoring.
+     *
+     * @return The highest allocated ID, or 0 if none has been allocated.
+     */
+    int highestAllocatedProductId();
+
+    /**
+     * Returns the allocator to use for a repository.
+     *
+     * @param productRepository The repository the new products are stored in.
+     * @return The repository itself if it allocates its own IDs, otherwise a counter resuming after its highest ID.
+     */
+    static ProductIdAllocator forRepository(ProductRepository productRepository) {
+        return productRepository instanceof ProductIdAllocator allocator
+                ? allocator
+                : new SequentialProductIdAllocator(productRepository.getHighestProductId() + 1);
+    }
+}
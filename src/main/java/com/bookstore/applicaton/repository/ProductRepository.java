@@ -1,11 +1,13 @@
 package com.bookstore.applicaton.repository;
 
+import com.bookstore.applicaton.domain.Money;
 import com.bookstore.applicaton.domain.Product;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 @Component
 public interface ProductRepository {
@@ -14,11 +16,118 @@ public interface ProductRepository {
 
     Product getProduct(Integer productId);
 
-    boolean updateProduct(Integer productId, Product updatedProduct);
+    /**
+     * Replaces a product if it has not changed since {@code updatedProduct} was read (compare-and-set on the version).
+     * The stored snapshot is a copy of {@code updatedProduct} with the incremented version.
+     *
+     * @param productId The ID of the product to replace.
+     * @param updatedProduct The new product state, carrying the version it was derived from.
+     * @return The stored product, or null if the product does not exist or its stored version differs.
+     */
+    Product updateProduct(Integer productId, Product updatedProduct);
 
-    boolean deleteProduct(Integer productId);
+    /**
+     * Removes a product.
+     *
+     * @param productId The ID of the product to remove.
+     * @return The snapshot that was removed, or null if there was no such product.
+     */
+    Product deleteProduct(Integer productId);
 
     List<Product> getAllProducts();  // New method to retrieve all products
-}
 
+    /**
+     * Adds a batch of products, each of which must already carry its product ID.
+     *
+     * @param products The products to add.
+     * @return The added products, in the same order.
+     */
+    List<Product> addProducts(List<Product> products);
+
+    /**
+     * Replaces a batch of existing products, matched by their product IDs, with the same
+     * version check as {@link #updateProduct}.
+     *
+     * @param updatedProducts The new product states.
+     * @return For each product, the stored product, or null if it did not exist at the expected version.
+     */
+    List<Product> updateProducts(List<Product> updatedProducts);
+
+    /**
+     * Deletes a batch of products.
+     *
+     * @param productIds The IDs of the products to delete.
+     * @return For each ID, the removed product, or null if it did not exist.
+     */
+    List<Product> deleteProducts(List<Integer> productIds);
+
+    /**
+     * Atomically moves stock between the available and reserved quantities of a product.
+     * The adjustment is rejected if either quantity would become negative; otherwise the version is incremented.
+     *
+     * @param productId The ID of the product.
+     * @param availableDelta The change to quantityAvailable.
+     * @param reservedDelta The change to quantityReserved.
+     * @return The outcome and the resulting product state.
+     */
+    StockUpdate adjustStock(Integer productId, int availableDelta, int reservedDelta);
+
+    /**
+     * Returns the number of products currently stored.
+     *
+     * @return The product count.
+     */
+    int countProducts();
+
+    /**
+     * Returns the highest product ID this repository has ever stored, or 0 if it has stored none.
+     * Used to resume ID generation after a restart.
+     *
+     * @return The highest product ID seen.
+     */
+    int getHighestProductId();
 
+    /**
+     * Returns up to {@code limit} products ordered by ID, starting after the given cursor.
+     *
+     * @param afterProductId The last product ID seen by the caller, or null to start from the beginning.
+     * @param limit The maximum number of products to return.
+     * @return The next page of products in ascending ID order.
+     */
+    List<Product> getProducts(Integer afterProductId, int limit);
+
+    /**
+     * Lazily streams products in ascending ID order without copying the catalog.
+     *
+     * @param afterProductId The last product ID seen by the caller, or null to start from the beginning.
+     * @return A weakly consistent stream of products.
+     */
+    Stream<Product> streamProducts(Integer afterProductId);
+
+    /**
+     * Finds products whose price lies within the given bounds, cheapest first.
+     *
+     * @param minPrice The inclusive lower bound, or null for no lower bound.
+     * @param maxPrice The inclusive upper bound, or null for no upper bound.
+     * @param limit The maximum number of products to return.
+     * @return Matching products ordered by price, then by ID.
+     */
+    List<Product> findByPriceRange(Money minPrice, Money maxPrice, int limit);
+
+    /**
+     * Finds products with at least {@code minQuantity} units available (and always at least one).
+     *
+     * @param minQuantity The minimum quantity available.
+     * @param limit The maximum number of products to return.
+     * @return Matching products ordered by quantity available, then by ID.
+     */
+    List<Product> findInStock(int minQuantity, int limit);
+
+    /**
+     * Finds the {@code limit} cheapest products.
+     *
+     * @param limit The maximum number of products to return.
+     * @return Products ordered by price, then by ID.
+     */
+    List<Product> findCheapest(int limit);
+}
@@ -0,0 +1,36 @@
+package com.bookstore.applicaton.repository;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dense, ascending product IDs from a single shared counter.
+ */
+public class SequentialProductIdAllocator implements ProductIdAllocator {
+
+    private final AtomicInteger nextProductId;
+
+    public SequentialProductIdAllocator(int firstProductId) {
+        this.nextProductId = new AtomicInteger(firstProductId);
+    }
+
+    @Override
+    public int allocateProductId() {
+        return nextProductId.getAndIncrement();
+    }
+
+    @Override
+    public int[] allocateProductIds(int count) {
+        // One atomic update reserves a contiguous block
+        int first = nextProductId.getAndAdd(count);
+        int[] productIds = new int[count];
+        for (int i = 0; i < count; i++) {
+            productIds[i] = first + i;
+        }
+        return productIds;
+    }
+
+    @Override
+    public int highestAllocatedProductId() {
+        return nextProductId.get() - 1;
+    }
+}
@@ -0,0 +1,348 @@
+package com.bookstore.applicaton.repository;
+
+import com.bookstore.applicaton.domain.Money;
+import com.bookstore.applicaton.domain.Product;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Product store partitioned by ID into independent {@link InMemoryProductRepository} shards, so
+ * concurrent writers to different shards share no map, index or counter.
+ * <p>
+ * IDs are dealt out to the shards in blocks of {@code 2^BLOCK_SHIFT}, round-robin, so the shard of an ID
+ * is a shift and a mask. Each shard allocates IDs from its own blocks with its own counter. A creating
+ * thread takes a block's worth of IDs from one shard, then moves on to the next, starting from a shard of
+ * its own: concurrent ingest threads mostly work on different counters instead of contending on a single
+ * one as they do with {@link SequentialProductIdAllocator}, while a single thread still fills every shard
+ * evenly, so IDs stay close to the number of products. IDs stay unique but are not dense or ordered by
+ * creation time across shards.
+ * <p>
+ * Point operations go to one shard. Listings and queries are scattered to every shard and the per-shard
+ * results, each already in order, are merged. Selected with {@code bookstore.repository.type=sharded}.
+ */
+@Repository
+@ConditionalOnProperty(name = "bookstore.repository.type", havingValue = "sharded")
+public class ShardedProductRepository implements ProductRepository, ProductIdAllocator {
+
+    // IDs per block: large enough that a page of consecutive IDs mostly stays in one shard
+    static final int BLOCK_SHIFT = 6;
+    private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+    private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+
+    static final int MAX_SHARDS = 1024;
+
+    // Counters are spaced 128 bytes apart so no two share a cache line (or an adjacent-line prefetch pair)
+    private static final int COUNTER_STRIDE = 32;
+
+    private static final Comparator<Product> ID_ORDER = Comparator.comparing(Product::getProductId);
+    private static final Comparator<Product> PRICE_ORDER = Comparator.comparing(Product::getPrice).thenComparing(ID_ORDER);
+    private static final Comparator<Product> QUANTITY_ORDER =
+            Comparator.comparing(Product::getQuantityAvailable).thenComparing(ID_ORDER);
+
+    private final InMemoryProductRepository[] shards;
+    private final int shardMask;
+    private final int shardShift;
+
+    // Next ordinal (index among the shard's own IDs) to allocate, per shard
+    private final AtomicIntegerArray nextOrdinals;
+
+    // Per thread: the shard it allocates from and how many IDs it takes there before moving to the next
+    private final ThreadLocal<int[]> allocationCursors =
+            ThreadLocal.withInitial(() -> new int[] {startingShard(), BLOCK_SIZE});
+
+    public ShardedProductRepository(@Value("${bookstore.repository.shards:0}") int shardCount) {
+        int count = shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors();
+        if (count > MAX_SHARDS) {
+            throw new IllegalArgumentException("At most " + MAX_SHARDS + " shards are supported");
+        }
+        // Round up to a power of two so the shard of an ID is a mask
+        count = count == 1 ? 1 : Integer.highestOneBit(count - 1) << 1;
+        this.shards = new InMemoryProductRepository[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new InMemoryProductRepository();
+        }
+        this.shardMask = count - 1;
+        this.shardShift = Integer.numberOfTrailingZeros(count);
+        this.nextOrdinals = new AtomicIntegerArray(count * COUNTER_STRIDE);
+        nextOrdinals.set(0, 1); // ID 0 is never assigned
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    @Override
+    public Product addProduct(Product product) {
+        int productId = product.getProductId();
+        reserveStoredId(productId);
+        return shardFor(productId).addProduct(product);
+    }
+
+    @Override
+    public Product getProduct(Integer productId) {
+        return shardFor(productId).getProduct(productId);
+    }
+
+    @Override
+    public Product updateProduct(Integer productId, Product updatedProduct) {
+        return shardFor(productId).updateProduct(productId, updatedProduct);
+    }
+
+    @Override
+    public Product deleteProduct(Integer productId) {
+        return shardFor(productId).deleteProduct(productId);
+    }
+
+    @Override
+    public List<Product> getAllProducts() {
+        List<Iterator<Product>> results = new ArrayList<>(shards.length);
+        for (InMemoryProductRepository shard : shards) {
+            results.add(shard.getAllProducts().iterator());
+        }
+        MergingIterator<Product> merged = new MergingIterator<>(results, ID_ORDER);
+        List<Product> products = new ArrayList<>(countProducts());
+        while (merged.hasNext()) {
+            products.add(merged.next());
+        }
+        return products;
+    }
+
+    @Override
+    public List<Product> addProducts(List<Product> products) {
+        for (Product product : products) {
+            addProduct(product);
+        }
+        return products;
+    }
+
+    @Override
+    public List<Product> updateProducts(List<Product> updatedProducts) {
+        List<Product> results = new ArrayList<>(updatedProducts.size());
+        for (Product product : updatedProducts) {
+            results.add(updateProduct(product.getProductId(), product));
+        }
+        return results;
+    }
+
+    @Override
+    public List<Product> deleteProducts(List<Integer> productIds) {
+        List<Product> removed = new ArrayList<>(productIds.size());
+        for (Integer productId : productIds) {
+            removed.add(shardFor(productId).deleteProduct(productId));
+        }
+        return removed;
+    }
+
+    @Override
+    public StockUpdate adjustStock(Integer productId, int availableDelta, int reservedDelta) {
+        return shardFor(productId).adjustStock(productId, availableDelta, reservedDelta);
+    }
+
+    @Override
+    public int countProducts() {
+        int count = 0;
+        for (InMemoryProductRepository shard : shards) {
+            count += shard.countProducts();
+        }
+        return count;
+    }
+
+    @Override
+    public int getHighestProductId() {
+        int highest = 0;
+        for (InMemoryProductRepository shard : shards) {
+            highest = Math.max(highest, shard.getHighestProductId());
+        }
+        return highest;
+    }
+
+    @Override
+    public List<Product> getProducts(Integer afterProductId, int limit) {
+        return gather(shard -> shard.getProducts(afterProductId, limit), ID_ORDER, limit);
+    }
+
+    @Override
+    public Stream<Product> streamProducts(Integer afterProductId) {
+        List<Stream<Product>> streams = new ArrayList<>(shards.length);
+        List<Iterator<Product>> iterators = new ArrayList<>(shards.length);
+        for (InMemoryProductRepository shard : shards) {
+            Stream<Product> stream = shard.streamProducts(afterProductId);
+            streams.add(stream);
+            iterators.add(stream.iterator());
+        }
+        Spliterator<Product> merged = Spliterators.spliteratorUnknownSize(new MergingIterator<>(iterators, ID_ORDER),
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(merged, false).onClose(() -> streams.forEach(Stream::close));
+    }
+
+    @Override
+    public List<Product> findByPriceRange(Money minPrice, Money maxPrice, int limit) {
+        return gather(shard -> shard.findByPriceRange(minPrice, maxPrice, limit), PRICE_ORDER, limit);
+    }
+
+    @Override
+    public List<Product> findInStock(int minQuantity, int limit) {
+        return gather(shard -> shard.findInStock(minQuantity, limit), QUANTITY_ORDER, limit);
+    }
+
+    @Override
+    public List<Product> findCheapest(int limit) {
+        return gather(shard -> shard.findCheapest(limit), PRICE_ORDER, limit);
+    }
+
+    @Override
+    public int allocateProductId() {
+        return allocateProductIds(1)[0];
+    }
+
+    @Override
+    public int[] allocateProductIds(int count) {
+        int[] cursor = allocationCursors.get();
+        int[] productIds = new int[count];
+        int allocated = 0;
+        boolean spread = false;
+        while (allocated < count) {
+            int shard = cursor[0];
+            int take = Math.min(count - allocated, cursor[1]);
+            int firstOrdinal = nextOrdinals.getAndAdd(shard * COUNTER_STRIDE, take);
+            for (int i = 0; i < take; i++) {
+                productIds[allocated++] = idOf(shard, firstOrdinal + i);
+            }
+            cursor[1] -= take;
+            if (cursor[1] == 0) {
+                cursor[0] = (shard + 1) & shardMask;
+                cursor[1] = BLOCK_SIZE;
+                spread |= allocated < count;
+            }
+        }
+        if (spread) {
+            Arrays.sort(productIds);
+        }
+        return productIds;
+    }
+
+    @Override
+    public int highestAllocatedProductId() {
+        int highest = 0;
+        for (int shard = 0; shard < shards.length; shard++) {
+            int nextOrdinal = nextOrdinals.get(shard * COUNTER_STRIDE);
+            if (nextOrdinal > 0) {
+                highest = Math.max(highest, idOf(shard, nextOrdinal - 1));
+            }
+        }
+        return highest;
+    }
+
+    int shardOf(int productId) {
+        return (productId >>> BLOCK_SHIFT) & shardMask;
+    }
+
+    private InMemoryProductRepository shardFor(Integer productId) {
+        return shards[shardOf(productId)];
+    }
+
+    // Products stored with an ID chosen elsewhere (batch endpoints, tests) must never be allocated again
+    private void reserveStoredId(int productId) {
+        int index = shardOf(productId) * COUNTER_STRIDE;
+        int ordinal = ordinalOf(productId);
+        if (nextOrdinals.get(index) <= ordinal) {
+            nextOrdinals.accumulateAndGet(index, ordinal + 1, Math::max);
+        }
+    }
+
+    private int startingShard() {
+        // Threads start at different shards, so concurrent threads mostly allocate and insert on different ones
+        int hash = System.identityHashCode(Thread.currentThread()) * 0x9E3779B9;
+        return (hash >>> (Integer.SIZE - shardShift)) & shardMask;
+    }
+
+    private int idOf(int shard, int ordinal) {
+        long block = ((long) (ordinal >>> BLOCK_SHIFT) << shardShift) | shard;
+        long productId = (block << BLOCK_SHIFT) | (ordinal & BLOCK_MASK);
+        if (ordinal < 0 || productId > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Product IDs of shard " + shard + " are exhausted");
+        }
+        return (int) productId;
+    }
+
+    private int ordinalOf(int productId) {
+        return ((productId >>> (BLOCK_SHIFT + shardShift)) << BLOCK_SHIFT) | (productId & BLOCK_MASK);
+    }
+
+    private List<Product> gather(Function<InMemoryProductRepository, List<Product>> query,
+                                 Comparator<Product> order, int limit) {
+        List<Iterator<Product>> results = new ArrayList<>(shards.length);
+        for (InMemoryProductRepository shard : shards) {
+            results.add(query.apply(shard).iterator());
+        }
+        MergingIterator<Product> merged = new MergingIterator<>(results, order);
+        List<Product> products = new ArrayList<>(Math.min(limit, 64));
+        while (products.size() < limit && merged.hasNext()) {
+            products.add(merged.next());
+        }
+        return products;
+    }
+
+    /**
+     * K-way merge of iterators that are each in order, holding one element per iterator.
+     */
+    private static final class MergingIterator<T> implements Iterator<T> {
+
+        private final PriorityQueue<Head<T>> heads;
+
+        MergingIterator(List<Iterator<T>> sources, Comparator<? super T> order) {
+            this.heads = new PriorityQueue<>(Math.max(sources.size(), 1),
+                    (left, right) -> order.compare(left.value, right.value));
+            for (Iterator<T> source : sources) {
+                if (source.hasNext()) {
+                    heads.add(new Head<>(source.next(), source));
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            Head<T> head = heads.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            T value = head.value;
+            if (head.rest.hasNext()) {
+                head.value = head.rest.next();
+                heads.add(head);
+            }
+            return value;
+        }
+
+        private static final class Head<T> {
+
+            private T value;
+            private final Iterator<T> rest;
+
+            Head(T value, Iterator<T> rest) {
+                this.value = value;
+                this.rest = rest;
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.bookstore.applicaton.repository;
+
+import com.bookstore.applicaton.domain.Product;
+
+/**
+ * Outcome of an atomic stock adjustment.
+ *
+ * @param status Whether the adjustment was applied.
+ * @param product The product after the adjustment, or its unchanged state if it was rejected; null if not found.
+ */
+public record StockUpdate(Status status, Product product) {
+
+    public enum Status {
+        APPLIED,
+        NOT_FOUND,
+        INSUFFICIENT_STOCK
+    }
+
+    public static StockUpdate notFound() {
+        return new StockUpdate(Status.NOT_FOUND, null);
+    }
+}
@@ -0,0 +1,29 @@
+package com.bookstore.applicaton.repricing;
+
+import com.bookstore.applicaton.domain.Money;
+import com.bookstore.applicaton.domain.Product;
+
+import java.util.Locale;
+
+/**
+ * Selects the products a repricing job applies to. Null bounds are open.
+ */
+record RepricingFilter(Integer minProductId, Integer maxProductId, Money minPrice, Money maxPrice,
+                       String nameContains) {
+
+    RepricingFilter {
+        nameContains = nameContains == null || nameContains.isBlank() ? null : nameContains.toLowerCase(Locale.ROOT);
+    }
+
+    boolean matches(Product product) {
+        Integer productId = product.getProductId();
+        Money price = product.getPrice();
+        return (minProductId == null || productId >= minProductId)
+                && (maxProductId == null || productId <= maxProductId)
+                && price != null
+                && (minPrice == null || price.compareTo(minPrice) >= 0)
+                && (maxPrice == null || price.compareTo(maxPrice) <= 0)
+                && (nameContains == null
+                        || (product.getName() != null && product.getName().toLowerCase(Locale.ROOT).contains(nameContains)));
+    }
+}
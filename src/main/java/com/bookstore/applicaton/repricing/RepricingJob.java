@@ -0,0 +1,272 @@
+package com.bookstore.applicaton.repricing;
+
+import com.bookstore.applicaton.domain.Money;
+import com.bookstore.applicaton.domain.Product;
+import com.bookstore.applicaton.dto.RepricingJobDto;
+import com.bookstore.applicaton.event.ProductChangeType;
+import com.bookstore.applicaton.service.ProductService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * One bulk discount or tax run over a fixed set of product IDs, selected when the job started.
+ * <p>
+ * The IDs are split into fork/join tasks; each product is repriced on its own with a compare-and-set
+ * through {@link ProductService#repriceProduct}, so concurrent edits are never overwritten and the
+ * filter is re-checked against the product as it is when repriced. Every applied change is recorded so
+ * the job can be rolled back; a product that changed again since is left alone. The record is released
+ * once it is used by a rollback or discarded to bound the memory of retained jobs; after that the job can
+ * no longer be rolled back.
+ */
+final class RepricingJob {
+
+    private static final Logger log = LoggerFactory.getLogger(RepricingJob.class);
+
+    // Products per fork/join leaf: enough to amortize task overhead, few enough to balance uneven work
+    static final int LEAF_SIZE = 512;
+
+    private final long jobId;
+    private final boolean discount;
+    private final BigDecimal percentage;
+    private final RepricingFilter filter;
+    private final int[] productIds;
+    private final ProductService productService;
+    private final Instant startedAt = Instant.now();
+
+    private final AtomicInteger processed = new AtomicInteger();
+    private final AtomicInteger repriced = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger rolledBack = new AtomicInteger();
+    private final AtomicInteger rollbackConflicts = new AtomicInteger();
+    // Null once claimed by a rollback or discarded
+    private final AtomicReference<Queue<PriceChange>> changes = new AtomicReference<>(new ConcurrentLinkedQueue<>());
+    private PriceChange[] claimedChanges;
+    private volatile boolean changesDiscarded;
+    private final AtomicReference<RepricingJobStatus> status = new AtomicReference<>(RepricingJobStatus.RUNNING);
+
+    private volatile boolean cancelRequested;
+    private volatile Instant finishedAt;
+
+    RepricingJob(long jobId, boolean discount, BigDecimal percentage, RepricingFilter filter, int[] productIds,
+                 ProductService productService) {
+        this.jobId = jobId;
+        this.discount = discount;
+        this.percentage = percentage;
+        this.filter = filter;
+        this.productIds = productIds;
+        this.productService = productService;
+    }
+
+    long jobId() {
+        return jobId;
+    }
+
+    boolean isFinished() {
+        RepricingJobStatus current = status.get();
+        return current != RepricingJobStatus.RUNNING && current != RepricingJobStatus.ROLLING_BACK;
+    }
+
+    /**
+     * Reprices all products. Must run in a fork/join pool, whose workers then share the leaf tasks.
+     */
+    void run() {
+        RepricingJobStatus outcome;
+        try {
+            new RepriceTask(0, productIds.length).invoke();
+            outcome = cancelRequested ? RepricingJobStatus.CANCELLED : RepricingJobStatus.COMPLETED;
+        } catch (RuntimeException e) {
+            log.error("Repricing job {} failed", jobId, e);
+            outcome = RepricingJobStatus.FAILED;
+        }
+        finishedAt = Instant.now();
+        status.set(outcome);
+    }
+
+    /**
+     * Asks the job to stop; products already repriced keep their new price until the job is rolled back.
+     *
+     * @return False if the job is not running.
+     */
+    boolean cancel() {
+        if (status.get() != RepricingJobStatus.RUNNING) {
+            return false;
+        }
+        cancelRequested = true;
+        return true;
+    }
+
+    /**
+     * Claims the job for rollback. Only a job that has stopped, was not rolled back before and still has
+     * its record of changes can be.
+     *
+     * @return False if the job cannot be rolled back.
+     */
+    boolean startRollback() {
+        RepricingJobStatus current = status.get();
+        boolean stopped = current == RepricingJobStatus.COMPLETED || current == RepricingJobStatus.CANCELLED
+                || current == RepricingJobStatus.FAILED;
+        if (!stopped || changes.get() == null || !status.compareAndSet(current, RepricingJobStatus.ROLLING_BACK)) {
+            return false;
+        }
+        Queue<PriceChange> applied = changes.getAndSet(null);
+        if (applied == null) {
+            // Discarded after the check above
+            status.set(current);
+            return false;
+        }
+        claimedChanges = applied.toArray(new PriceChange[0]);
+        finishedAt = null;
+        return true;
+    }
+
+    /**
+     * Releases the record of changes of a finished job, after which it can no longer be rolled back.
+     *
+     * @return The number of changes released, 0 if the job is running or the record was already released.
+     */
+    int discardChanges() {
+        if (!isFinished()) {
+            return 0;
+        }
+        Queue<PriceChange> applied = changes.getAndSet(null);
+        if (applied == null) {
+            return 0;
+        }
+        changesDiscarded = true;
+        return repriced.get();
+    }
+
+    /**
+     * @return The number of changes recorded for a rollback, 0 once the record is released.
+     */
+    int retainedChanges() {
+        return changes.get() == null ? 0 : repriced.get();
+    }
+
+    /**
+     * @return Whether the record of changes was discarded rather than used by a rollback.
+     */
+    boolean changesDiscarded() {
+        return changesDiscarded;
+    }
+
+    /**
+     * Restores the previous price of every product this job repriced. Must run in a fork/join pool, after
+     * {@link #startRollback} succeeded.
+     */
+    void rollback() {
+        PriceChange[] applied = claimedChanges;
+        claimedChanges = null;
+        try {
+            new RollbackTask(applied, 0, applied.length).invoke();
+        } catch (RuntimeException e) {
+            log.error("Rollback of repricing job {} failed", jobId, e);
+        }
+        finishedAt = Instant.now();
+        status.set(RepricingJobStatus.ROLLED_BACK);
+    }
+
+    RepricingJobDto toDto() {
+        return new RepricingJobDto(jobId, status.get(), discount ? "discount" : "tax", percentage,
+                productIds.length, processed.get(), repriced.get(), skipped.get(), failed.get(),
+                rolledBack.get(), rollbackConflicts.get(), changes.get() != null, startedAt, finishedAt);
+    }
+
+    private void reprice(int productId) {
+        ProductChangeType changeType = discount ? ProductChangeType.DISCOUNT_APPLIED : ProductChangeType.TAX_APPLIED;
+        // Set by the attempt that succeeds; earlier attempts lost a race and are evaluated again
+        Money[] previousPrice = new Money[1];
+        try {
+            Product result = productService.repriceProduct(productId, filter::matches, product -> {
+                previousPrice[0] = product.getPrice();
+                return discount ? product.applyDiscount(percentage) : product.applyTax(percentage);
+            }, changeType);
+            if (result == null) {
+                skipped.incrementAndGet();
+            } else {
+                changes.get().add(new PriceChange(productId, previousPrice[0], result.getVersion()));
+                repriced.incrementAndGet();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Repricing job {} could not reprice product {}", jobId, productId, e);
+            failed.incrementAndGet();
+        }
+        processed.incrementAndGet();
+    }
+
+    private void restore(PriceChange change) {
+        try {
+            Product result = productService.repriceProduct(change.productId(),
+                    product -> product.getVersion() == change.version(),
+                    product -> change.previousPrice(), ProductChangeType.UPDATED);
+            if (result == null) {
+                rollbackConflicts.incrementAndGet();
+            } else {
+                rolledBack.incrementAndGet();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Rollback of repricing job {} could not restore product {}", jobId, change.productId(), e);
+            rollbackConflicts.incrementAndGet();
+        }
+    }
+
+    private record PriceChange(int productId, Money previousPrice, long version) {
+    }
+
+    private final class RepriceTask extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+
+        RepriceTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > LEAF_SIZE) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new RepriceTask(from, middle), new RepriceTask(middle, to));
+                return;
+            }
+            for (int i = from; i < to && !cancelRequested; i++) {
+                reprice(productIds[i]);
+            }
+        }
+    }
+
+    private final class RollbackTask extends RecursiveAction {
+
+        private final PriceChange[] applied;
+        private final int from;
+        private final int to;
+
+        RollbackTask(PriceChange[] applied, int from, int to) {
+            this.applied = applied;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > LEAF_SIZE) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new RollbackTask(applied, from, middle), new RollbackTask(applied, middle, to));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                restore(applied[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.bookstore.applicaton.repricing;
+
+public enum RepricingJobStatus {
+    RUNNING,
+    COMPLETED,
+    CANCELLED,
+    FAILED,
+    ROLLING_BACK,
+    ROLLED_BACK
+}
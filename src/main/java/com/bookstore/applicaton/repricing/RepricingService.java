@@ -0,0 +1,231 @@
+package com.bookstore.applicaton.repricing;
+
+import com.bookstore.applicaton.common.ApiResponse;
+import com.bookstore.applicaton.constants.ProductResponseMessages;
+import com.bookstore.applicaton.domain.Money;
+import com.bookstore.applicaton.domain.Product;
+import com.bookstore.applicaton.dto.RepricingJobDto;
+import com.bookstore.applicaton.dto.RepricingRequestDto;
+import com.bookstore.applicaton.repository.ProductRepository;
+import com.bookstore.applicaton.service.ProductService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs bulk discount and tax jobs over the products matching a filter, on a dedicated fork/join pool
+ * so a large job does not compete with request threads or the common pool.
+ */
+@Service
+public class RepricingService {
+
+    // Finished jobs beyond this are forgotten, oldest first
+    static final int MAX_RETAINED_JOBS = 100;
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final ProductRepository productRepository;
+    private final ProductService productService;
+    private final ForkJoinPool pool;
+    private final AtomicLong nextJobId = new AtomicLong(1);
+    private final Map<Long, RepricingJob> jobs = new ConcurrentHashMap<>();
+    private final int maxRollbackEntries;
+
+    /**
+     * @param maxRollbackEntries Price changes kept across all jobs for rollbacks; past it, the records of the
+     *                           oldest finished jobs are released and those jobs can no longer be rolled back.
+     */
+    public RepricingService(ProductRepository productRepository, ProductService productService,
+                            @Value("${bookstore.repricing.parallelism:0}") int parallelism,
+                            @Value("${bookstore.repricing.max-rollback-entries:1000000}") int maxRollbackEntries) {
+        this.productRepository = productRepository;
+        this.productService = productService;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.maxRollbackEntries = maxRollbackEntries;
+    }
+
+    /**
+     * Starts a repricing job. The products matching the filter are selected before this method returns,
+     * then repriced in the background.
+     *
+     * @param request The operation, percentage and filter.
+     * @return An ApiResponse (202) with the job, whose ID is used to follow, cancel or roll it back.
+     */
+    public ApiResponse<RepricingJobDto> startJob(RepricingRequestDto request) {
+        RepricingFilter filter = filterOf(request);
+        if (filter == null) {
+            return new ApiResponse<>(HttpStatus.BAD_REQUEST.value(), false,
+                    ProductResponseMessages.INVALID_REPRICING_REQUEST, null);
+        }
+        Integer minProductId = filter.minProductId();
+        Integer maxProductId = filter.maxProductId();
+        int[] productIds = productRepository
+                .streamProducts(minProductId == null || minProductId <= 1 ? null : minProductId - 1)
+                .takeWhile(product -> maxProductId == null || product.getProductId() <= maxProductId)
+                .filter(filter::matches)
+                .mapToInt(Product::getProductId)
+                .toArray();
+        RepricingJob job = new RepricingJob(nextJobId.getAndIncrement(), "discount".equalsIgnoreCase(request.getType()),
+                request.getPercentage(), filter, productIds, productService);
+        jobs.put(job.jobId(), job);
+        evictFinishedJobs();
+        pool.execute(() -> {
+            job.run();
+            discardExcessRollbackEntries();
+        });
+        return new ApiResponse<>(HttpStatus.ACCEPTED.value(), true,
+                ProductResponseMessages.REPRICING_JOB_STARTED, job.toDto());
+    }
+
+    /**
+     * Retrieves the status and progress of a repricing job.
+     *
+     * @param jobId The ID of the job.
+     * @return An ApiResponse with the job, or 404.
+     */
+    public ApiResponse<RepricingJobDto> getJob(long jobId) {
+        RepricingJob job = jobs.get(jobId);
+        if (job == null) {
+            return notFound();
+        }
+        return new ApiResponse<>(HttpStatus.OK.value(), true,
+                ProductResponseMessages.REPRICING_JOB_RETRIEVED_SUCCESSFULLY, job.toDto());
+    }
+
+    /**
+     * Retrieves all retained repricing jobs, newest first.
+     *
+     * @return An ApiResponse with the jobs.
+     */
+    public ApiResponse<List<RepricingJobDto>> getJobs() {
+        List<RepricingJobDto> jobDtos = jobs.values().stream()
+                .sorted(Comparator.comparingLong(RepricingJob::jobId).reversed())
+                .map(RepricingJob::toDto)
+                .toList();
+        return new ApiResponse<>(HttpStatus.OK.value(), true,
+                ProductResponseMessages.REPRICING_JOBS_RETRIEVED_SUCCESSFULLY, jobDtos);
+    }
+
+    /**
+     * Stops a running job after the products currently being repriced.
+     *
+     * @param jobId The ID of the job.
+     * @return An ApiResponse (202) with the job, 404, or 409 if the job is not running.
+     */
+    public ApiResponse<RepricingJobDto> cancelJob(long jobId) {
+        RepricingJob job = jobs.get(jobId);
+        if (job == null) {
+            return notFound();
+        }
+        if (!job.cancel()) {
+            return new ApiResponse<>(HttpStatus.CONFLICT.value(), false,
+                    ProductResponseMessages.REPRICING_JOB_NOT_RUNNING, job.toDto());
+        }
+        return new ApiResponse<>(HttpStatus.ACCEPTED.value(), true,
+                ProductResponseMessages.REPRICING_JOB_CANCEL_REQUESTED, job.toDto());
+    }
+
+    /**
+     * Restores the previous price of every product the job repriced, in the background. Products
+     * changed again after the job are left as they are and counted as rollback conflicts.
+     *
+     * @param jobId The ID of the job.
+     * @return An ApiResponse (202) with the job, 404, or 409 if the job is still running, was rolled back or
+     *         its changes are no longer retained.
+     */
+    public ApiResponse<RepricingJobDto> rollbackJob(long jobId) {
+        RepricingJob job = jobs.get(jobId);
+        if (job == null) {
+            return notFound();
+        }
+        if (!job.startRollback()) {
+            return new ApiResponse<>(HttpStatus.CONFLICT.value(), false, job.changesDiscarded()
+                    ? ProductResponseMessages.REPRICING_JOB_ROLLBACK_EXPIRED
+                    : ProductResponseMessages.REPRICING_JOB_NOT_FINISHED, job.toDto());
+        }
+        pool.execute(job::rollback);
+        return new ApiResponse<>(HttpStatus.ACCEPTED.value(), true,
+                ProductResponseMessages.REPRICING_JOB_ROLLBACK_STARTED, job.toDto());
+    }
+
+    @PreDestroy
+    void stop() {
+        pool.shutdownNow();
+    }
+
+    private void evictFinishedJobs() {
+        if (jobs.size() <= MAX_RETAINED_JOBS) {
+            return;
+        }
+        jobs.values().stream()
+                .filter(RepricingJob::isFinished)
+                .sorted(Comparator.comparingLong(RepricingJob::jobId))
+                .limit(jobs.size() - MAX_RETAINED_JOBS)
+                .forEach(job -> jobs.remove(job.jobId()));
+    }
+
+    // Releases the rollback records of the oldest finished jobs until those of all jobs fit the bound
+    private synchronized void discardExcessRollbackEntries() {
+        long retained = jobs.values().stream().mapToLong(RepricingJob::retainedChanges).sum();
+        if (retained <= maxRollbackEntries) {
+            return;
+        }
+        List<RepricingJob> oldestFirst = jobs.values().stream()
+                .filter(RepricingJob::isFinished)
+                .sorted(Comparator.comparingLong(RepricingJob::jobId))
+                .toList();
+        for (RepricingJob job : oldestFirst) {
+            if (retained <= maxRollbackEntries) {
+                break;
+            }
+            retained -= job.discardChanges();
+        }
+    }
+
+    private static RepricingFilter filterOf(RepricingRequestDto request) {
+        if (request == null || request.getPercentage() == null || request.getPercentage().signum() < 0) {
+            return null;
+        }
+        boolean discount = "discount".equalsIgnoreCase(request.getType());
+        if (!discount && !"tax".equalsIgnoreCase(request.getType())) {
+            return null;
+        }
+        if (discount && request.getPercentage().compareTo(HUNDRED) > 0) {
+            return null;
+        }
+        if (request.getMinProductId() != null && request.getMaxProductId() != null
+                && request.getMinProductId() > request.getMaxProductId()) {
+            return null;
+        }
+        if (request.getMinPrice() != null && request.getMaxPrice() != null
+                && request.getMinPrice().compareTo(request.getMaxPrice()) > 0) {
+            return null;
+        }
+        try {
+            // Round the bounds inwards: no price in minor units lies between a rounded and an exact bound
+            Money minPrice = request.getMinPrice() == null
+                    ? null : Money.of(request.getMinPrice(), Money.DEFAULT_CURRENCY, RoundingMode.CEILING);
+            Money maxPrice = request.getMaxPrice() == null
+                    ? null : Money.of(request.getMaxPrice(), Money.DEFAULT_CURRENCY, RoundingMode.FLOOR);
+            return new RepricingFilter(request.getMinProductId(), request.getMaxProductId(), minPrice, maxPrice,
+                    request.getNameContains());
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+
+    private static ApiResponse<RepricingJobDto> notFound() {
+        return new ApiResponse<>(HttpStatus.NOT_FOUND.value(), false,
+                ProductResponseMessages.REPRICING_JOB_NOT_FOUND, null);
+    }
+}
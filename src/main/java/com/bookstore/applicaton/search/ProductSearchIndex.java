@@ -0,0 +1,292 @@
+package com.bookstore.applicaton.search;
+
+import com.bookstore.applicaton.domain.Product;
+import com.bookstore.applicaton.event.ProductChangedEvent;
+import com.bookstore.applicaton.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process inverted index over product name and description with BM25 ranking.
+ * The last query term is matched as a prefix so the index can serve type-ahead.
+ */
+@Component
+public class ProductSearchIndex {
+
+    // BM25 parameters
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // A term occurring in the name counts this many times as much as one in the description.
+    private static final int NAME_WEIGHT = 3;
+
+    // Upper bound on how many dictionary terms a prefix may expand to.
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    // Terms found in more than this share of products only add to the score of products already
+    // matched by rarer terms, instead of walking their whole posting list (cf. "common terms" queries).
+    private static final double COMMON_TERM_RATIO = 0.1;
+
+    private final ProductRepository productRepository;
+
+    // term -> (productId -> weighted term frequency)
+    private final Map<String, Map<Integer, Integer>> postings = new ConcurrentHashMap<>();
+
+    // Sorted term dictionary used for prefix expansion
+    private final NavigableSet<String> terms = new ConcurrentSkipListSet<>();
+
+    // productId -> the weighted term frequencies the product is indexed under
+    private final Map<Integer, IndexedDocument> documents = new ConcurrentHashMap<>();
+
+    // IDs of removed products. Events are published after the repository has applied the change, so a late
+    // event for a deleted product must not index it again; IDs are never reused, so this only grows by deletes.
+    private final Set<Integer> removedProductIds = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong totalDocumentLength = new AtomicLong();
+
+    public ProductSearchIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    @PostConstruct
+    void rebuild() {
+        try (var products = productRepository.streamProducts(null)) {
+            products.forEach(this::index);
+        }
+    }
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        switch (event.type()) {
+            case CREATED, UPDATED -> index(event.after());
+            case DELETED -> remove(event.productId());
+            default -> {
+                // Price changes do not affect the text index
+            }
+        }
+    }
+
+    /**
+     * Adds or replaces a product in the index. Racing changes to one product can arrive out of order, so a
+     * product older than the indexed version, or one that has been removed, is ignored.
+     *
+     * @param product The product to index.
+     */
+    public void index(Product product) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = addTerms(frequencies, product.getName(), NAME_WEIGHT)
+                + addTerms(frequencies, product.getDescription(), 1);
+        long version = product.getVersion() == null ? 0 : product.getVersion();
+        IndexedDocument document = new IndexedDocument(frequencies, length, version);
+        // compute serializes concurrent changes to the same product
+        documents.compute(product.getProductId(), (productId, previous) -> {
+            if (removedProductIds.contains(productId) || previous != null && previous.version() > version) {
+                return previous;
+            }
+            if (previous != null) {
+                unlink(productId, previous);
+            }
+            link(productId, document);
+            return document;
+        });
+    }
+
+    /**
+     * Removes a product from the index.
+     *
+     * @param productId The ID of the product to remove.
+     */
+    public void remove(Integer productId) {
+        // Marked first, so an index() racing with this removal either sees the mark or is undone below
+        removedProductIds.add(productId);
+        documents.computeIfPresent(productId, (id, previous) -> {
+            unlink(id, previous);
+            return null;
+        });
+    }
+
+    /**
+     * Searches the index and returns product IDs ranked by BM25 score.
+     *
+     * @param query The free-text query. The last term is matched as a prefix.
+     * @param limit The maximum number of results.
+     * @return Matching product IDs, best match first.
+     */
+    public List<Integer> search(String query, int limit) {
+        List<String> queryTerms = tokenize(query);
+        int documentCount = documents.size();
+        if (queryTerms.isEmpty() || documentCount == 0) {
+            return Collections.emptyList();
+        }
+        double averageLength = Math.max(1.0, (double) totalDocumentLength.get() / documentCount);
+
+        // Score rare terms first; see COMMON_TERM_RATIO
+        List<Map<Integer, Integer>> matchedPostings = new ArrayList<>();
+        for (int i = 0; i < queryTerms.size(); i++) {
+            String term = queryTerms.get(i);
+            boolean isLast = i == queryTerms.size() - 1;
+            for (String expanded : isLast ? expandPrefix(term) : List.of(term)) {
+                Map<Integer, Integer> termPostings = postings.get(expanded);
+                if (termPostings != null) {
+                    matchedPostings.add(termPostings);
+                }
+            }
+        }
+        matchedPostings.sort(Comparator.comparingInt(Map::size));
+
+        Map<Integer, Double> scores = new HashMap<>();
+        for (Map<Integer, Integer> termPostings : matchedPostings) {
+            boolean common = termPostings.size() > documentCount * COMMON_TERM_RATIO;
+            if (common && !scores.isEmpty()) {
+                boost(termPostings, documentCount, averageLength, scores);
+            } else {
+                score(termPostings, documentCount, averageLength, scores);
+            }
+        }
+
+        // Keep only the top results in a bounded min-heap
+        PriorityQueue<Map.Entry<Integer, Double>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+        for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+            if (top.size() < limit) {
+                top.add(entry);
+            } else if (entry.getValue() > top.peek().getValue()) {
+                top.poll();
+                top.add(entry);
+            }
+        }
+        List<Integer> result = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            result.add(top.poll().getKey());
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * Returns the number of indexed products.
+     *
+     * @return The document count.
+     */
+    public int size() {
+        return documents.size();
+    }
+
+    private void score(Map<Integer, Integer> termPostings, int documentCount, double averageLength,
+                       Map<Integer, Double> scores) {
+        double idf = idf(documentCount, termPostings.size());
+        for (Map.Entry<Integer, Integer> posting : termPostings.entrySet()) {
+            IndexedDocument document = documents.get(posting.getKey());
+            if (document != null) {
+                scores.merge(posting.getKey(), termScore(idf, posting.getValue(), document, averageLength),
+                        Double::sum);
+            }
+        }
+    }
+
+    private void boost(Map<Integer, Integer> termPostings, int documentCount, double averageLength,
+                       Map<Integer, Double> scores) {
+        double idf = idf(documentCount, termPostings.size());
+        for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+            Integer tf = termPostings.get(entry.getKey());
+            IndexedDocument document = documents.get(entry.getKey());
+            if (tf != null && document != null) {
+                entry.setValue(entry.getValue() + termScore(idf, tf, document, averageLength));
+            }
+        }
+    }
+
+    private static double idf(int documentCount, int documentFrequency) {
+        return Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private static double termScore(double idf, int tf, IndexedDocument document, double averageLength) {
+        double norm = K1 * (1 - B + B * document.length() / averageLength);
+        return idf * tf * (K1 + 1) / (tf + norm);
+    }
+
+    private List<String> expandPrefix(String prefix) {
+        List<String> expanded = new ArrayList<>();
+        for (String term : terms.tailSet(prefix, true)) {
+            if (!term.startsWith(prefix) || expanded.size() == MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            expanded.add(term);
+        }
+        return expanded;
+    }
+
+    private void link(Integer productId, IndexedDocument document) {
+        document.frequencies().forEach((term, frequency) -> postings.compute(term, (t, termPostings) -> {
+            if (termPostings == null) {
+                termPostings = new ConcurrentHashMap<>();
+                terms.add(t);
+            }
+            termPostings.put(productId, frequency);
+            return termPostings;
+        }));
+        totalDocumentLength.addAndGet(document.length());
+    }
+
+    private void unlink(Integer productId, IndexedDocument document) {
+        document.frequencies().keySet().forEach(term -> postings.computeIfPresent(term, (t, termPostings) -> {
+            termPostings.remove(productId);
+            if (termPostings.isEmpty()) {
+                terms.remove(t);
+                return null;
+            }
+            return termPostings;
+        }));
+        totalDocumentLength.addAndGet(-document.length());
+    }
+
+    private static int addTerms(Map<String, Integer> frequencies, String text, int weight) {
+        int length = 0;
+        for (String term : tokenize(text)) {
+            frequencies.merge(term, weight, Integer::sum);
+            length += weight;
+        }
+        return length;
+    }
+
+    /**
+     * Splits text into lower-case alphanumeric terms.
+     *
+     * @param text The text to tokenize, may be null.
+     * @return The terms in order of appearance.
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private record IndexedDocument(Map<String, Integer> frequencies, int length, long version) {
+    }
+}
@@ -1,32 +1,76 @@
 package com.bookstore.applicaton.service;
 
+import com.bookstore.applicaton.changes.ProductChangeLog;
 import com.bookstore.applicaton.common.ApiResponse;
 import com.bookstore.applicaton.constants.ProductResponseMessages;
+import com.bookstore.applicaton.domain.Money;
 import com.bookstore.applicaton.domain.Product;
+import com.bookstore.applicaton.dto.ProductChangesDto;
 import com.bookstore.applicaton.dto.ProductDto;
+import com.bookstore.applicaton.dto.ProductPageDto;
+import com.bookstore.applicaton.event.ProductChangeType;
+import com.bookstore.applicaton.event.ProductChangedEvent;
 import com.bookstore.applicaton.mapper.ProductMapper;
+import com.bookstore.applicaton.metrics.ProductOperation;
+import com.bookstore.applicaton.metrics.ProductServiceMetrics;
+import com.bookstore.applicaton.pricing.PriceRuleService;
+import com.bookstore.applicaton.repository.ProductIdAllocator;
 import com.bookstore.applicaton.repository.ProductRepository;
+import com.bookstore.applicaton.repository.StockUpdate;
+import com.bookstore.applicaton.search.ProductSearchIndex;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 @Service
 public class ProductService {
 
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    public static final int MAX_BATCH_SIZE = 10000;
+
     // In-memory map of products (using product ID as the key)
     private final ProductRepository productRepository;
 
     private final ProductMapper productMapper;
 
-    // Counter for generating unique product IDs
-    private AtomicInteger nextProductId = new AtomicInteger(1); // For unique ID generation
+    private final ProductSearchIndex productSearchIndex;
+
+    // Notifies secondary views (search index etc.) of catalog mutations
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ProductServiceMetrics productServiceMetrics;
+
+    private final ProductChangeLog productChangeLog;
+
+    // Applies scheduled discounts and taxes to the prices returned by reads
+    private final PriceRuleService priceRuleService;
+
+    // Source of unique product IDs, resumed from the repository after a restart
+    private final ProductIdAllocator productIdAllocator;
 
-    public ProductService(ProductRepository productRepository, ProductMapper productMapper) {
+    public ProductService(ProductRepository productRepository, ProductMapper productMapper,
+                          ProductSearchIndex productSearchIndex, ApplicationEventPublisher eventPublisher,
+                          ProductServiceMetrics productServiceMetrics, ProductChangeLog productChangeLog,
+                          PriceRuleService priceRuleService) {
         this.productRepository = productRepository;
         this.productMapper = productMapper;
+        this.productSearchIndex = productSearchIndex;
+        this.eventPublisher = eventPublisher;
+        this.productServiceMetrics = productServiceMetrics;
+        this.productChangeLog = productChangeLog;
+        this.priceRuleService = priceRuleService;
+        this.productIdAllocator = ProductIdAllocator.forRepository(productRepository);
+        productServiceMetrics.bindIdAllocator(productIdAllocator);
     }
 
     /**
@@ -36,6 +80,13 @@ public class ProductService {
      * @return An ApiResponse containing the created product's information and HTTP status code.
      */
     public ApiResponse<ProductDto> createProduct(ProductDto productDto) {
+        long startNanos = System.nanoTime();
+        ApiResponse<ProductDto> response = doCreateProduct(productDto);
+        productServiceMetrics.record(ProductOperation.CREATE, response, startNanos);
+        return response;
+    }
+
+    private ApiResponse<ProductDto> doCreateProduct(ProductDto productDto) {
         try {
             int productId = generateProductId();
             Product createdProduct = new Product(
@@ -46,7 +97,8 @@ public class ProductService {
                     productDto.getQuantityAvailable()
             );
             Product savedProduct = productRepository.addProduct(createdProduct);
-            ProductDto saveddProductDto = productMapper.toDto(savedProduct);
+            publish(ProductChangeType.CREATED, productId, null, savedProduct);
+            ProductDto saveddProductDto = toDto(savedProduct);
             return new ApiResponse<>(HttpStatus.CREATED.value(), true,
                     ProductResponseMessages.PRODUCT_CREATED_SUCCESSFULLY, saveddProductDto);
         } catch (Exception e) {
@@ -61,9 +113,16 @@ public class ProductService {
      * @return An ApiResponse containing the product's information (if found) and HTTP status code.
      */
     public ApiResponse<ProductDto> getProduct(Integer productId) {
+        long startNanos = System.nanoTime();
+        ApiResponse<ProductDto> response = doGetProduct(productId);
+        productServiceMetrics.record(ProductOperation.GET, response, startNanos);
+        return response;
+    }
+
+    private ApiResponse<ProductDto> doGetProduct(Integer productId) {
         Product product = productRepository.getProduct(productId);
         if (product != null) {
-            ProductDto productDto = productMapper.toDto(product);
+            ProductDto productDto = toDto(product);
             return new ApiResponse<>(HttpStatus.OK.value(), true,
                     ProductResponseMessages.PRODUCT_RETRIEVED_SUCCESSFULLY, productDto);
         } else {
@@ -80,17 +139,51 @@ public class ProductService {
      * @return An ApiResponse indicating success or failure.
      */
     public ApiResponse<ProductDto> updateProduct(Integer productId, ProductDto productDto) {
+        return updateProduct(productId, productDto, null);
+    }
+
+    /**
+     * Updates an existing product only if it is still at the expected version (optimistic concurrency).
+     *
+     * @param productId The ID of the product to update.
+     * @param productDto The product with updated information.
+     * @param expectedVersion The version the client based its changes on (e.g. from If-Match), or null to
+     *                        use the version in the payload, if any.
+     * @return An ApiResponse indicating success or failure; 400 if the product data is invalid, 412 with the
+     *         current product if the version differs.
+     */
+    public ApiResponse<ProductDto> updateProduct(Integer productId, ProductDto productDto, Long expectedVersion) {
+        long startNanos = System.nanoTime();
+        ApiResponse<ProductDto> response = doUpdateProduct(productId, productDto, expectedVersion);
+        productServiceMetrics.record(ProductOperation.UPDATE, response, startNanos);
+        return response;
+    }
+
+    private ApiResponse<ProductDto> doUpdateProduct(Integer productId, ProductDto productDto, Long expectedVersion) {
+        // Checked as for batch updates, so a price that cannot be stored exactly is a 400 rather than an exception
+        if (!isValid(productDto)) {
+            return new ApiResponse<>(HttpStatus.BAD_REQUEST.value(), false,
+                    ProductResponseMessages.INVALID_PRODUCT_DATA, null);
+        }
         Product existingProduct = productRepository.getProduct(productId);
         if (existingProduct != null) {
-            Product updatedProduct = productMapper.toEntity(productDto);
-            updatedProduct.setProductId(productId);
-            if (productRepository.updateProduct(productId, updatedProduct)) {
-                ProductDto updatedProductDto = productMapper.toDto(updatedProduct);
+            Long clientVersion = expectedVersion != null ? expectedVersion : productDto.getVersion();
+            if (clientVersion != null && !clientVersion.equals(existingProduct.getVersion())) {
+                return new ApiResponse<>(HttpStatus.PRECONDITION_FAILED.value(), false,
+                        ProductResponseMessages.PRODUCT_VERSION_MISMATCH, toDto(existingProduct));
+            }
+            Product updatedProduct = productMapper.toEntity(productDto)
+                    .withProductId(productId)
+                    .withQuantityReserved(existingProduct.getQuantityReserved()) // Open reservations survive edits
+                    .withVersion(existingProduct.getVersion()); // Compare-and-set against the state read above
+            Product storedProduct = productRepository.updateProduct(productId, updatedProduct);
+            if (storedProduct != null) {
+                publish(ProductChangeType.UPDATED, productId, existingProduct, storedProduct);
+                ProductDto updatedProductDto = toDto(storedProduct);
                 return new ApiResponse<>(HttpStatus.OK.value(),
                         true, ProductResponseMessages.PRODUCT_UPDATED_SUCCESSFULLY, updatedProductDto);
             } else {
-                return new ApiResponse<>(HttpStatus.INTERNAL_SERVER_ERROR.value(),
-                        false, ProductResponseMessages.FAILED_TO_UPDATE_PRODUCT, null);
+                return updateRejected(productId, existingProduct, clientVersion != null);
             }
         } else {
             return new ApiResponse<>(HttpStatus.NOT_FOUND.value(), false,
@@ -100,9 +193,36 @@ public class ProductService {
 
 
     public ApiResponse<ProductDto> deleteProduct(Integer productId) {
-        Product deletedProduct = productRepository.getProduct(productId);
-        if (deletedProduct != null && productRepository.deleteProduct(productId)) {
-            ProductDto deletedProductDto = productMapper.toDto(deletedProduct);
+        long startNanos = System.nanoTime();
+        ApiResponse<ProductDto> response = doDeleteProduct(productId);
+        productServiceMetrics.record(ProductOperation.DELETE, response, startNanos);
+        return response;
+    }
+
+    // Tells a lost compare-and-set race apart from the product disappearing or the store failing
+    private ApiResponse<ProductDto> updateRejected(Integer productId, Product readProduct, boolean clientSuppliedVersion) {
+        Product currentProduct = productRepository.getProduct(productId);
+        if (currentProduct == null) {
+            return new ApiResponse<>(HttpStatus.NOT_FOUND.value(), false,
+                    ProductResponseMessages.PRODUCT_NOT_FOUND, null);
+        }
+        if (!Objects.equals(currentProduct.getVersion(), readProduct.getVersion())) {
+            return clientSuppliedVersion
+                    ? new ApiResponse<>(HttpStatus.PRECONDITION_FAILED.value(), false,
+                            ProductResponseMessages.PRODUCT_VERSION_MISMATCH, toDto(currentProduct))
+                    : new ApiResponse<>(HttpStatus.CONFLICT.value(), false,
+                            ProductResponseMessages.PRODUCT_MODIFIED_CONCURRENTLY, toDto(currentProduct));
+        }
+        return new ApiResponse<>(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                false, ProductResponseMessages.FAILED_TO_UPDATE_PRODUCT, null);
+    }
+
+    private ApiResponse<ProductDto> doDeleteProduct(Integer productId) {
+        // The removed snapshot, not an earlier read, so listeners see the state an update racing the delete left
+        Product deletedProduct = productRepository.deleteProduct(productId);
+        if (deletedProduct != null) {
+            publish(ProductChangeType.DELETED, productId, deletedProduct, null);
+            ProductDto deletedProductDto = toDto(deletedProduct);
             return new ApiResponse<>(HttpStatus.OK.value(), true,
                     ProductResponseMessages.PRODUCT_DELETED_SUCCESSFULLY, deletedProductDto);
         } else {
@@ -121,30 +241,142 @@ public class ProductService {
      * @return An ApiResponse indicating success or failure, along with the updated product information.
      */
     public ApiResponse<ProductDto> applyDiscountOrTax(Integer productId, String type, BigDecimal value) {
+        long startNanos = System.nanoTime();
+        ApiResponse<ProductDto> response = doApplyDiscountOrTax(productId, type, value);
+        productServiceMetrics.record(ProductOperation.APPLY_DISCOUNT_OR_TAX, response, startNanos);
+        return response;
+    }
+
+    private ApiResponse<ProductDto> doApplyDiscountOrTax(Integer productId, String type, BigDecimal value) {
         Product product = productRepository.getProduct(productId);
-        if (product != null) {
+        while (product != null) {
             try {
+                Money price;
+                ProductChangeType changeType;
                 if ("discount".equalsIgnoreCase(type)) {
-                    product.setPrice(product.applyDiscount(value));
+                    price = product.applyDiscount(value);
+                    changeType = ProductChangeType.DISCOUNT_APPLIED;
                 } else if ("tax".equalsIgnoreCase(type)) {
-                    product.setPrice(product.applyTax(value));
+                    price = product.applyTax(value);
+                    changeType = ProductChangeType.TAX_APPLIED;
                 } else {
                     throw new IllegalArgumentException(ProductResponseMessages.INVALID_OPERATION_TYPE);
                 }
-                if (productRepository.updateProduct(productId, product)) {
-                    ProductDto updatedProductDto = productMapper.toDto(product);
+                Product storedProduct = productRepository.updateProduct(productId, product.withPrice(price));
+                if (storedProduct != null) {
+                    publish(changeType, productId, product, storedProduct);
+                    ProductDto updatedProductDto = toDto(storedProduct);
                     return new ApiResponse<>(HttpStatus.OK.value(), true,
                             ProductResponseMessages.OPERATION_APPLIED_SUCCESSFULLY, updatedProductDto);
-                } else {
-                    return new ApiResponse<>(HttpStatus.INTERNAL_SERVER_ERROR.value(), false,
-                            ProductResponseMessages.FAILED_TO_UPDATE_PRODUCT, null);
                 }
             } catch (Exception e) {
                 return new ApiResponse<>(HttpStatus.BAD_REQUEST.value(), false, e.getMessage(), null);
             }
-        } else {
-            return new ApiResponse<>(HttpStatus.NOT_FOUND.value(), false,
-                    ProductResponseMessages.PRODUCT_NOT_FOUND, null);
+            // The percentage is relative, so a product changed since it was read is repriced again from its current price
+            Product currentProduct = productRepository.getProduct(productId);
+            if (currentProduct != null && Objects.equals(currentProduct.getVersion(), product.getVersion())) {
+                return updateRejected(productId, product, false);
+            }
+            product = currentProduct;
+        }
+        return new ApiResponse<>(HttpStatus.NOT_FOUND.value(), false,
+                ProductResponseMessages.PRODUCT_NOT_FOUND, null);
+    }
+
+    /**
+     * Changes the price of a product atomically, for bulk repricing. The new price is written with a
+     * compare-and-set against the version read; if the product changed in between, the condition and
+     * the price are evaluated again on the current product.
+     *
+     * @param productId The ID of the product.
+     * @param condition Checked against the current product before each attempt.
+     * @param reprice Computes the new price from the current product.
+     * @param changeType The change type published to listeners.
+     * @return The repriced product, or null if the product has no price, no longer exists or does not meet the condition.
+     */
+    public Product repriceProduct(Integer productId, Predicate<Product> condition, Function<Product, Money> reprice,
+                                  ProductChangeType changeType) {
+        while (true) {
+            Product current = productRepository.getProduct(productId);
+            if (current == null || current.getPrice() == null || !condition.test(current)) {
+                return null;
+            }
+            Product repriced = productRepository.updateProduct(productId, current.withPrice(reprice.apply(current)));
+            if (repriced != null) {
+                publish(changeType, productId, current, repriced);
+                return repriced;
+            }
+        }
+    }
+
+    /**
+     * Reserves stock for a product, moving units from available to reserved without any global lock.
+     *
+     * @param productId The ID of the product.
+     * @param quantity The number of units to reserve.
+     * @return An ApiResponse with the updated product, or 409 if not enough units are available.
+     */
+    public ApiResponse<ProductDto> reserveStock(Integer productId, int quantity) {
+        long startNanos = System.nanoTime();
+        ApiResponse<ProductDto> response = adjustStock(productId, quantity, -quantity, quantity,
+                ProductResponseMessages.STOCK_RESERVED_SUCCESSFULLY);
+        productServiceMetrics.record(ProductOperation.RESERVE_STOCK, response, startNanos);
+        return response;
+    }
+
+    /**
+     * Releases previously reserved stock back to available.
+     *
+     * @param productId The ID of the product.
+     * @param quantity The number of reserved units to release.
+     * @return An ApiResponse with the updated product, or 409 if fewer units are reserved.
+     */
+    public ApiResponse<ProductDto> releaseStock(Integer productId, int quantity) {
+        long startNanos = System.nanoTime();
+        ApiResponse<ProductDto> response = adjustStock(productId, quantity, quantity, -quantity,
+                ProductResponseMessages.STOCK_RELEASED_SUCCESSFULLY);
+        productServiceMetrics.record(ProductOperation.RELEASE_STOCK, response, startNanos);
+        return response;
+    }
+
+    /**
+     * Commits reserved stock, i.e. removes sold units from the reserved quantity.
+     *
+     * @param productId The ID of the product.
+     * @param quantity The number of reserved units to commit.
+     * @return An ApiResponse with the updated product, or 409 if fewer units are reserved.
+     */
+    public ApiResponse<ProductDto> commitStock(Integer productId, int quantity) {
+        long startNanos = System.nanoTime();
+        ApiResponse<ProductDto> response = adjustStock(productId, quantity, 0, -quantity,
+                ProductResponseMessages.STOCK_COMMITTED_SUCCESSFULLY);
+        productServiceMetrics.record(ProductOperation.COMMIT_STOCK, response, startNanos);
+        return response;
+    }
+
+    private ApiResponse<ProductDto> adjustStock(Integer productId, int quantity, int availableDelta,
+                                                int reservedDelta, String successMessage) {
+        if (quantity <= 0) {
+            return new ApiResponse<>(HttpStatus.BAD_REQUEST.value(), false,
+                    ProductResponseMessages.INVALID_STOCK_QUANTITY, null);
+        }
+        StockUpdate update = productRepository.adjustStock(productId, availableDelta, reservedDelta);
+        switch (update.status()) {
+            case APPLIED:
+                Product adjusted = update.product();
+                // The repository applied exactly these deltas, so the prior state is known without another read
+                Product previous = adjusted.withQuantityAvailable(adjusted.getQuantityAvailable() - availableDelta)
+                        .withQuantityReserved(adjusted.getQuantityReserved() - reservedDelta)
+                        .withVersion(adjusted.getVersion() - 1);
+                publish(ProductChangeType.STOCK_CHANGED, productId, previous, adjusted);
+                return new ApiResponse<>(HttpStatus.OK.value(), true, successMessage,
+                        toDto(update.product()));
+            case INSUFFICIENT_STOCK:
+                return new ApiResponse<>(HttpStatus.CONFLICT.value(), false,
+                        ProductResponseMessages.INSUFFICIENT_STOCK, toDto(update.product()));
+            default:
+                return new ApiResponse<>(HttpStatus.NOT_FOUND.value(), false,
+                        ProductResponseMessages.PRODUCT_NOT_FOUND, null);
         }
     }
 
@@ -154,21 +386,472 @@ public class ProductService {
      * @return An ApiResponse containing the list of products and HTTP status code.
      */
     public ApiResponse<List<ProductDto>> getAllProducts() {
+        long startNanos = System.nanoTime();
+        ApiResponse<List<ProductDto>> response = doGetAllProducts();
+        productServiceMetrics.record(ProductOperation.GET_ALL, response, startNanos);
+        return response;
+    }
+
+    private ApiResponse<List<ProductDto>> doGetAllProducts() {
         List<Product> allProducts = productRepository.getAllProducts();
         List<ProductDto> allProductsDto = allProducts.stream()
-                .map(productMapper::toDto)
+                .map(this::toDto)
                 .toList();
         return new ApiResponse<>(HttpStatus.OK.value(), true,
                 ProductResponseMessages.ALL_PRODUCTS_RETRIEVED_SUCCESSFULLY, allProductsDto);
     }
 
+    /**
+     * Retrieves all products as the stored snapshots, for read-only serialization without DTO mapping.
+     * Serialized with {@link com.bookstore.applicaton.mapper.ProductSnapshotModule}, the response is
+     * identical to {@link #getAllProducts()}.
+     *
+     * @return An ApiResponse containing the product snapshots and HTTP status code.
+     */
+    public ApiResponse<List<Product>> getAllProductSnapshots() {
+        long startNanos = System.nanoTime();
+        ApiResponse<List<Product>> response = new ApiResponse<>(HttpStatus.OK.value(), true,
+                ProductResponseMessages.ALL_PRODUCTS_RETRIEVED_SUCCESSFULLY, productRepository.getAllProducts());
+        productServiceMetrics.record(ProductOperation.GET_ALL, response, startNanos);
+        return response;
+    }
+
+    /**
+     * Creates a batch of products. Invalid items are rejected individually; IDs for the valid ones
+     * are reserved from the counter in a single step.
+     *
+     * @param productDtos The products to create.
+     * @return An ApiResponse containing one result per item, in request order.
+     */
+    public ApiResponse<List<ApiResponse<ProductDto>>> createProducts(List<ProductDto> productDtos) {
+        long startNanos = System.nanoTime();
+        ApiResponse<List<ApiResponse<ProductDto>>> response = doCreateProducts(productDtos);
+        productServiceMetrics.record(ProductOperation.CREATE_BATCH, response, startNanos);
+        return response;
+    }
+
+    private ApiResponse<List<ApiResponse<ProductDto>>> doCreateProducts(List<ProductDto> productDtos) {
+        if (productDtos == null || productDtos.isEmpty() || productDtos.size() > MAX_BATCH_SIZE) {
+            return new ApiResponse<>(HttpStatus.BAD_REQUEST.value(), false,
+                    ProductResponseMessages.INVALID_BATCH_SIZE, null);
+        }
+        List<Product> savedProducts = addValidProducts(productDtos);
+        List<ApiResponse<ProductDto>> results = new ArrayList<>(productDtos.size());
+        boolean allSucceeded = true;
+        for (Product savedProduct : savedProducts) {
+            if (savedProduct != null) {
+                results.add(new ApiResponse<>(HttpStatus.CREATED.value(), true,
+                        ProductResponseMessages.PRODUCT_CREATED_SUCCESSFULLY, toDto(savedProduct)));
+            } else {
+                allSucceeded = false;
+                results.add(new ApiResponse<>(HttpStatus.BAD_REQUEST.value(), false,
+                        ProductResponseMessages.INVALID_PRODUCT_DATA, null));
+            }
+        }
+        return batchResponse(results, allSucceeded);
+    }
+
+    /**
+     * Creates a batch of imported products without building a response per product. Invalid items are
+     * skipped; IDs in the items are ignored and new ones are allocated in a single step.
+     *
+     * @param productDtos The products to create, at most {@link #MAX_BATCH_SIZE}.
+     * @return For each item, the created product, or null if the item was invalid.
+     */
+    public List<Product> importProducts(List<ProductDto> productDtos) {
+        long startNanos = System.nanoTime();
+        List<Product> savedProducts = addValidProducts(productDtos);
+        productServiceMetrics.record(ProductOperation.IMPORT_BATCH, HttpStatus.OK.value(), true, startNanos);
+        return savedProducts;
+    }
+
+    // Adds the valid items with one ID allocation and one repository call, keeping nulls for the invalid ones
+    private List<Product> addValidProducts(List<ProductDto> productDtos) {
+        int validCount = 0;
+        for (ProductDto productDto : productDtos) {
+            if (isValid(productDto)) {
+                validCount++;
+            }
+        }
+        int[] productIds = productIdAllocator.allocateProductIds(validCount);
+        List<Product> createdProducts = new ArrayList<>(validCount);
+        for (ProductDto productDto : productDtos) {
+            if (isValid(productDto)) {
+                createdProducts.add(new Product(productIds[createdProducts.size()], productDto.getName(),
+                        productDto.getDescription(), productDto.getPrice(), productDto.getQuantityAvailable()));
+            }
+        }
+        List<Product> savedProducts = productRepository.addProducts(createdProducts);
+
+        List<Product> results = new ArrayList<>(productDtos.size());
+        int saved = 0;
+        for (ProductDto productDto : productDtos) {
+            if (isValid(productDto)) {
+                Product savedProduct = savedProducts.get(saved++);
+                publish(ProductChangeType.CREATED, savedProduct.getProductId(), null, savedProduct);
+                results.add(savedProduct);
+            } else {
+                results.add(null);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Updates a batch of existing products, matched by the product ID in each item.
+     *
+     * @param productDtos The products with updated information.
+     * @return An ApiResponse containing one result per item, in request order.
+     */
+    public ApiResponse<List<ApiResponse<ProductDto>>> updateProducts(List<ProductDto> productDtos) {
+        long startNanos = System.nanoTime();
+        ApiResponse<List<ApiResponse<ProductDto>>> response = doUpdateProducts(productDtos);
+        productServiceMetrics.record(ProductOperation.UPDATE_BATCH, response, startNanos);
+        return response;
+    }
+
+    private ApiResponse<List<ApiResponse<ProductDto>>> doUpdateProducts(List<ProductDto> productDtos) {
+        if (productDtos == null || productDtos.isEmpty() || productDtos.size() > MAX_BATCH_SIZE) {
+            return new ApiResponse<>(HttpStatus.BAD_REQUEST.value(), false,
+                    ProductResponseMessages.INVALID_BATCH_SIZE, null);
+        }
+        List<ApiResponse<ProductDto>> results = new ArrayList<>(productDtos.size());
+        List<Product> existingProducts = new ArrayList<>();
+        List<Product> updatedProducts = new ArrayList<>();
+        for (ProductDto productDto : productDtos) {
+            if (productDto.getProductId() == null) {
+                results.add(new ApiResponse<>(HttpStatus.BAD_REQUEST.value(), false,
+                        ProductResponseMessages.PRODUCT_ID_REQUIRED, null));
+            } else if (!isValid(productDto)) {
+                results.add(new ApiResponse<>(HttpStatus.BAD_REQUEST.value(), false,
+                        ProductResponseMessages.INVALID_PRODUCT_DATA, null));
+            } else {
+                Product existingProduct = productRepository.getProduct(productDto.getProductId());
+                if (existingProduct == null) {
+                    results.add(new ApiResponse<>(HttpStatus.NOT_FOUND.value(), false,
+                            ProductResponseMessages.PRODUCT_NOT_FOUND, null));
+                } else if (productDto.getVersion() != null && !productDto.getVersion().equals(existingProduct.getVersion())) {
+                    results.add(new ApiResponse<>(HttpStatus.PRECONDITION_FAILED.value(), false,
+                            ProductResponseMessages.PRODUCT_VERSION_MISMATCH, toDto(existingProduct)));
+                } else {
+                    existingProducts.add(existingProduct);
+                    updatedProducts.add(productMapper.toEntity(productDto)
+                            .withProductId(productDto.getProductId())
+                            .withQuantityReserved(existingProduct.getQuantityReserved())
+                            .withVersion(existingProduct.getVersion()));
+                    results.add(null);
+                }
+            }
+        }
+
+        List<Product> storedProducts = productRepository.updateProducts(updatedProducts);
+        boolean allSucceeded = updatedProducts.size() == productDtos.size();
+        int next = 0;
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i) == null) {
+                Product existingProduct = existingProducts.get(next);
+                Product storedProduct = storedProducts.get(next);
+                if (storedProduct != null) {
+                    publish(ProductChangeType.UPDATED, storedProduct.getProductId(), existingProduct, storedProduct);
+                    results.set(i, new ApiResponse<>(HttpStatus.OK.value(), true,
+                            ProductResponseMessages.PRODUCT_UPDATED_SUCCESSFULLY, toDto(storedProduct)));
+                } else {
+                    // Deleted or changed between the lookup and the update
+                    allSucceeded = false;
+                    results.set(i, updateRejected(existingProduct.getProductId(), existingProduct,
+                            productDtos.get(i).getVersion() != null));
+                }
+                next++;
+            }
+        }
+        return batchResponse(results, allSucceeded);
+    }
+
+    /**
+     * Deletes a batch of products.
+     *
+     * @param productIds The IDs of the products to delete.
+     * @return An ApiResponse containing one result per ID, in request order.
+     */
+    public ApiResponse<List<ApiResponse<ProductDto>>> deleteProducts(List<Integer> productIds) {
+        long startNanos = System.nanoTime();
+        ApiResponse<List<ApiResponse<ProductDto>>> response = doDeleteProducts(productIds);
+        productServiceMetrics.record(ProductOperation.DELETE_BATCH, response, startNanos);
+        return response;
+    }
+
+    private ApiResponse<List<ApiResponse<ProductDto>>> doDeleteProducts(List<Integer> productIds) {
+        if (productIds == null || productIds.isEmpty() || productIds.size() > MAX_BATCH_SIZE) {
+            return new ApiResponse<>(HttpStatus.BAD_REQUEST.value(), false,
+                    ProductResponseMessages.INVALID_BATCH_SIZE, null);
+        }
+        List<Product> deletedProducts = productRepository.deleteProducts(productIds);
+        List<ApiResponse<ProductDto>> results = new ArrayList<>(productIds.size());
+        boolean allSucceeded = true;
+        for (int i = 0; i < productIds.size(); i++) {
+            Product deletedProduct = deletedProducts.get(i);
+            if (deletedProduct != null) {
+                publish(ProductChangeType.DELETED, productIds.get(i), deletedProduct, null);
+                results.add(new ApiResponse<>(HttpStatus.OK.value(), true,
+                        ProductResponseMessages.PRODUCT_DELETED_SUCCESSFULLY, toDto(deletedProduct)));
+            } else {
+                allSucceeded = false;
+                results.add(new ApiResponse<>(HttpStatus.NOT_FOUND.value(), false,
+                        ProductResponseMessages.PRODUCT_NOT_FOUND, null));
+            }
+        }
+        return batchResponse(results, allSucceeded);
+    }
+
+    private static boolean isValid(ProductDto productDto) {
+        return productDto != null
+                && productDto.getName() != null && !productDto.getName().isBlank()
+                && productDto.getPrice() != null && productDto.getPrice().signum() >= 0
+                && Money.isExact(productDto.getPrice())
+                && productDto.getQuantityAvailable() != null && productDto.getQuantityAvailable() >= 0;
+    }
+
+    private static ApiResponse<List<ApiResponse<ProductDto>>> batchResponse(List<ApiResponse<ProductDto>> results,
+                                                                          boolean allSucceeded) {
+        if (allSucceeded) {
+            return new ApiResponse<>(HttpStatus.OK.value(), true,
+                    ProductResponseMessages.BATCH_PROCESSED_SUCCESSFULLY, results);
+        }
+        return new ApiResponse<>(HttpStatus.MULTI_STATUS.value(), false,
+                ProductResponseMessages.BATCH_PARTIALLY_PROCESSED, results);
+    }
+
+    /**
+     * Retrieves one page of products ordered by ID, using the last seen ID as the cursor.
+     *
+     * @param afterProductId The product ID to continue after, or null for the first page.
+     * @param limit The maximum number of products in the page.
+     * @return An ApiResponse containing the page and the cursor for the next one.
+     */
+    public ApiResponse<ProductPageDto> getProductsPage(Integer afterProductId, int limit) {
+        long startNanos = System.nanoTime();
+        ApiResponse<ProductPageDto> response = doGetProductsPage(afterProductId, limit);
+        productServiceMetrics.record(ProductOperation.GET_PAGE, response, startNanos);
+        return response;
+    }
+
+    private ApiResponse<ProductPageDto> doGetProductsPage(Integer afterProductId, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return new ApiResponse<>(HttpStatus.BAD_REQUEST.value(), false,
+                    ProductResponseMessages.INVALID_PAGE_LIMIT, null);
+        }
+        // Fetch one extra product to find out whether another page exists.
+        List<Product> products = productRepository.getProducts(afterProductId, limit + 1);
+        boolean hasMore = products.size() > limit;
+        List<ProductDto> page = products.stream()
+                .limit(limit)
+                .map(this::toDto)
+                .toList();
+        Integer nextCursor = hasMore ? products.get(limit - 1).getProductId() : null;
+        return new ApiResponse<>(HttpStatus.OK.value(), true,
+                ProductResponseMessages.PRODUCT_PAGE_RETRIEVED_SUCCESSFULLY, new ProductPageDto(page, nextCursor));
+    }
+
+    /**
+     * Retrieves catalog changes logged after the given sequence, so consumers can apply deltas
+     * instead of re-reading the catalog.
+     *
+     * @param since The last sequence the caller has processed, 0 for the oldest retained change.
+     * @param limit The maximum number of changes to return.
+     * @return An ApiResponse with the changes, or 410 if changes after {@code since} were already evicted.
+     */
+    public ApiResponse<ProductChangesDto> getChanges(long since, int limit) {
+        long startNanos = System.nanoTime();
+        ApiResponse<ProductChangesDto> response = doGetChanges(since, limit);
+        productServiceMetrics.record(ProductOperation.GET_CHANGES, response, startNanos);
+        return response;
+    }
+
+    private ApiResponse<ProductChangesDto> doGetChanges(long since, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return new ApiResponse<>(HttpStatus.BAD_REQUEST.value(), false,
+                    ProductResponseMessages.INVALID_PAGE_LIMIT, null);
+        }
+        if (since < 0) {
+            return new ApiResponse<>(HttpStatus.BAD_REQUEST.value(), false,
+                    ProductResponseMessages.INVALID_CHANGE_SEQUENCE, null);
+        }
+        ProductChangesDto changes = productChangeLog.read(since, limit);
+        if (changes.isResyncRequired()) {
+            return new ApiResponse<>(HttpStatus.GONE.value(), false, ProductResponseMessages.CHANGES_EXPIRED, changes);
+        }
+        return new ApiResponse<>(HttpStatus.OK.value(), true,
+                ProductResponseMessages.CHANGES_RETRIEVED_SUCCESSFULLY, changes);
+    }
+
+    /**
+     * Lazily streams all products in ID order, mapping each one only as it is consumed.
+     * The caller must close the returned stream; the operation is timed until then.
+     *
+     * @param afterProductId The product ID to continue after, or null to stream the whole catalog.
+     * @return A stream of product DTOs.
+     */
+    public Stream<ProductDto> streamProducts(Integer afterProductId) {
+        long startNanos = System.nanoTime();
+        return productRepository.streamProducts(afterProductId).map(this::toDto)
+                .onClose(() -> productServiceMetrics.record(ProductOperation.STREAM, HttpStatus.OK.value(), true,
+                        startNanos));
+    }
+
+    /**
+     * Lazily streams the stored product snapshots in ID order, for read-only serialization without DTO
+     * mapping. The caller must close the returned stream; the operation is timed until then.
+     *
+     * @param afterProductId The product ID to continue after, or null to stream the whole catalog.
+     * @return A stream of product snapshots.
+     */
+    public Stream<Product> streamProductSnapshots(Integer afterProductId) {
+        long startNanos = System.nanoTime();
+        return productRepository.streamProducts(afterProductId)
+                .onClose(() -> productServiceMetrics.record(ProductOperation.STREAM_SNAPSHOTS, HttpStatus.OK.value(),
+                        true, startNanos));
+    }
+
+    /**
+     * Searches product names and descriptions, best match first.
+     *
+     * @param query The free-text query. The last term is matched as a prefix for type-ahead.
+     * @param limit The maximum number of results.
+     * @return An ApiResponse containing the matching products.
+     */
+    public ApiResponse<List<ProductDto>> searchProducts(String query, int limit) {
+        long startNanos = System.nanoTime();
+        ApiResponse<List<ProductDto>> response = doSearchProducts(query, limit);
+        productServiceMetrics.record(ProductOperation.SEARCH, response, startNanos);
+        return response;
+    }
+
+    private ApiResponse<List<ProductDto>> doSearchProducts(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            return new ApiResponse<>(HttpStatus.BAD_REQUEST.value(), false,
+                    ProductResponseMessages.INVALID_SEARCH_QUERY, null);
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return new ApiResponse<>(HttpStatus.BAD_REQUEST.value(), false,
+                    ProductResponseMessages.INVALID_PAGE_LIMIT, null);
+        }
+        List<ProductDto> results = productSearchIndex.search(query, limit).stream()
+                .map(productRepository::getProduct)
+                .filter(Objects::nonNull)
+                .map(this::toDto)
+                .toList();
+        return new ApiResponse<>(HttpStatus.OK.value(), true,
+                ProductResponseMessages.SEARCH_RESULTS_RETRIEVED_SUCCESSFULLY, results);
+    }
+
+    /**
+     * Retrieves products within a price band, cheapest first.
+     *
+     * @param minPrice The inclusive lower price bound, or null.
+     * @param maxPrice The inclusive upper price bound, or null.
+     * @param limit The maximum number of products to return.
+     * @return An ApiResponse containing the matching products.
+     */
+    public ApiResponse<List<ProductDto>> getProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, int limit) {
+        long startNanos = System.nanoTime();
+        ApiResponse<List<ProductDto>> response = doGetProductsByPriceRange(minPrice, maxPrice, limit);
+        productServiceMetrics.record(ProductOperation.FILTER, response, startNanos);
+        return response;
+    }
+
+    private ApiResponse<List<ProductDto>> doGetProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return new ApiResponse<>(HttpStatus.BAD_REQUEST.value(), false,
+                    ProductResponseMessages.INVALID_PAGE_LIMIT, null);
+        }
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            return new ApiResponse<>(HttpStatus.BAD_REQUEST.value(), false,
+                    ProductResponseMessages.INVALID_PRICE_RANGE, null);
+        }
+        Money lowerBound;
+        Money upperBound;
+        try {
+            // Round the bounds inwards: no price in minor units lies between a rounded and an exact bound
+            lowerBound = minPrice == null ? null : Money.of(minPrice, Money.DEFAULT_CURRENCY, RoundingMode.CEILING);
+            upperBound = maxPrice == null ? null : Money.of(maxPrice, Money.DEFAULT_CURRENCY, RoundingMode.FLOOR);
+        } catch (ArithmeticException e) {
+            return new ApiResponse<>(HttpStatus.BAD_REQUEST.value(), false,
+                    ProductResponseMessages.INVALID_PRICE_RANGE, null);
+        }
+        return filteredProducts(productRepository.findByPriceRange(lowerBound, upperBound, limit));
+    }
+
+    /**
+     * Retrieves products that are in stock, lowest stock first.
+     *
+     * @param minQuantity The minimum quantity available.
+     * @param limit The maximum number of products to return.
+     * @return An ApiResponse containing the matching products.
+     */
+    public ApiResponse<List<ProductDto>> getProductsInStock(int minQuantity, int limit) {
+        long startNanos = System.nanoTime();
+        ApiResponse<List<ProductDto>> response = doGetProductsInStock(minQuantity, limit);
+        productServiceMetrics.record(ProductOperation.FILTER, response, startNanos);
+        return response;
+    }
+
+    private ApiResponse<List<ProductDto>> doGetProductsInStock(int minQuantity, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return new ApiResponse<>(HttpStatus.BAD_REQUEST.value(), false,
+                    ProductResponseMessages.INVALID_PAGE_LIMIT, null);
+        }
+        return filteredProducts(productRepository.findInStock(minQuantity, limit));
+    }
+
+    /**
+     * Retrieves the cheapest products.
+     *
+     * @param limit The number of products to return.
+     * @return An ApiResponse containing the cheapest products.
+     */
+    public ApiResponse<List<ProductDto>> getCheapestProducts(int limit) {
+        long startNanos = System.nanoTime();
+        ApiResponse<List<ProductDto>> response = doGetCheapestProducts(limit);
+        productServiceMetrics.record(ProductOperation.FILTER, response, startNanos);
+        return response;
+    }
+
+    private ApiResponse<List<ProductDto>> doGetCheapestProducts(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return new ApiResponse<>(HttpStatus.BAD_REQUEST.value(), false,
+                    ProductResponseMessages.INVALID_PAGE_LIMIT, null);
+        }
+        return filteredProducts(productRepository.findCheapest(limit));
+    }
+
+    private ApiResponse<List<ProductDto>> filteredProducts(List<Product> products) {
+        List<ProductDto> productDtos = products.stream()
+                .map(this::toDto)
+                .toList();
+        return new ApiResponse<>(HttpStatus.OK.value(), true,
+                ProductResponseMessages.FILTERED_PRODUCTS_RETRIEVED_SUCCESSFULLY, productDtos);
+    }
+
+    private ProductDto toDto(Product product) {
+        ProductDto productDto = productMapper.toDto(product);
+        if (productDto != null) {
+            Money effectivePrice = priceRuleService.effectivePrice(product);
+            productDto.setEffectivePrice(effectivePrice == null ? null : effectivePrice.toBigDecimal());
+        }
+        return productDto;
+    }
+
+    private void publish(ProductChangeType type, Integer productId, Product before, Product after) {
+        eventPublisher.publishEvent(new ProductChangedEvent(type, productId, before, after));
+    }
+
     /**
      * Generates a unique product ID.
      *
      * @return A unique integer value for use as a product ID.
      */
     private int generateProductId() {
-        return nextProductId.getAndIncrement();
+        return productIdAllocator.allocateProductId();
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.bookstore.applicaton.transfer;
+
+/**
+ * A run of whole records read from an import file.
+ *
+ * @param startOffset The file offset of the first byte.
+ * @param endOffset   The file offset just past the last record, where the next chunk starts.
+ * @param bytes       The records, in {@code bytes[0, length)}.
+ */
+record CatalogChunk(long startOffset, long endOffset, byte[] bytes, int length) {
+}
@@ -0,0 +1,97 @@
+package com.bookstore.applicaton.transfer;
+
+import com.bookstore.applicaton.dto.ProductDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Parses the chunks of one import file. It holds no mutable state, so one parser serves all the
+ * threads parsing chunks of the file at once.
+ */
+final class CatalogChunkParser {
+
+    private final CatalogFormat format;
+    private final ObjectReader productReader;
+    private final CatalogCsv.Columns columns;
+
+    /**
+     * @param productReader Reads a {@link ProductDto} from NDJSON lines.
+     * @param columns       The CSV columns, from the header; null for NDJSON.
+     */
+    CatalogChunkParser(CatalogFormat format, ObjectReader productReader, CatalogCsv.Columns columns) {
+        this.format = format;
+        this.productReader = productReader;
+        this.columns = columns;
+    }
+
+    ParsedChunk parse(CatalogChunk chunk) {
+        byte[] bytes = chunk.bytes();
+        int length = chunk.length();
+        List<ProductDto> rows = new ArrayList<>();
+        int[] rowRecords = new int[64];
+        List<ParsedChunk.RowError> errors = new ArrayList<>();
+        List<String> fields = new ArrayList<>();
+        int records = 0;
+        int from = 0;
+        while (from < length) {
+            int to = format == CatalogFormat.CSV
+                    ? CatalogCsv.recordEnd(bytes, from, length) : lineEnd(bytes, from, length);
+            if (!isBlank(bytes, from, to)) {
+                try {
+                    ProductDto row = format == CatalogFormat.CSV
+                            ? readCsvRecord(bytes, from, to, fields) : readJsonLine(bytes, from, to);
+                    if (rows.size() == rowRecords.length) {
+                        rowRecords = Arrays.copyOf(rowRecords, rowRecords.length * 2);
+                    }
+                    rowRecords[rows.size()] = records;
+                    rows.add(row);
+                } catch (JsonProcessingException e) {
+                    // The original message leaves out the source excerpt and location
+                    errors.add(new ParsedChunk.RowError(records, e.getOriginalMessage()));
+                } catch (IllegalArgumentException | IOException e) {
+                    errors.add(new ParsedChunk.RowError(records, e.getMessage()));
+                }
+                records++;
+            }
+            from = to + 1;
+        }
+        return new ParsedChunk(chunk, rows, rowRecords, errors, records);
+    }
+
+    private ProductDto readCsvRecord(byte[] bytes, int from, int to, List<String> fields) {
+        CatalogCsv.readFields(bytes, from, to, fields);
+        return columns.toProductDto(fields);
+    }
+
+    private ProductDto readJsonLine(byte[] bytes, int from, int to) throws IOException {
+        ProductDto row = productReader.readValue(bytes, from, to - from);
+        if (row == null) {
+            throw new IllegalArgumentException("Not a product: null");
+        }
+        return row;
+    }
+
+    private static int lineEnd(byte[] bytes, int from, int end) {
+        for (int i = from; i < end; i++) {
+            if (bytes[i] == '\n') {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    private static boolean isBlank(byte[] bytes, int from, int to) {
+        for (int i = from; i < to; i++) {
+            byte b = bytes[i];
+            if (b != ' ' && b != '\t' && b != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,90 @@
+package com.bookstore.applicaton.transfer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Reads an import file as a sequence of chunks of about a fixed size, each cut at a record boundary so
+ * it can be parsed on its own. The partial record at the end of a read is carried over to the next
+ * chunk; a record longer than the chunk size gets a chunk of its own, grown to fit it. Memory held by
+ * the reader is therefore one chunk, whatever the size of the file.
+ */
+final class CatalogChunkReader {
+
+    private final FileChannel channel;
+    private final CatalogFormat format;
+    private final int chunkSize;
+
+    private long position; // File offset of the first carried-over byte
+    private long readPosition; // File offset of the next byte to read
+    private byte[] carried = new byte[0];
+    private int carriedLength;
+    private boolean endOfFile;
+
+    /**
+     * @param offset Where to start reading; must be a record boundary, as the end offset of a chunk is.
+     */
+    CatalogChunkReader(FileChannel channel, CatalogFormat format, int chunkSize, long offset) {
+        this.channel = channel;
+        this.format = format;
+        this.chunkSize = chunkSize;
+        this.position = offset;
+        this.readPosition = offset;
+    }
+
+    /**
+     * Reads the next chunk. The last record of a file needs no line break after it.
+     *
+     * @return The chunk, or null at the end of the file.
+     */
+    CatalogChunk next() throws IOException {
+        byte[] buffer = new byte[Math.max(chunkSize, carriedLength * 2)];
+        System.arraycopy(carried, 0, buffer, 0, carriedLength);
+        int length = carriedLength;
+        int end;
+        while (true) {
+            length = fill(buffer, length);
+            end = endOfFile ? length : lastRecordEnd(buffer, length);
+            if (end > 0 || endOfFile) {
+                break;
+            }
+            // Not even one whole record fits
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        if (end == 0) {
+            return null;
+        }
+        carriedLength = length - end;
+        carried = Arrays.copyOfRange(buffer, end, length);
+        CatalogChunk chunk = new CatalogChunk(position, position + end, buffer, end);
+        position += end;
+        return chunk;
+    }
+
+    private int fill(byte[] buffer, int length) throws IOException {
+        ByteBuffer target = ByteBuffer.wrap(buffer, length, buffer.length - length);
+        while (target.hasRemaining() && !endOfFile) {
+            int read = channel.read(target, readPosition);
+            if (read < 0) {
+                endOfFile = true;
+            } else {
+                readPosition += read;
+            }
+        }
+        return target.position();
+    }
+
+    private int lastRecordEnd(byte[] buffer, int length) {
+        if (format == CatalogFormat.CSV) {
+            return CatalogCsv.lastRecordEnd(buffer, length);
+        }
+        for (int i = length - 1; i >= 0; i--) {
+            if (buffer[i] == '\n') {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,260 @@
+package com.bookstore.applicaton.transfer;
+
+import com.bookstore.applicaton.domain.Money;
+import com.bookstore.applicaton.domain.Product;
+import com.bookstore.applicaton.dto.ProductDto;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads and writes catalog CSV (RFC 4180, UTF-8). Records are read straight from the bytes of a chunk:
+ * a quote and a line break are single bytes that never occur inside a multi-byte UTF-8 sequence, so
+ * records and fields can be found before anything is decoded.
+ * <p>
+ * An unquoted empty field reads as null and a quoted one ({@code ""}) as an empty string, which is how
+ * export tells the two apart.
+ */
+final class CatalogCsv {
+
+    // Columns of an export, in order; an import needs a header with at least name, price and quantityAvailable
+    static final List<String> EXPORT_COLUMNS = List.of("productId", "name", "description", "price",
+            "quantityAvailable", "quantityReserved", "version");
+
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+
+    private CatalogCsv() {
+    }
+
+    /**
+     * Finds the end of the record starting at {@code from}: its line break, skipping those inside quotes.
+     *
+     * @return The index of the line break, or {@code end} if the record runs to the end of the bytes.
+     */
+    static int recordEnd(byte[] bytes, int from, int end) {
+        boolean quoted = false;
+        for (int i = from; i < end; i++) {
+            byte b = bytes[i];
+            if (b == '"') {
+                // An escaped quote ("") toggles twice and leaves the state as it was
+                quoted = !quoted;
+            } else if (b == '\n' && !quoted) {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Finds where the last complete record of a chunk ends, for a chunk that starts at a record boundary.
+     *
+     * @return The index just past the last line break outside quotes, or -1 if there is none.
+     */
+    static int lastRecordEnd(byte[] bytes, int length) {
+        int last = -1;
+        boolean quoted = false;
+        for (int i = 0; i < length; i++) {
+            byte b = bytes[i];
+            if (b == '"') {
+                quoted = !quoted;
+            } else if (b == '\n' && !quoted) {
+                last = i + 1;
+            }
+        }
+        return last;
+    }
+
+    /**
+     * Splits one record into its fields.
+     *
+     * @param from   The first byte of the record.
+     * @param to     The index of its line break, or of the end of the bytes.
+     * @param fields Cleared, then filled with the fields; left empty for a blank line.
+     * @throws IllegalArgumentException If a quoted field is not terminated or is followed by other text.
+     */
+    static void readFields(byte[] bytes, int from, int to, List<String> fields) {
+        fields.clear();
+        if (to > from && bytes[to - 1] == '\r') {
+            to--;
+        }
+        if (to == from) {
+            return;
+        }
+        int i = from;
+        while (true) {
+            if (i < to && bytes[i] == '"') {
+                int start = i + 1;
+                int j = start;
+                boolean escaped = false;
+                while (true) {
+                    if (j >= to) {
+                        throw new IllegalArgumentException("Unterminated quoted field");
+                    }
+                    if (bytes[j] == '"') {
+                        if (j + 1 < to && bytes[j + 1] == '"') {
+                            escaped = true;
+                            j += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    j++;
+                }
+                String value = new String(bytes, start, j - start, StandardCharsets.UTF_8);
+                fields.add(escaped ? value.replace("\"\"", "\"") : value);
+                i = j + 1;
+                if (i < to && bytes[i] != ',') {
+                    throw new IllegalArgumentException("Unexpected text after a quoted field");
+                }
+            } else {
+                int start = i;
+                while (i < to && bytes[i] != ',') {
+                    i++;
+                }
+                fields.add(i == start ? null : new String(bytes, start, i - start, StandardCharsets.UTF_8));
+            }
+            if (i == to) {
+                return;
+            }
+            i++; // Past the comma; a comma at the very end leaves one more, empty, field
+        }
+    }
+
+    static void writeHeader(Writer writer) throws IOException {
+        writer.write(String.join(",", EXPORT_COLUMNS));
+        writer.write('\n');
+    }
+
+    static void writeRow(Product product, Writer writer) throws IOException {
+        Money price = product.getPrice();
+        writeNumber(product.getProductId(), writer);
+        writer.write(',');
+        writeField(product.getName(), writer);
+        writer.write(',');
+        writeField(product.getDescription(), writer);
+        writer.write(',');
+        if (price != null) {
+            writer.write(price.toBigDecimal().toPlainString());
+        }
+        writer.write(',');
+        writeNumber(product.getQuantityAvailable(), writer);
+        writer.write(',');
+        writeNumber(product.getQuantityReserved(), writer);
+        writer.write(',');
+        writeNumber(product.getVersion(), writer);
+        writer.write('\n');
+    }
+
+    /**
+     * Writes a text field, quoted if it has to be: when it holds a comma, quote or line break, or is
+     * empty, so it does not read back as null.
+     */
+    static void writeField(String value, Writer writer) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.isEmpty();
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static void writeNumber(Number value, Writer writer) throws IOException {
+        if (value != null) {
+            writer.write(value.toString());
+        }
+    }
+
+    /**
+     * Positions of the imported columns in the records of one file, from its header row. Other columns,
+     * including productId, are ignored: imported products are given new IDs.
+     */
+    static final class Columns {
+
+        private final int name;
+        private final int description;
+        private final int price;
+        private final int quantityAvailable;
+
+        private Columns(int name, int description, int price, int quantityAvailable) {
+            this.name = name;
+            this.description = description;
+            this.price = price;
+            this.quantityAvailable = quantityAvailable;
+        }
+
+        /**
+         * Maps the columns by name, ignoring case and surrounding whitespace.
+         *
+         * @return The columns, or null if name, price or quantityAvailable is missing.
+         */
+        static Columns of(List<String> header) {
+            int name = -1;
+            int description = -1;
+            int price = -1;
+            int quantityAvailable = -1;
+            for (int i = 0; i < header.size(); i++) {
+                String column = header.get(i);
+                if (column == null) {
+                    continue;
+                }
+                if (i == 0 && column.startsWith(BYTE_ORDER_MARK)) {
+                    column = column.substring(1);
+                }
+                switch (column.trim().toLowerCase(Locale.ROOT)) {
+                    case "name" -> name = i;
+                    case "description" -> description = i;
+                    case "price" -> price = i;
+                    case "quantityavailable" -> quantityAvailable = i;
+                    default -> {
+                        // Not imported
+                    }
+                }
+            }
+            if (name < 0 || price < 0 || quantityAvailable < 0) {
+                return null;
+            }
+            return new Columns(name, description, price, quantityAvailable);
+        }
+
+        /**
+         * Builds the product of one record. Validation beyond number syntax is left to the service.
+         *
+         * @throws IllegalArgumentException If the price or quantity is not a number.
+         */
+        ProductDto toProductDto(List<String> fields) {
+            ProductDto productDto = new ProductDto();
+            productDto.setName(field(fields, name));
+            productDto.setDescription(field(fields, description));
+            String priceField = field(fields, price);
+            String quantityField = field(fields, quantityAvailable);
+            try {
+                productDto.setPrice(priceField == null ? null : new BigDecimal(priceField.trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid price: " + priceField);
+            }
+            try {
+                productDto.setQuantityAvailable(quantityField == null ? null : Integer.valueOf(quantityField.trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid quantityAvailable: " + quantityField);
+            }
+            return productDto;
+        }
+
+        private static String field(List<String> fields, int index) {
+            return index >= 0 && index < fields.size() ? fields.get(index) : null;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.bookstore.applicaton.transfer;
+
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * File formats of catalog imports and exports. Both hold one product per record, so a file can be
+ * split into chunks at record boundaries and the chunks parsed independently.
+ */
+public enum CatalogFormat {
+
+    // RFC 4180 with a header row naming the columns
+    CSV("csv", new MediaType("text", "csv", StandardCharsets.UTF_8)),
+    // One ProductDto JSON document per line
+    NDJSON("ndjson", MediaType.APPLICATION_NDJSON);
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    CatalogFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Looks a format up by name, as given in a request.
+     *
+     * @param name The name, in any case, or null.
+     * @return The format, or null if there is none by that name.
+     */
+    public static CatalogFormat of(String name) {
+        if (name == null) {
+            return null;
+        }
+        for (CatalogFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(name.trim())) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Infers the format of a file from its extension.
+     *
+     * @param fileName The name of the file.
+     * @return The format, or null if the extension is not one of a known format.
+     */
+    public static CatalogFormat ofFile(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot < 0 ? null : of(fileName.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,271 @@
+package com.bookstore.applicaton.transfer;
+
+import com.bookstore.applicaton.common.ApiResponse;
+import com.bookstore.applicaton.constants.ProductResponseMessages;
+import com.bookstore.applicaton.domain.Product;
+import com.bookstore.applicaton.dto.ImportJobDto;
+import com.bookstore.applicaton.dto.ImportRequestDto;
+import com.bookstore.applicaton.dto.ProductDto;
+import com.bookstore.applicaton.service.ProductService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Imports catalog files from the transfer directory in the background and exports the catalog as a
+ * stream. Each import has a thread of its own that reads the file and commits what the shared parse
+ * pool has parsed; see {@link ImportJob}.
+ */
+@Service
+public class CatalogTransferService {
+
+    // Finished jobs beyond this are forgotten, oldest first
+    static final int MAX_RETAINED_JOBS = 100;
+
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
+    private final ProductService productService;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader productReader;
+    private final Path directory;
+    private final int chunkSize;
+    private final int batchSize;
+    private final ForkJoinPool parsePool;
+    private final AtomicInteger jobThreads = new AtomicInteger();
+    private final ExecutorService jobExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-import-" + jobThreads.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicLong nextJobId = new AtomicLong(1);
+    private final Map<Long, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public CatalogTransferService(ProductService productService, ObjectMapper objectMapper,
+                                  @Value("${bookstore.transfer.directory:transfer}") String directory,
+                                  @Value("${bookstore.transfer.parallelism:0}") int parallelism,
+                                  @Value("${bookstore.transfer.chunk-size:1MB}") DataSize chunkSize,
+                                  @Value("${bookstore.transfer.batch-size:10000}") int batchSize) {
+        this.productService = productService;
+        this.objectMapper = objectMapper;
+        this.productReader = objectMapper.readerFor(ProductDto.class);
+        this.directory = Path.of(directory).toAbsolutePath().normalize();
+        this.chunkSize = (int) Math.min(Math.max(chunkSize.toBytes(), 1), Integer.MAX_VALUE / 2);
+        this.batchSize = Math.min(Math.max(batchSize, 1), ProductService.MAX_BATCH_SIZE);
+        this.parsePool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Starts importing a file from the transfer directory. Imported products are given new IDs.
+     *
+     * @param request The file, its format and whether to resume an earlier import of it.
+     * @return An ApiResponse (202) with the job, 400 for a file outside the transfer directory or of an
+     * unknown format, 404 if there is no such file, or 409 if it is being imported already or its
+     * checkpoint cannot be resumed from.
+     */
+    public ApiResponse<ImportJobDto> startImport(ImportRequestDto request) {
+        Path file = resolve(request);
+        CatalogFormat format = file == null ? null : request.getFormat() != null
+                ? CatalogFormat.of(request.getFormat()) : CatalogFormat.ofFile(file.getFileName().toString());
+        if (format == null) {
+            return new ApiResponse<>(HttpStatus.BAD_REQUEST.value(), false,
+                    ProductResponseMessages.INVALID_IMPORT_REQUEST, null);
+        }
+        long fileSize;
+        long lastModified;
+        try {
+            if (!Files.isRegularFile(file)) {
+                return fileNotFound();
+            }
+            fileSize = Files.size(file);
+            lastModified = Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return fileNotFound();
+        }
+        ImportCheckpoint checkpoint = null;
+        if (request.isResume()) {
+            try {
+                checkpoint = ImportCheckpoint.read(ImportJob.checkpointPath(file));
+            } catch (IOException e) {
+                return checkpointUnusable();
+            }
+            if (checkpoint != null && !checkpoint.matches(fileSize, lastModified)) {
+                return checkpointUnusable();
+            }
+        }
+
+        ImportJob job;
+        // Checking for a running import and registering this one happen together
+        synchronized (jobs) {
+            boolean running = jobs.values().stream()
+                    .anyMatch(other -> !other.isFinished() && other.file().equals(file));
+            if (running) {
+                return new ApiResponse<>(HttpStatus.CONFLICT.value(), false,
+                        ProductResponseMessages.IMPORT_ALREADY_RUNNING, null);
+            }
+            job = new ImportJob(nextJobId.getAndIncrement(), file, directory.relativize(file).toString(), format,
+                    fileSize, lastModified, checkpoint, productService, productReader, parsePool, chunkSize,
+                    batchSize);
+            jobs.put(job.jobId(), job);
+        }
+        evictFinishedJobs();
+        jobExecutor.execute(job::run);
+        return new ApiResponse<>(HttpStatus.ACCEPTED.value(), true,
+                ProductResponseMessages.IMPORT_JOB_STARTED, job.toDto());
+    }
+
+    /**
+     * Retrieves the status and progress of an import job.
+     *
+     * @param jobId The ID of the job.
+     * @return An ApiResponse with the job, or 404.
+     */
+    public ApiResponse<ImportJobDto> getImport(long jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            return notFound();
+        }
+        return new ApiResponse<>(HttpStatus.OK.value(), true,
+                ProductResponseMessages.IMPORT_JOB_RETRIEVED_SUCCESSFULLY, job.toDto());
+    }
+
+    /**
+     * Retrieves all retained import jobs, newest first.
+     *
+     * @return An ApiResponse with the jobs.
+     */
+    public ApiResponse<List<ImportJobDto>> getImports() {
+        List<ImportJobDto> jobDtos = jobs.values().stream()
+                .sorted(Comparator.comparingLong(ImportJob::jobId).reversed())
+                .map(ImportJob::toDto)
+                .toList();
+        return new ApiResponse<>(HttpStatus.OK.value(), true,
+                ProductResponseMessages.IMPORT_JOBS_RETRIEVED_SUCCESSFULLY, jobDtos);
+    }
+
+    /**
+     * Stops a running import after the chunk being committed. It can be resumed later.
+     *
+     * @param jobId The ID of the job.
+     * @return An ApiResponse (202) with the job, 404, or 409 if the job is not running.
+     */
+    public ApiResponse<ImportJobDto> cancelImport(long jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            return notFound();
+        }
+        if (!job.cancel()) {
+            return new ApiResponse<>(HttpStatus.CONFLICT.value(), false,
+                    ProductResponseMessages.IMPORT_JOB_NOT_RUNNING, job.toDto());
+        }
+        return new ApiResponse<>(HttpStatus.ACCEPTED.value(), true,
+                ProductResponseMessages.IMPORT_JOB_CANCEL_REQUESTED, job.toDto());
+    }
+
+    /**
+     * Writes every product, in ID order, as it is read from the repository, so memory stays flat
+     * regardless of catalog size. CSV has the columns of {@link CatalogCsv#EXPORT_COLUMNS}; NDJSON has
+     * the documents of GET /api/products/stream. Either can be imported again.
+     *
+     * @param format The format to write.
+     * @param outputStream Where to write; left open.
+     */
+    public void exportCatalog(CatalogFormat format, OutputStream outputStream) throws IOException {
+        try (Stream<Product> products = productService.streamProductSnapshots(null)) {
+            Iterator<Product> iterator = products.iterator();
+            if (format == CatalogFormat.CSV) {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8),
+                        EXPORT_BUFFER_SIZE);
+                CatalogCsv.writeHeader(writer);
+                while (iterator.hasNext()) {
+                    CatalogCsv.writeRow(iterator.next(), writer);
+                }
+                writer.flush();
+                return;
+            }
+            ObjectWriter writer = objectMapper.writerFor(Product.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                while (iterator.hasNext()) {
+                    writer.writeValue(generator, iterator.next());
+                    generator.writeRaw('\n');
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        jobs.values().forEach(ImportJob::cancel);
+        jobExecutor.shutdown();
+        parsePool.shutdown();
+    }
+
+    // The file the request names, or null if it does not name one inside the transfer directory
+    private Path resolve(ImportRequestDto request) {
+        if (request == null || request.getFile() == null || request.getFile().isBlank()) {
+            return null;
+        }
+        try {
+            Path file = directory.resolve(request.getFile()).normalize();
+            return file.startsWith(directory) && !file.equals(directory) ? file : null;
+        } catch (InvalidPathException e) {
+            return null;
+        }
+    }
+
+    private void evictFinishedJobs() {
+        if (jobs.size() <= MAX_RETAINED_JOBS) {
+            return;
+        }
+        jobs.values().stream()
+                .filter(ImportJob::isFinished)
+                .sorted(Comparator.comparingLong(ImportJob::jobId))
+                .limit(jobs.size() - MAX_RETAINED_JOBS)
+                .forEach(job -> jobs.remove(job.jobId()));
+    }
+
+    private static ApiResponse<ImportJobDto> notFound() {
+        return new ApiResponse<>(HttpStatus.NOT_FOUND.value(), false,
+                ProductResponseMessages.IMPORT_JOB_NOT_FOUND, null);
+    }
+
+    private static ApiResponse<ImportJobDto> fileNotFound() {
+        return new ApiResponse<>(HttpStatus.NOT_FOUND.value(), false,
+                ProductResponseMessages.IMPORT_FILE_NOT_FOUND, null);
+    }
+
+    private static ApiResponse<ImportJobDto> checkpointUnusable() {
+        return new ApiResponse<>(HttpStatus.CONFLICT.value(), false,
+                ProductResponseMessages.IMPORT_CHECKPOINT_UNUSABLE, null);
+    }
+}
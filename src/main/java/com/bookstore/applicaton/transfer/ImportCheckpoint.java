@@ -0,0 +1,64 @@
+package com.bookstore.applicaton.transfer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * How far an import of a file got: every record before {@code offset} has been committed or recorded as
+ * an error. The size and modification time of the file are kept to tell whether it is still the file
+ * the checkpoint was written for.
+ */
+record ImportCheckpoint(long fileSize, long lastModified, long offset, long rows, long imported, long failed) {
+
+    /**
+     * @return The checkpoint, or null if none was written.
+     * @throws IOException If it cannot be read or is not a checkpoint.
+     */
+    static ImportCheckpoint read(Path path) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(path)) {
+            properties.load(in);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        try {
+            return new ImportCheckpoint(longOf(properties, "fileSize"), longOf(properties, "lastModified"),
+                    longOf(properties, "offset"), longOf(properties, "rows"), longOf(properties, "imported"),
+                    longOf(properties, "failed"));
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed import checkpoint " + path, e);
+        }
+    }
+
+    /**
+     * Replaces the checkpoint at the path atomically, so a crash leaves either the old or the new one.
+     */
+    void write(Path path) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("fileSize", Long.toString(fileSize));
+        properties.setProperty("lastModified", Long.toString(lastModified));
+        properties.setProperty("offset", Long.toString(offset));
+        properties.setProperty("rows", Long.toString(rows));
+        properties.setProperty("imported", Long.toString(imported));
+        properties.setProperty("failed", Long.toString(failed));
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            properties.store(out, null);
+        }
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    boolean matches(long size, long modified) {
+        return fileSize == size && lastModified == modified;
+    }
+
+    private static long longOf(Properties properties, String key) {
+        return Long.parseLong(properties.getProperty(key, ""));
+    }
+}
@@ -0,0 +1,270 @@
+package com.bookstore.applicaton.transfer;
+
+import com.bookstore.applicaton.constants.ProductResponseMessages;
+import com.bookstore.applicaton.domain.Product;
+import com.bookstore.applicaton.dto.ImportErrorDto;
+import com.bookstore.applicaton.dto.ImportJobDto;
+import com.bookstore.applicaton.dto.ProductDto;
+import com.bookstore.applicaton.service.ProductService;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * One import of a catalog file.
+ * <p>
+ * The job thread reads the file in chunks cut at record boundaries and hands each to the parse pool,
+ * keeping a bounded number in flight, so memory use depends on the chunk size and parallelism rather
+ * than on the size of the file. Parsed chunks are committed in file order, in batches of
+ * {@code batchSize} rows through {@link ProductService#importProducts}. Rows that do not parse or do
+ * not validate are written to {@code <file>.errors.csv} with their row number, and the job carries on.
+ * <p>
+ * After committing, the job saves a checkpoint to {@code <file>.progress} at most once per
+ * {@link #CHECKPOINT_INTERVAL_NANOS}, and when it stops. A resumed import starts at the checkpoint, so
+ * rows committed after the last checkpoint of an import that crashed are imported a second time.
+ */
+final class ImportJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportJob.class);
+
+    // Failed rows reported in the job itself; the errors file has all of them
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final long CHECKPOINT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int HEADER_CHUNK_SIZE = 64 * 1024;
+
+    private final long jobId;
+    private final Path file;
+    private final String fileName;
+    private final CatalogFormat format;
+    private final long fileSize;
+    private final long lastModified;
+    private final boolean resumed;
+    private final ProductService productService;
+    private final ObjectReader productReader;
+    private final ForkJoinPool parsePool;
+    private final int chunkSize;
+    private final int batchSize;
+    private final int maxChunksInFlight;
+    private final Instant startedAt = Instant.now();
+
+    private final List<ImportErrorDto> reportedErrors = new CopyOnWriteArrayList<>();
+    private final AtomicReference<ImportJobStatus> status = new AtomicReference<>(ImportJobStatus.RUNNING);
+
+    // Written by the job thread only
+    private volatile long processedBytes;
+    private volatile long processedRows;
+    private volatile long importedRows;
+    private volatile long failedRows;
+    private volatile String failure;
+    private volatile boolean cancelRequested;
+    private volatile Instant finishedAt;
+    private Writer errorWriter;
+
+    /**
+     * @param checkpoint Where to resume, or null to import the file from the start.
+     */
+    ImportJob(long jobId, Path file, String fileName, CatalogFormat format, long fileSize, long lastModified,
+              ImportCheckpoint checkpoint, ProductService productService, ObjectReader productReader,
+              ForkJoinPool parsePool, int chunkSize, int batchSize) {
+        this.jobId = jobId;
+        this.file = file;
+        this.fileName = fileName;
+        this.format = format;
+        this.fileSize = fileSize;
+        this.lastModified = lastModified;
+        this.resumed = checkpoint != null;
+        this.productService = productService;
+        this.productReader = productReader;
+        this.parsePool = parsePool;
+        this.chunkSize = chunkSize;
+        this.batchSize = batchSize;
+        // Two chunks per worker keep the workers busy while the job thread reads and commits
+        this.maxChunksInFlight = 2 * parsePool.getParallelism();
+        if (checkpoint != null) {
+            processedBytes = checkpoint.offset();
+            processedRows = checkpoint.rows();
+            importedRows = checkpoint.imported();
+            failedRows = checkpoint.failed();
+        }
+    }
+
+    static Path checkpointPath(Path file) {
+        return file.resolveSibling(file.getFileName() + ".progress");
+    }
+
+    static Path errorsPath(Path file) {
+        return file.resolveSibling(file.getFileName() + ".errors.csv");
+    }
+
+    long jobId() {
+        return jobId;
+    }
+
+    Path file() {
+        return file;
+    }
+
+    boolean isFinished() {
+        return status.get() != ImportJobStatus.RUNNING;
+    }
+
+    void run() {
+        ImportJobStatus outcome;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             Writer errors = openErrorWriter()) {
+            errorWriter = errors;
+            outcome = importChunks(channel);
+        } catch (IOException | RuntimeException e) {
+            log.error("Import job {} of {} failed", jobId, fileName, e);
+            failure = e.getMessage();
+            outcome = ImportJobStatus.FAILED;
+        }
+        // The errors file is closed by now, so it holds every error the checkpoint counts
+        try {
+            saveCheckpoint();
+        } catch (IOException e) {
+            log.warn("Import job {} could not save its checkpoint for {}", jobId, fileName, e);
+        }
+        finishedAt = Instant.now();
+        status.set(outcome);
+    }
+
+    /**
+     * Asks the job to stop after the chunk being committed; it can be resumed from its checkpoint.
+     *
+     * @return False if the job is not running.
+     */
+    boolean cancel() {
+        if (status.get() != ImportJobStatus.RUNNING) {
+            return false;
+        }
+        cancelRequested = true;
+        return true;
+    }
+
+    ImportJobDto toDto() {
+        return new ImportJobDto(jobId, status.get(), fileName, format, fileSize, processedBytes, processedRows,
+                importedRows, failedRows, List.copyOf(reportedErrors), failure, startedAt, finishedAt);
+    }
+
+    private ImportJobStatus importChunks(FileChannel channel) throws IOException {
+        CatalogChunkParser parser = new CatalogChunkParser(format, productReader, null);
+        if (format == CatalogFormat.CSV) {
+            // The header is read again on resume, since the checkpoint is past it
+            CatalogChunk first = new CatalogChunkReader(channel, format, HEADER_CHUNK_SIZE, 0).next();
+            List<String> header = new ArrayList<>();
+            if (first != null) {
+                int headerEnd = CatalogCsv.recordEnd(first.bytes(), 0, first.length());
+                CatalogCsv.readFields(first.bytes(), 0, headerEnd, header);
+                processedBytes = Math.max(processedBytes, Math.min(headerEnd + 1, first.length()));
+            }
+            CatalogCsv.Columns columns = CatalogCsv.Columns.of(header);
+            if (columns == null) {
+                failure = ProductResponseMessages.INVALID_CSV_HEADER;
+                return ImportJobStatus.FAILED;
+            }
+            parser = new CatalogChunkParser(format, productReader, columns);
+        }
+
+        CatalogChunkReader reader = new CatalogChunkReader(channel, format, chunkSize, processedBytes);
+        Deque<ForkJoinTask<ParsedChunk>> inFlight = new ArrayDeque<>();
+        boolean endOfFile = false;
+        long lastCheckpointNanos = System.nanoTime();
+        try {
+            while (!cancelRequested) {
+                while (!endOfFile && inFlight.size() < maxChunksInFlight) {
+                    CatalogChunk chunk = reader.next();
+                    if (chunk == null) {
+                        endOfFile = true;
+                    } else {
+                        CatalogChunkParser chunkParser = parser;
+                        inFlight.add(parsePool.submit(() -> chunkParser.parse(chunk)));
+                    }
+                }
+                if (inFlight.isEmpty()) {
+                    break;
+                }
+                commit(inFlight.poll().join());
+                if (System.nanoTime() - lastCheckpointNanos >= CHECKPOINT_INTERVAL_NANOS) {
+                    errorWriter.flush();
+                    saveCheckpoint();
+                    lastCheckpointNanos = System.nanoTime();
+                }
+            }
+        } finally {
+            inFlight.forEach(task -> task.cancel(false));
+        }
+        return cancelRequested ? ImportJobStatus.CANCELLED : ImportJobStatus.COMPLETED;
+    }
+
+    private void commit(ParsedChunk parsed) throws IOException {
+        List<ProductDto> rows = parsed.rows();
+        List<ParsedChunk.RowError> errors = new ArrayList<>(parsed.errors());
+        long imported = 0;
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            int to = Math.min(from + batchSize, rows.size());
+            List<Product> savedProducts = productService.importProducts(rows.subList(from, to));
+            for (int i = 0; i < savedProducts.size(); i++) {
+                if (savedProducts.get(i) == null) {
+                    errors.add(new ParsedChunk.RowError(parsed.rowRecords()[from + i],
+                            ProductResponseMessages.INVALID_PRODUCT_DATA));
+                } else {
+                    imported++;
+                }
+            }
+        }
+        errors.sort(Comparator.comparingInt(ParsedChunk.RowError::record));
+        for (ParsedChunk.RowError error : errors) {
+            recordError(processedRows + error.record() + 1, error.message());
+        }
+        processedRows += parsed.records();
+        importedRows += imported;
+        failedRows += errors.size();
+        processedBytes = parsed.chunk().endOffset();
+    }
+
+    private void recordError(long row, String message) throws IOException {
+        errorWriter.write(Long.toString(row));
+        errorWriter.write(',');
+        CatalogCsv.writeField(message, errorWriter);
+        errorWriter.write('\n');
+        if (reportedErrors.size() < MAX_REPORTED_ERRORS) {
+            reportedErrors.add(new ImportErrorDto(row, message));
+        }
+    }
+
+    private Writer openErrorWriter() throws IOException {
+        if (resumed) {
+            return Files.newBufferedWriter(errorsPath(file), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        Writer writer = Files.newBufferedWriter(errorsPath(file), StandardCharsets.UTF_8);
+        writer.write("row,message\n");
+        return writer;
+    }
+
+    private void saveCheckpoint() throws IOException {
+        new ImportCheckpoint(fileSize, lastModified, processedBytes, processedRows, importedRows, failedRows)
+                .write(checkpointPath(file));
+    }
+}
@@ -0,0 +1,8 @@
+package com.bookstore.applicaton.transfer;
+
+public enum ImportJobStatus {
+    RUNNING,
+    COMPLETED,
+    CANCELLED, // Stopped on request; can be resumed from its checkpoint
+    FAILED // Stopped by an unreadable file or header; what was committed before is kept and can be resumed
+}
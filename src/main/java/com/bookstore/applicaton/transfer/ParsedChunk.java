@@ -0,0 +1,21 @@
+package com.bookstore.applicaton.transfer;
+
+import com.bookstore.applicaton.dto.ProductDto;
+
+import java.util.List;
+
+/**
+ * The records of a chunk, parsed. Records are numbered from 0 within the chunk, blank lines not
+ * counted; the job turns these into row numbers of the file once the rows before are known.
+ *
+ * @param rows       The products of the records that parsed.
+ * @param rowRecords For each of {@code rows}, the number of its record.
+ * @param errors     The records that did not parse.
+ * @param records    The number of records in the chunk.
+ */
+record ParsedChunk(CatalogChunk chunk, List<ProductDto> rows, int[] rowRecords, List<RowError> errors,
+                   int records) {
+
+    record RowError(int record, String message) {
+    }
+}
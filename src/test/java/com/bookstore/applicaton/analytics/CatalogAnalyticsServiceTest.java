@@ -0,0 +1,111 @@
+package com.bookstore.applicaton.analytics;
+
+import com.bookstore.applicaton.changes.ProductChangeLog;
+import com.bookstore.applicaton.domain.Product;
+import com.bookstore.applicaton.dto.CatalogStatisticsDto;
+import com.bookstore.applicaton.dto.PriceBucketDto;
+import com.bookstore.applicaton.dto.ProductDto;
+import com.bookstore.applicaton.event.ProductChangedEvent;
+import com.bookstore.applicaton.mapper.ProductMapperImpl;
+import com.bookstore.applicaton.metrics.ProductServiceMetrics;
+import com.bookstore.applicaton.pricing.PriceRuleService;
+import com.bookstore.applicaton.repository.InMemoryProductRepository;
+import com.bookstore.applicaton.search.ProductSearchIndex;
+import com.bookstore.applicaton.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class CatalogAnalyticsServiceTest {
+
+    private static final BigDecimal[] PRICE_BUCKETS = {new BigDecimal("10"), new BigDecimal("20")};
+
+    private InMemoryProductRepository productRepository;
+    private CatalogAnalyticsService catalogAnalyticsService;
+    private ProductService productService;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = new InMemoryProductRepository();
+        productRepository.addProduct(new Product(1, "Product 1", null, new BigDecimal("5.00"), 4));
+        productRepository.addProduct(new Product(2, "Product 2", null, new BigDecimal("25.50"), 0));
+        catalogAnalyticsService = new CatalogAnalyticsService(productRepository, PRICE_BUCKETS);
+        catalogAnalyticsService.rebuild();
+        productService = new ProductService(productRepository, new ProductMapperImpl(),
+                mock(ProductSearchIndex.class),
+                event -> catalogAnalyticsService.onProductChanged((ProductChangedEvent) event),
+                mock(ProductServiceMetrics.class), mock(ProductChangeLog.class), mock(PriceRuleService.class));
+    }
+
+    @Test
+    void getStatistics_AfterMutations_ReflectsCurrentCatalog() {
+        // Act
+        productService.createProduct(new ProductDto(null, "Product 3", null, new BigDecimal("12.00"), 10));
+        productService.applyDiscountOrTax(2, "discount", new BigDecimal("50"));
+        productService.reserveStock(1, 4);
+        productService.deleteProduct(3);
+        productService.createProduct(new ProductDto(null, "Product 4", null, new BigDecimal("10.00"), 1));
+        CatalogStatisticsDto statistics = catalogAnalyticsService.getStatistics().getData();
+
+        // Assert
+        assertEquals(3, statistics.getProductCount());
+        assertEquals(1, statistics.getTotalStockUnits());
+        assertEquals(new BigDecimal("10.00"), statistics.getInventoryValue());
+        assertEquals(new BigDecimal("5.00"), statistics.getMinPrice());
+        assertEquals(new BigDecimal("12.75"), statistics.getMaxPrice());
+        assertEquals(new BigDecimal("9.25"), statistics.getAveragePrice());
+        assertEquals(2, statistics.getOutOfStockCount());
+        assertEquals(List.of(new PriceBucketDto(new BigDecimal("0.00"), new BigDecimal("10.00"), 1),
+                        new PriceBucketDto(new BigDecimal("10.00"), new BigDecimal("20.00"), 2),
+                        new PriceBucketDto(new BigDecimal("20.00"), null, 0)),
+                statistics.getPriceHistogram());
+    }
+
+    @Test
+    void getStatistics_ConcurrentMutations_MatchesFullScan() throws Exception {
+        // Arrange
+        for (int i = 0; i < 50; i++) {
+            productService.createProduct(new ProductDto(null, "Product", null, new BigDecimal(i + ".25"), i % 5));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // Act
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < 4; thread++) {
+            futures.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 2_000; i++) {
+                    int productId = random.nextInt(1, 60);
+                    switch (random.nextInt(5)) {
+                        case 0 -> productService.reserveStock(productId, 1);
+                        case 1 -> productService.releaseStock(productId, 1);
+                        case 2 -> productService.applyDiscountOrTax(productId, random.nextBoolean() ? "discount" : "tax",
+                                BigDecimal.TEN);
+                        case 3 -> productService.createProduct(new ProductDto(null, "Product", null,
+                                new BigDecimal(random.nextInt(100)), random.nextInt(3)));
+                        default -> productService.deleteProducts(List.of(productId));
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        CatalogAnalyticsService fullScan = new CatalogAnalyticsService(productRepository, PRICE_BUCKETS);
+        fullScan.rebuild();
+
+        // Assert
+        assertEquals(fullScan.getStatistics().getData(), catalogAnalyticsService.getStatistics().getData());
+    }
+}
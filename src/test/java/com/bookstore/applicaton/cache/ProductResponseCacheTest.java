@@ -0,0 +1,217 @@
+package com.bookstore.applicaton.cache;
+
+import com.bookstore.applicaton.cache.ProductResponseCache.CachedResponse;
+import com.bookstore.applicaton.changes.ProductChangeLog;
+import com.bookstore.applicaton.common.ApiResponse;
+import com.bookstore.applicaton.common.WireFormat;
+import com.bookstore.applicaton.common.WireFormatMappers;
+import com.bookstore.applicaton.constants.ProductResponseMessages;
+import com.bookstore.applicaton.domain.Product;
+import com.bookstore.applicaton.dto.ProductDto;
+import com.bookstore.applicaton.mapper.ProductSnapshotModule;
+import com.bookstore.applicaton.metrics.ProductServiceMetrics;
+import com.bookstore.applicaton.pricing.PriceRuleService;
+import com.bookstore.applicaton.repository.ProductRepository;
+import com.bookstore.applicaton.service.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProductResponseCacheTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private ProductChangeLog productChangeLog;
+
+    @Mock
+    private ProductServiceMetrics productServiceMetrics;
+
+    @Mock
+    private PriceRuleService priceRuleService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ProductResponseCache productResponseCache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        ProductSnapshotModule snapshotModule = new ProductSnapshotModule(priceRuleService);
+        WireFormatMappers wireFormatMappers = new WireFormatMappers(new ObjectMapper().registerModule(snapshotModule),
+                new CBORMapper().registerModule(snapshotModule));
+        productResponseCache = new ProductResponseCache(productRepository, productService, productChangeLog,
+                wireFormatMappers, productServiceMetrics, priceRuleService, meterRegistry, DataSize.ofMegabytes(1));
+    }
+
+    @Test
+    void getProduct_SameVersion_ServedFromCacheUntilProductChanges() {
+        // Arrange
+        Product product = new Product(1, "Product 1", "Description 1", BigDecimal.TEN, 5);
+        Product updated = product.withVersion(2L);
+
+        // Mocking behavior
+        when(productRepository.getProduct(1)).thenReturn(product, product, updated);
+        when(productService.getProduct(1)).thenReturn(productResponse(1L), productResponse(2L));
+
+        // Act
+        CachedResponse first = productResponseCache.getProduct(1, WireFormat.JSON);
+        CachedResponse second = productResponseCache.getProduct(1, WireFormat.JSON);
+        CachedResponse afterUpdate = productResponseCache.getProduct(1, WireFormat.JSON);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(2L, afterUpdate.version());
+        assertTrue(new String(afterUpdate.body()).contains("\"version\":2"));
+        verify(productService, times(2)).getProduct(1);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", ProductResponseCache.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void getProduct_PricingEpochAdvanced_EffectivePriceReserialized() {
+        // Arrange
+        Product product = new Product(1, "Product 1", "Description 1", BigDecimal.TEN, 5);
+        ApiResponse<ProductDto> discounted = productResponse(1L);
+        discounted.getData().setEffectivePrice(new BigDecimal("9.00"));
+
+        // Mocking behavior
+        when(productRepository.getProduct(1)).thenReturn(product);
+        when(priceRuleService.epoch()).thenReturn(0L, 0L, 1L, 1L);
+        when(productService.getProduct(1)).thenReturn(productResponse(1L), discounted);
+
+        // Act
+        CachedResponse beforeRule = productResponseCache.getProduct(1, WireFormat.JSON);
+        CachedResponse afterRule = productResponseCache.getProduct(1, WireFormat.JSON);
+
+        // Assert
+        assertEquals("\"1\"", beforeRule.eTag());
+        assertEquals("\"1-9.00\"", afterRule.eTag());
+        assertTrue(new String(afterRule.body()).contains("\"effectivePrice\":9.00"));
+        verify(productService, times(2)).getProduct(1);
+    }
+
+    @Test
+    void getProduct_ConcurrentIdenticalReads_ShareOneReadUntilCatalogChanges() throws Exception {
+        // Arrange
+        Product product = new Product(1, "Product 1", "Description 1", BigDecimal.TEN, 5);
+        AtomicLong latestSequence = new AtomicLong(7);
+        CountDownLatch lookupStarted = new CountDownLatch(1);
+        CountDownLatch releaseLookups = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+
+        // Mocking behavior
+        when(productChangeLog.latestSequence()).thenAnswer(invocation -> latestSequence.get());
+        when(productRepository.getProduct(1)).thenAnswer(invocation -> {
+            lookupStarted.countDown();
+            releaseLookups.await();
+            return product;
+        });
+        when(productService.getProduct(1)).thenReturn(productResponse(1L));
+
+        // Act
+        List<Future<CachedResponse>> reads = new ArrayList<>();
+        reads.add(executor.submit(() -> productResponseCache.getProduct(1, WireFormat.JSON)));
+        lookupStarted.await();
+        for (int i = 0; i < 3; i++) {
+            reads.add(executor.submit(() -> productResponseCache.getProduct(1, WireFormat.JSON)));
+        }
+        Counter coalesced = meterRegistry.get(ProductResponseCache.COALESCED_COUNTER).tag("read", "product").counter();
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (coalesced.count() < 3 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        latestSequence.incrementAndGet();
+        Future<CachedResponse> afterChange = executor.submit(() -> productResponseCache.getProduct(1, WireFormat.JSON));
+        verify(productRepository, timeout(10_000).times(2)).getProduct(1);
+        releaseLookups.countDown();
+
+        // Assert
+        CachedResponse shared = reads.get(0).get(10, TimeUnit.SECONDS);
+        for (Future<CachedResponse> read : reads) {
+            assertSame(shared, read.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1L, afterChange.get(10, TimeUnit.SECONDS).version());
+        assertEquals(3.0, coalesced.count());
+        executor.shutdownNow();
+    }
+
+    @Test
+    void getAllProducts_CatalogUnchanged_ListingSerializedOnce() {
+        // Arrange
+        ApiResponse<List<Product>> listing = new ApiResponse<>(HttpStatus.OK.value(), true,
+                ProductResponseMessages.ALL_PRODUCTS_RETRIEVED_SUCCESSFULLY, List.of());
+
+        // Mocking behavior
+        when(productChangeLog.latestSequence()).thenReturn(7L, 7L, 8L);
+        when(productService.getAllProductSnapshots()).thenReturn(listing);
+
+        // Act
+        CachedResponse first = productResponseCache.getAllProducts(WireFormat.JSON);
+        CachedResponse second = productResponseCache.getAllProducts(WireFormat.JSON);
+        CachedResponse afterChange = productResponseCache.getAllProducts(WireFormat.JSON);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(8L, afterChange.version());
+        verify(productService, times(2)).getAllProductSnapshots();
+    }
+
+    @Test
+    void getAllProducts_CborRequested_CachedSeparatelyFromJson() throws Exception {
+        // Arrange
+        ApiResponse<List<Product>> listing = new ApiResponse<>(HttpStatus.OK.value(), true,
+                ProductResponseMessages.ALL_PRODUCTS_RETRIEVED_SUCCESSFULLY,
+                List.of(new Product(1, "Product 1", "Description 1", BigDecimal.TEN, 5)));
+
+        // Mocking behavior
+        when(productChangeLog.latestSequence()).thenReturn(7L);
+        when(productService.getAllProductSnapshots()).thenReturn(listing);
+
+        // Act
+        CachedResponse json = productResponseCache.getAllProducts(WireFormat.JSON);
+        CachedResponse cbor = productResponseCache.getAllProducts(WireFormat.CBOR);
+        CachedResponse cborAgain = productResponseCache.getAllProducts(WireFormat.CBOR);
+
+        // Assert
+        assertSame(cbor, cborAgain);
+        assertTrue(cbor.body().length < json.body().length);
+        assertEquals(new ObjectMapper().readTree(json.body()), new CBORMapper().readTree(cbor.body()));
+        verify(productService, times(2)).getAllProductSnapshots();
+    }
+
+    private static ApiResponse<ProductDto> productResponse(long version) {
+        ProductDto productDto = new ProductDto(1, "Product 1", "Description 1", BigDecimal.TEN, 5);
+        productDto.setVersion(version);
+        return new ApiResponse<>(HttpStatus.OK.value(), true,
+                ProductResponseMessages.PRODUCT_RETRIEVED_SUCCESSFULLY, productDto);
+    }
+}
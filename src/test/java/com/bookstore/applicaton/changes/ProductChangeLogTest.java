@@ -0,0 +1,67 @@
+package com.bookstore.applicaton.changes;
+
+import com.bookstore.applicaton.domain.Product;
+import com.bookstore.applicaton.dto.ProductChangeDto;
+import com.bookstore.applicaton.dto.ProductChangesDto;
+import com.bookstore.applicaton.event.ProductChangeType;
+import com.bookstore.applicaton.event.ProductChangedEvent;
+import com.bookstore.applicaton.mapper.ProductMapperImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductChangeLogTest {
+
+    private ProductChangeLog productChangeLog;
+
+    @BeforeEach
+    void setUp() {
+        productChangeLog = new ProductChangeLog(new ProductMapperImpl(), 4);
+    }
+
+    @Test
+    void read_AfterSequence_ReturnsLaterChangesInOrder() {
+        // Arrange
+        append(ProductChangeType.CREATED, 1);
+        append(ProductChangeType.UPDATED, 1);
+        append(ProductChangeType.DELETED, 1);
+
+        // Act
+        ProductChangesDto changes = productChangeLog.read(1, 10);
+
+        // Assert
+        assertEquals(List.of(2L, 3L), changes.getChanges().stream().map(ProductChangeDto::getSequence).toList());
+        assertEquals(ProductChangeType.UPDATED, changes.getChanges().get(0).getType());
+        assertNull(changes.getChanges().get(1).getProduct());
+        assertEquals(3, changes.getLastSequence());
+        assertFalse(changes.isResyncRequired());
+    }
+
+    @Test
+    void read_ReaderFellBehindCapacity_ResyncRequired() {
+        // Arrange
+        for (int productId = 1; productId <= 6; productId++) {
+            append(ProductChangeType.CREATED, productId);
+        }
+
+        // Act
+        ProductChangesDto behind = productChangeLog.read(1, 10);
+        ProductChangesDto fromOldest = productChangeLog.read(0, 10);
+
+        // Assert
+        assertTrue(behind.isResyncRequired());
+        assertEquals(6, behind.getLastSequence());
+        assertEquals(List.of(3L, 4L, 5L, 6L),
+                fromOldest.getChanges().stream().map(ProductChangeDto::getSequence).toList());
+    }
+
+    private void append(ProductChangeType type, int productId) {
+        Product product = type == ProductChangeType.DELETED
+                ? null : new Product(productId, "Product " + productId, "Description", BigDecimal.ONE, 1);
+        productChangeLog.onProductChanged(new ProductChangedEvent(type, productId, null, product));
+    }
+}
@@ -0,0 +1,41 @@
+package com.bookstore.applicaton.changes;
+
+import com.bookstore.applicaton.mapper.ProductMapperImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductChangeStreamTest {
+
+    private ProductChangeStream productChangeStream;
+
+    @BeforeEach
+    void setUp() {
+        productChangeStream = new ProductChangeStream(new ProductChangeLog(new ProductMapperImpl(), 4),
+                Duration.ofMinutes(1), 2, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        productChangeStream.stop();
+    }
+
+    @Test
+    void subscribe_MaximumSubscribersConnected_Refused() {
+        // Act
+        SseEmitter first = productChangeStream.subscribe(null);
+        SseEmitter second = productChangeStream.subscribe(null);
+        SseEmitter refused = productChangeStream.subscribe(null);
+
+        // Assert
+        assertNotNull(first);
+        assertNotNull(second);
+        assertNull(refused);
+        assertEquals(2, productChangeStream.subscriberCount());
+    }
+}
@@ -1,23 +1,32 @@
 package com.bookstore.applicaton.controller;
 
+import com.bookstore.applicaton.cache.ProductResponseCache;
+import com.bookstore.applicaton.cache.ProductResponseCache.CachedResponse;
 import com.bookstore.applicaton.common.ApiResponse;
+import com.bookstore.applicaton.common.WireFormat;
 import com.bookstore.applicaton.constants.ProductResponseMessages;
 import com.bookstore.applicaton.dto.ProductDto;
+import com.bookstore.applicaton.dto.ProductPageDto;
 import com.bookstore.applicaton.service.ProductService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.Mockito.*;
 
 class ProductControllerTest {
@@ -25,6 +34,9 @@ class ProductControllerTest {
     @Mock
     private ProductService productService;
 
+    @Mock
+    private ProductResponseCache productResponseCache;
+
     @InjectMocks
     private ProductController productController;
 
@@ -68,7 +80,7 @@ class ProductControllerTest {
         when(productService.getProduct(productId)).thenReturn(expectedResponse);
 
         // Act
-        ResponseEntity<ApiResponse<ProductDto>> responseEntity = productController.getProduct(productId);
+        ResponseEntity<?> responseEntity = productController.getProduct(productId, null, null);
 
         // Assert
         assertNotNull(responseEntity);
@@ -92,7 +104,7 @@ class ProductControllerTest {
         when(productService.updateProduct(productId, productDto)).thenReturn(expectedResponse);
 
         // Act
-        ResponseEntity<ApiResponse<ProductDto>> responseEntity = productController.updateProduct(productId, productDto);
+        ResponseEntity<ApiResponse<ProductDto>> responseEntity = productController.updateProduct(productId, null, productDto);
 
         // Assert
         assertNotNull(responseEntity);
@@ -167,7 +179,7 @@ class ProductControllerTest {
         when(productService.getAllProducts()).thenReturn(expectedResponse);
 
         // Act
-        ResponseEntity<ApiResponse<List<ProductDto>>> responseEntity = productController.getAllProducts();
+        ResponseEntity<?> responseEntity = productController.getAllProducts(null);
 
         // Assert
         assertNotNull(responseEntity);
@@ -178,4 +190,113 @@ class ProductControllerTest {
         // Verify that the service method was called
         verify(productService, times(1)).getAllProducts();
     }
-}
\ No newline at end of file
+
+    @Test
+    void getProductsPage_ValidLimit_PageRetrievedSuccessfully() {
+        // Arrange
+        ProductPageDto page = new ProductPageDto(List.of(
+                new ProductDto(3, "Product 3", "Description 3", BigDecimal.valueOf(70), 500)), 3);
+        ApiResponse<ProductPageDto> expectedResponse = new ApiResponse<>(HttpStatus.OK.value(), true,
+                ProductResponseMessages.PRODUCT_PAGE_RETRIEVED_SUCCESSFULLY, page);
+
+        // Mocking behavior
+        when(productService.getProductsPage(2, 1)).thenReturn(expectedResponse);
+
+        // Act
+        ResponseEntity<ApiResponse<ProductPageDto>> responseEntity = productController.getProductsPage(1, 2);
+
+        // Assert
+        assertNotNull(responseEntity);
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(expectedResponse, responseEntity.getBody());
+
+        // Verify that the service method was called
+        verify(productService, times(1)).getProductsPage(2, 1);
+    }
+
+    @Test
+    void reserveStock_InsufficientStock_ReturnsConflict() {
+        // Arrange
+        ApiResponse<ProductDto> expectedResponse = new ApiResponse<>(HttpStatus.CONFLICT.value(), false,
+                ProductResponseMessages.INSUFFICIENT_STOCK, null);
+
+        // Mocking behavior
+        when(productService.reserveStock(1, 5)).thenReturn(expectedResponse);
+
+        // Act
+        ResponseEntity<ApiResponse<ProductDto>> responseEntity = productController.reserveStock(1, 5);
+
+        // Assert
+        assertNotNull(responseEntity);
+        assertEquals(HttpStatus.CONFLICT, responseEntity.getStatusCode());
+        assertEquals(expectedResponse, responseEntity.getBody());
+
+        // Verify that the service method was called
+        verify(productService, times(1)).reserveStock(1, 5);
+    }
+
+    @Test
+    void getProduct_CachedResponse_ServedAsBytesOrNotModified() {
+        // Arrange
+        byte[] body = "{\"statusCode\":200}".getBytes(StandardCharsets.UTF_8);
+
+        // Mocking behavior
+        when(productResponseCache.getProduct(1, WireFormat.JSON)).thenReturn(new CachedResponse(200, body, 3L, "\"3\""));
+
+        // Act
+        ResponseEntity<?> notModified = productController.getProduct(1, "W/\"2\", \"3\"", null);
+        ResponseEntity<?> modified = productController.getProduct(1, "\"2\"", "application/json");
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+        assertNull(notModified.getBody());
+        assertEquals("\"3\"", notModified.getHeaders().getETag());
+        assertEquals(HttpStatus.OK, modified.getStatusCode());
+        assertEquals("\"3\"", modified.getHeaders().getETag());
+        assertSame(body, modified.getBody());
+
+        // Verify that the service was bypassed
+        verify(productService, never()).getProduct(1);
+    }
+
+    @Test
+    void getAllProducts_CborAccepted_CachedCborServed() {
+        // Arrange
+        byte[] body = {(byte) 0xA1};
+
+        // Mocking behavior
+        when(productResponseCache.getAllProducts(WireFormat.CBOR)).thenReturn(new CachedResponse(200, body, 5L, null));
+
+        // Act
+        ResponseEntity<?> responseEntity = productController.getAllProducts("application/cbor, application/json;q=0.5");
+
+        // Assert
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(MediaType.APPLICATION_CBOR, responseEntity.getHeaders().getContentType());
+        assertEquals(List.of(HttpHeaders.ACCEPT), responseEntity.getHeaders().getVary());
+        assertSame(body, responseEntity.getBody());
+        verify(productService, never()).getAllProducts();
+    }
+
+    @Test
+    void updateProduct_IfMatchGiven_ExpectedVersionPassedToService() {
+        // Arrange
+        ProductDto productDto = new ProductDto(1, "Product 1", "Description 1", BigDecimal.TEN, 5);
+        ApiResponse<ProductDto> expectedResponse = new ApiResponse<>(HttpStatus.PRECONDITION_FAILED.value(), false,
+                ProductResponseMessages.PRODUCT_VERSION_MISMATCH, null);
+
+        // Mocking behavior
+        when(productService.updateProduct(1, productDto, 4L)).thenReturn(expectedResponse);
+
+        // Act
+        ResponseEntity<ApiResponse<ProductDto>> responseEntity = productController.updateProduct(1, "\"4\"", productDto);
+        ResponseEntity<ApiResponse<ProductDto>> weakTag = productController.updateProduct(1, "W/\"4\"", productDto);
+
+        // Assert
+        assertEquals(HttpStatus.PRECONDITION_FAILED, responseEntity.getStatusCode());
+        assertEquals(HttpStatus.PRECONDITION_FAILED, weakTag.getStatusCode());
+
+        // Verify that the service method was called only for the strong tag
+        verify(productService, times(1)).updateProduct(1, productDto, 4L);
+    }
+}
@@ -0,0 +1,55 @@
+package com.bookstore.applicaton.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void minusPercent_FractionOfCent_RoundedHalfEven() {
+        // Arrange
+        Money price = Money.of(new BigDecimal("0.25"));
+
+        // Act & Assert
+        assertEquals(Money.of(new BigDecimal("0.22")), price.minusPercent(BigDecimal.TEN, RoundingMode.HALF_EVEN));
+        assertEquals(Money.of(new BigDecimal("0.23")), price.minusPercent(BigDecimal.TEN, RoundingMode.HALF_UP));
+    }
+
+    @Test
+    void plusPercent_NonTerminatingRate_DoesNotThrow() {
+        // Arrange
+        Money price = Money.of(new BigDecimal("30.00"));
+        BigDecimal oneThird = new BigDecimal("33.333333333333333333333333");
+
+        // Act
+        Money taxed = price.plusPercent(oneThird, Money.DEFAULT_ROUNDING);
+
+        // Assert
+        assertEquals(Money.of(new BigDecimal("40.00")), taxed);
+    }
+
+    @Test
+    void plusPercent_ProductExceedsLong_MatchesBigDecimal() {
+        // Arrange
+        Money price = Money.ofMinor(Long.MAX_VALUE / 150, Money.DEFAULT_CURRENCY);
+
+        // Act
+        Money taxed = price.plusPercent(BigDecimal.valueOf(50), RoundingMode.HALF_EVEN);
+
+        // Assert
+        BigDecimal expected = price.toBigDecimal().multiply(new BigDecimal("1.5")).setScale(2, RoundingMode.HALF_EVEN);
+        assertEquals(expected, taxed.toBigDecimal());
+    }
+
+    @Test
+    void of_MoreDecimalsThanCurrency_Rejected() {
+        // Act & Assert
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("1.234")));
+        assertFalse(Money.isExact(new BigDecimal("1.234")));
+        assertEquals(new BigDecimal("1.20"), Money.of(new BigDecimal("1.2")).toBigDecimal());
+    }
+}
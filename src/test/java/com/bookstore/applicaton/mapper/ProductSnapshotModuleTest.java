@@ -0,0 +1,40 @@
+package com.bookstore.applicaton.mapper;
+
+import com.bookstore.applicaton.domain.Money;
+import com.bookstore.applicaton.domain.Product;
+import com.bookstore.applicaton.dto.ProductDto;
+import com.bookstore.applicaton.pricing.PriceRuleService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductSnapshotModuleTest {
+
+    @Test
+    void serialize_Snapshots_SameBytesAsMappedDtos() throws Exception {
+        // Arrange
+        PriceRuleService priceRuleService = mock(PriceRuleService.class);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new ProductSnapshotModule(priceRuleService));
+        ProductMapper productMapper = new ProductMapperImpl();
+        Product discounted = new Product(1, "Product 1", "Description 1", new BigDecimal("10.00"), 5).withVersion(3L);
+        Product unpriced = new Product(2, "Product 2", null, null, null);
+        ProductDto discountedDto = productMapper.toDto(discounted);
+        discountedDto.setEffectivePrice(new BigDecimal("9.00"));
+
+        // Mocking behavior
+        when(priceRuleService.effectivePrice(discounted)).thenReturn(Money.of(new BigDecimal("9.00")));
+
+        // Act
+        String snapshots = objectMapper.writeValueAsString(List.of(discounted, unpriced));
+        String dtos = objectMapper.writeValueAsString(List.of(discountedDto, productMapper.toDto(unpriced)));
+
+        // Assert
+        assertEquals(dtos, snapshots);
+    }
+}
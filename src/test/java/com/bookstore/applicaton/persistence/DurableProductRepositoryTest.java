@@ -0,0 +1,93 @@
+package com.bookstore.applicaton.persistence;
+
+import com.bookstore.applicaton.domain.Money;
+import com.bookstore.applicaton.domain.Product;
+import com.bookstore.applicaton.repository.InMemoryProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class DurableProductRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    private DurableProductRepository open() throws Exception {
+        DurableProductRepository repository = new DurableProductRepository(new InMemoryProductRepository(),
+                directory.toString(), true, Duration.ofHours(1));
+        repository.start();
+        return repository;
+    }
+
+    @Test
+    void restart_MutationsLogged_CatalogAndIdCounterRecovered() throws Exception {
+        // Arrange
+        DurableProductRepository repository = open();
+        repository.addProduct(new Product(1, "Product 1", "Description 1", new BigDecimal("12.50"), 3));
+        repository.addProducts(List.of(
+                new Product(2, "Product 2", null, BigDecimal.TEN, 5),
+                new Product(3, "Product 3", "Description 3", BigDecimal.ONE, 7)));
+        repository.updateProduct(1, new Product(1, "Product 1 updated", "Description 1", new BigDecimal("9.99"), 1));
+        repository.deleteProduct(3);
+        repository.stop();
+
+        // Act
+        DurableProductRepository recovered = open();
+
+        // Assert
+        assertEquals(2, recovered.getAllProducts().size());
+        assertEquals("Product 1 updated", recovered.getProduct(1).getName());
+        assertEquals(Money.of(new BigDecimal("9.99")), recovered.getProduct(1).getPrice());
+        assertNull(recovered.getProduct(2).getDescription());
+        assertNull(recovered.getProduct(3));
+        assertEquals(3, recovered.getHighestProductId());
+        recovered.stop();
+    }
+
+    @Test
+    void restart_SnapshotThenMoreMutations_SnapshotAndLogTailCombined() throws Exception {
+        // Arrange
+        DurableProductRepository repository = open();
+        repository.addProduct(new Product(1, "Product 1", "Description 1", BigDecimal.TEN, 3));
+        repository.addProduct(new Product(2, "Product 2", "Description 2", BigDecimal.TEN, 3));
+        repository.snapshot();
+        repository.deleteProduct(1);
+        repository.addProduct(new Product(4, "Product 4", "Description 4", BigDecimal.ONE, 1));
+        repository.stop();
+
+        // Act
+        DurableProductRepository recovered = open();
+
+        // Assert
+        assertNull(recovered.getProduct(1));
+        assertNotNull(recovered.getProduct(2));
+        assertNotNull(recovered.getProduct(4));
+        assertEquals(4, recovered.getHighestProductId());
+        recovered.stop();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void constructor_OtherRepositoryType_FailsNamingBothProperties() {
+        // Arrange
+        ObjectProvider<InMemoryProductRepository> noInMemoryRepository = mock(ObjectProvider.class);
+
+        // Act
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> new DurableProductRepository(noInMemoryRepository, "off-heap", directory.toString(), true,
+                        Duration.ofHours(1)));
+
+        // Assert
+        assertTrue(exception.getMessage().contains("bookstore.persistence.enabled"));
+        assertTrue(exception.getMessage().contains("bookstore.repository.type=in-memory"));
+        assertTrue(exception.getMessage().contains("off-heap"));
+    }
+}
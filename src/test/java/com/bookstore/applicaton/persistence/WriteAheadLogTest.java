@@ -0,0 +1,155 @@
+package com.bookstore.applicaton.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteAheadLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replay_AppendFailedMidWrite_OnlyAcknowledgedRecordsReplayed() throws Exception {
+        // Arrange
+        WriteAheadLog log = new WriteAheadLog(directory, 1, true, path -> new FailingChannel(FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND), 2));
+
+        // Act
+        log.append(WriteAheadLog.deleteRecords(List.of(1))).join();
+        CompletionException failure = assertThrows(CompletionException.class,
+                () -> log.append(WriteAheadLog.deleteRecords(List.of(2, 3))).join());
+        log.append(WriteAheadLog.deleteRecords(List.of(4))).join();
+        log.close();
+        List<Integer> replayed = new ArrayList<>();
+        for (long segment : WriteAheadLog.listSegments(directory)) {
+            WriteAheadLog.replay(directory, segment, record -> {
+                assertEquals(WriteAheadLog.DELETE, record.get());
+                replayed.add(record.getInt());
+            });
+        }
+
+        // Assert
+        assertInstanceOf(IOException.class, failure.getCause());
+        assertEquals(List.of(1, 4), replayed);
+    }
+
+    // Writes the first three quarters of its n-th gathering write, then fails it
+    private static final class FailingChannel extends FileChannel {
+
+        private final FileChannel delegate;
+        private int writesUntilFailure;
+
+        FailingChannel(FileChannel delegate, int failingWrite) {
+            this.delegate = delegate;
+            this.writesUntilFailure = failingWrite;
+        }
+
+        @Override
+        public long write(ByteBuffer[] sources, int offset, int length) throws IOException {
+            if (--writesUntilFailure == 0) {
+                ByteBuffer torn = sources[offset].duplicate();
+                torn.limit(torn.position() + torn.remaining() * 3 / 4);
+                delegate.write(torn);
+                throw new IOException("No space left on device");
+            }
+            return delegate.write(sources, offset, length);
+        }
+
+        @Override
+        public int write(ByteBuffer source) throws IOException {
+            return (int) write(new ByteBuffer[]{source}, 0, 1);
+        }
+
+        @Override
+        public int read(ByteBuffer destination) throws IOException {
+            return delegate.read(destination);
+        }
+
+        @Override
+        public long read(ByteBuffer[] destinations, int offset, int length) throws IOException {
+            return delegate.read(destinations, offset, length);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return delegate.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            delegate.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return delegate.size();
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            delegate.truncate(size);
+            return this;
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            delegate.force(metaData);
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return delegate.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel source, long position, long count) throws IOException {
+            return delegate.transferFrom(source, position, count);
+        }
+
+        @Override
+        public int read(ByteBuffer destination, long position) throws IOException {
+            return delegate.read(destination, position);
+        }
+
+        @Override
+        public int write(ByteBuffer source, long position) throws IOException {
+            return delegate.write(source, position);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return delegate.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return delegate.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return delegate.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            delegate.close();
+        }
+    }
+}
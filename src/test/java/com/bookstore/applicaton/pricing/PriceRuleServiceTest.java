@@ -0,0 +1,127 @@
+package com.bookstore.applicaton.pricing;
+
+import com.bookstore.applicaton.common.ApiResponse;
+import com.bookstore.applicaton.constants.ProductResponseMessages;
+import com.bookstore.applicaton.domain.Money;
+import com.bookstore.applicaton.domain.Product;
+import com.bookstore.applicaton.dto.PriceRuleDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriceRuleServiceTest {
+
+    private static final Instant NOW = Instant.parse("2024-11-29T00:00:00Z");
+
+    private MutableClock clock;
+    private PriceRuleService priceRuleService;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(NOW);
+        priceRuleService = new PriceRuleService(clock, Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        priceRuleService.stop();
+    }
+
+    @Test
+    void effectivePrice_RulesStartAndEnd_AppliedOnlyWithinTheirTimeBox() {
+        // Arrange
+        Product inRange = new Product(50, "Product 50", "Description", new BigDecimal("20.00"), 1);
+        Product listed = new Product(500, "Product 500", "Description", new BigDecimal("20.00"), 1);
+        Product other = new Product(501, "Product 501", "Description", new BigDecimal("20.00"), 1);
+        AtomicInteger invalidations = new AtomicInteger();
+        priceRuleService.addInvalidationListener(invalidations::incrementAndGet);
+
+        // Act
+        priceRuleService.createRule(new PriceRuleDto(null, "tax", BigDecimal.TEN, null, null, null,
+                null, null, null));
+        priceRuleService.createRule(new PriceRuleDto(null, "discount", BigDecimal.valueOf(50), null, 1, 100,
+                NOW.plusSeconds(3600), NOW.plusSeconds(7200), null));
+        priceRuleService.createRule(new PriceRuleDto(null, "discount", BigDecimal.valueOf(25), List.of(500), null, null,
+                null, NOW.plusSeconds(3600), null));
+        long epochBefore = priceRuleService.epoch();
+        Money inRangeBefore = priceRuleService.effectivePrice(inRange);
+        Money listedBefore = priceRuleService.effectivePrice(listed);
+        clock.set(NOW.plusSeconds(3600));
+        Money inRangeDuring = priceRuleService.effectivePrice(inRange);
+        Money listedAfter = priceRuleService.effectivePrice(listed);
+        clock.set(NOW.plusSeconds(7200));
+        Money inRangeAfter = priceRuleService.effectivePrice(inRange);
+
+        // Assert
+        assertEquals(Money.of(new BigDecimal("22.00")), inRangeBefore);
+        assertEquals(Money.of(new BigDecimal("16.50")), listedBefore); // Discount first, then tax
+        assertEquals(Money.of(new BigDecimal("11.00")), inRangeDuring);
+        assertEquals(Money.of(new BigDecimal("22.00")), listedAfter);
+        assertEquals(Money.of(new BigDecimal("22.00")), inRangeAfter);
+        assertEquals(Money.of(new BigDecimal("22.00")), priceRuleService.effectivePrice(other));
+        assertEquals(epochBefore + 2, priceRuleService.epoch());
+        assertEquals(5, invalidations.get());
+        assertEquals(1, priceRuleService.getRules().getData().size()); // Ended rules are dropped
+    }
+
+    @Test
+    void createRule_InvalidRule_BadRequestAndDeleteUnknownRule_NotFound() {
+        // Act
+        ApiResponse<PriceRuleDto> ended = priceRuleService.createRule(new PriceRuleDto(null, "discount",
+                BigDecimal.TEN, null, null, null, null, NOW, null));
+        ApiResponse<PriceRuleDto> tooLarge = priceRuleService.createRule(new PriceRuleDto(null, "discount",
+                BigDecimal.valueOf(101), null, null, null, null, null, null));
+        ApiResponse<PriceRuleDto> created = priceRuleService.createRule(new PriceRuleDto(null, "discount",
+                BigDecimal.TEN, null, null, null, null, null, null));
+        ApiResponse<PriceRuleDto> deleted = priceRuleService.deleteRule(created.getData().getRuleId());
+        ApiResponse<PriceRuleDto> deletedAgain = priceRuleService.deleteRule(created.getData().getRuleId());
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST.value(), ended.getStatusCode());
+        assertEquals(ProductResponseMessages.INVALID_PRICE_RULE, tooLarge.getMessage());
+        assertEquals(HttpStatus.CREATED.value(), created.getStatusCode());
+        assertTrue(created.getData().getActive());
+        assertEquals(HttpStatus.OK.value(), deleted.getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND.value(), deletedAgain.getStatusCode());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void set(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.bookstore.applicaton.pricing;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    @Test
+    void schedule_DelaysBeyondOneRevolution_FiredInOrderAndNeverEarly() throws InterruptedException {
+        // Arrange
+        long[] delaysMillis = {100, 0, 35};
+        List<Long> fired = new CopyOnWriteArrayList<>();
+        long[] firedAfterNanos = new long[delaysMillis.length];
+        CountDownLatch done = new CountDownLatch(delaysMillis.length);
+        long startNanos = System.nanoTime();
+
+        // Act
+        try (TimingWheel timingWheel = new TimingWheel(Duration.ofMillis(10), 4, "test-wheel")) {
+            // 4 slots of 10ms: the 100ms timer goes around the wheel twice before firing
+            for (int i = 0; i < delaysMillis.length; i++) {
+                int index = i;
+                timingWheel.schedule(Duration.ofMillis(delaysMillis[i]), () -> {
+                    firedAfterNanos[index] = System.nanoTime() - startNanos;
+                    fired.add(delaysMillis[index]);
+                    done.countDown();
+                });
+            }
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+        }
+
+        // Assert
+        assertEquals(List.of(0L, 35L, 100L), fired);
+        for (int i = 0; i < delaysMillis.length; i++) {
+            assertTrue(firedAfterNanos[i] >= TimeUnit.MILLISECONDS.toNanos(delaysMillis[i]));
+        }
+    }
+}
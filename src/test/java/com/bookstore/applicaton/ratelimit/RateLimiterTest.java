@@ -0,0 +1,145 @@
+package com.bookstore.applicaton.ratelimit;
+
+import com.bookstore.applicaton.constants.ProductResponseMessages;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("bookstore.ratelimit.read.rate", "10")
+                .withProperty("bookstore.ratelimit.read.burst", "3")
+                .withProperty("bookstore.ratelimit.listing.rate", "0")
+                .withProperty("bookstore.ratelimit.listing.concurrency", "1");
+        rateLimiter = new RateLimiter(environment, meterRegistry, 2);
+    }
+
+    @Test
+    void admit_BurstSpent_RejectsUntilTokenAdded() {
+        // Arrange
+        long now = 0;
+        for (int i = 0; i < 3; i++) {
+            admitAndRelease("a", EndpointClass.READ, now);
+        }
+
+        // Act
+        RateLimiter.Decision rejected = rateLimiter.admit("a", EndpointClass.READ, now);
+        RateLimiter.Decision otherClient = rateLimiter.admit("b", EndpointClass.READ, now);
+        RateLimiter.Decision afterInterval = rateLimiter.admit("a", EndpointClass.READ,
+                now + TimeUnit.MILLISECONDS.toNanos(100));
+
+        // Assert
+        assertEquals(RateLimiter.Decision.Outcome.RATE_LIMITED, rejected.outcome());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), rejected.retryAfterNanos());
+        assertTrue(otherClient.admitted());
+        assertTrue(afterInterval.admitted());
+        assertEquals(5, decisions("read", "admitted"));
+        assertEquals(1, decisions("read", "rate_limited"));
+    }
+
+    @Test
+    void concurrencyLimit_Defaults_FitTheDefaultRequestThreadPool() {
+        // Arrange
+        RateLimiter defaults = new RateLimiter(new MockEnvironment(), new SimpleMeterRegistry(), 2);
+
+        // Act
+        int total = 0;
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            total += defaults.concurrencyLimit(endpointClass);
+        }
+
+        // Assert
+        assertEquals(1, rateLimiter.concurrencyLimit(EndpointClass.LISTING));
+        assertTrue(total < 200, "default concurrency limits must stay below server.tomcat.threads.max");
+    }
+
+    @Test
+    void admit_ConcurrencyLimitReached_RejectsUntilReleased() {
+        // Act
+        RateLimiter.Decision first = rateLimiter.admit("a", EndpointClass.LISTING, 0);
+        RateLimiter.Decision second = rateLimiter.admit("b", EndpointClass.LISTING, 0);
+        double inFlight = meterRegistry.get(RateLimiter.IN_FLIGHT_GAUGE).tag("class", "listing").gauge().value();
+        rateLimiter.release(EndpointClass.LISTING);
+        RateLimiter.Decision third = rateLimiter.admit("b", EndpointClass.LISTING, 0);
+
+        // Assert
+        assertTrue(first.admitted());
+        assertEquals(RateLimiter.Decision.Outcome.CONCURRENCY_LIMITED, second.outcome());
+        assertTrue(second.retryAfterNanos() > 0);
+        assertEquals(1, inFlight);
+        assertTrue(third.admitted());
+        assertEquals(1, decisions("listing", "concurrency_limited"));
+    }
+
+    @Test
+    void admit_TooManyClients_NewClientsShareBudgetUntilIdleBucketsSwept() {
+        // Arrange
+        long now = System.nanoTime();
+        admitAndRelease("a", EndpointClass.READ, now);
+        admitAndRelease("b", EndpointClass.READ, now);
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            admitAndRelease("c" + i, EndpointClass.READ, now);
+        }
+        RateLimiter.Decision sharedBudgetSpent = rateLimiter.admit("d", EndpointClass.READ, now);
+        RateLimiter.Decision afterSweep = rateLimiter.admit("d", EndpointClass.READ,
+                now + TimeUnit.SECONDS.toNanos(2));
+
+        // Assert
+        assertEquals(RateLimiter.Decision.Outcome.RATE_LIMITED, sharedBudgetSpent.outcome());
+        assertTrue(afterSweep.admitted());
+        assertEquals(1, rateLimiter.trackedBuckets());
+    }
+
+    @Test
+    void preHandle_Rejected_Writes429WithRetryAfterAndSkipsAsyncDispatch() throws Exception {
+        // Arrange
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(rateLimiter, new ObjectMapper(), "X-Client-Id");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/products");
+        request.addHeader("X-Client-Id", "a");
+        rateLimiter.admit("other", EndpointClass.LISTING, System.nanoTime());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        boolean admitted = interceptor.preHandle(request, response, null);
+        request.setDispatcherType(DispatcherType.ASYNC);
+        boolean asyncDispatch = interceptor.preHandle(request, new MockHttpServletResponse(), null);
+
+        // Assert
+        assertFalse(admitted);
+        assertTrue(asyncDispatch);
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains(ProductResponseMessages.CONCURRENCY_LIMIT_EXCEEDED));
+    }
+
+    private void admitAndRelease(String client, EndpointClass endpointClass, long nowNanos) {
+        assertTrue(rateLimiter.admit(client, endpointClass, nowNanos).admitted());
+        rateLimiter.release(endpointClass);
+    }
+
+    private double decisions(String endpointClass, String decision) {
+        return meterRegistry.get(RateLimiter.DECISION_COUNTER)
+                .tag("class", endpointClass).tag("decision", decision).counter().count();
+    }
+}
@@ -0,0 +1,85 @@
+package com.bookstore.applicaton.reactive;
+
+import com.bookstore.applicaton.changes.ProductChangeLog;
+import com.bookstore.applicaton.domain.Product;
+import com.bookstore.applicaton.dto.ProductChangeDto;
+import com.bookstore.applicaton.event.ProductChangeType;
+import com.bookstore.applicaton.event.ProductChangedEvent;
+import com.bookstore.applicaton.mapper.ProductMapperImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactiveProductChangeStreamTest {
+
+    private ProductChangeLog productChangeLog;
+    private Scheduler drainScheduler;
+    private ReactiveProductChangeStream changeStream;
+
+    @BeforeEach
+    void setUp() {
+        productChangeLog = new ProductChangeLog(new ProductMapperImpl(), 16);
+        drainScheduler = Schedulers.newSingle("change-drain");
+        changeStream = new ReactiveProductChangeStream(productChangeLog, Duration.ofMinutes(1), drainScheduler);
+    }
+
+    @AfterEach
+    void tearDown() {
+        drainScheduler.dispose();
+    }
+
+    @Test
+    void subscribe_SubscriberStalled_AppendsReturnAndChangesFollowOnceItResumes() throws Exception {
+        // Arrange
+        CountDownLatch firstReceived = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        CountDownLatch allReceived = new CountDownLatch(3);
+        List<Long> received = new CopyOnWriteArrayList<>();
+        Disposable subscription = changeStream.subscribe(null).subscribe(event -> {
+            received.add(((ProductChangeDto) event.data()).getSequence());
+            firstReceived.countDown();
+            allReceived.countDown();
+            awaitQuietly(resume);
+        });
+
+        // Act
+        append(1);
+        assertTrue(firstReceived.await(5, TimeUnit.SECONDS));
+        // The subscriber is stuck in its first event; appends must not wait for it
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            append(2);
+            append(3);
+        });
+        resume.countDown();
+
+        // Assert
+        assertTrue(allReceived.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1L, 2L, 3L), received);
+        subscription.dispose();
+    }
+
+    private void append(int productId) {
+        productChangeLog.onProductChanged(new ProductChangedEvent(ProductChangeType.CREATED, productId, null,
+                new Product(productId, "Product " + productId, null, BigDecimal.TEN, 1)));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.bookstore.applicaton.reactive;
+
+import com.bookstore.applicaton.cache.ProductResponseCache;
+import com.bookstore.applicaton.common.ApiResponse;
+import com.bookstore.applicaton.common.WireFormat;
+import com.bookstore.applicaton.constants.ProductResponseMessages;
+import com.bookstore.applicaton.dto.ProductDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+class ReactiveProductHandlerTest {
+
+    @Mock
+    private ReactiveProductService reactiveProductService;
+
+    @Mock
+    private ReactiveProductChangeStream reactiveProductChangeStream;
+
+    @Mock
+    private ProductResponseCache productResponseCache;
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReactiveProductHandler handler = new ReactiveProductHandler(reactiveProductService,
+                reactiveProductChangeStream, productResponseCache);
+        webTestClient = WebTestClient.bindToRouterFunction(handler.routes()).build();
+    }
+
+    @Test
+    void getAllProducts_NdjsonAccepted_ProductsStreamed() {
+        // Arrange
+        ProductDto first = new ProductDto(1, "Product 1", "Description 1", BigDecimal.TEN, 5);
+        ProductDto second = new ProductDto(2, "Product 2", "Description 2", BigDecimal.ONE, 7);
+
+        // Mocking behavior
+        when(reactiveProductService.streamProducts(null)).thenReturn(Flux.just(first, second));
+
+        // Act
+        List<ProductDto> products = webTestClient.get().uri("/api/products")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(ProductDto.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        // Assert
+        assertEquals(List.of(first, second), products);
+    }
+
+    @Test
+    void getProduct_NotCachedOrMalformedId_ServiceResponseOrBadRequest() {
+        // Arrange
+        ApiResponse<ProductDto> notFound = new ApiResponse<>(HttpStatus.NOT_FOUND.value(), false,
+                ProductResponseMessages.PRODUCT_NOT_FOUND, null);
+
+        // Mocking behavior
+        when(productResponseCache.getProduct(42, WireFormat.JSON)).thenReturn(null);
+        when(reactiveProductService.getProduct(42)).thenReturn(Mono.just(notFound));
+
+        // Act & Assert
+        webTestClient.get().uri("/api/products/42")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo(ProductResponseMessages.PRODUCT_NOT_FOUND);
+        webTestClient.get().uri("/api/products/not-a-number")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+}
@@ -0,0 +1,55 @@
+package com.bookstore.applicaton.reactive;
+
+import com.bookstore.applicaton.dto.ProductDto;
+import com.bookstore.applicaton.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class ReactiveProductServiceTest {
+
+    @Mock
+    private ProductService productService;
+
+    private ReactiveProductService reactiveProductService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        reactiveProductService = new ReactiveProductService(productService, Schedulers.immediate());
+    }
+
+    @Test
+    void streamProducts_SubscriberTakesThree_OnlyThreeReadAndStreamClosed() {
+        // Arrange
+        AtomicInteger read = new AtomicInteger();
+        AtomicBoolean closed = new AtomicBoolean();
+
+        // Mocking behavior
+        when(productService.streamProducts(null)).thenReturn(IntStream.rangeClosed(1, 100_000)
+                .mapToObj(productId -> {
+                    read.incrementAndGet();
+                    return new ProductDto(productId, "Product " + productId, "Description", BigDecimal.TEN, 5);
+                })
+                .onClose(() -> closed.set(true)));
+
+        // Act
+        List<ProductDto> products = reactiveProductService.streamProducts(null).take(3).collectList().block();
+
+        // Assert
+        assertEquals(List.of(1, 2, 3), products.stream().map(ProductDto::getProductId).toList());
+        assertEquals(3, read.get());
+        assertTrue(closed.get());
+    }
+}
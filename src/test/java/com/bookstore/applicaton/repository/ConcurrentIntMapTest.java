@@ -0,0 +1,64 @@
+package com.bookstore.applicaton.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentIntMapTest {
+
+    @Test
+    void compute_DenseAndSparseKeys_StoredAndIteratedInKeyOrder() {
+        // Arrange
+        ConcurrentIntMap<String> map = new ConcurrentIntMap<>();
+        int[] keys = {5, -7, 100_000, ConcurrentIntMap.MAX_DENSE_KEY + 1, 0, Integer.MAX_VALUE, 64};
+
+        // Act
+        for (int key : keys) {
+            map.put(key, "v" + key);
+        }
+        String removed = map.remove(100_000);
+        String unchanged = map.compute(5, existing -> existing);
+
+        // Assert
+        assertEquals("v100000", removed);
+        assertEquals("v5", unchanged);
+        assertNull(map.get(100_000));
+        assertNull(map.get(6));
+        assertEquals("v" + Integer.MAX_VALUE, map.get(Integer.MAX_VALUE));
+        assertEquals(6, map.size());
+        assertEquals(List.of("v-7", "v0", "v5", "v64", "v" + (ConcurrentIntMap.MAX_DENSE_KEY + 1), "v" + Integer.MAX_VALUE),
+                map.values(null).toList());
+        assertEquals(List.of("v64", "v" + (ConcurrentIntMap.MAX_DENSE_KEY + 1), "v" + Integer.MAX_VALUE),
+                map.values(5).toList());
+        assertEquals(List.of("v0", "v5", "v64"), map.values(-7).limit(3).toList());
+    }
+
+    @Test
+    void compute_ConcurrentIncrementsAcrossDirectoryGrowth_NoUpdateLost() throws InterruptedException {
+        // Arrange
+        ConcurrentIntMap<Integer> map = new ConcurrentIntMap<>();
+        int keys = 50_000;
+        List<Thread> threads = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 4; i++) {
+            Thread thread = new Thread(() -> {
+                for (int key = 0; key < keys; key++) {
+                    map.compute(key, existing -> existing == null ? 1 : existing + 1);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Assert
+        assertEquals(keys, map.size());
+        assertTrue(map.values(null).allMatch(count -> count == 4));
+    }
+}
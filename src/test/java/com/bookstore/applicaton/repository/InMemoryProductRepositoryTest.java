@@ -0,0 +1,154 @@
+package com.bookstore.applicaton.repository;
+
+import com.bookstore.applicaton.domain.Money;
+import com.bookstore.applicaton.domain.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryProductRepositoryTest {
+
+    private InMemoryProductRepository productRepository;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = new InMemoryProductRepository();
+        productRepository.addProduct(new Product(1, "Product 1", "Description 1", BigDecimal.valueOf(30), 0));
+        productRepository.addProduct(new Product(2, "Product 2", "Description 2", BigDecimal.valueOf(10), 5));
+        productRepository.addProduct(new Product(3, "Product 3", "Description 3", BigDecimal.valueOf(20), 2));
+    }
+
+    @Test
+    void getProducts_AfterCursor_ReturnsNextProductsInIdOrder() {
+        // Act
+        List<Product> page = productRepository.getProducts(1, 10);
+
+        // Assert
+        assertEquals(List.of(2, 3), page.stream().map(Product::getProductId).toList());
+    }
+
+    @Test
+    void findByPriceRange_BoundsGiven_ReturnsProductsSortedByPrice() {
+        // Act
+        List<Product> products = productRepository.findByPriceRange(
+                Money.of(BigDecimal.valueOf(10)), Money.of(BigDecimal.valueOf(20)), 10);
+
+        // Assert
+        assertEquals(List.of(2, 3), products.stream().map(Product::getProductId).toList());
+    }
+
+    @Test
+    void findByPriceRange_ProductRepriced_IndexFollowsUpdate() {
+        // Arrange
+        Product product = productRepository.getProduct(1).withPrice(Money.of(BigDecimal.valueOf(5)));
+
+        // Act
+        productRepository.updateProduct(1, product);
+        List<Product> cheapest = productRepository.findCheapest(1);
+
+        // Assert
+        assertEquals(1, cheapest.get(0).getProductId());
+        assertEquals(3, productRepository.findByPriceRange(null, null, 10).size());
+    }
+
+    @Test
+    void findInStock_ProductDeleted_OnlyRemainingStockedProductsReturned() {
+        // Act
+        productRepository.deleteProduct(3);
+        List<Product> inStock = productRepository.findInStock(1, 10);
+
+        // Assert
+        assertEquals(List.of(2), inStock.stream().map(Product::getProductId).toList());
+    }
+
+    @Test
+    void adjustStock_ConcurrentReservations_NeverOversells() throws Exception {
+        // Arrange
+        productRepository.addProduct(new Product(4, "Product 4", "Description 4", BigDecimal.ONE, 10_000));
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        List<Future<Integer>> futures = new ArrayList<>();
+
+        // Act
+        for (int thread = 0; thread < 32; thread++) {
+            futures.add(executor.submit(() -> {
+                int applied = 0;
+                for (int attempt = 0; attempt < 1_000; attempt++) {
+                    if (productRepository.adjustStock(4, -1, 1).status() == StockUpdate.Status.APPLIED) {
+                        applied++;
+                    }
+                }
+                return applied;
+            }));
+        }
+        int totalApplied = 0;
+        for (Future<Integer> future : futures) {
+            totalApplied += future.get();
+        }
+        executor.shutdown();
+
+        // Assert
+        Product product = productRepository.getProduct(4);
+        assertEquals(10_000, totalApplied);
+        assertEquals(0, product.getQuantityAvailable());
+        assertEquals(10_000, product.getQuantityReserved());
+        assertTrue(productRepository.findInStock(1, 10).stream().noneMatch(p -> p.getProductId() == 4));
+    }
+
+    @Test
+    void adjustStock_CommitMoreThanReserved_RejectedWithoutChange() {
+        // Arrange
+        productRepository.adjustStock(2, -2, 2);
+
+        // Act
+        StockUpdate update = productRepository.adjustStock(2, 0, -3);
+
+        // Assert
+        assertEquals(StockUpdate.Status.INSUFFICIENT_STOCK, update.status());
+        assertEquals(3, productRepository.getProduct(2).getQuantityAvailable());
+        assertEquals(2, productRepository.getProduct(2).getQuantityReserved());
+        assertEquals(StockUpdate.Status.NOT_FOUND, productRepository.adjustStock(99, -1, 1).status());
+    }
+
+    @Test
+    void updateProduct_StaleVersion_RejectedAndCurrentVersionIncremented() {
+        // Arrange
+        Product first = productRepository.getProduct(2).withName("First edit");
+        Product second = productRepository.getProduct(2).withName("Second edit");
+
+        // Act
+        Product firstStored = productRepository.updateProduct(2, first);
+        Product secondStored = productRepository.updateProduct(2, second);
+
+        // Assert
+        assertNotNull(firstStored);
+        assertNull(secondStored);
+        assertSame(firstStored, productRepository.getProduct(2));
+        assertEquals("First edit", productRepository.getProduct(2).getName());
+        assertEquals(2L, productRepository.getProduct(2).getVersion());
+        assertEquals(3L, productRepository.adjustStock(2, -1, 1).product().getVersion());
+    }
+
+    @Test
+    void getProduct_UpdatedAfterRead_ReadSnapshotUnchanged() {
+        // Arrange
+        Product read = productRepository.getProduct(2);
+
+        // Act
+        productRepository.updateProduct(2, read.withName("Renamed"));
+        productRepository.adjustStock(2, -1, 1);
+
+        // Assert
+        assertEquals("Product 2", read.getName());
+        assertEquals(1L, read.getVersion());
+        assertEquals(0, read.getQuantityReserved());
+        assertEquals(3L, productRepository.getProduct(2).getVersion());
+    }
+}
@@ -0,0 +1,88 @@
+package com.bookstore.applicaton.repository;
+
+import com.bookstore.applicaton.domain.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapProductRepositoryTest {
+
+    private OffHeapProductRepository productRepository;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = new OffHeapProductRepository();
+        productRepository.addProduct(new Product(1, "Product 1", "Description 1", new BigDecimal("12.50"), 3));
+        productRepository.addProduct(new Product(2, "Produit 2", null, BigDecimal.TEN, null));
+        productRepository.addProduct(new Product(70000, "Product 3", "Description 3", new BigDecimal("0.99"), 0));
+    }
+
+    @Test
+    void getProduct_StoredOffHeap_DecodedExactly() {
+        // Act
+        Product product = productRepository.getProduct(1);
+
+        // Assert
+        assertEquals(new Product(1, "Product 1", "Description 1", new BigDecimal("12.50"), 3), product);
+        assertEquals(new Product(2, "Produit 2", null, BigDecimal.TEN, null), productRepository.getProduct(2));
+        assertNull(productRepository.getProduct(3));
+    }
+
+    @Test
+    void updateAndDelete_ExistingProducts_SlotsRewritten() {
+        // Act
+        Product updated = productRepository.updateProduct(1, new Product(1, "Renamed", "Description 1",
+                new BigDecimal("11.00"), 2));
+        Product deleted = productRepository.deleteProduct(2);
+
+        // Assert
+        assertEquals(2L, updated.getVersion());
+        assertEquals("Produit 2", deleted.getName());
+        assertEquals("Renamed", productRepository.getProduct(1).getName());
+        assertNull(productRepository.getProduct(2));
+        assertNull(productRepository.updateProduct(2, new Product(2, "Gone", null, BigDecimal.ONE, 1)));
+        assertEquals(2, productRepository.size());
+    }
+
+    @Test
+    void getProducts_AcrossSegments_ReturnedInIdOrder() {
+        // Act
+        List<Product> products = productRepository.getProducts(1, 10);
+
+        // Assert
+        assertEquals(List.of(2, 70000), products.stream().map(Product::getProductId).toList());
+        assertEquals(70000, productRepository.getHighestProductId());
+    }
+
+    @Test
+    void addProduct_PriceWithTooManyDecimals_Rejected() {
+        // Act & Assert
+        assertThrows(ArithmeticException.class, () -> productRepository.addProduct(
+                new Product(4, "Product 4", "Description 4", new BigDecimal("1.23456"), 1)));
+        assertNull(productRepository.getProduct(4));
+    }
+
+    @Test
+    void updateProduct_TextUnchangedOrReplaced_OnlyReplacedTextAppendedAndCountedDead() {
+        // Arrange
+        long allocated = productRepository.allocatedStringBytes();
+
+        // Act
+        Product repriced = productRepository.updateProduct(1, new Product(1, "Product 1", "Description 1",
+                new BigDecimal("11.00"), 3));
+        long allocatedAfterRepricing = productRepository.allocatedStringBytes();
+        productRepository.updateProduct(1, repriced.withName("Renamed"));
+        productRepository.deleteProduct(70000);
+
+        // Assert
+        assertEquals(allocated, allocatedAfterRepricing);
+        assertEquals("Renamed", productRepository.getProduct(1).getName());
+        assertEquals(allocated + "Renamed".length(), productRepository.allocatedStringBytes());
+        assertEquals("Product 1".length() + "Product 3".length() + "Description 3".length(),
+                productRepository.deadStringBytes());
+    }
+}
@@ -0,0 +1,107 @@
+package com.bookstore.applicaton.repository;
+
+import com.bookstore.applicaton.domain.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedProductRepositoryTest {
+
+    private ShardedProductRepository productRepository;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = new ShardedProductRepository(4);
+        // IDs 1..300 span the first five blocks, so every shard holds some of them
+        for (int productId = 1; productId <= 300; productId++) {
+            productRepository.addProduct(new Product(productId, "Product " + productId, "Description",
+                    BigDecimal.valueOf(10_000 - productId * 7 % 1000, 2), productId % 10));
+        }
+    }
+
+    @Test
+    void allocateProductIds_ConcurrentThreads_UniqueAndNeverReusingStoredIds() throws InterruptedException {
+        // Arrange
+        Set<Integer> allocated = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < 500; j++) {
+                    int productId = j % 2 == 0
+                            ? productRepository.allocateProductId()
+                            : productRepository.allocateProductIds(3)[2];
+                    allocated.add(productId);
+                    productRepository.addProduct(new Product(productId, "New", null, BigDecimal.ONE, 1));
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Assert
+        assertEquals(4000, allocated.size());
+        assertTrue(allocated.stream().allMatch(productId -> productId > 300));
+        assertEquals(4300, productRepository.countProducts());
+        assertTrue(productRepository.highestAllocatedProductId() >= productRepository.getHighestProductId());
+    }
+
+    @Test
+    void allocateProductIds_SingleThread_SpreadAcrossShards() {
+        // Act
+        int[] batch = productRepository.allocateProductIds(1000);
+        for (int i = 0; i < 1000; i++) {
+            productRepository.addProduct(new Product(productRepository.allocateProductId(), "New", null,
+                    BigDecimal.ONE, 1));
+        }
+        for (int productId : batch) {
+            productRepository.addProduct(new Product(productId, "New", null, BigDecimal.ONE, 1));
+        }
+
+        // Assert
+        for (int i = 1; i < batch.length; i++) {
+            assertTrue(batch[i - 1] < batch[i]);
+        }
+        assertEquals(2300, productRepository.countProducts());
+        // One shard taking every ID would reach about 4 x 2000 above the stored ones
+        assertTrue(productRepository.highestAllocatedProductId() < 300 + 2000 + 4 * 64 * 2);
+    }
+
+    @Test
+    void queries_ProductsAcrossShards_MergedInOrder() {
+        // Act
+        List<Product> page = productRepository.getProducts(60, 10);
+        List<Product> all = productRepository.getAllProducts();
+        List<Product> cheapest = productRepository.findCheapest(50);
+        List<Product> inStock = productRepository.findInStock(9, 100);
+        List<Product> streamed;
+        try (Stream<Product> products = productRepository.streamProducts(null)) {
+            streamed = products.toList();
+        }
+
+        // Assert
+        assertEquals(IntStream.rangeClosed(61, 70).boxed().toList(), page.stream().map(Product::getProductId).toList());
+        assertEquals(50, cheapest.size());
+        for (int i = 1; i < cheapest.size(); i++) {
+            assertTrue(cheapest.get(i - 1).getPrice().compareTo(cheapest.get(i).getPrice()) <= 0);
+        }
+        assertEquals(productRepository.findByPriceRange(null, cheapest.get(49).getPrice(), 50),
+                cheapest);
+        assertEquals(30, inStock.size());
+        assertEquals(IntStream.rangeClosed(1, 300).boxed().toList(), streamed.stream().map(Product::getProductId).toList());
+        assertEquals(streamed, all);
+    }
+}
@@ -0,0 +1,132 @@
+package com.bookstore.applicaton.repricing;
+
+import com.bookstore.applicaton.changes.ProductChangeLog;
+import com.bookstore.applicaton.common.ApiResponse;
+import com.bookstore.applicaton.constants.ProductResponseMessages;
+import com.bookstore.applicaton.domain.Money;
+import com.bookstore.applicaton.domain.Product;
+import com.bookstore.applicaton.dto.RepricingJobDto;
+import com.bookstore.applicaton.dto.RepricingRequestDto;
+import com.bookstore.applicaton.mapper.ProductMapperImpl;
+import com.bookstore.applicaton.metrics.ProductServiceMetrics;
+import com.bookstore.applicaton.pricing.PriceRuleService;
+import com.bookstore.applicaton.repository.InMemoryProductRepository;
+import com.bookstore.applicaton.search.ProductSearchIndex;
+import com.bookstore.applicaton.service.ProductService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class RepricingServiceTest {
+
+    private static final int PRODUCTS = 5000;
+
+    private InMemoryProductRepository productRepository;
+    private RepricingService repricingService;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = new InMemoryProductRepository();
+        for (int productId = 1; productId <= PRODUCTS; productId++) {
+            String name = (productId % 2 == 0 ? "Sale " : "Regular ") + productId;
+            productRepository.addProduct(new Product(productId, name, "Description", new BigDecimal("10.00"), 1));
+        }
+        ProductService productService = new ProductService(productRepository, new ProductMapperImpl(),
+                mock(ProductSearchIndex.class), mock(ApplicationEventPublisher.class),
+                mock(ProductServiceMetrics.class), mock(ProductChangeLog.class), mock(PriceRuleService.class));
+        repricingService = new RepricingService(productRepository, productService, 4, 3000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repricingService.stop();
+    }
+
+    @Test
+    void startJob_FilterGiven_RepricesOnlyMatchingProductsThenRollsBack() throws InterruptedException {
+        // Arrange
+        RepricingRequestDto request = new RepricingRequestDto("discount", BigDecimal.valueOf(20),
+                1001, null, null, null, "sale");
+
+        // Act
+        ApiResponse<RepricingJobDto> started = repricingService.startJob(request);
+        RepricingJobDto completed = awaitStatus(started.getData().getJobId(), RepricingJobStatus.COMPLETED);
+
+        // Assert
+        assertEquals(HttpStatus.ACCEPTED.value(), started.getStatusCode());
+        assertEquals(2000, completed.getTotalProducts());
+        assertEquals(2000, completed.getRepricedProducts());
+        assertEquals(Money.of(new BigDecimal("8.00")), productRepository.getProduct(1002).getPrice());
+        assertEquals(Money.of(new BigDecimal("10.00")), productRepository.getProduct(1001).getPrice());
+        assertEquals(Money.of(new BigDecimal("10.00")), productRepository.getProduct(1000).getPrice());
+
+        // Act
+        Product changedAfterJob = productRepository.getProduct(1004).withName("Sale 1004 renamed");
+        productRepository.updateProduct(1004, changedAfterJob);
+        ApiResponse<RepricingJobDto> rollback = repricingService.rollbackJob(completed.getJobId());
+        RepricingJobDto rolledBack = awaitStatus(completed.getJobId(), RepricingJobStatus.ROLLED_BACK);
+
+        // Assert
+        assertEquals(HttpStatus.ACCEPTED.value(), rollback.getStatusCode());
+        assertEquals(1999, rolledBack.getRolledBackProducts());
+        assertEquals(1, rolledBack.getRollbackConflicts());
+        assertEquals(Money.of(new BigDecimal("10.00")), productRepository.getProduct(1002).getPrice());
+        assertEquals(Money.of(new BigDecimal("8.00")), productRepository.getProduct(1004).getPrice());
+        assertEquals(HttpStatus.CONFLICT.value(), repricingService.rollbackJob(completed.getJobId()).getStatusCode());
+    }
+
+    @Test
+    void startJob_RollbackEntriesOverLimit_OldestJobNoLongerRolledBack() throws InterruptedException {
+        // Arrange
+        RepricingRequestDto request = new RepricingRequestDto("tax", BigDecimal.TEN, null, null, null, null, "sale");
+        long firstJobId = repricingService.startJob(request).getData().getJobId();
+        assertTrue(awaitStatus(firstJobId, RepricingJobStatus.COMPLETED).isRollbackAvailable());
+
+        // Act
+        long secondJobId = repricingService.startJob(request).getData().getJobId();
+        awaitStatus(secondJobId, RepricingJobStatus.COMPLETED);
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (repricingService.getJob(firstJobId).getData().isRollbackAvailable() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        ApiResponse<RepricingJobDto> expired = repricingService.rollbackJob(firstJobId);
+        ApiResponse<RepricingJobDto> rollback = repricingService.rollbackJob(secondJobId);
+
+        // Assert
+        assertEquals(HttpStatus.CONFLICT.value(), expired.getStatusCode());
+        assertEquals(ProductResponseMessages.REPRICING_JOB_ROLLBACK_EXPIRED, expired.getMessage());
+        assertEquals(RepricingJobStatus.COMPLETED, expired.getData().getStatus());
+        assertEquals(HttpStatus.ACCEPTED.value(), rollback.getStatusCode());
+        assertFalse(awaitStatus(secondJobId, RepricingJobStatus.ROLLED_BACK).isRollbackAvailable());
+        assertEquals(Money.of(new BigDecimal("11.00")), productRepository.getProduct(2).getPrice());
+    }
+
+    @Test
+    void startJob_InvalidRequest_BadRequest() {
+        // Act & Assert
+        assertEquals(HttpStatus.BAD_REQUEST.value(), repricingService.startJob(
+                new RepricingRequestDto("markup", BigDecimal.TEN, null, null, null, null, null)).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), repricingService.startJob(
+                new RepricingRequestDto("discount", BigDecimal.valueOf(150), null, null, null, null, null)).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), repricingService.startJob(
+                new RepricingRequestDto("tax", BigDecimal.TEN, 10, 5, null, null, null)).getStatusCode());
+    }
+
+    private RepricingJobDto awaitStatus(long jobId, RepricingJobStatus status) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        RepricingJobDto job = repricingService.getJob(jobId).getData();
+        while (job.getStatus() != status && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            job = repricingService.getJob(jobId).getData();
+        }
+        assertEquals(status, job.getStatus());
+        return job;
+    }
+}
@@ -0,0 +1,83 @@
+package com.bookstore.applicaton.search;
+
+import com.bookstore.applicaton.domain.Product;
+import com.bookstore.applicaton.event.ProductChangeType;
+import com.bookstore.applicaton.event.ProductChangedEvent;
+import com.bookstore.applicaton.repository.InMemoryProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex productSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        productSearchIndex = new ProductSearchIndex(new InMemoryProductRepository());
+        productSearchIndex.index(new Product(1, "The Hobbit", "A hobbit goes on an adventure",
+                BigDecimal.TEN, 5));
+        productSearchIndex.index(new Product(2, "Dragon Cookbook", "Recipes mentioning a hobbit once",
+                BigDecimal.TEN, 5));
+        productSearchIndex.index(new Product(3, "Dune", "Desert planet politics", BigDecimal.TEN, 5));
+    }
+
+    @Test
+    void search_TermInNameAndDescription_RanksNameMatchFirst() {
+        // Act
+        List<Integer> results = productSearchIndex.search("hobbit", 10);
+
+        // Assert
+        assertEquals(List.of(1, 2), results);
+    }
+
+    @Test
+    void search_PartialLastTerm_MatchesByPrefix() {
+        // Act
+        List<Integer> results = productSearchIndex.search("desert pla", 10);
+
+        // Assert
+        assertEquals(List.of(3), results);
+    }
+
+    @Test
+    void search_ProductRemovedOrRenamed_IndexStaysInSync() {
+        // Act
+        productSearchIndex.remove(1);
+        productSearchIndex.index(new Product(3, "Dune Messiah", "Sequel", BigDecimal.TEN, 5));
+
+        // Assert
+        assertEquals(List.of(2), productSearchIndex.search("hobbit", 10));
+        assertTrue(productSearchIndex.search("desert", 10).isEmpty());
+        assertEquals(List.of(3), productSearchIndex.search("messiah", 10));
+        assertEquals(2, productSearchIndex.size());
+    }
+
+    @Test
+    void onProductChanged_EventsOutOfOrder_KeepsLatestVersion() {
+        // Arrange
+        Product original = new Product(3, "Dune", "Desert planet politics", BigDecimal.TEN, 5);
+        Product renamed = original.withName("Dune Messiah").withVersion(2L);
+        Product renamedAgain = original.withName("Children of Dune").withVersion(3L);
+
+        // Act
+        productSearchIndex.onProductChanged(
+                new ProductChangedEvent(ProductChangeType.UPDATED, 3, renamed, renamedAgain));
+        productSearchIndex.onProductChanged(
+                new ProductChangedEvent(ProductChangeType.UPDATED, 3, original, renamed));
+        productSearchIndex.onProductChanged(new ProductChangedEvent(ProductChangeType.DELETED, 2,
+                new Product(2, "Dragon Cookbook", null, BigDecimal.TEN, 5), null));
+        productSearchIndex.onProductChanged(new ProductChangedEvent(ProductChangeType.UPDATED, 2, null,
+                new Product(2, "Dragon Cookbook", null, BigDecimal.TEN, 5).withVersion(2L)));
+
+        // Assert
+        assertEquals(List.of(3), productSearchIndex.search("children", 10));
+        assertTrue(productSearchIndex.search("messiah", 10).isEmpty());
+        assertTrue(productSearchIndex.search("dragon", 10).isEmpty());
+        assertEquals(2, productSearchIndex.size());
+    }
+}
@@ -1,24 +1,43 @@
 package com.bookstore.applicaton.service;
 
+import com.bookstore.applicaton.changes.ProductChangeLog;
 import com.bookstore.applicaton.common.ApiResponse;
 import com.bookstore.applicaton.constants.ProductResponseMessages;
+import com.bookstore.applicaton.domain.Money;
 import com.bookstore.applicaton.domain.Product;
+import com.bookstore.applicaton.dto.ProductChangesDto;
 import com.bookstore.applicaton.dto.ProductDto;
+import com.bookstore.applicaton.dto.ProductPageDto;
+import com.bookstore.applicaton.event.ProductChangeType;
+import com.bookstore.applicaton.event.ProductChangedEvent;
 import com.bookstore.applicaton.mapper.ProductMapper;
+import com.bookstore.applicaton.metrics.ProductOperation;
+import com.bookstore.applicaton.metrics.ProductServiceMetrics;
+import com.bookstore.applicaton.pricing.PriceRuleService;
 import com.bookstore.applicaton.repository.ProductRepository;
+import com.bookstore.applicaton.repository.StockUpdate;
+import com.bookstore.applicaton.search.ProductSearchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class ProductServiceTest {
@@ -29,6 +48,21 @@ class ProductServiceTest {
     @Mock
     private ProductMapper productMapper;
 
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ProductServiceMetrics productServiceMetrics;
+
+    @Mock
+    private ProductChangeLog productChangeLog;
+
+    @Mock
+    private PriceRuleService priceRuleService;
+
     @InjectMocks
     private ProductService productService;
 
@@ -112,6 +146,27 @@ class ProductServiceTest {
         assertEquals(50, retrievedProductDto.getQuantityAvailable());
     }
 
+    @Test
+    void getProduct_PriceRuleActive_EffectivePriceReturned() {
+        // Arrange
+        int productId = 1;
+        Product product = new Product(productId, "Test Product", "Description", new BigDecimal("20.00"), 50);
+
+        // Mocking behavior
+        when(productRepository.getProduct(productId)).thenReturn(product);
+        when(productMapper.toDto(product))
+                .thenReturn(new ProductDto(productId, "Test Product", "Description", new BigDecimal("20.00"), 50));
+        when(priceRuleService.effectivePrice(product)).thenReturn(Money.of(new BigDecimal("15.00")));
+
+        // Act
+        ApiResponse<ProductDto> response = productService.getProduct(productId);
+
+        // Assert
+        assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+        assertEquals(new BigDecimal("20.00"), response.getData().getPrice());
+        assertEquals(new BigDecimal("15.00"), response.getData().getEffectivePrice());
+    }
+
     @Test
     void getProduct_ProductNotFound() {
         // Arrange
@@ -146,7 +201,8 @@ class ProductServiceTest {
                         BigDecimal.valueOf(20.0), 100));
         when(productRepository.updateProduct(productId, new Product(productId, "Updated Product",
                 "Updated Description", BigDecimal.valueOf(20.0), 100)))
-                .thenReturn(true);
+                .thenReturn(new Product(productId, "Updated Product", "Updated Description",
+                        BigDecimal.valueOf(20.0), 100).withVersion(2L));
         when(productMapper.toDto(any(Product.class)))
                 .thenReturn(updatedProductDto);
 
@@ -187,6 +243,24 @@ class ProductServiceTest {
         assertNull(response.getData());
     }
 
+    @Test
+    void updateProduct_SubCentPrice_BadRequest() {
+        // Arrange
+        int productId = 1;
+        ProductDto updatedProductDto = new ProductDto(productId, "Updated Product", "Updated Description",
+                new BigDecimal("12.345"), 100);
+
+        // Act
+        ApiResponse<ProductDto> response = productService.updateProduct(productId, updatedProductDto);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCode());
+        assertEquals(ProductResponseMessages.INVALID_PRODUCT_DATA, response.getMessage());
+        assertNull(response.getData());
+        verify(productRepository, never()).updateProduct(any(), any(Product.class));
+        verify(productServiceMetrics).record(eq(ProductOperation.UPDATE), eq(response), anyLong());
+    }
+
     @Test
     void updateProduct_FailedToUpdate_InternalServerError() {
         // Arrange
@@ -203,7 +277,7 @@ class ProductServiceTest {
                         BigDecimal.valueOf(20.0), 100));
         when(productRepository.updateProduct(productId, new Product(productId, "Updated Product",
                 "Updated Description", BigDecimal.valueOf(20.0), 100)))
-                .thenReturn(false);
+                .thenReturn(null);
 
         // Act
         ApiResponse<ProductDto> response = productService.updateProduct(productId, updatedProductDto);
@@ -219,14 +293,14 @@ class ProductServiceTest {
     void deleteProduct_ProductExists_SuccessfullyDeleted() {
         // Arrange
         int productId = 1;
+        Product deletedProduct = new Product(productId, "Deleted Product", "Deleted Description",
+                BigDecimal.valueOf(15.0), 75).withVersion(2L);
         ProductDto deletedProductDto = new ProductDto(productId, "Deleted Product", "Deleted Description",
                 BigDecimal.valueOf(15.0), 75);
 
         // Mocking behavior
-        when(productRepository.getProduct(productId))
-                .thenReturn(new Product(productId, "Deleted Product", "Deleted Description",
-                        BigDecimal.valueOf(15.0), 75));
-        when(productRepository.deleteProduct(productId)).thenReturn(true);
+        when(productRepository.getProduct(productId)).thenReturn(deletedProduct.withVersion(1L));
+        when(productRepository.deleteProduct(productId)).thenReturn(deletedProduct);
         when(productMapper.toDto(any(Product.class)))
                 .thenReturn(deletedProductDto);
 
@@ -245,6 +319,8 @@ class ProductServiceTest {
         assertEquals("Deleted Description", returnedProductDto.getDescription());
         assertEquals(BigDecimal.valueOf(15.0), returnedProductDto.getPrice());
         assertEquals(75, returnedProductDto.getQuantityAvailable());
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(ProductChangeType.DELETED, productId,
+                deletedProduct, null));
     }
 
     @Test
@@ -253,7 +329,7 @@ class ProductServiceTest {
         int productId = 1;
 
         // Mocking behavior
-        when(productRepository.getProduct(productId)).thenReturn(null);
+        when(productRepository.deleteProduct(productId)).thenReturn(null);
 
         // Act
         ApiResponse<ProductDto> response = productService.deleteProduct(productId);
@@ -274,7 +350,7 @@ class ProductServiceTest {
         when(productRepository.getProduct(productId))
                 .thenReturn(new Product(productId, "Existing Product", "Description",
                         BigDecimal.TEN, 50));
-        when(productRepository.deleteProduct(productId)).thenReturn(false);
+        when(productRepository.deleteProduct(productId)).thenReturn(null);
 
         // Act
         ApiResponse<ProductDto> response = productService.deleteProduct(productId);
@@ -300,7 +376,8 @@ class ProductServiceTest {
 
         // Mocking behavior
         when(productRepository.getProduct(productId)).thenReturn(existingProduct);
-        when(productRepository.updateProduct(productId, existingProduct)).thenReturn(true);
+        Product discounted = existingProduct.withPrice(Money.of(BigDecimal.valueOf(45)));
+        when(productRepository.updateProduct(productId, discounted)).thenReturn(discounted.withVersion(2L));
         when(productMapper.toDto(any(Product.class))).thenReturn(productDto);
 
         // Act
@@ -335,7 +412,8 @@ class ProductServiceTest {
         productDto.setQuantityAvailable(100);
         // Mocking behavior
         when(productRepository.getProduct(productId)).thenReturn(existingProduct);
-        when(productRepository.updateProduct(productId, existingProduct)).thenReturn(true);
+        Product taxed = existingProduct.withPrice(Money.of(BigDecimal.valueOf(55)));
+        when(productRepository.updateProduct(productId, taxed)).thenReturn(taxed.withVersion(2L));
         when(productMapper.toDto(any(Product.class))).thenReturn(productDto);
 
         // Act
@@ -403,7 +481,7 @@ class ProductServiceTest {
         // Mocking behavior
         when(productRepository.getProduct(productId)).thenReturn(new Product(productId, "Existing Product", "Description",
                 BigDecimal.valueOf(50.0), 100));
-        when(productRepository.updateProduct(any(), any(Product.class))).thenReturn(false);
+        when(productRepository.updateProduct(any(), any(Product.class))).thenReturn(null);
 
         // Act
         ApiResponse<ProductDto> response = productService.applyDiscountOrTax(productId, "discount", value);
@@ -415,6 +493,34 @@ class ProductServiceTest {
         assertNull(response.getData());
     }
 
+    @Test
+    void applyDiscountOrTax_ProductChangedConcurrently_AppliedToCurrentPrice() {
+        // Arrange
+        int productId = 1;
+        Product readProduct = new Product(productId, "Existing Product", "Description",
+                BigDecimal.valueOf(50.0), 100).withVersion(1L);
+        Product currentProduct = readProduct.withPrice(Money.of(BigDecimal.valueOf(60))).withVersion(2L);
+        Product discounted = currentProduct.withPrice(Money.of(BigDecimal.valueOf(54)));
+        ProductDto productDto = new ProductDto(productId, "Existing Product", "Description", BigDecimal.valueOf(54), 100);
+
+        // Mocking behavior
+        when(productRepository.getProduct(productId)).thenReturn(readProduct, currentProduct);
+        when(productRepository.updateProduct(productId, readProduct.withPrice(Money.of(BigDecimal.valueOf(45)))))
+                .thenReturn(null);
+        when(productRepository.updateProduct(productId, discounted)).thenReturn(discounted.withVersion(3L));
+        when(productMapper.toDto(discounted.withVersion(3L))).thenReturn(productDto);
+
+        // Act
+        ApiResponse<ProductDto> response = productService.applyDiscountOrTax(productId, "discount", BigDecimal.TEN);
+
+        // Assert
+        assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+        assertEquals(ProductResponseMessages.OPERATION_APPLIED_SUCCESSFULLY, response.getMessage());
+        assertEquals(productDto, response.getData());
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(ProductChangeType.DISCOUNT_APPLIED, productId,
+                currentProduct, discounted.withVersion(3L)));
+    }
+
     @Test
     void applyDiscountOrTax_ExceptionThrown_BadRequest() {
         // Arrange
@@ -506,4 +612,350 @@ class ProductServiceTest {
         // Assert
         assertNotNull(response);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getProductsPage_MoreProductsAvailable_ReturnsNextCursor() {
+        // Arrange
+        Product product1 = new Product(1, "Product 1", "Description 1", BigDecimal.valueOf(10.0), 50);
+        Product product2 = new Product(2, "Product 2", "Description 2", BigDecimal.valueOf(20.0), 30);
+        Product product3 = new Product(3, "Product 3", "Description 3", BigDecimal.valueOf(30.0), 10);
+
+        // Mocking behavior
+        when(productRepository.getProducts(null, 3)).thenReturn(Arrays.asList(product1, product2, product3));
+        when(productMapper.toDto(product1)).thenReturn(new ProductDto(1, "Product 1", "Description 1",
+                BigDecimal.valueOf(10.0), 50));
+        when(productMapper.toDto(product2)).thenReturn(new ProductDto(2, "Product 2", "Description 2",
+                BigDecimal.valueOf(20.0), 30));
+
+        // Act
+        ApiResponse<ProductPageDto> response = productService.getProductsPage(null, 2);
+
+        // Assert
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+        assertEquals(ProductResponseMessages.PRODUCT_PAGE_RETRIEVED_SUCCESSFULLY, response.getMessage());
+        assertEquals(2, response.getData().getProducts().size());
+        assertEquals(2, response.getData().getNextCursor());
+    }
+
+    @Test
+    void getProductsPage_LastPage_NoNextCursor() {
+        // Arrange
+        Product product3 = new Product(3, "Product 3", "Description 3", BigDecimal.valueOf(30.0), 10);
+
+        // Mocking behavior
+        when(productRepository.getProducts(2, 3)).thenReturn(List.of(product3));
+        when(productMapper.toDto(product3)).thenReturn(new ProductDto(3, "Product 3", "Description 3",
+                BigDecimal.valueOf(30.0), 10));
+
+        // Act
+        ApiResponse<ProductPageDto> response = productService.getProductsPage(2, 2);
+
+        // Assert
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+        assertEquals(1, response.getData().getProducts().size());
+        assertNull(response.getData().getNextCursor());
+    }
+
+    @Test
+    void getProductsPage_InvalidLimit_BadRequest() {
+        // Act
+        ApiResponse<ProductPageDto> response = productService.getProductsPage(null, 0);
+
+        // Assert
+        assertNotNull(response);
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCode());
+        assertEquals(ProductResponseMessages.INVALID_PAGE_LIMIT, response.getMessage());
+        assertNull(response.getData());
+    }
+
+    @Test
+    void getProductsByPriceRange_MinGreaterThanMax_BadRequest() {
+        // Act
+        ApiResponse<List<ProductDto>> response = productService.getProductsByPriceRange(
+                BigDecimal.valueOf(50), BigDecimal.valueOf(10), 10);
+
+        // Assert
+        assertNotNull(response);
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCode());
+        assertEquals(ProductResponseMessages.INVALID_PRICE_RANGE, response.getMessage());
+        assertNull(response.getData());
+    }
+
+    @Test
+    void getProductsByPriceRange_ValidRange_ReturnsMatchingProducts() {
+        // Arrange
+        Product product = new Product(1, "Product 1", "Description 1", BigDecimal.valueOf(15.0), 50);
+
+        // Mocking behavior
+        when(productRepository.findByPriceRange(Money.of(BigDecimal.TEN), Money.of(BigDecimal.valueOf(20)), 10))
+                .thenReturn(List.of(product));
+        when(productMapper.toDto(product)).thenReturn(new ProductDto(1, "Product 1", "Description 1",
+                BigDecimal.valueOf(15.0), 50));
+
+        // Act
+        ApiResponse<List<ProductDto>> response = productService.getProductsByPriceRange(
+                BigDecimal.TEN, BigDecimal.valueOf(20), 10);
+
+        // Assert
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+        assertEquals(ProductResponseMessages.FILTERED_PRODUCTS_RETRIEVED_SUCCESSFULLY, response.getMessage());
+        assertEquals(1, response.getData().size());
+    }
+
+    @Test
+    void createProduct_Success_PublishesCreatedEvent() {
+        // Arrange
+        ProductDto productDto = new ProductDto(null, "Test Product", "Description", BigDecimal.TEN, 50);
+        Product savedProduct = new Product(1, "Test Product", "Description", BigDecimal.TEN, 50);
+
+        // Mocking behavior
+        when(productRepository.addProduct(any(Product.class))).thenReturn(savedProduct);
+
+        // Act
+        productService.createProduct(productDto);
+
+        // Assert
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(ProductChangeType.CREATED, 1, null, savedProduct));
+    }
+
+    @Test
+    void searchProducts_MatchesFound_ReturnsProductsInRankOrder() {
+        // Arrange
+        Product product1 = new Product(1, "Dune", "Desert planet", BigDecimal.TEN, 5);
+        Product product2 = new Product(2, "Dune Messiah", "Sequel", BigDecimal.TEN, 5);
+
+        // Mocking behavior
+        when(productSearchIndex.search("dune", 10)).thenReturn(List.of(2, 1));
+        when(productRepository.getProduct(1)).thenReturn(product1);
+        when(productRepository.getProduct(2)).thenReturn(product2);
+        when(productMapper.toDto(product1)).thenReturn(new ProductDto(1, "Dune", "Desert planet", BigDecimal.TEN, 5));
+        when(productMapper.toDto(product2)).thenReturn(new ProductDto(2, "Dune Messiah", "Sequel", BigDecimal.TEN, 5));
+
+        // Act
+        ApiResponse<List<ProductDto>> response = productService.searchProducts("dune", 10);
+
+        // Assert
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+        assertEquals(ProductResponseMessages.SEARCH_RESULTS_RETRIEVED_SUCCESSFULLY, response.getMessage());
+        assertEquals(List.of(2, 1), response.getData().stream().map(ProductDto::getProductId).toList());
+    }
+
+    @Test
+    void searchProducts_BlankQuery_BadRequest() {
+        // Act
+        ApiResponse<List<ProductDto>> response = productService.searchProducts("  ", 10);
+
+        // Assert
+        assertNotNull(response);
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCode());
+        assertEquals(ProductResponseMessages.INVALID_SEARCH_QUERY, response.getMessage());
+        verify(productSearchIndex, never()).search(any(), anyInt());
+    }
+
+    @Test
+    void createProducts_MixedValidity_ReservesIdBlockAndReportsPerItem() {
+        // Arrange
+        List<ProductDto> productDtos = Arrays.asList(
+                new ProductDto(null, "Book 1", "Description 1", BigDecimal.TEN, 5),
+                new ProductDto(null, null, "Missing name", BigDecimal.TEN, 5),
+                new ProductDto(null, "Book 2", "Description 2", BigDecimal.ONE, 7));
+
+        // Mocking behavior
+        when(productRepository.addProducts(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(productMapper.toDto(any(Product.class))).thenAnswer(invocation -> {
+            Product product = invocation.getArgument(0);
+            return new ProductDto(product.getProductId(), product.getName(), product.getDescription(),
+                    product.getPrice().toBigDecimal(), product.getQuantityAvailable());
+        });
+
+        // Act
+        ApiResponse<List<ApiResponse<ProductDto>>> response = productService.createProducts(productDtos);
+
+        // Assert
+        assertNotNull(response);
+        assertEquals(HttpStatus.MULTI_STATUS.value(), response.getStatusCode());
+        List<ApiResponse<ProductDto>> results = response.getData();
+        assertEquals(3, results.size());
+        assertEquals(HttpStatus.CREATED.value(), results.get(0).getStatusCode());
+        assertEquals(1, results.get(0).getData().getProductId());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), results.get(1).getStatusCode());
+        assertEquals(ProductResponseMessages.INVALID_PRODUCT_DATA, results.get(1).getMessage());
+        assertEquals(HttpStatus.CREATED.value(), results.get(2).getStatusCode());
+        assertEquals(2, results.get(2).getData().getProductId());
+    }
+
+    @Test
+    void createProducts_EmptyBatch_BadRequest() {
+        // Act
+        ApiResponse<List<ApiResponse<ProductDto>>> response = productService.createProducts(List.of());
+
+        // Assert
+        assertNotNull(response);
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCode());
+        assertEquals(ProductResponseMessages.INVALID_BATCH_SIZE, response.getMessage());
+    }
+
+    @Test
+    void deleteProducts_SomeMissing_ReportsNotFoundPerItem() {
+        // Arrange
+        Product existingProduct = new Product(1, "Product 1", "Description 1", BigDecimal.TEN, 5);
+
+        // Mocking behavior
+        when(productRepository.deleteProducts(List.of(1, 2))).thenReturn(Arrays.asList(existingProduct, null));
+        when(productMapper.toDto(existingProduct))
+                .thenReturn(new ProductDto(1, "Product 1", "Description 1", BigDecimal.TEN, 5));
+
+        // Act
+        ApiResponse<List<ApiResponse<ProductDto>>> response = productService.deleteProducts(List.of(1, 2));
+
+        // Assert
+        assertNotNull(response);
+        assertEquals(HttpStatus.MULTI_STATUS.value(), response.getStatusCode());
+        assertEquals(HttpStatus.OK.value(), response.getData().get(0).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND.value(), response.getData().get(1).getStatusCode());
+    }
+
+    @Test
+    void getProduct_ProductNotFound_RecordsOperationMetrics() {
+        // Mocking behavior
+        when(productRepository.getProduct(1)).thenReturn(null);
+
+        // Act
+        ApiResponse<ProductDto> response = productService.getProduct(1);
+
+        // Assert
+        verify(productServiceMetrics).record(eq(ProductOperation.GET), eq(response), anyLong());
+    }
+
+    @Test
+    void streamProductSnapshots_StreamClosed_RecordsOperationMetrics() {
+        // Arrange
+        Product product = new Product(1, "Product 1", "Description 1", BigDecimal.TEN, 3);
+
+        // Mocking behavior
+        when(productRepository.streamProducts(null)).thenReturn(Stream.of(product));
+
+        // Act
+        Stream<Product> products = productService.streamProductSnapshots(null);
+        List<Product> streamed = products.toList();
+        verify(productServiceMetrics, never()).record(eq(ProductOperation.STREAM_SNAPSHOTS), anyInt(),
+                anyBoolean(), anyLong());
+        products.close();
+
+        // Assert
+        assertEquals(List.of(product), streamed);
+        verify(productServiceMetrics).record(eq(ProductOperation.STREAM_SNAPSHOTS), eq(HttpStatus.OK.value()),
+                eq(true), anyLong());
+    }
+
+    @Test
+    void reserveStock_EnoughAvailable_ReturnsUpdatedProduct() {
+        // Arrange
+        Product reserved = new Product(1, "Product 1", "Description 1", BigDecimal.TEN, 3).withQuantityReserved(2);
+        ProductDto reservedDto = new ProductDto(1, "Product 1", "Description 1", BigDecimal.TEN, 3);
+        reservedDto.setQuantityReserved(2);
+
+        // Mocking behavior
+        when(productRepository.adjustStock(1, -2, 2)).thenReturn(new StockUpdate(StockUpdate.Status.APPLIED, reserved));
+        when(productMapper.toDto(reserved)).thenReturn(reservedDto);
+
+        // Act
+        ApiResponse<ProductDto> response = productService.reserveStock(1, 2);
+
+        // Assert
+        assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+        assertEquals(ProductResponseMessages.STOCK_RESERVED_SUCCESSFULLY, response.getMessage());
+        assertEquals(reservedDto, response.getData());
+        verify(productServiceMetrics).record(eq(ProductOperation.RESERVE_STOCK), eq(response), anyLong());
+    }
+
+    @Test
+    void reserveStock_NotEnoughAvailable_ReturnsConflict() {
+        // Arrange
+        Product product = new Product(1, "Product 1", "Description 1", BigDecimal.TEN, 1);
+
+        // Mocking behavior
+        when(productRepository.adjustStock(1, -2, 2))
+                .thenReturn(new StockUpdate(StockUpdate.Status.INSUFFICIENT_STOCK, product));
+
+        // Act
+        ApiResponse<ProductDto> response = productService.reserveStock(1, 2);
+
+        // Assert
+        assertEquals(HttpStatus.CONFLICT.value(), response.getStatusCode());
+        assertEquals(ProductResponseMessages.INSUFFICIENT_STOCK, response.getMessage());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void commitStock_InvalidQuantity_ReturnsBadRequest() {
+        // Act
+        ApiResponse<ProductDto> response = productService.commitStock(1, 0);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCode());
+        assertEquals(ProductResponseMessages.INVALID_STOCK_QUANTITY, response.getMessage());
+        verify(productRepository, never()).adjustStock(anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    void updateProduct_StaleExpectedVersion_PreconditionFailed() {
+        // Arrange
+        Product existingProduct = new Product(1, "Product 1", "Description 1", BigDecimal.TEN, 5).withVersion(3L);
+        ProductDto productDto = new ProductDto(1, "Renamed", "Description 1", BigDecimal.TEN, 5);
+
+        // Mocking behavior
+        when(productRepository.getProduct(1)).thenReturn(existingProduct);
+
+        // Act
+        ApiResponse<ProductDto> response = productService.updateProduct(1, productDto, 2L);
+
+        // Assert
+        assertEquals(HttpStatus.PRECONDITION_FAILED.value(), response.getStatusCode());
+        assertEquals(ProductResponseMessages.PRODUCT_VERSION_MISMATCH, response.getMessage());
+        verify(productRepository, never()).updateProduct(anyInt(), any(Product.class));
+    }
+
+    @Test
+    void updateProduct_ChangedConcurrently_Conflict() {
+        // Arrange
+        Product readProduct = new Product(1, "Product 1", "Description 1", BigDecimal.TEN, 5);
+        Product concurrentlyUpdated = readProduct.withVersion(2L);
+        ProductDto productDto = new ProductDto(1, "Renamed", "Description 1", BigDecimal.TEN, 5);
+
+        // Mocking behavior
+        when(productRepository.getProduct(1)).thenReturn(readProduct, concurrentlyUpdated);
+        when(productMapper.toEntity(productDto)).thenReturn(new Product(null, "Renamed", "Description 1", BigDecimal.TEN, 5));
+        when(productRepository.updateProduct(eq(1), any(Product.class))).thenReturn(null);
+
+        // Act
+        ApiResponse<ProductDto> response = productService.updateProduct(1, productDto);
+
+        // Assert
+        assertEquals(HttpStatus.CONFLICT.value(), response.getStatusCode());
+        assertEquals(ProductResponseMessages.PRODUCT_MODIFIED_CONCURRENTLY, response.getMessage());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void getChanges_SinceEvicted_GoneWithResyncPoint() {
+        // Arrange
+        ProductChangesDto evicted = new ProductChangesDto(List.of(), 70000, 70000, true);
+
+        // Mocking behavior
+        when(productChangeLog.read(5, 100)).thenReturn(evicted);
+
+        // Act
+        ApiResponse<ProductChangesDto> response = productService.getChanges(5, 100);
+
+        // Assert
+        assertEquals(HttpStatus.GONE.value(), response.getStatusCode());
+        assertEquals(ProductResponseMessages.CHANGES_EXPIRED, response.getMessage());
+        assertEquals(70000, response.getData().getLastSequence());
+        verify(productServiceMetrics).record(eq(ProductOperation.GET_CHANGES), eq(response), anyLong());
+    }
+}
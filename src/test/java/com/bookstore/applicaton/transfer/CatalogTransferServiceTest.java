@@ -0,0 +1,183 @@
+package com.bookstore.applicaton.transfer;
+
+import com.bookstore.applicaton.changes.ProductChangeLog;
+import com.bookstore.applicaton.common.ApiResponse;
+import com.bookstore.applicaton.constants.ProductResponseMessages;
+import com.bookstore.applicaton.domain.Money;
+import com.bookstore.applicaton.domain.Product;
+import com.bookstore.applicaton.dto.ImportErrorDto;
+import com.bookstore.applicaton.dto.ImportJobDto;
+import com.bookstore.applicaton.dto.ImportRequestDto;
+import com.bookstore.applicaton.mapper.ProductMapperImpl;
+import com.bookstore.applicaton.metrics.ProductServiceMetrics;
+import com.bookstore.applicaton.pricing.PriceRuleService;
+import com.bookstore.applicaton.repository.InMemoryProductRepository;
+import com.bookstore.applicaton.search.ProductSearchIndex;
+import com.bookstore.applicaton.service.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class CatalogTransferServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private InMemoryProductRepository productRepository;
+    private CatalogTransferService catalogTransferService;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = new InMemoryProductRepository();
+        ProductService productService = new ProductService(productRepository, new ProductMapperImpl(),
+                mock(ProductSearchIndex.class), mock(ApplicationEventPublisher.class),
+                mock(ProductServiceMetrics.class), mock(ProductChangeLog.class), mock(PriceRuleService.class));
+        // Chunks far smaller than the files, so records are split across reads and parsed in parallel
+        catalogTransferService = new CatalogTransferService(productService, new ObjectMapper(),
+                directory.toString(), 4, DataSize.ofBytes(64), 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        catalogTransferService.stop();
+    }
+
+    @Test
+    void startImport_CsvWithInvalidRows_ImportsValidRowsAndRecordsErrors() throws Exception {
+        // Arrange
+        Files.writeString(directory.resolve("catalog.csv"), "productId,name,description,price,quantityAvailable\r\n"
+                + "7,Product 1,Plain,10.00,5\r\n"
+                + "8,Product 2,\"Quoted, with a comma,\n a line break and \"\"quotes\"\"\",12.50,1\n"
+                + "\n"
+                + "9,Product 3,,not a price,1\n"
+                + "10,Product 4,,3.00,-1\n"
+                + "11,Product 5,\"\",4.00,2", StandardCharsets.UTF_8);
+
+        // Act
+        ApiResponse<ImportJobDto> started = catalogTransferService.startImport(
+                new ImportRequestDto("catalog.csv", null, false));
+        ImportJobDto completed = awaitStatus(started.getData().getJobId(), ImportJobStatus.COMPLETED);
+
+        // Assert
+        assertEquals(HttpStatus.ACCEPTED.value(), started.getStatusCode());
+        assertEquals(5, completed.getProcessedRows());
+        assertEquals(3, completed.getImportedRows());
+        assertEquals(2, completed.getFailedRows());
+        assertEquals(completed.getTotalBytes(), completed.getProcessedBytes());
+        assertEquals(List.of(new ImportErrorDto(3, "Invalid price: not a price"),
+                new ImportErrorDto(4, ProductResponseMessages.INVALID_PRODUCT_DATA)), completed.getErrors());
+        assertEquals(3, productRepository.getAllProducts().size());
+        Product quoted = productRepository.getProduct(2);
+        assertEquals("Product 2", quoted.getName());
+        assertEquals("Quoted, with a comma,\n a line break and \"quotes\"", quoted.getDescription());
+        assertEquals(Money.of(new BigDecimal("12.50")), quoted.getPrice());
+        assertEquals("", productRepository.getProduct(3).getDescription());
+        assertEquals(List.of("row,message", "3,Invalid price: not a price",
+                        "4," + ProductResponseMessages.INVALID_PRODUCT_DATA),
+                Files.readAllLines(ImportJob.errorsPath(directory.resolve("catalog.csv"))));
+    }
+
+    @Test
+    void startImport_ResumeGiven_ContinuesFromCheckpoint() throws Exception {
+        // Arrange
+        Path file = directory.resolve("catalog.ndjson");
+        String lines = IntStream.rangeClosed(1, 10)
+                .mapToObj(i -> "{\"productId\":" + i + ",\"name\":\"Product " + i + "\",\"price\":1.00,"
+                        + "\"quantityAvailable\":" + i + "}\n")
+                .collect(Collectors.joining());
+        Files.writeString(file, lines + "{\"name\":\n", StandardCharsets.UTF_8);
+        int fourLines = lines.indexOf("{\"productId\":5");
+        new ImportCheckpoint(Files.size(file), Files.getLastModifiedTime(file).toMillis(), fourLines, 4, 4, 0)
+                .write(ImportJob.checkpointPath(file));
+
+        // Act
+        ApiResponse<ImportJobDto> started = catalogTransferService.startImport(
+                new ImportRequestDto("catalog.ndjson", null, true));
+        ImportJobDto completed = awaitStatus(started.getData().getJobId(), ImportJobStatus.COMPLETED);
+
+        // Assert
+        assertEquals(11, completed.getProcessedRows());
+        assertEquals(10, completed.getImportedRows());
+        assertEquals(1, completed.getFailedRows());
+        assertEquals(11, completed.getErrors().get(0).getRow());
+        assertEquals(6, productRepository.getAllProducts().size());
+        assertEquals("Product 5", productRepository.getProduct(1).getName());
+        assertEquals(completed.getTotalBytes(), ImportCheckpoint.read(ImportJob.checkpointPath(file)).offset());
+
+        // Arrange
+        Files.writeString(file, lines, StandardCharsets.UTF_8);
+
+        // Act & Assert
+        assertEquals(HttpStatus.CONFLICT.value(), catalogTransferService.startImport(
+                new ImportRequestDto("catalog.ndjson", null, true)).getStatusCode());
+    }
+
+    @Test
+    void exportCatalog_Csv_ImportsBackUnchanged() throws Exception {
+        // Arrange
+        productRepository.addProduct(new Product(1, "Product, 1", "Line\nbreak", new BigDecimal("10.50"), 5));
+        productRepository.addProduct(new Product(2, "Product \"2\"", null, new BigDecimal("3.00"), 0));
+        Path file = directory.resolve("export.csv");
+
+        // Act
+        try (OutputStream outputStream = Files.newOutputStream(file)) {
+            catalogTransferService.exportCatalog(CatalogFormat.CSV, outputStream);
+        }
+        productRepository.deleteProduct(1);
+        productRepository.deleteProduct(2);
+        ApiResponse<ImportJobDto> started = catalogTransferService.startImport(
+                new ImportRequestDto("export.csv", null, false));
+        ImportJobDto completed = awaitStatus(started.getData().getJobId(), ImportJobStatus.COMPLETED);
+
+        // Assert
+        assertEquals(2, completed.getImportedRows());
+        assertEquals(List.of("Product, 1", "Product \"2\""), productRepository.getAllProducts().stream()
+                .map(Product::getName).toList());
+        assertEquals("Line\nbreak", productRepository.getAllProducts().get(0).getDescription());
+        assertNull(productRepository.getAllProducts().get(1).getDescription());
+        assertEquals(Money.of(new BigDecimal("10.50")), productRepository.getAllProducts().get(0).getPrice());
+    }
+
+    @Test
+    void startImport_InvalidRequest_Rejected() throws IOException {
+        // Arrange
+        Files.writeString(directory.resolve("catalog.txt"), "", StandardCharsets.UTF_8);
+
+        // Act & Assert
+        assertEquals(HttpStatus.BAD_REQUEST.value(), catalogTransferService.startImport(
+                new ImportRequestDto("../catalog.csv", null, false)).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), catalogTransferService.startImport(
+                new ImportRequestDto("catalog.txt", null, false)).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND.value(), catalogTransferService.startImport(
+                new ImportRequestDto("missing.csv", null, false)).getStatusCode());
+    }
+
+    private ImportJobDto awaitStatus(long jobId, ImportJobStatus status) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        ImportJobDto job = catalogTransferService.getImport(jobId).getData();
+        while (job.getStatus() != status && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            job = catalogTransferService.getImport(jobId).getData();
+        }
+        assertEquals(status, job.getStatus());
+        return job;
+    }
+}